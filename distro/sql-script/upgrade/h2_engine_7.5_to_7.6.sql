@@ -80,4 +80,21 @@ ALTER TABLE ACT_HI_PROCINST
   ADD STATE_ varchar(255);
 
 update ACT_HI_PROCINST set STATE_ = 'ACTIVE' where END_TIME_ is null;
-update ACT_HI_PROCINST set STATE_ = 'COMPLETED' where END_TIME_ is not null;
\ No newline at end of file
+update ACT_HI_PROCINST set STATE_ = 'COMPLETED' where END_TIME_ is not null;
+
+-- history time to live --
+
+ALTER TABLE ACT_RE_PROCDEF
+  ADD HISTORY_TTL_ integer;
+
+-- job acquisition --
+-- jobs without ACQUIRABLE_AT_ are still acquired but not found by an index range scan;
+-- the update only fills missing values and can be repeated once all engines are upgraded
+
+ALTER TABLE ACT_RU_JOB
+  ADD ACQUIRABLE_AT_ timestamp;
+
+update ACT_RU_JOB set ACQUIRABLE_AT_ = coalesce(DUEDATE_, timestamp '1970-01-02 00:00:00')
+  where ACQUIRABLE_AT_ is null and RETRIES_ > 0 and SUSPENSION_STATE_ = 1;
+
+create index ACT_IDX_JOB_ACQUIRABLE_AT on ACT_RU_JOB(ACQUIRABLE_AT_);
@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest;
+
+import java.util.List;
+
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.camunda.bpm.engine.rest.dto.management.SlowSqlStatementDto;
+import org.camunda.bpm.engine.rest.dto.management.SqlStatementStatisticsDto;
+
+@Produces(MediaType.APPLICATION_JSON)
+public interface SqlStatementStatisticsRestService {
+
+  public static final String PATH = "/sql-statement-statistics";
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  List<SqlStatementStatisticsDto> getSqlStatementStatistics();
+
+  @GET
+  @Path("/slow")
+  @Produces(MediaType.APPLICATION_JSON)
+  List<SlowSqlStatementDto> getSlowSqlStatements();
+
+  @DELETE
+  void resetSqlStatementStatistics();
+
+}
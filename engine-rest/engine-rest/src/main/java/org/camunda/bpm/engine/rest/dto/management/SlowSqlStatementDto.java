@@ -0,0 +1,57 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.management;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.management.SlowSqlStatement;
+
+public class SlowSqlStatementDto {
+
+  protected String commandName;
+  protected String statementId;
+  protected String parameter;
+  protected long durationMicros;
+  protected Date timestamp;
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public String getStatementId() {
+    return statementId;
+  }
+
+  public String getParameter() {
+    return parameter;
+  }
+
+  public long getDurationMicros() {
+    return durationMicros;
+  }
+
+  public Date getTimestamp() {
+    return timestamp;
+  }
+
+  public static SlowSqlStatementDto fromSlowSqlStatement(SlowSqlStatement slowStatement) {
+    SlowSqlStatementDto dto = new SlowSqlStatementDto();
+    dto.commandName = slowStatement.getCommandName();
+    dto.statementId = slowStatement.getStatementId();
+    dto.parameter = slowStatement.getParameter();
+    dto.durationMicros = slowStatement.getDurationMicros();
+    dto.timestamp = slowStatement.getTimestamp();
+    return dto;
+  }
+
+}
@@ -0,0 +1,55 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.management;
+
+import org.camunda.bpm.engine.management.SqlStatementStatistics;
+
+public class SqlStatementStatisticsDto {
+
+  protected String commandName;
+  protected String statementId;
+  protected long count;
+  protected long totalDurationMicros;
+  protected long maxDurationMicros;
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public String getStatementId() {
+    return statementId;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getTotalDurationMicros() {
+    return totalDurationMicros;
+  }
+
+  public long getMaxDurationMicros() {
+    return maxDurationMicros;
+  }
+
+  public static SqlStatementStatisticsDto fromSqlStatementStatistics(SqlStatementStatistics statistics) {
+    SqlStatementStatisticsDto dto = new SqlStatementStatisticsDto();
+    dto.commandName = statistics.getCommandName();
+    dto.statementId = statistics.getStatementId();
+    dto.count = statistics.getCount();
+    dto.totalDurationMicros = statistics.getTotalDurationMicros();
+    dto.maxDurationMicros = statistics.getMaxDurationMicros();
+    return dto;
+  }
+
+}
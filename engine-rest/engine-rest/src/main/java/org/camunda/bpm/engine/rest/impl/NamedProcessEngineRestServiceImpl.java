@@ -48,6 +48,7 @@ import org.camunda.bpm.engine.rest.MetricsRestService;
 import org.camunda.bpm.engine.rest.MigrationRestService;
 import org.camunda.bpm.engine.rest.ProcessDefinitionRestService;
 import org.camunda.bpm.engine.rest.ProcessInstanceRestService;
+import org.camunda.bpm.engine.rest.SqlStatementStatisticsRestService;
 import org.camunda.bpm.engine.rest.TaskRestService;
 import org.camunda.bpm.engine.rest.TenantRestService;
 import org.camunda.bpm.engine.rest.UserRestService;
@@ -218,6 +219,12 @@ public class NamedProcessEngineRestServiceImpl extends AbstractProcessEngineRest
     return super.getTenantRestService(engineName);
   }
 
+  @Override
+  @Path("/{name}" + SqlStatementStatisticsRestService.PATH)
+  public SqlStatementStatisticsRestService getSqlStatementStatisticsRestService(@PathParam("name") String engineName) {
+    return super.getSqlStatementStatisticsRestService(engineName);
+  }
+
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   public List<ProcessEngineDto> getProcessEngineNames() {
@@ -0,0 +1,56 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.management.SlowSqlStatement;
+import org.camunda.bpm.engine.management.SqlStatementStatistics;
+import org.camunda.bpm.engine.rest.SqlStatementStatisticsRestService;
+import org.camunda.bpm.engine.rest.dto.management.SlowSqlStatementDto;
+import org.camunda.bpm.engine.rest.dto.management.SqlStatementStatisticsDto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class SqlStatementStatisticsRestServiceImpl extends AbstractRestProcessEngineAware implements SqlStatementStatisticsRestService {
+
+  public SqlStatementStatisticsRestServiceImpl(String engineName, ObjectMapper objectMapper) {
+    super(engineName, objectMapper);
+  }
+
+  public List<SqlStatementStatisticsDto> getSqlStatementStatistics() {
+    List<SqlStatementStatistics> statistics = getProcessEngine().getManagementService().getSqlStatementStatistics();
+
+    List<SqlStatementStatisticsDto> dtos = new ArrayList<SqlStatementStatisticsDto>();
+    for (SqlStatementStatistics statementStatistics : statistics) {
+      dtos.add(SqlStatementStatisticsDto.fromSqlStatementStatistics(statementStatistics));
+    }
+    return dtos;
+  }
+
+  public List<SlowSqlStatementDto> getSlowSqlStatements() {
+    List<SlowSqlStatement> slowStatements = getProcessEngine().getManagementService().getSlowSqlStatements();
+
+    List<SlowSqlStatementDto> dtos = new ArrayList<SlowSqlStatementDto>();
+    for (SlowSqlStatement slowStatement : slowStatements) {
+      dtos.add(SlowSqlStatementDto.fromSlowSqlStatement(slowStatement));
+    }
+    return dtos;
+  }
+
+  public void resetSqlStatementStatistics() {
+    getProcessEngine().getManagementService().resetSqlStatementStatistics();
+  }
+
+}
@@ -25,6 +25,7 @@ import javax.ws.rs.core.Variant;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.query.ListPageWithCount;
 import org.camunda.bpm.engine.rest.TaskRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskDto;
@@ -73,11 +74,20 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     ProcessEngine engine = getProcessEngine();
     TaskQuery query = queryDto.toQuery(engine);
 
-    // get list of tasks
-    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, query);
+    List<Task> matchingTasks;
+    long count;
 
-    // get total count
-    long count = query.count();
+    if (firstResult != null || maxResults != null) {
+      // get list of tasks and total count at once
+      ListPageWithCount<Task> page = executePaginatedQueryWithCount(query, firstResult, maxResults);
+      matchingTasks = page.getResults();
+      count = page.getCount();
+    }
+    else {
+      // the list contains all tasks
+      matchingTasks = executeTaskQuery(firstResult, maxResults, query);
+      count = matchingTasks.size();
+    }
 
     return HalTaskList.generate(matchingTasks, count, engine);
   }
@@ -124,6 +134,20 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     return query.listPage(firstResult, maxResults);
   }
 
+  protected ListPageWithCount<Task> executePaginatedQueryWithCount(TaskQuery query, Integer firstResult, Integer maxResults) {
+
+    // enable initialization of form key:
+    query.initializeFormKeys();
+
+    if (firstResult == null) {
+      firstResult = 0;
+    }
+    if (maxResults == null) {
+      maxResults = Integer.MAX_VALUE;
+    }
+    return query.listPageWithCount(firstResult, maxResults);
+  }
+
   @Override
   public CountResultDto getTasksCount(UriInfo uriInfo) {
     TaskQueryDto queryDto = new TaskQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
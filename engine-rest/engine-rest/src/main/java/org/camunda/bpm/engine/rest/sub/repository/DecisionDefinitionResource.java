@@ -26,6 +26,7 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.rest.dto.VariableValueDto;
+import org.camunda.bpm.engine.rest.dto.dmn.EvaluateDecisionBatchDto;
 import org.camunda.bpm.engine.rest.dto.dmn.EvaluateDecisionDto;
 import org.camunda.bpm.engine.rest.dto.repository.DecisionDefinitionDiagramDto;
 import org.camunda.bpm.engine.rest.dto.repository.DecisionDefinitionDto;
@@ -51,4 +52,10 @@ public interface DecisionDefinitionResource {
   @Produces(MediaType.APPLICATION_JSON)
   List<Map<String, VariableValueDto>> evaluateDecision(@Context UriInfo context, EvaluateDecisionDto parameters);
 
+  @POST
+  @Path("/evaluate-batch")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<List<Map<String, VariableValueDto>>> evaluateDecisionBatch(@Context UriInfo context, EvaluateDecisionBatchDto parameters);
+
 }
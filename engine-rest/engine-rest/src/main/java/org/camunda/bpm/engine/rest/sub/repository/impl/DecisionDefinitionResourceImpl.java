@@ -35,6 +35,7 @@ import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.rest.dto.VariableValueDto;
+import org.camunda.bpm.engine.rest.dto.dmn.EvaluateDecisionBatchDto;
 import org.camunda.bpm.engine.rest.dto.dmn.EvaluateDecisionDto;
 import org.camunda.bpm.engine.rest.dto.repository.DecisionDefinitionDiagramDto;
 import org.camunda.bpm.engine.rest.dto.repository.DecisionDefinitionDto;
@@ -159,6 +160,52 @@ public class DecisionDefinitionResourceImpl implements DecisionDefinitionResourc
     }
   }
 
+  @Override
+  public List<List<Map<String, VariableValueDto>>> evaluateDecisionBatch(UriInfo context, EvaluateDecisionBatchDto parameters) {
+    DecisionService decisionService = engine.getDecisionService();
+
+    if (parameters.getVariables() == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "Cannot evaluate decision " + decisionDefinitionId + ": variables must be set");
+    }
+
+    List<Map<String, Object>> variablesList = new ArrayList<Map<String, Object>>();
+    for (Map<String, VariableValueDto> variables : parameters.getVariables()) {
+      variablesList.add(VariableValueDto.toMap(variables, engine, objectMapper));
+    }
+
+    try {
+      List<DmnDecisionResult> decisionResults = decisionService
+          .evaluateDecisionById(decisionDefinitionId)
+          .evaluateAll(variablesList);
+
+      List<List<Map<String, VariableValueDto>>> dto = new ArrayList<List<Map<String, VariableValueDto>>>();
+      for (DmnDecisionResult decisionResult : decisionResults) {
+        dto.add(createDecisionResultDto(decisionResult));
+      }
+      return dto;
+
+    }
+    catch (AuthorizationException e) {
+      throw e;
+    }
+    catch (NotFoundException e) {
+      String errorMessage = String.format("Cannot evaluate decision %s: %s", decisionDefinitionId, e.getMessage());
+      throw new InvalidRequestException(Status.NOT_FOUND, e, errorMessage);
+    }
+    catch (NotValidException e) {
+      String errorMessage = String.format("Cannot evaluate decision %s: %s", decisionDefinitionId, e.getMessage());
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, errorMessage);
+    }
+    catch (ProcessEngineException e) {
+      String errorMessage = String.format("Cannot evaluate decision %s: %s", decisionDefinitionId, e.getMessage());
+      throw new RestException(Status.INTERNAL_SERVER_ERROR, e, errorMessage);
+    }
+    catch (DmnEngineException e) {
+      String errorMessage = String.format("Cannot evaluate decision %s: %s", decisionDefinitionId, e.getMessage());
+      throw new RestException(Status.INTERNAL_SERVER_ERROR, e, errorMessage);
+    }
+  }
+
   protected List<Map<String, VariableValueDto>> createDecisionResultDto(DmnDecisionResult decisionResult) {
     List<Map<String, VariableValueDto>> dto = new ArrayList<Map<String, VariableValueDto>>();
 
@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.filter.Filter;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.query.ListPageWithCount;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.rest.FilterRestService;
 import org.camunda.bpm.engine.rest.dto.AbstractQueryDto;
@@ -228,8 +229,20 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
   }
 
   public HalResource queryHalList(String extendingQuery, Integer firstResult, Integer maxResults) {
-    List<?> entities = executeFilterList(extendingQuery, firstResult, maxResults);
-    long count = executeFilterCount(extendingQuery);
+    List<?> entities;
+    long count;
+
+    if (firstResult != null || maxResults != null) {
+      // get list of entities and total count at once
+      ListPageWithCount<?> page = executeFilterListPageWithCount(extendingQuery, firstResult, maxResults);
+      entities = page.getResults();
+      count = page.getCount();
+    }
+    else {
+      // the list contains all entities
+      entities = executeFilterList(extendingQuery, null, null);
+      count = entities != null ? entities.size() : 0;
+    }
 
     if (entities != null && !entities.isEmpty()) {
       return convertToHalCollection(entities, count);
@@ -262,6 +275,25 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     }
   }
 
+  protected ListPageWithCount<?> executeFilterListPageWithCount(String extendingQueryString, Integer firstResult, Integer maxResults) {
+    Query<?, ?> extendingQuery = convertQuery(extendingQueryString);
+    if (firstResult == null) {
+      firstResult = 0;
+    }
+    if (maxResults == null) {
+      maxResults = Integer.MAX_VALUE;
+    }
+    try {
+      return filterService.listPageWithCount(resourceId, extendingQuery, firstResult, maxResults);
+    }
+    catch (NullValueException e) {
+      throw filterNotFound(e);
+    }
+    catch (NotValidException e) {
+      throw invalidQuery(e);
+    }
+  }
+
   public CountResultDto executeCount() {
     return queryCount(null);
   }
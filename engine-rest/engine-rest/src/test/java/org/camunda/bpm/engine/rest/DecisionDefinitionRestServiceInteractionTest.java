@@ -18,6 +18,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyMapOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -30,8 +31,11 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.Response.Status;
@@ -84,6 +88,9 @@ public class DecisionDefinitionRestServiceInteractionTest extends AbstractRestSe
   protected static final String EVALUATE_DECISION_BY_KEY_URL = SINGLE_DECISION_DEFINITION_BY_KEY_URL + "/evaluate";
   protected static final String EVALUATE_DECISION_BY_KEY_AND_TENANT_ID_URL = SINGLE_DECISION_DEFINITION_BY_KEY_AND_TENANT_ID_URL + "/evaluate";
 
+  protected static final String EVALUATE_DECISION_BATCH_URL = SINGLE_DECISION_DEFINITION_URL + "/evaluate-batch";
+  protected static final String EVALUATE_DECISION_BATCH_BY_KEY_URL = SINGLE_DECISION_DEFINITION_BY_KEY_URL + "/evaluate-batch";
+
   private RepositoryService repositoryServiceMock;
   private DecisionDefinitionQuery decisionDefinitionQueryMock;
   private DecisionService decisionServiceMock;
@@ -516,6 +523,97 @@ public class DecisionDefinitionRestServiceInteractionTest extends AbstractRestSe
       .when().post(EVALUATE_DECISION_URL);
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testEvaluateDecisionBatchById() {
+    DmnDecisionResult firstResult = new MockDecisionResultBuilder()
+        .resultEntries()
+          .entry("status", Variables.stringValue("gold"))
+        .build();
+    DmnDecisionResult secondResult = new MockDecisionResultBuilder()
+        .resultEntries()
+          .entry("status", Variables.stringValue("silver"))
+        .resultEntries()
+          .entry("status", Variables.stringValue("bronze"))
+        .build();
+
+    when(decisionEvaluationBuilderMock.evaluateAll(anyList())).thenReturn(Arrays.asList(firstResult, secondResult));
+
+    List<Map<String, Object>> variables = new ArrayList<Map<String, Object>>();
+    variables.add(VariablesBuilder.create().variable("amount", 420).getVariables());
+    variables.add(VariablesBuilder.create().variable("amount", 42).getVariables());
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("variables", variables);
+
+    given().pathParam("id", MockProvider.EXAMPLE_DECISION_DEFINITION_ID)
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+      .then().expect()
+        .statusCode(Status.OK.getStatusCode())
+        .body("size()", is(2))
+        .body("[0].size()", is(1))
+        .body("[0][0].status.value", is("gold"))
+        .body("[1].size()", is(2))
+        .body("[1][0].status.value", is("silver"))
+        .body("[1][1].status.value", is("bronze"))
+      .when().post(EVALUATE_DECISION_BATCH_URL);
+
+    List<Map<String, Object>> expectedVariables = new ArrayList<Map<String, Object>>();
+    expectedVariables.add(Collections.<String, Object>singletonMap("amount", 420));
+    expectedVariables.add(Collections.<String, Object>singletonMap("amount", 42));
+
+    verify(decisionEvaluationBuilderMock).evaluateAll(expectedVariables);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testEvaluateDecisionBatchByKey() {
+    DmnDecisionResult decisionResult = MockProvider.createMockDecisionResult();
+
+    when(decisionEvaluationBuilderMock.evaluateAll(anyList())).thenReturn(Collections.singletonList(decisionResult));
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("variables", Collections.singletonList(VariablesBuilder.create().variable("amount", 420).getVariables()));
+
+    given().pathParam("key", MockProvider.EXAMPLE_DECISION_DEFINITION_KEY)
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+      .then().expect()
+        .statusCode(Status.OK.getStatusCode())
+        .body("size()", is(1))
+      .when().post(EVALUATE_DECISION_BATCH_BY_KEY_URL);
+
+    verify(decisionEvaluationBuilderMock).evaluateAll(anyList());
+  }
+
+  @Test
+  public void testEvaluateDecisionBatchWithoutVariables() {
+    given().pathParam("id", MockProvider.EXAMPLE_DECISION_DEFINITION_ID)
+      .contentType(POST_JSON_CONTENT_TYPE).body(EMPTY_JSON_OBJECT)
+      .then().expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode()).contentType(ContentType.JSON)
+        .body("type", is(InvalidRequestException.class.getSimpleName()))
+        .body("message", containsString("variables must be set"))
+      .when().post(EVALUATE_DECISION_BATCH_URL);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testEvaluateDecisionBatch_NotFound() {
+    String message = "expected message";
+    when(decisionEvaluationBuilderMock.evaluateAll(anyList())).thenThrow(new NotFoundException(message));
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("variables", Collections.singletonList(Collections.emptyMap()));
+
+    given().pathParam("id", MockProvider.EXAMPLE_DECISION_DEFINITION_ID)
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+      .then().expect()
+        .statusCode(Status.NOT_FOUND.getStatusCode()).contentType(ContentType.JSON)
+        .body("type", is(InvalidRequestException.class.getSimpleName()))
+        .body("message", containsString(message))
+    .when().post(EVALUATE_DECISION_BATCH_URL);
+  }
+
   @Test
   public void testEvaluateDecision_NotFound() {
     String message = "expected message";
@@ -90,6 +90,7 @@ import org.camunda.bpm.engine.filter.Filter;
 import org.camunda.bpm.engine.filter.FilterQuery;
 import org.camunda.bpm.engine.impl.AuthorizationServiceImpl;
 import org.camunda.bpm.engine.impl.IdentityServiceImpl;
+import org.camunda.bpm.engine.impl.ListPageWithCountImpl;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.persistence.entity.FilterEntity;
@@ -1726,9 +1727,10 @@ public class FilterRestServiceInteractionTest extends AbstractRestServiceTest {
       createTaskMock(TASK_C_ID, PROCESS_INSTANCE_A_ID, EXECUTION_B_ID, null, null)
     );
     when(filterServiceMock.list(eq(EXAMPLE_FILTER_ID), any(Query.class))).thenReturn(tasks);
-    when(filterServiceMock.listPage(eq(EXAMPLE_FILTER_ID), any(Query.class), eq(0), eq(2))).thenReturn(tasks.subList(0, 2));
-    when(filterServiceMock.listPage(eq(EXAMPLE_FILTER_ID), any(Query.class), eq(5), eq(2))).thenReturn(Collections.emptyList());
-    when(filterServiceMock.count(eq(EXAMPLE_FILTER_ID), any(Query.class))).thenReturn((long) tasks.size());
+    when(filterServiceMock.listPageWithCount(eq(EXAMPLE_FILTER_ID), any(Query.class), eq(0), eq(2)))
+      .thenReturn(new ListPageWithCountImpl<Object>(new ArrayList<Object>(tasks.subList(0, 2)), tasks.size()));
+    when(filterServiceMock.listPageWithCount(eq(EXAMPLE_FILTER_ID), any(Query.class), eq(5), eq(2)))
+      .thenReturn(new ListPageWithCountImpl<Object>(Collections.emptyList(), tasks.size()));
 
     given()
       .pathParam("id", EXAMPLE_FILTER_ID)
@@ -1760,6 +1762,10 @@ public class FilterRestServiceInteractionTest extends AbstractRestServiceTest {
       .body("count", equalTo(3))
     .when()
       .get(EXECUTE_LIST_FILTER_URL);
+
+    verify(filterServiceMock).listPageWithCount(eq(EXAMPLE_FILTER_ID), isNull(Query.class), eq(0), eq(2));
+    verify(filterServiceMock).listPageWithCount(eq(EXAMPLE_FILTER_ID), isNull(Query.class), eq(5), eq(2));
+    verify(filterServiceMock, never()).count(anyString(), any(Query.class));
   }
 
   @SuppressWarnings("unchecked")
@@ -0,0 +1,132 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest;
+
+import static com.jayway.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import javax.ws.rs.core.Response.Status;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.db.profiler.SlowSqlStatementImpl;
+import org.camunda.bpm.engine.impl.db.profiler.SqlStatementStatisticsImpl;
+import org.camunda.bpm.engine.management.SlowSqlStatement;
+import org.camunda.bpm.engine.management.SqlStatementStatistics;
+import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import com.jayway.restassured.http.ContentType;
+
+public class SqlStatementStatisticsRestServiceInteractionTest extends AbstractRestServiceTest {
+
+  @ClassRule
+  public static TestContainerRule rule = new TestContainerRule();
+
+  protected static final String SQL_STATEMENT_STATISTICS_URL = TEST_RESOURCE_ROOT_PATH + SqlStatementStatisticsRestService.PATH;
+  protected static final String SLOW_SQL_STATEMENTS_URL = SQL_STATEMENT_STATISTICS_URL + "/slow";
+
+  protected ManagementService managementServiceMock;
+
+  @Before
+  public void setUpRuntimeData() {
+    managementServiceMock = mock(ManagementService.class);
+    when(processEngine.getManagementService()).thenReturn(managementServiceMock);
+  }
+
+  @Test
+  public void testGetSqlStatementStatistics() {
+    SqlStatementStatistics statistics = new SqlStatementStatisticsImpl("org.camunda.bpm.engine.impl.cmd.SomeCmd", "selectJob", 3, 1500, 900);
+    when(managementServiceMock.getSqlStatementStatistics()).thenReturn(Collections.singletonList(statistics));
+
+    given()
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", is(1))
+      .body("[0].commandName", equalTo("org.camunda.bpm.engine.impl.cmd.SomeCmd"))
+      .body("[0].statementId", equalTo("selectJob"))
+      .body("[0].count", equalTo(3))
+      .body("[0].totalDurationMicros", equalTo(1500))
+      .body("[0].maxDurationMicros", equalTo(900))
+    .when()
+      .get(SQL_STATEMENT_STATISTICS_URL);
+  }
+
+  @Test
+  public void testGetSlowSqlStatements() {
+    SlowSqlStatement first = new SlowSqlStatementImpl("SomeCmd", "selectJob", "{id=1}", 2000000, new Date());
+    SlowSqlStatement second = new SlowSqlStatementImpl("OtherCmd", "updateJob", null, 1000000, new Date());
+    when(managementServiceMock.getSlowSqlStatements()).thenReturn(Arrays.asList(first, second));
+
+    given()
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", is(2))
+      .body("[0].commandName", equalTo("SomeCmd"))
+      .body("[0].statementId", equalTo("selectJob"))
+      .body("[0].parameter", equalTo("{id=1}"))
+      .body("[0].durationMicros", equalTo(2000000))
+      .body("[1].statementId", equalTo("updateJob"))
+    .when()
+      .get(SLOW_SQL_STATEMENTS_URL);
+  }
+
+  @Test
+  public void testResetSqlStatementStatistics() {
+    given()
+    .then().expect()
+      .statusCode(Status.NO_CONTENT.getStatusCode())
+    .when()
+      .delete(SQL_STATEMENT_STATISTICS_URL);
+
+    verify(managementServiceMock).resetSqlStatementStatistics();
+  }
+
+  @Test
+  public void testGetSqlStatementStatisticsWhenDisabled() {
+    when(managementServiceMock.getSqlStatementStatistics()).thenThrow(new ProcessEngineException("SQL statement profiling is disabled"));
+
+    given()
+    .then().expect()
+      .statusCode(Status.INTERNAL_SERVER_ERROR.getStatusCode()).contentType(ContentType.JSON)
+      .body("message", containsString("SQL statement profiling is disabled"))
+    .when()
+      .get(SQL_STATEMENT_STATISTICS_URL);
+  }
+
+  @Test
+  public void testResetSqlStatementStatisticsThrowsAuthorizationException() {
+    doThrow(new AuthorizationException("expected message")).when(managementServiceMock).resetSqlStatementStatistics();
+
+    given()
+    .then().expect()
+      .statusCode(Status.FORBIDDEN.getStatusCode()).contentType(ContentType.JSON)
+      .body("type", equalTo(AuthorizationException.class.getSimpleName()))
+    .when()
+      .delete(SQL_STATEMENT_STATISTICS_URL);
+  }
+
+}
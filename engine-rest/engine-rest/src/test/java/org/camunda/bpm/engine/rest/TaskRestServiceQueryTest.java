@@ -5,11 +5,13 @@ import static com.jayway.restassured.path.json.JsonPath.from;
 import static org.camunda.bpm.engine.rest.util.QueryParamUtils.arrayAsCommaSeperatedList;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -29,6 +31,7 @@ import org.camunda.bpm.application.ProcessApplicationInfo;
 import org.camunda.bpm.container.RuntimeContainerDelegate;
 import org.camunda.bpm.engine.identity.User;
 import org.camunda.bpm.engine.identity.UserQuery;
+import org.camunda.bpm.engine.impl.ListPageWithCountImpl;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.CaseDefinitionQuery;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
@@ -37,6 +40,7 @@ import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.hal.Hal;
 import org.camunda.bpm.engine.rest.helper.EqualsList;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
+import org.camunda.bpm.engine.rest.helper.MockTaskBuilder;
 import org.camunda.bpm.engine.rest.helper.ValueGenerator;
 import org.camunda.bpm.engine.rest.helper.variable.EqualsPrimitiveValue;
 import org.camunda.bpm.engine.rest.util.OrderingBuilder;
@@ -862,6 +866,25 @@ public class TaskRestServiceQueryTest extends AbstractRestServiceTest {
     verify(mockQuery).listPage(firstResult, maxResults);
   }
 
+  @Test
+  public void testSuccessfulHalPagination() {
+    // a task without links, so that no linked resources have to be resolved
+    List<Task> mockTasks = new ArrayList<Task>();
+    mockTasks.add(new MockTaskBuilder().id(MockProvider.EXAMPLE_TASK_ID).build());
+    when(mockQuery.listPageWithCount(0, 1)).thenReturn(new ListPageWithCountImpl<Task>(mockTasks, 5));
+
+    given().queryParam("firstResult", 0).queryParam("maxResults", 1)
+      .header("accept", Hal.APPLICATION_HAL_JSON)
+      .then().expect().statusCode(Status.OK.getStatusCode())
+      .body("_embedded.task.size()", equalTo(1))
+      .body("count", equalTo(5))
+      .when().get(TASK_QUERY_URL);
+
+    verify(mockQuery).listPageWithCount(0, 1);
+    verify(mockQuery, never()).listPage(anyInt(), anyInt());
+    verify(mockQuery, never()).count();
+  }
+
   @Test
   public void testTaskVariableParameters() {
     // equals
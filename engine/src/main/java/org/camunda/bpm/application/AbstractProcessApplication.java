@@ -71,6 +71,10 @@ public abstract class AbstractProcessApplication implements ProcessApplicationIn
       // delegate stopping of the process application to the runtime container.
       RuntimeContainerDelegate.INSTANCE.get().undeployProcessApplication(this);
       isDeployed = false;
+
+      if (processApplicationScriptEnvironment != null) {
+        processApplicationScriptEnvironment.close();
+      }
     }
   }
 
@@ -199,6 +203,13 @@ public abstract class AbstractProcessApplication implements ProcessApplicationIn
     return getProcessApplicationScriptEnvironment().getScriptEngineForName(name, cache);
   }
 
+  /**
+   * see {@link ProcessApplicationScriptEnvironment#getScriptEngineForName(String, boolean, boolean)}
+   */
+  public ScriptEngine getScriptEngineForName(String name, boolean cache, boolean bindJavaScriptEnginesToThread) {
+    return getProcessApplicationScriptEnvironment().getScriptEngineForName(name, cache, bindJavaScriptEnginesToThread);
+  }
+
   /**
    * see {@link ProcessApplicationScriptEnvironment#getEnvironmentScripts()}
    */
@@ -51,6 +51,21 @@ public class ProcessApplicationScriptEnvironment {
    * @return a {@link ScriptEngine}
    */
   public ScriptEngine getScriptEngineForName(String scriptEngineName, boolean cache) {
+    return getScriptEngineForName(scriptEngineName, cache, false);
+  }
+
+  /**
+   * <p>Returns an instance of {@link ScriptEngine} for the given <code>scriptEngineName</code>.</p>
+   *
+   * @param scriptEngineName the name of the {@link ScriptEngine} to return
+   * @param cache a boolean value which indicates whether the {@link ScriptEngine} should
+   *              be cached or not.
+   * @param bindJavaScriptEnginesToThread if true, JavaScript engines which are not thread-safe are
+   *              cached per thread, so that the scripts compiled by them can be reused
+   *
+   * @return a {@link ScriptEngine}
+   */
+  public ScriptEngine getScriptEngineForName(String scriptEngineName, boolean cache, boolean bindJavaScriptEnginesToThread) {
     if(processApplicationScriptEngineResolver == null) {
       synchronized (this) {
         if(processApplicationScriptEngineResolver == null) {
@@ -58,7 +73,17 @@ public class ProcessApplicationScriptEnvironment {
         }
       }
     }
-    return processApplicationScriptEngineResolver.getScriptEngine(scriptEngineName, cache);
+    return processApplicationScriptEngineResolver.getScriptEngine(scriptEngineName, cache, bindJavaScriptEnginesToThread);
+  }
+
+  /**
+   * Drops the script engines which are bound to threads, see
+   * {@link ScriptEngineResolver#clearThreadBoundEngines()}.
+   */
+  public void close() {
+    if (processApplicationScriptEngineResolver != null) {
+      processApplicationScriptEngineResolver.clearThreadBoundEngines();
+    }
   }
 
   /**
@@ -18,6 +18,7 @@ import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.filter.Filter;
 import org.camunda.bpm.engine.filter.FilterQuery;
+import org.camunda.bpm.engine.query.ListPageWithCount;
 import org.camunda.bpm.engine.query.Query;
 
 
@@ -153,6 +154,44 @@ public interface FilterService {
    */
   <T, Q extends Query<?, T>> List<T> listPage(String filterId, Q extendingQuery, int firstResult, int maxResults);
 
+  /**
+   * Executes the query of the filter and returns the result in the given boundaries as list
+   * together with the number of all results. This is cheaper than calling
+   * {@link #listPage(String, int, int)} and {@link #count(String)} separately.
+   *
+   * @param filterId the the id of the filter
+   * @param firstResult first result to select
+   * @param maxResults maximal number of results
+   * @return the query result in the given boundaries and the result count
+   * @throws AuthorizationException if the user has no {@link Permissions#READ} permissions on {@link Resources#FILTER}.
+   * @throws BadUserRequestException
+   *  <ul><li>When the filter query uses expressions and expression evaluation is deactivated for stored queries.
+   *  Expression evaluation can be activated by setting the process engine configuration properties
+   *  <code>enableExpressionsInAdhocQueries</code> (default <code>false</code>) and
+   *  <code>enableExpressionsInStoredQueries</code> (default <code>true</code>) to <code>true</code>.
+   */
+  <T> ListPageWithCount<T> listPageWithCount(String filterId, int firstResult, int maxResults);
+
+  /**
+   * Executes the extended query of a filter and returns the result in the given boundaries as list
+   * together with the number of all results. This is cheaper than calling
+   * {@link #listPage(String, Query, int, int)} and {@link #count(String, Query)} separately.
+   *
+   * @param extendingQuery additional query to extend the filter query
+   * @param filterId the id of the filter
+   * @param firstResult first result to select
+   * @param maxResults maximal number of results
+   * @return the query result in the given boundaries and the result count
+   * @throws AuthorizationException if the user has no {@link Permissions#READ} permissions on {@link Resources#FILTER}.
+   * @throws BadUserRequestException
+   *  <ul><li>When the filter query uses expressions and expression evaluation is deactivated for stored queries.
+   *  <li>When the extending query uses expressions and expression evaluation is deactivated for adhoc queries.
+   *  Expression evaluation can be activated by setting the process engine configuration properties
+   *  <code>enableExpressionsInAdhocQueries</code> (default <code>false</code>) and
+   *  <code>enableExpressionsInStoredQueries</code> (default <code>true</code>) to <code>true</code>.
+   */
+  <T, Q extends Query<?, T>> ListPageWithCount<T> listPageWithCount(String filterId, Q extendingQuery, int firstResult, int maxResults);
+
   /**
    * Executes the query of the filter and returns the a single result.
    *
@@ -14,6 +14,9 @@
 
 package org.camunda.bpm.engine;
 
+import java.util.List;
+
+import org.camunda.bpm.engine.authorization.Groups;
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.batch.history.HistoricBatchQuery;
@@ -49,6 +52,7 @@ import org.camunda.bpm.engine.history.NativeHistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.history.NativeHistoricTaskInstanceQuery;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
 import org.camunda.bpm.engine.history.UserOperationLogQuery;
+import org.camunda.bpm.engine.runtime.Job;
 
 /**
  * Service exposing information about ongoing and past process instances.  This is different
@@ -126,6 +130,35 @@ public interface HistoryService {
    */
   void deleteHistoricProcessInstance(String processInstanceId);
 
+  /**
+   * Deletes the historic process instances with the given ids. All historic activities,
+   * historic tasks and historic details (variable updates, form properties) of these
+   * instances are deleted as well. In contrast to {@link #deleteHistoricProcessInstance(String)},
+   * the dependent history is removed with a fixed number of set-based statements
+   * instead of one or more statements per instance.
+   *
+   * @throws BadUserRequestException
+   *          If no ids are given, one of the historic process instances does not exist
+   *          or one of the process instances is still running.
+   * @throws AuthorizationException
+   *          If the user has no {@link Permissions#DELETE_HISTORY} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  void deleteHistoricProcessInstancesBulk(List<String> processInstanceIds);
+
+  /**
+   * Schedules the history cleanup job to run immediately, regardless of the configured batch window.
+   * The job removes the history of finished process instances whose process definition specifies a
+   * history time to live (<code>camunda:historyTimeToLive</code>, in days) which has expired. It deletes
+   * at most <code>historyCleanupBatchSize</code> process instances per execution and reschedules itself
+   * as long as there is more to remove. If a history cleanup job exists already, no new job is created.
+   *
+   * @return the history cleanup job
+   *
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  Job cleanUpHistoryAsync();
+
   /**
    * Deletes a user operation log entry. Does not cascade to any related entities.
    *
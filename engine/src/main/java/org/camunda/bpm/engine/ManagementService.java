@@ -14,6 +14,7 @@ package org.camunda.bpm.engine;
 
 import java.sql.Connection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,6 +32,8 @@ import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
 import org.camunda.bpm.engine.management.MetricsQuery;
+import org.camunda.bpm.engine.management.SlowSqlStatement;
+import org.camunda.bpm.engine.management.SqlStatementStatistics;
 import org.camunda.bpm.engine.management.ProcessDefinitionStatisticsQuery;
 import org.camunda.bpm.engine.management.TableMetaData;
 import org.camunda.bpm.engine.management.TablePage;
@@ -1129,4 +1132,42 @@ public interface ManagementService {
    */
   BatchStatisticsQuery createBatchStatisticsQuery();
 
+  /**
+   * Returns the count and duration of the SQL statements executed by each command class
+   * since the engine was started or the statistics were reset.
+   *
+   * @throws ProcessEngineException
+   *          If SQL statement profiling is disabled.
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   *
+   * @since 7.6
+   */
+  List<SqlStatementStatistics> getSqlStatementStatistics();
+
+  /**
+   * Returns the most recent SQL statement executions which took longer than the
+   * configured slow statement threshold, the most recent first.
+   *
+   * @throws ProcessEngineException
+   *          If SQL statement profiling is disabled.
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   *
+   * @since 7.6
+   */
+  List<SlowSqlStatement> getSlowSqlStatements();
+
+  /**
+   * Clears the SQL statement statistics and the recorded slow statements.
+   *
+   * @throws ProcessEngineException
+   *          If SQL statement profiling is disabled.
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   *
+   * @since 7.6
+   */
+  void resetSqlStatementStatistics();
+
 }
@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.dmn;
 
+import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
@@ -66,4 +67,29 @@ public interface DecisionsEvaluationBuilder {
    */
   DmnDecisionResult evaluate();
 
+  /**
+   * Evaluates the decision once for each of the given input variables. The
+   * decision definition is resolved and the permission is checked only once
+   * and all evaluations run within a single command, so that the historic
+   * decision instances are written in one flush. The input variables set by
+   * {@link #variables(Map)} are ignored.
+   *
+   * Since all results and historic decision instances are held in memory until
+   * the command completes, large inputs should be split into chunks.
+   *
+   * @return the results of the evaluations, in the order of the given input variables.
+   *
+   * @throws NotFoundException
+   *           when no decision definition is deployed with the given id / key.
+   *
+   * @throws NotValidException
+   *           when the given decision definition id / key or the list of input
+   *           variables is null.
+   *
+   * @throws AuthorizationException
+   *           if the user has no {@link Permissions#CREATE_INSTANCE} permission
+   *           on {@link Resources#DECISION_DEFINITION}.
+   */
+  List<DmnDecisionResult> evaluateAll(List<? extends Map<String, Object>> variablesList);
+
 }
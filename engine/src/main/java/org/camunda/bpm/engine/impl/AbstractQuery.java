@@ -33,6 +33,8 @@ import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.interceptor.ReadOnlyCommand;
+import org.camunda.bpm.engine.query.ListPageWithCount;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.query.QueryProperty;
 import org.joda.time.DateTime;
@@ -43,7 +45,7 @@ import org.joda.time.DateTime;
  *
  * @author Joram Barrez
  */
-public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryParameterObject implements Command<Object>, Query<T,U>, Serializable {
+public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryParameterObject implements Command<Object>, ReadOnlyCommand, Query<T,U>, Serializable {
 
   private static final long serialVersionUID = 1L;
 
@@ -51,7 +53,7 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
   public static final String SORTORDER_DESC = "desc";
 
   protected enum ResultType {
-    LIST, LIST_PAGE, SINGLE_RESULT, COUNT
+    LIST, LIST_PAGE, LIST_PAGE_WITH_COUNT, SINGLE_RESULT, COUNT
   }
   protected transient CommandExecutor commandExecutor;
 
@@ -63,6 +65,8 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
 
   protected Set<Validator<AbstractQuery<?, ?>>> validators = new HashSet<Validator<AbstractQuery<?, ?>>>();
 
+  protected boolean readDataSourceAllowed = false;
+
   protected AbstractQuery() {
   }
 
@@ -80,6 +84,26 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return this;
   }
 
+  /**
+   * Allows this query to read from the read data source of the process engine configuration,
+   * i.e. to return results which are slightly out of date.
+   *
+   * @see CommandContext#useReadDataSource()
+   */
+  @SuppressWarnings("unchecked")
+  public T allowReadDataSource() {
+    this.readDataSourceAllowed = true;
+    return (T) this;
+  }
+
+  /**
+   * @return true if this query may read from the read data source. History and statistics
+   * queries override this to always allow it.
+   */
+  public boolean isReadDataSourceAllowed() {
+    return readDataSourceAllowed;
+  }
+
   public T orderBy(QueryProperty property) {
     return orderBy(new QueryOrderingProperty(null, property));
   }
@@ -152,6 +176,17 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return evaluateExpressionsAndExecuteList(Context.getCommandContext(), new Page(firstResult, maxResults));
   }
 
+  @SuppressWarnings("unchecked")
+  public ListPageWithCount<U> listPageWithCount(int firstResult, int maxResults) {
+    this.firstResult = firstResult;
+    this.maxResults = maxResults;
+    this.resultType = ResultType.LIST_PAGE_WITH_COUNT;
+    if (commandExecutor!=null) {
+      return (ListPageWithCount<U>) commandExecutor.execute(this);
+    }
+    return evaluateExpressionsAndExecuteListPageWithCount(Context.getCommandContext(), new Page(firstResult, maxResults));
+  }
+
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor!=null) {
@@ -161,12 +196,18 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
   }
 
   public Object execute(CommandContext commandContext) {
+    if (isReadDataSourceAllowed()) {
+      commandContext.useReadDataSource();
+    }
+
     if (resultType==ResultType.LIST) {
       return evaluateExpressionsAndExecuteList(commandContext, null);
     } else if (resultType==ResultType.SINGLE_RESULT) {
       return executeSingleResult(commandContext);
     } else if (resultType==ResultType.LIST_PAGE) {
       return evaluateExpressionsAndExecuteList(commandContext, null);
+    } else if (resultType==ResultType.LIST_PAGE_WITH_COUNT) {
+      return evaluateExpressionsAndExecuteListPageWithCount(commandContext, null);
     } else {
       return evaluateExpressionsAndExecuteCount(commandContext);
     }
@@ -186,6 +227,34 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return !hasExcludingConditions() ? executeList(commandContext, page) : new ArrayList<U>();
   }
 
+  public ListPageWithCount<U> evaluateExpressionsAndExecuteListPageWithCount(CommandContext commandContext, Page page) {
+    validate();
+    evaluateExpressions();
+    if (hasExcludingConditions()) {
+      return new ListPageWithCountImpl<U>(new ArrayList<U>(), 0);
+    }
+    return executeListPageWithCount(commandContext, page);
+  }
+
+  /**
+   * Executes the list query and derives the count from the page if possible, i.e.
+   * if the page is not filled up. Otherwise the count query is executed, too.
+   */
+  public ListPageWithCount<U> executeListPageWithCount(CommandContext commandContext, Page page) {
+    List<U> results = executeList(commandContext, page);
+
+    long count;
+    if (results.size() < maxResults && (!results.isEmpty() || firstResult == 0)) {
+      // the page contains the last result
+      count = (long) firstResult + results.size();
+    }
+    else {
+      count = executeCount(commandContext);
+    }
+
+    return new ListPageWithCountImpl<U>(results, count);
+  }
+
   /**
    * Whether or not the query has excluding conditions. If the query has excluding conditions,
    * (e.g. task due date before and after are excluding), the SQL query is avoided and a default result is
@@ -44,6 +44,10 @@ public class ActivityStatisticsQueryImpl extends
     this.processDefinitionId = processDefinitionId;
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public long executeCount(CommandContext commandContext) {
     checkQueryOk();
     return
@@ -84,6 +88,10 @@ public class ActivityStatisticsQueryImpl extends
     return includeIncidents || includeIncidentsForType != null;
   }
 
+  public String getIncludeIncidentsForType() {
+    return includeIncidentsForType;
+  }
+
   public String getProcessDefinitionId() {
     return processDefinitionId;
   }
@@ -40,6 +40,10 @@ implements DeploymentStatisticsQuery {
     super(executor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public DeploymentStatisticsQuery includeFailedJobs() {
     includeFailedJobs = true;
     return this;
@@ -23,10 +23,12 @@ import org.camunda.bpm.engine.impl.cmd.DeleteFilterCmd;
 import org.camunda.bpm.engine.impl.cmd.ExecuteFilterCountCmd;
 import org.camunda.bpm.engine.impl.cmd.ExecuteFilterListCmd;
 import org.camunda.bpm.engine.impl.cmd.ExecuteFilterListPageCmd;
+import org.camunda.bpm.engine.impl.cmd.ExecuteFilterListPageWithCountCmd;
 import org.camunda.bpm.engine.impl.cmd.ExecuteFilterSingleResultCmd;
 import org.camunda.bpm.engine.impl.cmd.GetFilterCmd;
 import org.camunda.bpm.engine.impl.cmd.SaveFilterCmd;
 import org.camunda.bpm.engine.impl.filter.FilterQueryImpl;
+import org.camunda.bpm.engine.query.ListPageWithCount;
 import org.camunda.bpm.engine.query.Query;
 
 
@@ -83,6 +85,16 @@ public class FilterServiceImpl extends ServiceImpl implements FilterService {
     return (List<T>) commandExecutor.execute(new ExecuteFilterListPageCmd(filterId, extendingQuery, firstResult, maxResults));
   }
 
+  @SuppressWarnings("unchecked")
+  public <T> ListPageWithCount<T> listPageWithCount(String filterId, int firstResult, int maxResults) {
+    return (ListPageWithCount<T>) commandExecutor.execute(new ExecuteFilterListPageWithCountCmd(filterId, firstResult, maxResults));
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T, Q extends Query<?, T>> ListPageWithCount<T> listPageWithCount(String filterId, Q extendingQuery, int firstResult, int maxResults) {
+    return (ListPageWithCount<T>) commandExecutor.execute(new ExecuteFilterListPageWithCountCmd(filterId, extendingQuery, firstResult, maxResults));
+  }
+
   @SuppressWarnings("unchecked")
   public <T> T singleResult(String filterId) {
     return (T) commandExecutor.execute(new ExecuteFilterSingleResultCmd(filterId));
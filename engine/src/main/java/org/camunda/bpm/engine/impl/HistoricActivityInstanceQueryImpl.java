@@ -57,6 +57,10 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   @Override
   public long executeCount(CommandContext commandContext) {
     checkQueryOk();
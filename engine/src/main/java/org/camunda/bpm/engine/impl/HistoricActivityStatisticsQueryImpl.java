@@ -40,6 +40,10 @@ public class HistoricActivityStatisticsQueryImpl extends AbstractQuery<HistoricA
     this.processDefinitionId = processDefinitionId;
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public HistoricActivityStatisticsQuery includeFinished() {
     includeFinished = true;
     return this;
@@ -63,6 +63,10 @@ public class HistoricCaseActivityInstanceQueryImpl extends AbstractQuery<Histori
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public long executeCount(CommandContext commandContext) {
     checkQueryOk();
     return commandContext
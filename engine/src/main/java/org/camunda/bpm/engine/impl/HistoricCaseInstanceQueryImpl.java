@@ -69,6 +69,10 @@ public class HistoricCaseInstanceQueryImpl extends AbstractVariableQueryImpl<His
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public HistoricCaseInstanceQueryImpl caseInstanceId(String caseInstanceId) {
     this.caseInstanceId = caseInstanceId;
     return this;
@@ -75,6 +75,10 @@ public class HistoricDecisionInstanceQueryImpl extends AbstractQuery<HistoricDec
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public HistoricDecisionInstanceQuery decisionInstanceId(String decisionInstanceId) {
     ensureNotNull(NotValidException.class, "decisionInstanceId", decisionInstanceId);
     this.decisionInstanceId = decisionInstanceId;
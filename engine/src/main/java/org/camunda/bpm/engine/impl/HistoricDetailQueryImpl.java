@@ -57,6 +57,10 @@ public class HistoricDetailQueryImpl extends AbstractQuery<HistoricDetailQuery,
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public HistoricDetailQuery detailId(String id) {
     ensureNotNull("detailId", id);
     this.detailId = id;
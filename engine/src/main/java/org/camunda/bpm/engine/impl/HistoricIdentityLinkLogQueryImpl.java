@@ -36,6 +36,10 @@ public class HistoricIdentityLinkLogQueryImpl extends AbstractVariableQueryImpl<
   public HistoricIdentityLinkLogQueryImpl(CommandExecutor commandExecutor) {
     super(commandExecutor);
   }
+
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
   
   public String getType() {
     return type;
@@ -52,6 +52,10 @@ public class HistoricIncidentQueryImpl extends AbstractVariableQueryImpl<Histori
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public HistoricIncidentQuery incidentId(String incidentId) {
     ensureNotNull("incidentId", incidentId);
     this.id = incidentId;
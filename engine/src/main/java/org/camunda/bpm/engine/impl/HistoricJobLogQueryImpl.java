@@ -59,6 +59,10 @@ public class HistoricJobLogQueryImpl extends AbstractQuery<HistoricJobLogQuery,
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   // query parameter ////////////////////////////////////////////
 
   public HistoricJobLogQuery logId(String historicJobLogId) {
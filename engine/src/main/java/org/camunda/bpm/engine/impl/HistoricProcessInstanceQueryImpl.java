@@ -72,6 +72,10 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public HistoricProcessInstanceQueryImpl processInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
     return this;
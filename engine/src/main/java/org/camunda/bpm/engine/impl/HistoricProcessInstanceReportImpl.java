@@ -25,9 +25,9 @@ import org.camunda.bpm.engine.history.HistoricProcessInstanceReport;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.TenantCheck;
-import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.interceptor.ReadDataSourceCommand;
 import org.camunda.bpm.engine.query.PeriodUnit;
 
 /**
@@ -88,7 +88,7 @@ public class HistoricProcessInstanceReportImpl implements HistoricProcessInstanc
     CommandContext commandContext = Context.getCommandContext();
 
     if(commandContext == null) {
-      return commandExecutor.execute(new Command<List<DurationReportResult>>() {
+      return commandExecutor.execute(new ReadDataSourceCommand<List<DurationReportResult>>() {
 
         @Override
         public List<DurationReportResult> execute(CommandContext commandContext) {
@@ -88,6 +88,10 @@ public class HistoricTaskInstanceQueryImpl extends AbstractQuery<HistoricTaskIns
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   @Override
   public long executeCount(CommandContext commandContext) {
     ensureVariablesInitialized();
@@ -24,9 +24,9 @@ import org.camunda.bpm.engine.history.HistoricTaskInstanceReportResult;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.TenantCheck;
-import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.interceptor.ReadDataSourceCommand;
 import org.camunda.bpm.engine.query.PeriodUnit;
 
 /**
@@ -52,7 +52,7 @@ public class HistoricTaskInstanceReportImpl implements HistoricTaskInstanceRepor
     CommandContext commandContext = Context.getCommandContext();
 
     if(commandContext == null) {
-      return commandExecutor.execute(new Command<List<HistoricTaskInstanceReportResult>>() {
+      return commandExecutor.execute(new ReadDataSourceCommand<List<HistoricTaskInstanceReportResult>>() {
 
         @Override
         public List<HistoricTaskInstanceReportResult> execute(CommandContext commandContext) {
@@ -77,7 +77,7 @@ public class HistoricTaskInstanceReportImpl implements HistoricTaskInstanceRepor
     CommandContext commandContext = Context.getCommandContext();
 
     if(commandContext == null) {
-      return commandExecutor.execute(new Command<List<HistoricTaskInstanceReportResult>>() {
+      return commandExecutor.execute(new ReadDataSourceCommand<List<HistoricTaskInstanceReportResult>>() {
 
         @Override
         public List<HistoricTaskInstanceReportResult> execute(CommandContext commandContext) {
@@ -105,7 +105,7 @@ public class HistoricTaskInstanceReportImpl implements HistoricTaskInstanceRepor
     CommandContext commandContext = Context.getCommandContext();
 
     if(commandContext == null) {
-      return commandExecutor.execute(new Command<List<DurationReportResult>>() {
+      return commandExecutor.execute(new ReadDataSourceCommand<List<DurationReportResult>>() {
 
         @Override
         public List<DurationReportResult> execute(CommandContext commandContext) {
@@ -60,6 +60,10 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public HistoricVariableInstanceQuery variableId(String id) {
     ensureNotNull("variableId", id);
     this.variableId = id;
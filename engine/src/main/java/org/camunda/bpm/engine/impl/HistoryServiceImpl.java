@@ -14,6 +14,8 @@
 
 package org.camunda.bpm.engine.impl;
 
+import java.util.List;
+
 import org.camunda.bpm.engine.HistoryService;
 import org.camunda.bpm.engine.batch.history.HistoricBatchQuery;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
@@ -40,10 +42,13 @@ import org.camunda.bpm.engine.impl.batch.history.DeleteHistoricBatchCmd;
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchQueryImpl;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricCaseInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
+import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstancesBulkCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteHistoricTaskInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.DeleteUserOperationLogEntryCmd;
 import org.camunda.bpm.engine.impl.cmd.GetHistoricJobLogExceptionStacktraceCmd;
+import org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd;
 import org.camunda.bpm.engine.impl.dmn.cmd.DeleteHistoricDecisionInstanceCmd;
+import org.camunda.bpm.engine.runtime.Job;
 
 /**
  * @author Tom Baeyens
@@ -108,6 +113,14 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
     commandExecutor.execute(new DeleteHistoricProcessInstanceCmd(processInstanceId));
   }
 
+  public void deleteHistoricProcessInstancesBulk(List<String> processInstanceIds) {
+    commandExecutor.execute(new DeleteHistoricProcessInstancesBulkCmd(processInstanceIds));
+  }
+
+  public Job cleanUpHistoryAsync() {
+    return commandExecutor.execute(new HistoryCleanupCmd(true));
+  }
+
   public void deleteUserOperationLogEntry(String entryId) {
     commandExecutor.execute(new DeleteUserOperationLogEntryCmd(entryId));
   }
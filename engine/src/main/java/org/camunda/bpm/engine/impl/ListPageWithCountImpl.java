@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.query.ListPageWithCount;
+
+public class ListPageWithCountImpl<U> implements ListPageWithCount<U> {
+
+  protected List<U> results;
+  protected long count;
+
+  public ListPageWithCountImpl(List<U> results, long count) {
+    this.results = results;
+    this.count = count;
+  }
+
+  public List<U> getResults() {
+    return results;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[count=" + count
+        + ", results=" + results
+        + "]";
+  }
+
+}
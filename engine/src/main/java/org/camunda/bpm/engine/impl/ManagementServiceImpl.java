@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl;
 import java.sql.Connection;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -34,6 +35,8 @@ import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
 import org.camunda.bpm.engine.impl.cmd.GetHistoryLevelCmd;
 import org.camunda.bpm.engine.impl.cmd.GetJobExceptionStacktraceCmd;
 import org.camunda.bpm.engine.impl.cmd.GetProcessApplicationForDeploymentCmd;
+import org.camunda.bpm.engine.impl.cmd.GetSlowSqlStatementsCmd;
+import org.camunda.bpm.engine.impl.cmd.GetSqlStatementStatisticsCmd;
 import org.camunda.bpm.engine.impl.cmd.GetPropertiesCmd;
 import org.camunda.bpm.engine.impl.cmd.GetTableCountCmd;
 import org.camunda.bpm.engine.impl.cmd.GetTableMetaDataCmd;
@@ -41,6 +44,7 @@ import org.camunda.bpm.engine.impl.cmd.GetTableNameCmd;
 import org.camunda.bpm.engine.impl.cmd.RegisterDeploymentCmd;
 import org.camunda.bpm.engine.impl.cmd.RegisterProcessApplicationCmd;
 import org.camunda.bpm.engine.impl.cmd.ReportDbMetricsCmd;
+import org.camunda.bpm.engine.impl.cmd.ResetSqlStatementStatisticsCmd;
 import org.camunda.bpm.engine.impl.cmd.SetJobDefinitionPriorityCmd;
 import org.camunda.bpm.engine.impl.cmd.SetJobDuedateCmd;
 import org.camunda.bpm.engine.impl.cmd.SetJobPriorityCmd;
@@ -62,6 +66,8 @@ import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.management.ProcessDefinitionStatisticsQuery;
+import org.camunda.bpm.engine.management.SlowSqlStatement;
+import org.camunda.bpm.engine.management.SqlStatementStatistics;
 import org.camunda.bpm.engine.management.TableMetaData;
 import org.camunda.bpm.engine.management.TablePageQuery;
 import org.camunda.bpm.engine.management.UpdateJobDefinitionSuspensionStateSelectBuilder;
@@ -163,7 +169,7 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
         commandContext.getAuthorizationManager().checkCamundaAdmin();
         DbSqlSessionFactory dbSqlSessionFactory = (DbSqlSessionFactory) commandContext.getSessionFactories().get(DbSqlSession.class);
         DbSqlSession dbSqlSession = new DbSqlSession(dbSqlSessionFactory, connection, catalog, schema);
-        commandContext.getSessions().put(DbSqlSession.class, dbSqlSession);
+        commandContext.setSession(DbSqlSession.class, dbSqlSession);
         dbSqlSession.dbSchemaUpdate();
 
         return "";
@@ -449,4 +455,16 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     return new BatchStatisticsQueryImpl(commandExecutor);
   }
 
+  public List<SqlStatementStatistics> getSqlStatementStatistics() {
+    return commandExecutor.execute(new GetSqlStatementStatisticsCmd());
+  }
+
+  public List<SlowSqlStatement> getSlowSqlStatements() {
+    return commandExecutor.execute(new GetSlowSqlStatementsCmd());
+  }
+
+  public void resetSqlStatementStatistics() {
+    commandExecutor.execute(new ResetSqlStatementStatisticsCmd());
+  }
+
 }
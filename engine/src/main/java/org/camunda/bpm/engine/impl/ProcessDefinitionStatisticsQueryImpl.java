@@ -33,6 +33,10 @@ public class ProcessDefinitionStatisticsQueryImpl extends AbstractQuery<ProcessD
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   @Override
   public long executeCount(CommandContext commandContext) {
     checkQueryOk();
@@ -75,6 +79,10 @@ public class ProcessDefinitionStatisticsQueryImpl extends AbstractQuery<ProcessD
     return includeIncidents || includeIncidentsForType != null;
   }
 
+  public String getIncludeIncidentsForType() {
+    return includeIncidentsForType;
+  }
+
   protected void checkQueryOk() {
     super.checkQueryOk();
     if (includeIncidents && includeIncidentsForType != null) {
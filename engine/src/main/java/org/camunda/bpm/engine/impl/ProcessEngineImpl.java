@@ -30,12 +30,14 @@ import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
+import org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCacheWarmup;
 
 /**
  * @author Tom Baeyens
@@ -105,6 +107,15 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     ProcessEngines.registerProcessEngine(this);
 
+    if (processEngineConfiguration.isDeploymentCacheWarmupEnabled()) {
+      warmupDeploymentCache();
+    }
+
+    if (processEngineConfiguration.isHistoryCleanupBatchWindowConfigured()) {
+      // make sure the history cleanup job waits for the next batch window
+      commandExecutor.execute(new HistoryCleanupCmd(false));
+    }
+
     if ((jobExecutor != null)) {
       // register process engine with Job Executor
       jobExecutor.registerProcessEngine(this);
@@ -120,12 +131,25 @@ public class ProcessEngineImpl implements ProcessEngine {
       }
     }
 
+    if (processEngineConfiguration.isRuntimeStatisticsStoreEnabled()) {
+      processEngineConfiguration.getRuntimeStatisticsReconciler().start();
+    }
+
+    if (processEngineConfiguration.getTaskSearchIndexRebuilder() != null) {
+      processEngineConfiguration.getTaskSearchIndexRebuilder().start();
+    }
+
   }
 
   protected void executeSchemaOperations() {
     commandExecutorSchemaOperations.execute(new SchemaOperationsProcessEngineBuild());
   }
 
+  protected void warmupDeploymentCache() {
+    int numberOfThreads = processEngineConfiguration.getDeploymentCacheWarmupThreads();
+    new DeploymentCacheWarmup(commandExecutor, numberOfThreads).warmup();
+  }
+
   @Override
   public void close() {
 
@@ -135,6 +159,14 @@ public class ProcessEngineImpl implements ProcessEngine {
       processEngineConfiguration.getDbMetricsReporter().stop();
     }
 
+    if (processEngineConfiguration.isRuntimeStatisticsStoreEnabled()) {
+      processEngineConfiguration.getRuntimeStatisticsReconciler().stop();
+    }
+
+    if (processEngineConfiguration.getTaskSearchIndexRebuilder() != null) {
+      processEngineConfiguration.getTaskSearchIndexRebuilder().stop();
+    }
+
     if ((jobExecutor != null)) {
       // unregister process engine with Job Executor
       jobExecutor.unregisterProcessEngine(this);
@@ -40,6 +40,10 @@ public class BatchStatisticsQueryImpl extends AbstractQuery<BatchStatisticsQuery
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public BatchStatisticsQuery batchId(String batchId) {
     ensureNotNull("Batch id", batchId);
     this.batchId = batchId;
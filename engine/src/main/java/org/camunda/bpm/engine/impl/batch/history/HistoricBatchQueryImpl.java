@@ -38,6 +38,10 @@ public class HistoricBatchQueryImpl extends AbstractQuery<HistoricBatchQuery, Hi
     super(commandExecutor);
   }
 
+  public boolean isReadDataSourceAllowed() {
+    return true;
+  }
+
   public HistoricBatchQuery batchId(String batchId) {
     ensureNotNull("Batch id", batchId);
     this.batchId = batchId;
@@ -13,8 +13,6 @@
 
 package org.camunda.bpm.engine.impl.bpmn.behavior;
 
-import static org.camunda.bpm.engine.impl.util.ClassDelegateUtil.instantiateDelegate;
-
 import java.util.List;
 import java.util.concurrent.Callable;
 
@@ -25,6 +23,7 @@ import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.bpmn.parser.FieldDeclaration;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.ProcessApplicationContextUtil;
+import org.camunda.bpm.engine.impl.delegate.DelegateInstanceCache;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityBehavior;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
@@ -46,6 +45,7 @@ public class ClassDelegateActivityBehavior extends AbstractBpmnActivityBehavior
 
   protected String className;
   protected List<FieldDeclaration> fieldDeclarations;
+  protected DelegateInstanceCache delegateInstanceCache = new DelegateInstanceCache();
 
   public ClassDelegateActivityBehavior(String className, List<FieldDeclaration> fieldDeclarations) {
     this.className = className;
@@ -105,8 +105,12 @@ public class ClassDelegateActivityBehavior extends AbstractBpmnActivityBehavior
     });
   }
 
+  protected Object getDelegateInstance() {
+    return delegateInstanceCache.getInstance(className, fieldDeclarations);
+  }
+
   protected ActivityBehavior getActivityBehaviorInstance(ActivityExecution execution) {
-    Object delegateInstance = instantiateDelegate(className, fieldDeclarations);
+    Object delegateInstance = getDelegateInstance();
 
     if (delegateInstance instanceof ActivityBehavior) {
       return new CustomActivityBehavior((ActivityBehavior) delegateInstance);
@@ -12,8 +12,6 @@
  */
 package org.camunda.bpm.engine.impl.bpmn.listener;
 
-import static org.camunda.bpm.engine.impl.util.ClassDelegateUtil.instantiateDelegate;
-
 import java.util.List;
 
 import org.camunda.bpm.engine.delegate.DelegateExecution;
@@ -53,7 +51,7 @@ public class ClassDelegateExecutionListener extends ClassDelegate implements Exe
   }
 
   protected ExecutionListener getExecutionListenerInstance() {
-    Object delegateInstance = instantiateDelegate(className, fieldDeclarations);
+    Object delegateInstance = getDelegateInstance();
     if (delegateInstance instanceof ExecutionListener) {
       return (ExecutionListener) delegateInstance;
 
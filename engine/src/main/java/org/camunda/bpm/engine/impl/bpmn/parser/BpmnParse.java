@@ -582,6 +582,7 @@ public class BpmnParse extends Parse {
     processDefinition.setVersionTag(
       processElement.attributeNS(CAMUNDA_BPMN_EXTENSIONS_NS, "versionTag")
     );
+    processDefinition.setHistoryTimeToLive(parseHistoryTimeToLive(processElement));
 
     LOG.parsingElement("process", processDefinition.getKey());
 
@@ -2252,6 +2253,25 @@ public class BpmnParse extends Parse {
     }
   }
 
+  protected Integer parseHistoryTimeToLive(Element processElement) {
+    String historyTimeToLive = processElement.attributeNS(CAMUNDA_BPMN_EXTENSIONS_NS, "historyTimeToLive");
+    if (historyTimeToLive == null) {
+      return null;
+    }
+
+    try {
+      int timeToLive = Integer.parseInt(historyTimeToLive);
+      if (timeToLive >= 0) {
+        return timeToLive;
+      }
+    } catch (NumberFormatException e) {
+      // fall through
+    }
+
+    addError("Value '" + historyTimeToLive + "' for attribute 'historyTimeToLive' is not a valid number of days", processElement);
+    return null;
+  }
+
   @SuppressWarnings("unchecked")
   protected void addMessageJobDeclarationToActivity(MessageJobDeclaration messageJobDeclaration, ActivityImpl activity) {
     List<MessageJobDeclaration> messageJobDeclarations = (List<MessageJobDeclaration>) activity.getProperty(PROPERTYNAME_MESSAGE_JOB_DECLARATION);
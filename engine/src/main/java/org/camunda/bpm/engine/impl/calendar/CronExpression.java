@@ -253,6 +253,7 @@ public class CronExpression implements Serializable, Cloneable {
     protected transient boolean nearestWeekday = false;
     protected transient int lastdayOffset = 0;
     protected transient boolean expressionParsed = false;
+    private transient volatile TimeAfter lastTimeAfter;
 
     public static final int MAX_YEAR = Calendar.getInstance().get(Calendar.YEAR) + 100;
 
@@ -935,7 +936,31 @@ public class CronExpression implements Serializable, Cloneable {
     //
     ////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Returns the next time after the given time matching this expression.
+     * Cron expressions have a resolution of one second, so the result only depends
+     * on the second of the given time. The last result is remembered and returned for
+     * subsequent requests within the same second, which is the common case when many
+     * timers with the same cycle are rescheduled at once.
+     */
     public Date getTimeAfter(Date afterTime) {
+        long second = toSecond(afterTime.getTime());
+
+        TimeAfter last = lastTimeAfter;
+        if (last != null && last.second == second) {
+            return last.getTimeAfter();
+        }
+
+        Date timeAfter = computeTimeAfter(afterTime);
+        lastTimeAfter = new TimeAfter(second, timeAfter);
+        return timeAfter;
+    }
+
+    protected static long toSecond(long time) {
+        return time >= 0 ? time / 1000 : (time - 999) / 1000;
+    }
+
+    protected Date computeTimeAfter(Date afterTime) {
 
         // Computation is based on Gregorian year only.
         Calendar cl = new java.util.GregorianCalendar(getTimeZone());
@@ -1387,6 +1412,20 @@ public class CronExpression implements Serializable, Cloneable {
 
 }
 
+class TimeAfter {
+    final long second;
+    final Date timeAfter;
+
+    TimeAfter(long second, Date timeAfter) {
+        this.second = second;
+        this.timeAfter = timeAfter == null ? null : new Date(timeAfter.getTime());
+    }
+
+    Date getTimeAfter() {
+        return timeAfter == null ? null : new Date(timeAfter.getTime());
+    }
+}
+
 class ValueSet {
     public int value;
 
@@ -27,11 +27,12 @@ public class CycleBusinessCalendar implements BusinessCalendar {
 
   public Date resolveDuedate(String duedateDescription) {
     try {
+      ScheduleCache scheduleCache = ScheduleCache.getInstance();
+      Date now = ClockUtil.getCurrentTime();
       if (duedateDescription.startsWith("R")) {
-        return new DurationHelper(duedateDescription).getDateAfter();
+        return scheduleCache.getDurationHelper(duedateDescription).getDateAfter(now);
       } else {
-        CronExpression ce = new CronExpression(duedateDescription);
-        return ce.getTimeAfter(ClockUtil.getCurrentTime());
+        return scheduleCache.getCronExpression(duedateDescription).getTimeAfter(now);
       }
 
     }
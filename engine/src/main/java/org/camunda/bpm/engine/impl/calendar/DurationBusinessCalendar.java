@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.calendar;
 import java.util.Date;
 
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.EngineUtilLogger;
 
 
@@ -29,8 +30,8 @@ public class DurationBusinessCalendar implements BusinessCalendar {
 
   public Date resolveDuedate(String duedate) {
     try {
-      DurationHelper dh = new DurationHelper(duedate);
-      return dh.getDateAfter();
+      DurationHelper dh = ScheduleCache.getInstance().getDurationHelper(duedate);
+      return dh.getDateAfter(ClockUtil.getCurrentTime());
     }
     catch (Exception e) {
       throw LOG.exceptionWhileResolvingDuedate(duedate, e);
@@ -46,14 +46,30 @@ public class DurationHelper {
 
   int times;
 
+  /** true if the expression neither defines a start nor an end, i.e. the period starts at the evaluation time */
+  boolean relativeStart;
+
   DatatypeFactory datatypeFactory;
 
+  /** resolves the period of the expression, may be null */
+  ScheduleCache scheduleCache;
+
+  private static volatile DatatypeFactory sharedDatatypeFactory;
+
   public DurationHelper(String expressions) throws Exception {
+    this(expressions, null);
+  }
+
+  /**
+   * @param scheduleCache the cache to take the parsed period from, or <code>null</code> to parse it
+   */
+  public DurationHelper(String expressions, ScheduleCache scheduleCache) throws Exception {
+    this.scheduleCache = scheduleCache;
     List<String> expression = new ArrayList<String>();
     if(expressions != null) {
       expression = Arrays.asList(expressions.split("/"));
     }
-    datatypeFactory = DatatypeFactory.newInstance();
+    datatypeFactory = getDatatypeFactory();
 
     if (expression.size() > 3 || expression.isEmpty()) {
       throw LOG.cannotParseDuration(expressions);
@@ -77,18 +93,37 @@ public class DurationHelper {
       }
     }
     if (start == null && end == null) {
+      relativeStart = true;
       start = ClockUtil.getCurrentTime();
     }
 
   }
 
+  /**
+   * Returns the next date after the current time. If the expression
+   * has no start and no end, the period starts at the time this helper was created.
+   */
   public Date getDateAfter() {
+    return getDateAfter(start, ClockUtil.getCurrentTime());
+  }
+
+  /**
+   * Returns the next date after the given date. If the expression
+   * has no start and no end, the period starts at the given date. In contrast to
+   * {@link #getDateAfter()}, the result does not depend on the creation time of this
+   * helper, so that an instance can be reused for many evaluations.
+   */
+  public Date getDateAfter(Date date) {
+    return getDateAfter(relativeStart ? date : start, date);
+  }
+
+  private Date getDateAfter(Date start, Date date) {
     if (isRepeat) {
-      return getDateAfterRepeat(ClockUtil.getCurrentTime());
+      return copy(getDateAfterRepeat(start, date));
     }
     //TODO: is this correct?
     if (end != null) {
-      return end;
+      return copy(end);
     }
     return add(start, period);
   }
@@ -97,7 +132,7 @@ public class DurationHelper {
     return times;
   }
 
-  private Date getDateAfterRepeat(Date date) {
+  private Date getDateAfterRepeat(Date start, Date date) {
     if (start != null) {
       Date cur = start;
       for (int i=0;i<times && !cur.after(date);i++) {
@@ -122,7 +157,14 @@ public class DurationHelper {
     return calendar.getTime();
   }
 
+  private Date copy(Date date) {
+    return date == null ? null : new Date(date.getTime());
+  }
+
   private Duration parsePeriod(String period) {
+    if (scheduleCache != null) {
+      return scheduleCache.getPeriod(period, datatypeFactory);
+    }
     return datatypeFactory.newDuration(period);
   }
 
@@ -130,4 +172,17 @@ public class DurationHelper {
     return time.startsWith("P");
   }
 
+  /**
+   * Creating a {@link DatatypeFactory} involves a service lookup on the classpath,
+   * so one instance is shared by all helpers.
+   */
+  private static DatatypeFactory getDatatypeFactory() throws Exception {
+    DatatypeFactory factory = sharedDatatypeFactory;
+    if (factory == null) {
+      factory = DatatypeFactory.newInstance();
+      sharedDatatypeFactory = factory;
+    }
+    return factory;
+  }
+
 }
@@ -0,0 +1,91 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.calendar;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.Duration;
+
+import org.camunda.bpm.engine.impl.util.ConcurrentLruCache;
+
+/**
+ * Caches parsed {@link CronExpression cron expressions} and ISO 8601 {@link Duration periods},
+ * so that timers sharing the same schedule do not parse it again each time they are created or
+ * rescheduled.
+ *
+ * Repeating timers carry their own start date (e.g. <code>R3/2016-01-01T10:00:00/PT10M</code>),
+ * hence durations are not cached by their whole expression. Only the period is cached and
+ * {@link #getDurationHelper(String)} applies the start and end of the expression to it.
+ *
+ * Cached cron expressions are shared between threads and must only be evaluated relative to a
+ * given date, i.e. by {@link CronExpression#getTimeAfter(java.util.Date)}.
+ *
+ * Each kind of schedule is bounded by the capacity of the cache; the least recently used
+ * schedules are evicted first.
+ */
+public class ScheduleCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+
+  protected static final ScheduleCache INSTANCE = new ScheduleCache(DEFAULT_CAPACITY);
+
+  protected final ConcurrentLruCache<String, CronExpression> cronExpressions;
+  protected final ConcurrentLruCache<String, Duration> periods;
+
+  public ScheduleCache(int capacity) {
+    cronExpressions = new ConcurrentLruCache<String, CronExpression>(capacity);
+    periods = new ConcurrentLruCache<String, Duration>(capacity);
+  }
+
+  public static ScheduleCache getInstance() {
+    return INSTANCE;
+  }
+
+  public CronExpression getCronExpression(String expression) throws Exception {
+    CronExpression cronExpression = cronExpressions.get(expression);
+    if (cronExpression == null) {
+      cronExpression = new CronExpression(expression);
+      cronExpressions.put(expression, cronExpression);
+    }
+    return cronExpression;
+  }
+
+  /**
+   * @return a new helper for the given expression whose period is taken from the cache
+   */
+  public DurationHelper getDurationHelper(String expression) throws Exception {
+    return new DurationHelper(expression, this);
+  }
+
+  /**
+   * @return the parsed ISO 8601 period, e.g. <code>PT10M</code>
+   */
+  public Duration getPeriod(String period, DatatypeFactory datatypeFactory) {
+    Duration duration = periods.get(period);
+    if (duration == null) {
+      // durations are immutable and can be shared
+      duration = datatypeFactory.newDuration(period);
+      periods.put(period, duration);
+    }
+    return duration;
+  }
+
+  public int size() {
+    return cronExpressions.size() + periods.size();
+  }
+
+  public void clear() {
+    cronExpressions.clear();
+    periods.clear();
+  }
+
+}
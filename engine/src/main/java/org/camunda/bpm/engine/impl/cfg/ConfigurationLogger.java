@@ -64,4 +64,16 @@ public class ConfigurationLogger extends ProcessEngineLogger {
         "Invalid value '{}' for configuration property 'defaultUserPermissionNameForTask'. Valid values are: '{}'", defaultUserPermissionNameForTask, validPermissionNames));
   }
 
+  public ProcessEngineException invalidConfigHistoryCleanupBatchWindowTime(String propertyName, String value) {
+    return new ProcessEngineException(exceptionMessage(
+        "008",
+        "Invalid value '{}' for configuration property '{}'. Expected a time of day in the format 'HH:mm'", value, propertyName));
+  }
+
+  public ProcessEngineException invalidConfigHistoryCleanupBatchSize(int batchSize) {
+    return new ProcessEngineException(exceptionMessage(
+        "009",
+        "Invalid value '{}' for configuration property 'historyCleanupBatchSize'. The batch size must be greater than zero", batchSize));
+  }
+
 }
@@ -24,6 +24,7 @@ import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -112,8 +113,11 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.profiler.SqlStatementProfiler;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.db.sql.DefaultReadDataSourceStalenessPolicy;
+import org.camunda.bpm.engine.impl.db.sql.ReadDataSourceStalenessPolicy;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
 import org.camunda.bpm.engine.impl.digest.PasswordEncryptor;
 import org.camunda.bpm.engine.impl.digest.ShaHashDigest;
@@ -188,6 +192,8 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventSubprocessJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerSuspendJobDefinitionHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.metrics.MetricsReporterIdProvider;
 import org.camunda.bpm.engine.impl.metrics.SimpleIpBasedProvider;
@@ -276,6 +282,11 @@ import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
 import org.camunda.bpm.engine.impl.scripting.engine.VariableScopeResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptEnvResolver;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptingEnvironment;
+import org.camunda.bpm.engine.impl.statistics.RuntimeStatisticsReconciler;
+import org.camunda.bpm.engine.impl.statistics.RuntimeStatisticsStore;
+import org.camunda.bpm.engine.impl.task.search.InMemoryTaskSearchIndex;
+import org.camunda.bpm.engine.impl.task.search.TaskSearchIndex;
+import org.camunda.bpm.engine.impl.task.search.TaskSearchIndexRebuilder;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 import org.camunda.bpm.engine.impl.variable.ValueTypeResolverImpl;
@@ -369,6 +380,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<SessionFactory> customSessionFactories;
   protected DbSqlSessionFactory dbSqlSessionFactory;
   protected Map<Class<?>, SessionFactory> sessionFactories;
+  /** index of the slot which holds the session of a session type in a command context */
+  protected Map<Class<?>, Integer> sessionSlots;
 
   // DEPLOYERS ////////////////////////////////////////////////////////////////
 
@@ -376,6 +389,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<Deployer> customPostDeployers;
   protected List<Deployer> deployers;
   protected DeploymentCache deploymentCache;
+  /** maximum number of script resources kept in the deployment cache over all deployments */
+  protected int scriptResourceCacheCapacity = DeploymentCache.DEFAULT_SCRIPT_RESOURCE_CACHE_CAPACITY;
+
+  /** If true, the latest versions of all deployed definitions are loaded into
+   * the deployment cache when the process engine is built. */
+  protected boolean isDeploymentCacheWarmupEnabled = false;
+  /** Number of threads used to parse deployments during the deployment cache warmup */
+  protected int deploymentCacheWarmupThreads = Runtime.getRuntime().availableProcessors();
 
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
@@ -418,6 +439,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   /** default priority for batch jobs */
   protected long batchJobPriority = DefaultJobPriorityProvider.DEFAULT_PRIORITY;
 
+  // HISTORY CLEANUP //////////////////////////////////////////////////////////
+
+  /** Maximum number of historic process instances removed by one history cleanup job execution */
+  protected int historyCleanupBatchSize = 500;
+  /** Daily start ("HH:mm") of the window in which the history cleanup job runs */
+  protected String historyCleanupBatchWindowStartTime;
+  /** Daily end ("HH:mm") of the window in which the history cleanup job runs, the whole day if equal to the start */
+  protected String historyCleanupBatchWindowEndTime;
+
   // OTHER ////////////////////////////////////////////////////////////////////
   protected List<FormEngine> customFormEngines;
   protected Map<String, FormEngine> formEngines;
@@ -437,6 +467,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected Charset defaultCharset = null;
 
   protected ExpressionManager expressionManager;
+  protected int expressionInlineCachingThreshold = -1;
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
   protected ScriptingEnvironment scriptingEnvironment;
@@ -444,6 +475,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected ScriptFactory scriptFactory;
   protected boolean autoStoreScriptVariables = false;
   protected boolean enableScriptCompilation = true;
+  protected boolean enableJavaScriptCompilation = false;
   protected boolean enableScriptEngineCaching = true;
   protected boolean enableFetchScriptEngineFromProcessApplication = true;
 
@@ -467,6 +499,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   // dmn
   protected DefaultDmnEngineConfiguration dmnEngineConfiguration;
   protected DmnEngine dmnEngine;
+  protected int decisionTableIndexThreshold = -1;
 
   protected HistoryLevel historyLevel;
 
@@ -566,6 +599,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected MetricsReporterIdProvider metricsReporterIdProvider;
 
+  /** profiling of the SQL statements executed by commands */
+  protected boolean isSqlStatementProfilingEnabled = false;
+  protected long sqlStatementSlowThreshold = 1000;
+  protected int sqlStatementSlowLogSize = 100;
+  protected SqlStatementProfiler sqlStatementProfiler;
+
+  /** combining the inserts of several entities of one type into a single statement */
+  protected boolean isMultiRowInsertEnabled = false;
+
+  /** skipping the change detection and flush of commands which only read data */
+  protected boolean isReadOnlyCommandsEnabled = false;
+
+  /** optional data source for read-only commands which tolerate stale data, like history queries */
+  protected DataSource readDataSource;
+  protected SqlSessionFactory readSqlSessionFactory;
+  protected ReadDataSourceStalenessPolicy readDataSourceStalenessPolicy;
+
+  /** counts of the process definition and activity statistics which are maintained in memory */
+  protected boolean isRuntimeStatisticsStoreEnabled = false;
+  protected long runtimeStatisticsReconciliationInterval = 60 * 5;
+  protected RuntimeStatisticsStore runtimeStatisticsStore;
+  protected RuntimeStatisticsReconciler runtimeStatisticsReconciler;
+
+  /** secondary index answering task queries */
+  protected boolean isTaskSearchIndexEnabled = false;
+  protected long taskSearchIndexRebuildInterval = 60 * 15;
+  protected TaskSearchIndex taskSearchIndex;
+  protected TaskSearchIndexRebuilder taskSearchIndexRebuilder;
+
+  /** distribution of the fetched external tasks among the topics of a fetch and lock request */
+  protected boolean isExternalTaskFairFetchingEnabled = false;
+  protected Map<String, Integer> externalTaskTopicWeights;
+
+  /** sharing of the instances of stateless delegate classes among invocations */
+  protected boolean isReuseStatelessDelegateInstances = false;
+
   /** handling of expressions submitted via API; can be used as guards against remote code execution */
   protected boolean enableExpressionsInAdhocQueries = false;
   protected boolean enableExpressionsInStoredQueries = true;
@@ -649,11 +718,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initDataSource();
     initTransactionFactory();
     initSqlSessionFactory();
+    initReadSqlSessionFactory();
+    initSqlStatementProfiler();
     initIdentityProviderSessionFactory();
     initSessionFactories();
     initValueTypeResolver();
     initSerialization();
     initJpa();
+    initSessionSlots();
     initDelegateInterceptor();
     initEventHandlers();
     initFailedJobCommandFactory();
@@ -664,7 +736,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initDeploymentRegistration();
     initResourceAuthorizationProvider();
     initMetrics();
+    initRuntimeStatisticsStore();
+    initTaskSearchIndex();
     initMigration();
+    initHistoryCleanup();
     initCommandCheckers();
     initDefaultUserPermissionForTask();
     invokePostInit();
@@ -995,44 +1070,61 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
 
     if (sqlSessionFactory==null) {
-      InputStream inputStream = null;
-      try {
-        inputStream = getMyBatisXmlConfigurationSteam();
+      // update the jdbc parameters to the configured ones...
+      sqlSessionFactory = buildSqlSessionFactory(new Environment("default", transactionFactory, dataSource));
+
+      if(isUseSharedSqlSessionFactory) {
+        cachedSqlSessionFactory = sqlSessionFactory;
+      }
+    }
+  }
 
-        // update the jdbc parameters to the configured ones...
-        Environment environment = new Environment("default", transactionFactory, dataSource);
-        Reader reader = new InputStreamReader(inputStream);
+  /**
+   * Builds the session factory of the read data source from the same mappings as the
+   * primary session factory. Reads need no transaction coordination with the primary data
+   * source, hence the session factory always uses JDBC transactions.
+   */
+  protected void initReadSqlSessionFactory() {
+    if (readDataSource != null && readSqlSessionFactory == null) {
+      readSqlSessionFactory = buildSqlSessionFactory(new Environment("read", new JdbcTransactionFactory(), readDataSource));
+    }
 
-        Properties properties = new Properties();
+    if (readDataSource != null && readDataSourceStalenessPolicy == null) {
+      readDataSourceStalenessPolicy = new DefaultReadDataSourceStalenessPolicy();
+    }
+  }
 
-        if(isUseSharedSqlSessionFactory) {
-          properties.put("prefix", "${@org.camunda.bpm.engine.impl.context.Context@getProcessEngineConfiguration().databaseTablePrefix}");
-        }
-        else {
-          properties.put("prefix", databaseTablePrefix);
-        }
+  protected SqlSessionFactory buildSqlSessionFactory(Environment environment) {
+    InputStream inputStream = null;
+    try {
+      inputStream = getMyBatisXmlConfigurationSteam();
 
-        initSqlSessionFactoryProperties(properties, databaseTablePrefix, databaseType);
+      Reader reader = new InputStreamReader(inputStream);
 
-        XMLConfigBuilder parser = new XMLConfigBuilder(reader,"", properties);
-        Configuration configuration = parser.getConfiguration();
-        configuration.setEnvironment(environment);
-        configuration = parser.parse();
+      Properties properties = new Properties();
 
-        configuration.setDefaultStatementTimeout(jdbcStatementTimeout);
+      if(isUseSharedSqlSessionFactory) {
+        properties.put("prefix", "${@org.camunda.bpm.engine.impl.context.Context@getProcessEngineConfiguration().databaseTablePrefix}");
+      }
+      else {
+        properties.put("prefix", databaseTablePrefix);
+      }
 
-        sqlSessionFactory = new DefaultSqlSessionFactory(configuration);
+      initSqlSessionFactoryProperties(properties, databaseTablePrefix, databaseType);
 
-        if(isUseSharedSqlSessionFactory) {
-          cachedSqlSessionFactory = sqlSessionFactory;
-        }
+      XMLConfigBuilder parser = new XMLConfigBuilder(reader,"", properties);
+      Configuration configuration = parser.getConfiguration();
+      configuration.setEnvironment(environment);
+      configuration = parser.parse();
 
+      configuration.setDefaultStatementTimeout(jdbcStatementTimeout);
 
-      } catch (Exception e) {
-        throw new ProcessEngineException("Error while building ibatis SqlSessionFactory: " + e.getMessage(), e);
-      } finally {
-        IoUtil.closeSilently(inputStream);
-      }
+      return new DefaultSqlSessionFactory(configuration);
+
+    } catch (Exception e) {
+      throw new ProcessEngineException("Error while building ibatis SqlSessionFactory: " + e.getMessage(), e);
+    } finally {
+      IoUtil.closeSilently(inputStream);
     }
   }
 
@@ -1158,12 +1250,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDatabaseType(databaseType);
     dbSqlSessionFactory.setIdGenerator(idGenerator);
     dbSqlSessionFactory.setSqlSessionFactory(sqlSessionFactory);
+    dbSqlSessionFactory.setReadSqlSessionFactory(readSqlSessionFactory);
     dbSqlSessionFactory.setDbIdentityUsed(isDbIdentityUsed);
     dbSqlSessionFactory.setDbHistoryUsed(isDbHistoryUsed);
     dbSqlSessionFactory.setCmmnEnabled(cmmnEnabled);
     dbSqlSessionFactory.setDmnEnabled(dmnEnabled);
     dbSqlSessionFactory.setDatabaseTablePrefix(databaseTablePrefix);
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
+    dbSqlSessionFactory.setSqlStatementProfiler(sqlStatementProfiler);
+    dbSqlSessionFactory.setMultiRowInsertEnabled(isMultiRowInsertEnabled);
     addSessionFactory(dbSqlSessionFactory);
     addSessionFactory(new DbSqlPersistenceProviderFactory());
   }
@@ -1177,6 +1272,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initMigratingCompensationInstanceValidators();
   }
 
+  protected void initHistoryCleanup() {
+    if (historyCleanupBatchSize <= 0) {
+      throw LOG.invalidConfigHistoryCleanupBatchSize(historyCleanupBatchSize);
+    }
+
+    if (historyCleanupBatchWindowStartTime != null || historyCleanupBatchWindowEndTime != null) {
+      HistoryCleanupHelper.parseTime("historyCleanupBatchWindowStartTime", historyCleanupBatchWindowStartTime);
+      HistoryCleanupHelper.parseTime("historyCleanupBatchWindowEndTime", historyCleanupBatchWindowEndTime);
+    }
+  }
+
   protected void initMigrationActivityMatcher() {
     if (migrationActivityMatcher == null) {
       migrationActivityMatcher = new DefaultMigrationActivityMatcher();
@@ -1260,6 +1366,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     sessionFactories.put(sessionFactory.getSessionType(), sessionFactory);
   }
 
+  /**
+   * Assigns a slot to each session type for which a session factory is configured. A command
+   * context keeps its sessions in an array indexed by these slots instead of creating a map for
+   * every command. Session factories which are added later on are looked up by type.
+   */
+  protected void initSessionSlots() {
+    Map<Class<?>, Integer> slots = new HashMap<Class<?>, Integer>();
+    for (Class<?> sessionType : sessionFactories.keySet()) {
+      slots.put(sessionType, slots.size());
+    }
+    sessionSlots = Collections.unmodifiableMap(slots);
+  }
+
   // deployers ////////////////////////////////////////////////////////////////
 
   protected void initDeployers() {
@@ -1283,7 +1402,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         deployers.addAll(customPostDeployers);
       }
 
-      deploymentCache = new DeploymentCache();
+      deploymentCache = new DeploymentCache(scriptResourceCacheCapacity);
       deploymentCache.setDeployers(deployers);
     }
   }
@@ -1388,6 +1507,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     DecisionDefinitionDeployer decisionDefinitionDeployer = new DecisionDefinitionDeployer();
     decisionDefinitionDeployer.setIdGenerator(idGenerator);
     decisionDefinitionDeployer.setTransformer(dmnEngineConfiguration.getTransformer());
+    decisionDefinitionDeployer.setDecisionTableIndexThreshold(decisionTableIndexThreshold);
+    decisionDefinitionDeployer.setDefaultInputEntryExpressionLanguage(dmnEngineConfiguration.getDefaultInputEntryExpressionLanguage());
     return decisionDefinitionDeployer;
   }
 
@@ -1414,6 +1535,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.dmnEngineConfiguration = dmnEngineConfiguration;
   }
 
+  public int getDecisionTableIndexThreshold() {
+    return decisionTableIndexThreshold;
+  }
+
+  /**
+   * Enables the indexing of decision tables with at least the given number of rules.
+   * Inputs whose expression is a variable name and whose input entries are FEEL literals,
+   * comparisons, ranges or lists of those are indexed when the decision is deployed, so that
+   * only the rules which may match are evaluated. The metric of executed decision elements
+   * then only counts the evaluated rules. A negative value (default) disables the indexing.
+   */
+  public ProcessEngineConfigurationImpl setDecisionTableIndexThreshold(int decisionTableIndexThreshold) {
+    this.decisionTableIndexThreshold = decisionTableIndexThreshold;
+    return this;
+  }
+
   // job executor /////////////////////////////////////////////////////////////
 
   protected void initJobExecutor() {
@@ -1458,6 +1595,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     BatchMonitorJobHandler batchMonitorJobHandler = new BatchMonitorJobHandler();
     jobHandlers.put(batchMonitorJobHandler.getType(), batchMonitorJobHandler);
 
+    HistoryCleanupJobHandler historyCleanupJobHandler = new HistoryCleanupJobHandler();
+    jobHandlers.put(historyCleanupJobHandler.getType(), historyCleanupJobHandler);
+
     for (JobHandler batchHandler : batchHandlers.values()) {
       jobHandlers.put(batchHandler.getType(), batchHandler);
     }
@@ -1608,6 +1748,36 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initRuntimeStatisticsStore() {
+    if (isRuntimeStatisticsStoreEnabled) {
+      if (runtimeStatisticsStore == null) {
+        runtimeStatisticsStore = new RuntimeStatisticsStore();
+      }
+
+      if (runtimeStatisticsReconciler == null) {
+        runtimeStatisticsReconciler = new RuntimeStatisticsReconciler(runtimeStatisticsStore, commandExecutorTxRequired);
+        runtimeStatisticsReconciler.setReconciliationIntervalInSeconds(runtimeStatisticsReconciliationInterval);
+      }
+    }
+  }
+
+  protected void initTaskSearchIndex() {
+    if (isTaskSearchIndexEnabled && taskSearchIndex == null) {
+      taskSearchIndex = new InMemoryTaskSearchIndex(databaseType);
+    }
+
+    if (taskSearchIndex != null && taskSearchIndexRebuilder == null) {
+      taskSearchIndexRebuilder = new TaskSearchIndexRebuilder(taskSearchIndex, commandExecutorTxRequired);
+      taskSearchIndexRebuilder.setRebuildIntervalInSeconds(taskSearchIndexRebuildInterval);
+    }
+  }
+
+  protected void initSqlStatementProfiler() {
+    if (isSqlStatementProfilingEnabled && sqlStatementProfiler == null) {
+      sqlStatementProfiler = new SqlStatementProfiler(sqlStatementSlowThreshold, sqlStatementSlowLogSize);
+    }
+  }
+
   protected void initDefaultMetrics(MetricsRegistry metricsRegistry) {
     metricsRegistry.createMeter(Metrics.ACTIVTY_INSTANCE_START);
 
@@ -1620,6 +1790,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_EXECUTION_REJECTED);
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    metricsRegistry.createMeter(Metrics.SCRIPT_RESOURCE_CACHE_HIT);
+    metricsRegistry.createMeter(Metrics.SCRIPT_RESOURCE_CACHE_MISS);
   }
 
   protected void initSerialization() {
@@ -1714,6 +1887,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (scriptingEngines==null) {
       scriptingEngines = new ScriptingEngines(new ScriptBindingsFactory(resolverFactories));
       scriptingEngines.setEnableScriptEngineCaching(enableScriptEngineCaching);
+      scriptingEngines.setEnableJavaScriptCompilation(enableJavaScriptCompilation);
     }
     if(scriptFactory == null) {
       scriptFactory = new ScriptFactory();
@@ -1752,6 +1926,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       expressionManager = new ExpressionManager(beans);
     }
 
+    expressionManager.setInlineCachingThreshold(expressionInlineCachingThreshold);
+
     // add function mapper for command context (eg currentUser(), currentUserGroups())
     expressionManager.addFunctionMapper(new CommandContextFunctionMapper());
     // add function mapper for date time (eg now(), dateTime())
@@ -2130,6 +2306,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public Map<Class<?>, Integer> getSessionSlots() {
+    return sessionSlots;
+  }
+
   public List<Deployer> getDeployers() {
     return deployers;
   }
@@ -2204,6 +2384,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return scriptingEngines;
   }
 
+  public int getExpressionInlineCachingThreshold() {
+    return expressionInlineCachingThreshold;
+  }
+
+  /**
+   * Enables inline caching of bean accessors in expressions: once a property or method
+   * of an expression was evaluated the given number of times, the getter or method it was
+   * resolved with is invoked directly as long as the base object has the same class.
+   * Inline caching assumes that resolvers which take precedence over bean resolution decide
+   * by the class of the base object only. A negative value (default) disables inline caching.
+   */
+  public ProcessEngineConfigurationImpl setExpressionInlineCachingThreshold(int expressionInlineCachingThreshold) {
+    this.expressionInlineCachingThreshold = expressionInlineCachingThreshold;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setScriptingEngines(ScriptingEngines scriptingEngines) {
     this.scriptingEngines = scriptingEngines;
     return this;
@@ -2664,6 +2860,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.deploymentCache = deploymentCache;
   }
 
+  public int getScriptResourceCacheCapacity() {
+    return scriptResourceCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setScriptResourceCacheCapacity(int scriptResourceCacheCapacity) {
+    this.scriptResourceCacheCapacity = scriptResourceCacheCapacity;
+    return this;
+  }
+
+  public boolean isDeploymentCacheWarmupEnabled() {
+    return isDeploymentCacheWarmupEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmupEnabled(boolean isDeploymentCacheWarmupEnabled) {
+    this.isDeploymentCacheWarmupEnabled = isDeploymentCacheWarmupEnabled;
+    return this;
+  }
+
+  public int getDeploymentCacheWarmupThreads() {
+    return deploymentCacheWarmupThreads;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmupThreads(int deploymentCacheWarmupThreads) {
+    this.deploymentCacheWarmupThreads = deploymentCacheWarmupThreads;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setDelegateInterceptor(DelegateInterceptor delegateInterceptor) {
     this.delegateInterceptor = delegateInterceptor;
     return this;
@@ -2867,6 +3090,37 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.batchJobPriority = batchJobPriority;
   }
 
+  public int getHistoryCleanupBatchSize() {
+    return historyCleanupBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchSize(int historyCleanupBatchSize) {
+    this.historyCleanupBatchSize = historyCleanupBatchSize;
+    return this;
+  }
+
+  public String getHistoryCleanupBatchWindowStartTime() {
+    return historyCleanupBatchWindowStartTime;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchWindowStartTime(String historyCleanupBatchWindowStartTime) {
+    this.historyCleanupBatchWindowStartTime = historyCleanupBatchWindowStartTime;
+    return this;
+  }
+
+  public String getHistoryCleanupBatchWindowEndTime() {
+    return historyCleanupBatchWindowEndTime;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchWindowEndTime(String historyCleanupBatchWindowEndTime) {
+    this.historyCleanupBatchWindowEndTime = historyCleanupBatchWindowEndTime;
+    return this;
+  }
+
+  public boolean isHistoryCleanupBatchWindowConfigured() {
+    return historyCleanupBatchWindowStartTime != null;
+  }
+
   public SessionFactory getIdentityProviderSessionFactory() {
     return identityProviderSessionFactory;
   }
@@ -2993,6 +3247,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return enableScriptCompilation;
   }
 
+  /**
+   * If set to true, JavaScript sources are compiled as well. Scripts compiled by
+   * JavaScript engines which are not thread-safe are cached per engine and the
+   * engines are reused by the thread which created them. Requires script
+   * compilation and script engine caching to be enabled.
+   */
+  public ProcessEngineConfigurationImpl setEnableJavaScriptCompilation(boolean enableJavaScriptCompilation) {
+    this.enableJavaScriptCompilation = enableJavaScriptCompilation;
+    return this;
+  }
+
+  /**
+   * @return true if compilation of JavaScript sources is enabled. False otherwise.
+   */
+  public boolean isEnableJavaScriptCompilation() {
+    return enableJavaScriptCompilation;
+  }
+
   public boolean isEnableGracefulDegradationOnContextSwitchFailure() {
     return enableGracefulDegradationOnContextSwitchFailure;
   }
@@ -3145,6 +3417,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       // ACT-233: connection pool of Ibatis is not properely initialized if this is not called!
       ((PooledDataSource)dataSource).forceCloseAll();
     }
+
+    if (scriptingEngines != null) {
+      scriptingEngines.close();
+    }
   }
 
   public MetricsRegistry getMetricsRegistry() {
@@ -3191,6 +3467,290 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.metricsReporterIdProvider = metricsReporterIdProvider;
   }
 
+  public boolean isSqlStatementProfilingEnabled() {
+    return isSqlStatementProfilingEnabled;
+  }
+
+  /**
+   * Enables the recording of count and duration of the SQL statements executed by
+   * each command class as well as the sampling of slow statements. The results are
+   * exposed by {@link org.camunda.bpm.engine.ManagementService#getSqlStatementStatistics()}
+   * and {@link org.camunda.bpm.engine.ManagementService#getSlowSqlStatements()}. Disabled by default.
+   */
+  public ProcessEngineConfigurationImpl setSqlStatementProfilingEnabled(boolean isSqlStatementProfilingEnabled) {
+    this.isSqlStatementProfilingEnabled = isSqlStatementProfilingEnabled;
+    return this;
+  }
+
+  public long getSqlStatementSlowThreshold() {
+    return sqlStatementSlowThreshold;
+  }
+
+  /**
+   * Sets the duration in milliseconds from which an executed statement is recorded
+   * as slow statement together with its parameter, if SQL statement profiling is enabled.
+   * A negative value disables the recording of slow statements. The default is 1000.
+   */
+  public ProcessEngineConfigurationImpl setSqlStatementSlowThreshold(long sqlStatementSlowThreshold) {
+    this.sqlStatementSlowThreshold = sqlStatementSlowThreshold;
+    return this;
+  }
+
+  public int getSqlStatementSlowLogSize() {
+    return sqlStatementSlowLogSize;
+  }
+
+  /**
+   * Sets the number of most recent slow statements which are kept. The default is 100.
+   */
+  public ProcessEngineConfigurationImpl setSqlStatementSlowLogSize(int sqlStatementSlowLogSize) {
+    this.sqlStatementSlowLogSize = sqlStatementSlowLogSize;
+    return this;
+  }
+
+  public SqlStatementProfiler getSqlStatementProfiler() {
+    return sqlStatementProfiler;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementProfiler(SqlStatementProfiler sqlStatementProfiler) {
+    this.sqlStatementProfiler = sqlStatementProfiler;
+    return this;
+  }
+
+  public boolean isMultiRowInsertEnabled() {
+    return isMultiRowInsertEnabled;
+  }
+
+  /**
+   * If enabled, a flush which inserts several historic activity instances, historic variable
+   * updates or variable instances inserts them with one multi-row INSERT statement per entity
+   * type (<code>INSERT ALL</code> on Oracle) instead of one statement per entity. The number of
+   * rows per statement is limited per database. Disabled by default.
+   */
+  public ProcessEngineConfigurationImpl setMultiRowInsertEnabled(boolean isMultiRowInsertEnabled) {
+    this.isMultiRowInsertEnabled = isMultiRowInsertEnabled;
+    return this;
+  }
+
+  public boolean isReadOnlyCommandsEnabled() {
+    return isReadOnlyCommandsEnabled;
+  }
+
+  /**
+   * If enabled, a command which implements {@link org.camunda.bpm.engine.impl.interceptor.ReadOnlyCommand},
+   * like queries and the fetching of variables, runs in a read-only command context. The entities
+   * it loads are not copied for dirty checking and the context is not flushed when it is closed.
+   * Disabled by default.
+   */
+  public ProcessEngineConfigurationImpl setReadOnlyCommandsEnabled(boolean isReadOnlyCommandsEnabled) {
+    this.isReadOnlyCommandsEnabled = isReadOnlyCommandsEnabled;
+    return this;
+  }
+
+  public DataSource getReadDataSource() {
+    return readDataSource;
+  }
+
+  /**
+   * Sets a second data source, usually pointing to a replica of the database, which is used
+   * by history queries and reports, statistics queries and queries which explicitly
+   * {@link org.camunda.bpm.engine.impl.AbstractQuery#allowReadDataSource() allow} it. Requires
+   * {@link #setReadOnlyCommandsEnabled(boolean) read-only commands}. Whether a command may read
+   * from it is decided by the {@link #setReadDataSourceStalenessPolicy(ReadDataSourceStalenessPolicy) staleness policy}.
+   * Not set by default.
+   *
+   * <p>The default staleness policy only lets a thread read its own writes: a read which is
+   * executed by another thread than the preceding write (e.g. another request served by a
+   * thread pool) may see stale data. Configure a
+   * {@link DefaultReadDataSourceStalenessPolicy#setMaxReplicaLag(long) maximum replica lag}
+   * to bound the staleness for all threads.</p>
+   */
+  public ProcessEngineConfigurationImpl setReadDataSource(DataSource readDataSource) {
+    this.readDataSource = readDataSource;
+    return this;
+  }
+
+  public SqlSessionFactory getReadSqlSessionFactory() {
+    return readSqlSessionFactory;
+  }
+
+  public ProcessEngineConfigurationImpl setReadSqlSessionFactory(SqlSessionFactory readSqlSessionFactory) {
+    this.readSqlSessionFactory = readSqlSessionFactory;
+    return this;
+  }
+
+  public ReadDataSourceStalenessPolicy getReadDataSourceStalenessPolicy() {
+    return readDataSourceStalenessPolicy;
+  }
+
+  /**
+   * Decides when a command may read from the {@link #setReadDataSource(DataSource) read data source}.
+   * Defaults to a {@link DefaultReadDataSourceStalenessPolicy} with a read-your-writes window of
+   * {@link DefaultReadDataSourceStalenessPolicy#DEFAULT_READ_YOUR_WRITES_WINDOW} milliseconds
+   * and no bound on the replica lag.
+   */
+  public ProcessEngineConfigurationImpl setReadDataSourceStalenessPolicy(ReadDataSourceStalenessPolicy readDataSourceStalenessPolicy) {
+    this.readDataSourceStalenessPolicy = readDataSourceStalenessPolicy;
+    return this;
+  }
+
+  public boolean isRuntimeStatisticsStoreEnabled() {
+    return isRuntimeStatisticsStoreEnabled;
+  }
+
+  /**
+   * Enables the in-memory maintenance of the counts returned by the process definition and
+   * activity statistics queries, so that these queries do not group the rows of the runtime
+   * tables. The counts are updated by the committed changes of this process engine and
+   * periodically reconciled with the database, hence they are eventually consistent only.
+   * Queries which are restricted by authorizations or tenants are still answered by the
+   * database. The counts are kept per process engine, so in a cluster they miss the changes
+   * of the other nodes until the next reconciliation. Every commit which changes executions,
+   * jobs or incidents synchronizes briefly on the shared counts. Disabled by default.
+   */
+  public ProcessEngineConfigurationImpl setRuntimeStatisticsStoreEnabled(boolean isRuntimeStatisticsStoreEnabled) {
+    this.isRuntimeStatisticsStoreEnabled = isRuntimeStatisticsStoreEnabled;
+    return this;
+  }
+
+  public long getRuntimeStatisticsReconciliationInterval() {
+    return runtimeStatisticsReconciliationInterval;
+  }
+
+  /**
+   * Sets the interval in seconds in which the runtime statistics store is reconciled with
+   * the database. Changes made by other process engines of a cluster become visible after
+   * the next reconciliation. The default is 300.
+   */
+  public ProcessEngineConfigurationImpl setRuntimeStatisticsReconciliationInterval(long runtimeStatisticsReconciliationInterval) {
+    this.runtimeStatisticsReconciliationInterval = runtimeStatisticsReconciliationInterval;
+    return this;
+  }
+
+  public RuntimeStatisticsStore getRuntimeStatisticsStore() {
+    return runtimeStatisticsStore;
+  }
+
+  public ProcessEngineConfigurationImpl setRuntimeStatisticsStore(RuntimeStatisticsStore runtimeStatisticsStore) {
+    this.runtimeStatisticsStore = runtimeStatisticsStore;
+    return this;
+  }
+
+  public RuntimeStatisticsReconciler getRuntimeStatisticsReconciler() {
+    return runtimeStatisticsReconciler;
+  }
+
+  public ProcessEngineConfigurationImpl setRuntimeStatisticsReconciler(RuntimeStatisticsReconciler runtimeStatisticsReconciler) {
+    this.runtimeStatisticsReconciler = runtimeStatisticsReconciler;
+    return this;
+  }
+
+  public boolean isTaskSearchIndexEnabled() {
+    return isTaskSearchIndexEnabled;
+  }
+
+  /**
+   * Enables a secondary index of the runtime tasks, their candidate users and groups and
+   * the runtime variables which answers task queries instead of the database. The index is
+   * updated by the committed changes of this process engine and periodically rebuilt from
+   * the database, hence query results are eventually consistent only. Queries which are
+   * restricted by authorizations or use criteria the index does not support are still
+   * answered by the database. Unless a {@link #setTaskSearchIndex(TaskSearchIndex) custom index}
+   * is set, the index is kept in memory. Disabled by default.
+   *
+   * <p>The index only sees the changes of this process engine, so it must only be enabled on a
+   * process engine which does not share its database with other process engines. The index is
+   * not used while another process engine with an enabled index works on the same database
+   * (see {@link TaskSearchIndexRebuilder}). Process engines without an index cannot be detected.</p>
+   */
+  public ProcessEngineConfigurationImpl setTaskSearchIndexEnabled(boolean isTaskSearchIndexEnabled) {
+    this.isTaskSearchIndexEnabled = isTaskSearchIndexEnabled;
+    return this;
+  }
+
+  public long getTaskSearchIndexRebuildInterval() {
+    return taskSearchIndexRebuildInterval;
+  }
+
+  /**
+   * Sets the interval in seconds in which the task search index is rebuilt from the
+   * database. Changes which are not made through the entities of this process engine
+   * (e.g. bulk statements) become visible after the next rebuild. The default is 900.
+   */
+  public ProcessEngineConfigurationImpl setTaskSearchIndexRebuildInterval(long taskSearchIndexRebuildInterval) {
+    this.taskSearchIndexRebuildInterval = taskSearchIndexRebuildInterval;
+    return this;
+  }
+
+  public TaskSearchIndex getTaskSearchIndex() {
+    return taskSearchIndex;
+  }
+
+  /**
+   * Sets a custom implementation of the task search index, e.g. one which delegates to an
+   * external search engine. A custom index is used even if
+   * {@link #setTaskSearchIndexEnabled(boolean)} is not set.
+   */
+  public ProcessEngineConfigurationImpl setTaskSearchIndex(TaskSearchIndex taskSearchIndex) {
+    this.taskSearchIndex = taskSearchIndex;
+    return this;
+  }
+
+  public TaskSearchIndexRebuilder getTaskSearchIndexRebuilder() {
+    return taskSearchIndexRebuilder;
+  }
+
+  public ProcessEngineConfigurationImpl setTaskSearchIndexRebuilder(TaskSearchIndexRebuilder taskSearchIndexRebuilder) {
+    this.taskSearchIndexRebuilder = taskSearchIndexRebuilder;
+    return this;
+  }
+
+  public boolean isExternalTaskFairFetchingEnabled() {
+    return isExternalTaskFairFetchingEnabled;
+  }
+
+  /**
+   * If enabled, a fetch and lock request for several topics distributes its maximum number
+   * of results among the topics, so that a topic with many tasks cannot starve the other
+   * ones. Each topic is then selected separately and the tasks are prioritized within their
+   * topic only. Disabled by default.
+   *
+   * @see #setExternalTaskTopicWeights(Map)
+   */
+  public ProcessEngineConfigurationImpl setExternalTaskFairFetchingEnabled(boolean isExternalTaskFairFetchingEnabled) {
+    this.isExternalTaskFairFetchingEnabled = isExternalTaskFairFetchingEnabled;
+    return this;
+  }
+
+  public Map<String, Integer> getExternalTaskTopicWeights() {
+    return externalTaskTopicWeights;
+  }
+
+  /**
+   * Sets the weights of topics when {@link #setExternalTaskFairFetchingEnabled(boolean) fair fetching}
+   * is enabled. A topic gets a share of the fetched tasks in proportion to its weight. Topics
+   * without a weight have the weight 1.
+   */
+  public ProcessEngineConfigurationImpl setExternalTaskTopicWeights(Map<String, Integer> externalTaskTopicWeights) {
+    this.externalTaskTopicWeights = externalTaskTopicWeights;
+    return this;
+  }
+
+  public boolean isReuseStatelessDelegateInstances() {
+    return isReuseStatelessDelegateInstances;
+  }
+
+  /**
+   * If enabled, a delegate class which is referenced by the <code>camunda:class</code> attribute
+   * of a service task or listener is instantiated only once (per class loader) and the instance is
+   * shared by all invocations, provided that the class does not declare any instance fields and no
+   * fields are injected. Otherwise, a new instance is created for every invocation. Disabled by default.
+   */
+  public ProcessEngineConfigurationImpl setReuseStatelessDelegateInstances(boolean isReuseStatelessDelegateInstances) {
+    this.isReuseStatelessDelegateInstances = isReuseStatelessDelegateInstances;
+    return this;
+  }
+
   public boolean isEnableScriptEngineCaching() {
     return enableScriptEngineCaching;
   }
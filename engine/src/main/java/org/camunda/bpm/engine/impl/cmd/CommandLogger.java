@@ -217,4 +217,12 @@ public class CommandLogger extends ProcessEngineLogger {
         command
         ));
   }
+
+  public ProcessEngineException exceptionWriteCommandInReadOnlyCommandContext(String command) {
+    return new ProcessEngineException(exceptionMessage(
+        "035",
+        "Cannot execute command {} within a read-only command context because its changes would not be flushed with the context.",
+        command
+        ));
+  }
 }
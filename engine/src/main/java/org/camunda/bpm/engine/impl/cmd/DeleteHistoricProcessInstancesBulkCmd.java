@@ -0,0 +1,105 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceManager;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
+
+/**
+ * Deletes the history of a set of finished process instances using
+ * set-based statements, see {@link HistoricProcessInstanceManager#deleteHistoricProcessInstanceByIds(List)}.
+ */
+public class DeleteHistoricProcessInstancesBulkCmd implements Command<Void>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Upper bound for the number of ids passed to a single statement
+   * (Oracle does not accept more than 1000 expressions in an IN list).
+   */
+  public static final int MAX_IDS_PER_STATEMENT = 1000;
+
+  protected final List<String> processInstanceIds;
+
+  public DeleteHistoricProcessInstancesBulkCmd(List<String> processInstanceIds) {
+    this.processInstanceIds = processInstanceIds;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    ensureNotEmpty(BadUserRequestException.class, "processInstanceIds", processInstanceIds);
+    ensureNotContainsNull(BadUserRequestException.class, "processInstanceIds", processInstanceIds);
+
+    List<String> distinctProcessInstanceIds = new ArrayList<String>(new HashSet<String>(processInstanceIds));
+    List<List<String>> partitions = CollectionUtil.partition(distinctProcessInstanceIds, MAX_IDS_PER_STATEMENT);
+
+    // check all partitions before anything is deleted
+    for (List<String> partition : partitions) {
+      checkDeletePartition(commandContext, partition);
+    }
+
+    HistoricProcessInstanceManager historicProcessInstanceManager = commandContext.getHistoricProcessInstanceManager();
+    for (List<String> partition : partitions) {
+      historicProcessInstanceManager.deleteHistoricProcessInstanceByIds(partition);
+    }
+
+    return null;
+  }
+
+  /**
+   * Checks that the process instances of one partition exist, are finished and may be deleted.
+   * The instances are loaded since the command checkers need their process definition and tenant.
+   */
+  protected void checkDeletePartition(CommandContext commandContext, final List<String> partition) {
+    List<HistoricProcessInstance> instances = commandContext.runWithoutAuthorization(new Callable<List<HistoricProcessInstance>>() {
+      public List<HistoricProcessInstance> call() throws Exception {
+        return new HistoricProcessInstanceQueryImpl()
+          .processInstanceIds(new HashSet<String>(partition))
+          .list();
+      }
+    });
+
+    if (instances.size() != partition.size()) {
+      List<String> missingProcessInstanceIds = new ArrayList<String>(partition);
+      for (HistoricProcessInstance instance : instances) {
+        missingProcessInstanceIds.remove(instance.getId());
+      }
+      throw new BadUserRequestException("No historic process instances found with ids: " + missingProcessInstanceIds);
+    }
+
+    for (HistoricProcessInstance instance : instances) {
+      for(CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+        checker.checkDeleteHistoricProcessInstance(instance);
+      }
+
+      ensureNotNull(BadUserRequestException.class, "Process instance is still running, cannot delete historic process instance: " + instance.getId(),
+          "instance.getEndTime()", instance.getEndTime());
+    }
+  }
+
+}
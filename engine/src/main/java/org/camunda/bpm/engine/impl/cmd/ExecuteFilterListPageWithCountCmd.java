@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.query.ListPageWithCount;
+import org.camunda.bpm.engine.query.Query;
+
+public class ExecuteFilterListPageWithCountCmd extends AbstractExecuteFilterCmd implements Command<ListPageWithCount<?>> {
+
+  private static final long serialVersionUID = 1L;
+
+  protected int firstResult;
+  protected int maxResults;
+
+  public ExecuteFilterListPageWithCountCmd(String filterId, int firstResult, int maxResults) {
+    super(filterId);
+    this.firstResult = firstResult;
+    this.maxResults = maxResults;
+  }
+
+  public ExecuteFilterListPageWithCountCmd(String filterId, Query<?, ?> extendingQuery, int firstResult, int maxResults) {
+    super(filterId, extendingQuery);
+    this.firstResult = firstResult;
+    this.maxResults = maxResults;
+  }
+
+  public ListPageWithCount<?> execute(CommandContext commandContext) {
+    Query<?, ?> query = getFilterQuery(commandContext);
+    return query.listPageWithCount(firstResult, maxResults);
+  }
+
+}
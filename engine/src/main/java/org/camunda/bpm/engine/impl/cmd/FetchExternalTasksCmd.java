@@ -14,12 +14,15 @@ package org.camunda.bpm.engine.impl.cmd;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
@@ -30,6 +33,9 @@ import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskManager;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 
 /**
@@ -41,6 +47,8 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
+  protected static final int MAX_IDS_PER_STATEMENT = 1000;
+
   protected String workerId;
   protected int maxResults;
   protected boolean usePriority;
@@ -61,9 +69,9 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
   public List<LockedExternalTask> execute(CommandContext commandContext) {
     validateInput();
 
-    List<ExternalTaskEntity> externalTasks = commandContext
-      .getExternalTaskManager()
-      .selectExternalTasksForTopics(fetchInstructions.keySet(), maxResults, usePriority);
+    List<ExternalTaskEntity> externalTasks = selectExternalTasks(commandContext);
+
+    Map<String, List<VariableInstanceEntity>> variablesByExecution = fetchVariables(commandContext, externalTasks);
 
     final List<LockedExternalTask> result = new ArrayList<LockedExternalTask>();
 
@@ -72,7 +80,7 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
       TopicFetchInstruction fetchInstruction = fetchInstructions.get(entity.getTopicName());
       entity.lock(workerId, fetchInstruction.getLockDuration());
 
-      LockedExternalTaskImpl resultTask = LockedExternalTaskImpl.fromEntity(entity, fetchInstruction.getVariablesToFetch());
+      LockedExternalTaskImpl resultTask = LockedExternalTaskImpl.fromEntity(entity, fetchInstruction.getVariablesToFetch(), variablesByExecution);
 
       result.add(resultTask);
     }
@@ -82,6 +90,62 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
     return result;
   }
 
+  protected List<ExternalTaskEntity> selectExternalTasks(CommandContext commandContext) {
+    ExternalTaskManager externalTaskManager = commandContext.getExternalTaskManager();
+    ProcessEngineConfigurationImpl configuration = commandContext.getProcessEngineConfiguration();
+
+    if (configuration.isExternalTaskFairFetchingEnabled() && fetchInstructions.size() > 1) {
+      return externalTaskManager.selectExternalTasksForTopicsFairly(fetchInstructions.keySet(), maxResults, usePriority,
+          configuration.getExternalTaskTopicWeights());
+    }
+    else {
+      return externalTaskManager.selectExternalTasksForTopics(fetchInstructions.keySet(), maxResults, usePriority);
+    }
+  }
+
+  /**
+   * Fetches the requested variables of all external tasks at once instead of loading the
+   * variables of each task and its parent executions separately. The executions of the
+   * process instances are fetched, too, so that the parents of the executions are
+   * resolved from the entity cache.
+   *
+   * @return the fetched variables, grouped by the id of their execution
+   */
+  protected Map<String, List<VariableInstanceEntity>> fetchVariables(CommandContext commandContext, List<ExternalTaskEntity> externalTasks) {
+    Set<String> processInstanceIds = new HashSet<String>();
+    Set<String> variableNames = new HashSet<String>();
+    boolean fetchAllVariables = false;
+
+    for (ExternalTaskEntity externalTask : externalTasks) {
+      List<String> variablesToFetch = fetchInstructions.get(externalTask.getTopicName()).getVariablesToFetch();
+      if (variablesToFetch == null) {
+        fetchAllVariables = true;
+        processInstanceIds.add(externalTask.getProcessInstanceId());
+      }
+      else if (!variablesToFetch.isEmpty()) {
+        variableNames.addAll(variablesToFetch);
+        processInstanceIds.add(externalTask.getProcessInstanceId());
+      }
+    }
+
+    Map<String, List<VariableInstanceEntity>> variablesByExecution = new HashMap<String, List<VariableInstanceEntity>>();
+
+    List<List<String>> partitions = CollectionUtil.partition(new ArrayList<String>(processInstanceIds), MAX_IDS_PER_STATEMENT);
+    for (List<String> partition : partitions) {
+      commandContext.getExecutionManager().findExecutionsByProcessInstanceIds(partition);
+
+      List<VariableInstanceEntity> variables = commandContext
+        .getVariableInstanceManager()
+        .findVariableInstancesByProcessInstanceIds(partition, fetchAllVariables ? null : variableNames);
+
+      for (VariableInstanceEntity variable : variables) {
+        CollectionUtil.addToMapOfLists(variablesByExecution, variable.getExecutionId(), variable);
+      }
+    }
+
+    return variablesByExecution;
+  }
+
   protected void filterOnOptimisticLockingFailure(CommandContext commandContext, final List<LockedExternalTask> tasks) {
     commandContext.getDbEntityManager().registerOptimisticLockingListener(new OptimisticLockingListener() {
 
@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.cmd;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.bpmn.parser.FoxFailedJobParseListener;
 import org.camunda.bpm.engine.impl.calendar.DurationHelper;
+import org.camunda.bpm.engine.impl.calendar.ScheduleCache;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.*;
@@ -141,7 +142,7 @@ public class FoxJobRetryCmd extends JobRetryCmd {
   }
 
   protected DurationHelper getDurationHelper(String failedJobRetryTimeCycle) throws Exception {
-    return new DurationHelper(failedJobRetryTimeCycle);
+    return ScheduleCache.getInstance().getDurationHelper(failedJobRetryTimeCycle);
   }
 
   protected void setLockExpirationTime(JobEntity job, String failedJobRetryTimeCycle, DurationHelper durationHelper) {
@@ -19,10 +19,11 @@ import org.camunda.bpm.engine.impl.ProcessInstantiationBuilderImpl;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.ReadOnlyCommand;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 
-public class GetDeployedProcessDefinitionCmd implements Command<ProcessDefinitionEntity> {
+public class GetDeployedProcessDefinitionCmd implements Command<ProcessDefinitionEntity>, ReadOnlyCommand {
 
   protected String processDefinitionId;
   protected String processDefinitionKey;
@@ -19,13 +19,14 @@ import java.io.Serializable;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.ReadOnlyCommand;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 
 
 /**
  * @author Tom Baeyens
  */
-public class GetExecutionVariableCmd implements Command<Object>, Serializable {
+public class GetExecutionVariableCmd implements Command<Object>, ReadOnlyCommand, Serializable {
 
   private static final long serialVersionUID = 1L;
   protected String executionId;
@@ -19,6 +19,7 @@ import java.io.Serializable;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.ReadOnlyCommand;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 
@@ -26,7 +27,7 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
  * @author Daniel Meyer
  *
  */
-public class GetExecutionVariableTypedCmd<T extends TypedValue> implements Command<T>, Serializable {
+public class GetExecutionVariableTypedCmd<T extends TypedValue> implements Command<T>, ReadOnlyCommand, Serializable {
 
   private static final long serialVersionUID = 1L;
   protected String executionId;
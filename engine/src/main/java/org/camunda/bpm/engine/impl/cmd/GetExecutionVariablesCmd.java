@@ -20,6 +20,7 @@ import java.util.Collection;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.ReadOnlyCommand;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
@@ -29,7 +30,7 @@ import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
  * @author Tom Baeyens
  * @author Daniel Meyer
  */
-public class GetExecutionVariablesCmd implements Command<VariableMap>, Serializable {
+public class GetExecutionVariablesCmd implements Command<VariableMap>, ReadOnlyCommand, Serializable {
 
   private static final long serialVersionUID = 1L;
   protected String executionId;
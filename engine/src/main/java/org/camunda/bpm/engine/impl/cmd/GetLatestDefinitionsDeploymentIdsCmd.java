@@ -0,0 +1,77 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.ProcessDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.repository.CaseDefinition;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+
+/**
+ * Returns the ids of all deployments which contain the latest version
+ * of at least one process, case or decision definition.
+ *
+ * <p>Authorization and tenant checks are not performed since the result
+ * is only used internally to warm up the deployment cache.</p>
+ */
+public class GetLatestDefinitionsDeploymentIdsCmd implements Command<Set<String>> {
+
+  public Set<String> execute(CommandContext commandContext) {
+    commandContext.disableAuthorizationCheck();
+    commandContext.disableTenantCheck();
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    Set<String> deploymentIds = new HashSet<String>();
+
+    List<ProcessDefinition> processDefinitions = commandContext
+      .getProcessDefinitionManager()
+      .findProcessDefinitionsByQueryCriteria(new ProcessDefinitionQueryImpl().latestVersion(), null);
+    for (ProcessDefinition processDefinition : processDefinitions) {
+      deploymentIds.add(processDefinition.getDeploymentId());
+    }
+
+    if (processEngineConfiguration.isCmmnEnabled()) {
+      CaseDefinitionQueryImpl caseDefinitionQuery = new CaseDefinitionQueryImpl();
+      caseDefinitionQuery.latestVersion();
+      List<CaseDefinition> caseDefinitions = commandContext
+        .getCaseDefinitionManager()
+        .findCaseDefinitionsByQueryCriteria(caseDefinitionQuery, null);
+      for (CaseDefinition caseDefinition : caseDefinitions) {
+        deploymentIds.add(caseDefinition.getDeploymentId());
+      }
+    }
+
+    if (processEngineConfiguration.isDmnEnabled()) {
+      DecisionDefinitionQueryImpl decisionDefinitionQuery = new DecisionDefinitionQueryImpl();
+      decisionDefinitionQuery.latestVersion();
+      List<DecisionDefinition> decisionDefinitions = commandContext
+        .getDecisionDefinitionManager()
+        .findDecisionDefinitionsByQueryCriteria(decisionDefinitionQuery, null);
+      for (DecisionDefinition decisionDefinition : decisionDefinitions) {
+        deploymentIds.add(decisionDefinition.getDeploymentId());
+      }
+    }
+
+    return deploymentIds;
+  }
+
+}
@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.db.profiler.SqlStatementProfiler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.management.SlowSqlStatement;
+
+/**
+ * Returns the slow SQL statements recorded by the {@link SqlStatementProfiler}.
+ */
+public class GetSlowSqlStatementsCmd implements Command<List<SlowSqlStatement>> {
+
+  public List<SlowSqlStatement> execute(CommandContext commandContext) {
+    commandContext.getAuthorizationManager().checkCamundaAdmin();
+
+    SqlStatementProfiler sqlStatementProfiler = commandContext.getProcessEngineConfiguration().getSqlStatementProfiler();
+    if (sqlStatementProfiler == null) {
+      throw new ProcessEngineException("SQL statement profiling is disabled");
+    }
+
+    return sqlStatementProfiler.getSlowStatements();
+  }
+
+}
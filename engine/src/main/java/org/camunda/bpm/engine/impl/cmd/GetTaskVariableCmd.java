@@ -21,13 +21,14 @@ import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.ReadOnlyCommand;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 
 
 /**
  * @author Tom Baeyens
  */
-public class GetTaskVariableCmd implements Command<Object>, Serializable {
+public class GetTaskVariableCmd implements Command<Object>, ReadOnlyCommand, Serializable {
 
   private static final long serialVersionUID = 1L;
   protected String taskId;
@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.ReadOnlyCommand;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 
@@ -28,7 +29,7 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
 /**
  * @author Daniel Meyer
  */
-public class GetTaskVariableCmdTyped implements Command<TypedValue>, Serializable {
+public class GetTaskVariableCmdTyped implements Command<TypedValue>, ReadOnlyCommand, Serializable {
 
   private static final long serialVersionUID = 1L;
   protected String taskId;
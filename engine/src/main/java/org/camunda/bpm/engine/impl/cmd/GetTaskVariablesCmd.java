@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.ReadOnlyCommand;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
@@ -30,7 +31,7 @@ import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
 /**
  * @author Tom Baeyens
  */
-public class GetTaskVariablesCmd implements Command<VariableMap>, Serializable {
+public class GetTaskVariablesCmd implements Command<VariableMap>, ReadOnlyCommand, Serializable {
 
   private static final long serialVersionUID = 1L;
   protected String taskId;
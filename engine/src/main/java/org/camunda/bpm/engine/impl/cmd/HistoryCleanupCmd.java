@@ -0,0 +1,93 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobDeclaration;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler.HistoryCleanupJobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+
+/**
+ * Schedules the history cleanup job. There is at most one history cleanup job:
+ * if it exists already, it is rescheduled instead.
+ */
+public class HistoryCleanupCmd implements Command<Job> {
+
+  protected boolean immediatelyDue;
+
+  /**
+   * @param immediatelyDue if true, the job runs right away regardless of the configured batch window;
+   *   otherwise it runs within the next batch window
+   */
+  public HistoryCleanupCmd(boolean immediatelyDue) {
+    this.immediatelyDue = immediatelyDue;
+  }
+
+  public Job execute(CommandContext commandContext) {
+    commandContext.getAuthorizationManager().checkCamundaAdmin();
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    Date now = ClockUtil.getCurrentTime();
+
+    acquireExclusiveLock(commandContext);
+
+    List<JobEntity> historyCleanupJobs = commandContext
+      .getJobManager()
+      .findJobsByHandlerType(HistoryCleanupJobHandler.TYPE);
+
+    if (historyCleanupJobs.isEmpty()) {
+      if (immediatelyDue) {
+        return HistoryCleanupJobDeclaration.schedule(true, now);
+      }
+      else if (processEngineConfiguration.isHistoryCleanupBatchWindowConfigured()) {
+        return HistoryCleanupJobDeclaration.schedule(false, HistoryCleanupHelper.getNextRunWithinBatchWindow(now, processEngineConfiguration));
+      }
+      else {
+        return null;
+      }
+    }
+    else {
+      JobEntity historyCleanupJob = historyCleanupJobs.get(0);
+      if (immediatelyDue && !isImmediatelyDue(historyCleanupJob)) {
+        // replace the job waiting for the batch window
+        historyCleanupJob.delete();
+        return HistoryCleanupJobDeclaration.schedule(true, now);
+      }
+      return historyCleanupJob;
+    }
+  }
+
+  /**
+   * Engines of a cluster run this command concurrently on start up. The lock serializes them,
+   * so that only the first one creates the history cleanup job and the others find it.
+   */
+  protected void acquireExclusiveLock(CommandContext commandContext) {
+    if (commandContext.getProcessEngineConfiguration().isDeploymentLockUsed()) {
+      commandContext.getPropertyManager().acquireExclusiveLock();
+    }
+  }
+
+  protected boolean isImmediatelyDue(JobEntity historyCleanupJob) {
+    return ((HistoryCleanupJobHandlerConfiguration) historyCleanupJob.getJobHandlerConfiguration()).isImmediatelyDue();
+  }
+
+}
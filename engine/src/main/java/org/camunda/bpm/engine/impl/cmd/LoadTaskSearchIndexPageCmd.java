@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.ReadOnlyCommand;
+import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.task.search.IdentityLinkDocument;
+import org.camunda.bpm.engine.impl.task.search.TaskDocument;
+import org.camunda.bpm.engine.impl.task.search.TaskSearchIndex;
+import org.camunda.bpm.engine.impl.task.search.TaskSearchIndexUpdate;
+import org.camunda.bpm.engine.impl.task.search.VariableDocument;
+
+/**
+ * Loads the next page of the content a {@link TaskSearchIndex} is rebuilt with: first the
+ * tasks, then the identity links of tasks and then the runtime variables, each ordered by id.
+ *
+ * <p>The same command is executed until it returns <code>false</code>. Each execution runs
+ * in its own command context, so that the entity cache only holds a single page.</p>
+ */
+public class LoadTaskSearchIndexPageCmd implements Command<Boolean>, ReadOnlyCommand {
+
+  protected TaskSearchIndexUpdate content;
+  protected int pageSize;
+
+  protected boolean tasksLoaded = false;
+  protected boolean identityLinksLoaded = false;
+  /** the id of the last entity of the previous page, null if the next page is the first one */
+  protected String lastId;
+
+  public LoadTaskSearchIndexPageCmd(TaskSearchIndexUpdate content, int pageSize) {
+    this.content = content;
+    this.pageSize = pageSize;
+  }
+
+  public Boolean execute(CommandContext commandContext) {
+    if (!tasksLoaded) {
+      List<TaskEntity> tasks = commandContext.getTaskManager().findTasksForTaskSearchIndex(lastId, pageSize);
+      for (TaskEntity task : tasks) {
+        content.putTask(new TaskDocument(task));
+      }
+      tasksLoaded = isLastPage(tasks);
+    }
+    else if (!identityLinksLoaded) {
+      List<IdentityLinkEntity> identityLinks = commandContext.getIdentityLinkManager().findIdentityLinksForTaskSearchIndex(lastId, pageSize);
+      for (IdentityLinkEntity identityLink : identityLinks) {
+        content.putIdentityLink(new IdentityLinkDocument(identityLink));
+      }
+      identityLinksLoaded = isLastPage(identityLinks);
+    }
+    else {
+      List<VariableInstanceEntity> variables = commandContext.getVariableInstanceManager().findVariableInstancesForTaskSearchIndex(lastId, pageSize);
+      for (VariableInstanceEntity variable : variables) {
+        content.putVariable(new VariableDocument(variable));
+      }
+      return !isLastPage(variables);
+    }
+    return true;
+  }
+
+  protected boolean isLastPage(List<? extends DbEntity> page) {
+    if (page.size() < pageSize) {
+      lastId = null;
+      return true;
+    }
+    else {
+      lastId = page.get(page.size() - 1).getId();
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,63 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.statistics.RuntimeStatistics;
+import org.camunda.bpm.engine.impl.statistics.RuntimeStatisticsStore;
+
+/**
+ * Replaces the counts of the {@link RuntimeStatisticsStore} with counts selected from the database.
+ *
+ * <p>The selected counts are discarded by the store if a transaction started committing while
+ * they were selected. The counts are selected again in that case, up to {@link #MAX_ATTEMPTS}
+ * times. If no attempt succeeds, the store keeps its current counts until the next reconciliation.</p>
+ */
+public class ReconcileRuntimeStatisticsCmd implements Command<Void> {
+
+  private final static EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected static final int MAX_ATTEMPTS = 3;
+
+  protected RuntimeStatisticsStore store;
+
+  public ReconcileRuntimeStatisticsCmd(RuntimeStatisticsStore store) {
+    this.store = store;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      if (reconcile(commandContext)) {
+        return null;
+      }
+    }
+
+    LOG.runtimeStatisticsNotReconciled(MAX_ATTEMPTS);
+    return null;
+  }
+
+  protected boolean reconcile(CommandContext commandContext) {
+    store.startReconciliation();
+    try {
+      RuntimeStatistics statistics = commandContext.getStatisticsManager().selectRuntimeStatistics();
+      return store.reconcile(statistics);
+    }
+    finally {
+      store.endReconciliation();
+    }
+  }
+
+}
@@ -0,0 +1,84 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Records the current time in the property of a process engine which uses a task search
+ * index and returns the id of another node whose property was updated within the given
+ * expiry time, or null if there is no such node.
+ */
+public class RegisterTaskSearchIndexNodeCmd implements Command<String> {
+
+  public static final String PROPERTY_NAME_PREFIX = "task-search-index.node.";
+
+  protected String nodeId;
+  protected long expiryInMillis;
+
+  public RegisterTaskSearchIndexNodeCmd(String nodeId, long expiryInMillis) {
+    this.nodeId = nodeId;
+    this.expiryInMillis = expiryInMillis;
+  }
+
+  @SuppressWarnings("unchecked")
+  public String execute(CommandContext commandContext) {
+    PropertyManager propertyManager = commandContext.getPropertyManager();
+
+    long now = ClockUtil.getCurrentTime().getTime();
+    String propertyName = getPropertyName(nodeId);
+
+    PropertyEntity property = propertyManager.findPropertyById(propertyName);
+    if (property != null) {
+      property.setValue(String.valueOf(now));
+    }
+    else {
+      propertyManager.insert(new PropertyEntity(propertyName, String.valueOf(now)));
+    }
+
+    List<PropertyEntity> properties = commandContext
+      .getDbEntityManager()
+      .selectList("selectProperties");
+
+    for (PropertyEntity otherProperty : properties) {
+      String name = otherProperty.getName();
+      if (name.startsWith(PROPERTY_NAME_PREFIX)
+          && !name.equals(propertyName)
+          && isActive(otherProperty.getValue(), now)) {
+        return name.substring(PROPERTY_NAME_PREFIX.length());
+      }
+    }
+
+    return null;
+  }
+
+  protected boolean isActive(String lastRegistration, long now) {
+    try {
+      return now - Long.parseLong(lastRegistration) < expiryInMillis;
+    }
+    catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  public static String getPropertyName(String nodeId) {
+    return PROPERTY_NAME_PREFIX + nodeId;
+  }
+
+}
@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+
+/**
+ * Parses the resources of an existing deployment and puts the resulting
+ * definitions into the deployment cache.
+ */
+public class WarmupDeploymentCacheCmd implements Command<Void> {
+
+  protected String deploymentId;
+
+  public WarmupDeploymentCacheCmd(String deploymentId) {
+    this.deploymentId = deploymentId;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    ensureNotNull("deploymentId", deploymentId);
+
+    DeploymentEntity deployment = commandContext
+      .getDeploymentManager()
+      .findDeploymentById(deploymentId);
+
+    if (deployment != null) {
+      deployment.setNew(false);
+      commandContext
+        .getProcessEngineConfiguration()
+        .getDeploymentCache()
+        .deploy(deployment);
+    }
+
+    return null;
+  }
+
+}
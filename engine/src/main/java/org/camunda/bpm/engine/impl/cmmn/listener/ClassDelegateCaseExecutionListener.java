@@ -12,8 +12,6 @@
  */
 package org.camunda.bpm.engine.impl.cmmn.listener;
 
-import static org.camunda.bpm.engine.impl.util.ClassDelegateUtil.instantiateDelegate;
-
 import java.util.List;
 
 import org.camunda.bpm.engine.delegate.CaseExecutionListener;
@@ -51,7 +49,7 @@ public class ClassDelegateCaseExecutionListener extends ClassDelegate implements
   }
 
   protected CaseExecutionListener getListenerInstance() {
-    Object delegateInstance = instantiateDelegate(className, fieldDeclarations);
+    Object delegateInstance = getDelegateInstance();
     if (delegateInstance instanceof CaseExecutionListener) {
       return (CaseExecutionListener) delegateInstance;
     } else {
@@ -30,6 +30,12 @@ public class ProcessApplicationContextUtil {
       return null;
     }
 
+    // this is called for each atomic operation: avoid resolving the process definition
+    // and its deployment if there is no process application at all
+    if (!areProcessApplicationsRegistered() && !LOG.isContextSwitchLoggable()) {
+      return null;
+    }
+
     ProcessApplicationReference processApplicationForDeployment = getTargetProcessApplication((ProcessDefinitionEntity) execution.getProcessDefinition());
 
     // logg application context switch details
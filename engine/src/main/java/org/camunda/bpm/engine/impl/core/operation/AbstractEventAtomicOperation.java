@@ -50,6 +50,19 @@ public abstract class AbstractEventAtomicOperation<T extends CoreExecution> impl
         try {
           execution.setListenerIndex(listenerIndex+1);
           execution.invokeListener(listener);
+
+          // built-in listeners (like the history and metrics listeners) do not alter the execution,
+          // hence a sequence of them is invoked in one step instead of performing this operation again
+          // for each of them
+          List<DelegateListener<? extends BaseDelegateExecution>> builtInListeners = scope.getBuiltInListeners(getEventName());
+          if (isBuiltInListener(builtInListeners, listener)) {
+            listenerIndex++;
+            while (listeners.size() > listenerIndex && isBuiltInListener(builtInListeners, listeners.get(listenerIndex))) {
+              execution.setListenerIndex(listenerIndex+1);
+              execution.invokeListener(listeners.get(listenerIndex));
+              listenerIndex++;
+            }
+          }
         } catch (RuntimeException e) {
           throw e;
         } catch (Exception e) {
@@ -79,6 +92,15 @@ public abstract class AbstractEventAtomicOperation<T extends CoreExecution> impl
     }
   }
 
+  protected boolean isBuiltInListener(List<DelegateListener<? extends BaseDelegateExecution>> builtInListeners, DelegateListener<? extends BaseDelegateExecution> listener) {
+    for (DelegateListener<? extends BaseDelegateExecution> builtInListener : builtInListeners) {
+      if (builtInListener == listener) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   protected boolean isSkipNotifyListeners(T execution) {
     return false;
   }
@@ -58,6 +58,12 @@ public abstract class AbstractPersistenceSession implements PersistenceSession {
     }
   }
 
+  public void executeInsertOperations(List<DbOperation> operations) {
+    for (DbOperation operation : operations) {
+      executeDbOperation(operation);
+    }
+  }
+
   protected abstract void insertEntity(DbEntityOperation operation);
 
   protected abstract void deleteEntity(DbEntityOperation operation);
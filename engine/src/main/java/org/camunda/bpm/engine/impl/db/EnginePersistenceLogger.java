@@ -612,5 +612,44 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
         ));
   }
 
+  public void warmingUpDeploymentCache(int deploymentCount, int threadCount) {
+    logInfo(
+        "078", "Warming up deployment cache with {} deployments using {} threads", deploymentCount, threadCount);
+  }
+
+  public void deploymentCacheWarmupFailed(String deploymentId, Throwable cause) {
+    logWarn(
+        "079", "Could not warm up deployment cache for deployment '{}': {}", deploymentId, cause.getMessage(), cause);
+  }
+
+  public void couldNotReconcileRuntimeStatistics(Throwable cause) {
+    logWarn(
+        "080", "Could not reconcile the runtime statistics with the database: {}", cause.getMessage(), cause);
+  }
+
+  public void couldNotRebuildTaskSearchIndex(Throwable cause) {
+    logWarn(
+        "081", "Could not rebuild the task search index from the database: {}", cause.getMessage(), cause);
+  }
+
+  public void runtimeStatisticsNotReconciled(int attempts) {
+    logInfo(
+        "082", "Runtime statistics were not reconciled since transactions committed while the counts were selected in all {} attempts", attempts);
+  }
+
+  public void taskSearchIndexUsedByOtherNode(String nodeId) {
+    logWarn(
+        "083", "The task search index is not used since process engine node '{}' uses a task search index on the same database. Task queries are answered by the database until that node stops", nodeId);
+  }
+
+  public void couldNotCheckTaskSearchIndexNodes(Throwable cause) {
+    logWarn(
+        "084", "Could not check the process engine nodes which use a task search index: {}", cause.getMessage(), cause);
+  }
+
+  public void couldNotSelectReplicaLag(Throwable cause) {
+    logWarn(
+        "085", "Could not select the lag of the read data source, reading from the primary data source: {}", cause.getMessage(), cause);
+  }
 
 }
@@ -28,6 +28,12 @@ public interface PersistenceSession extends Session {
 
   void executeDbOperation(DbOperation operation);
 
+  /**
+   * Executes a sequence of INSERT operations of entities of the same type.
+   * The operations may be combined into fewer statements.
+   */
+  void executeInsertOperations(List<DbOperation> operations);
+
   List<?> selectList(String statement, Object parameter);
 
   <T extends DbEntity> T selectById(Class<T> type, String id);
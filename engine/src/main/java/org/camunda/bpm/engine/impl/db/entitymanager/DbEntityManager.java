@@ -64,8 +64,11 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
 import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.statistics.RuntimeStatisticsCollector;
+import org.camunda.bpm.engine.impl.task.search.TaskSearchIndexCollector;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 
 /**
@@ -88,6 +91,8 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   protected PersistenceSession persistenceSession;
 
+  protected List<FlushListener> flushListeners;
+
   public DbEntityManager(IdGenerator idGenerator, PersistenceSession persistenceSession) {
     this.idGenerator = idGenerator;
     this.persistenceSession = persistenceSession;
@@ -96,12 +101,26 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
     initializeEntityCache();
     initializeOperationManager();
+    initializeFlushListeners();
   }
 
   protected void initializeOperationManager() {
     dbOperationManager = new DbOperationManager();
   }
 
+  protected void initializeFlushListeners() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+
+    if (processEngineConfiguration != null) {
+      if (processEngineConfiguration.getRuntimeStatisticsStore() != null) {
+        registerFlushListener(new RuntimeStatisticsCollector(processEngineConfiguration.getRuntimeStatisticsStore()));
+      }
+      if (processEngineConfiguration.getTaskSearchIndex() != null) {
+        registerFlushListener(new TaskSearchIndexCollector(processEngineConfiguration.getTaskSearchIndex()));
+      }
+    }
+  }
+
   protected void initializeEntityCache() {
 
     final JobExecutorContext jobExecutorContext = Context.getJobExecutorContext();
@@ -124,6 +143,11 @@ public class DbEntityManager implements Session, EntityLoadListener {
       } else {
         dbEntityCache = new DbEntityCache();
       }
+
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext != null && commandContext.isReadOnly()) {
+        dbEntityCache.setReadOnly(true);
+      }
     }
 
   }
@@ -271,6 +295,9 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   public void flush() {
 
+    // notify the flush listeners while the previous entity states are known
+    fireBeforeFlush(dbEntityCache.getCachedEntities());
+
     // flush the entity cache which inserts operations to the db operation manager
     flushEntityCache();
 
@@ -284,9 +311,18 @@ public class DbEntityManager implements Session, EntityLoadListener {
     LOG.databaseFlushSummary(operationsToFlush);
 
     // execute the flush
-    for (DbOperation dbOperation : operationsToFlush) {
+    int i = 0;
+    while (i < operationsToFlush.size()) {
+      DbOperation dbOperation = operationsToFlush.get(i);
+      int insertCount = countInsertsOfSameType(operationsToFlush, i);
       try {
-        persistenceSession.executeDbOperation(dbOperation);
+        if (insertCount > 1) {
+          // inserts of the same type can be combined by the persistence session
+          persistenceSession.executeInsertOperations(operationsToFlush.subList(i, i + insertCount));
+        }
+        else {
+          persistenceSession.executeDbOperation(dbOperation);
+        }
       }
       catch(Exception e) {
         throw LOG.flushDbOperationException(operationsToFlush, dbOperation, e);
@@ -294,18 +330,47 @@ public class DbEntityManager implements Session, EntityLoadListener {
       if(dbOperation.isFailed()) {
         handleOptimisticLockingException(dbOperation);
       }
+      i += Math.max(insertCount, 1);
+    }
+  }
+
+  /**
+   * @return the number of consecutive INSERT operations of entities of the same type starting at the given index
+   */
+  protected int countInsertsOfSameType(List<DbOperation> operations, int fromIndex) {
+    DbOperation first = operations.get(fromIndex);
+    if (first.getOperationType() != INSERT) {
+      return 0;
+    }
+    int count = 1;
+    while (fromIndex + count < operations.size()) {
+      DbOperation next = operations.get(fromIndex + count);
+      if (next.getOperationType() != INSERT || next.getEntityType() != first.getEntityType()) {
+        break;
+      }
+      count++;
     }
+    return count;
   }
 
   public void flushEntity(DbEntity entity) {
     CachedDbEntity cachedEntity = dbEntityCache.getCachedEntity(entity);
     if (cachedEntity != null) {
+      fireBeforeFlush(Collections.singletonList(cachedEntity));
       flushCachedEntity(cachedEntity);
     }
 
     flushDbOperationManager();
   }
 
+  protected void fireBeforeFlush(List<CachedDbEntity> cachedEntities) {
+    if (flushListeners != null) {
+      for (FlushListener flushListener : flushListeners) {
+        flushListener.beforeFlush(cachedEntities);
+      }
+    }
+  }
+
   protected void handleOptimisticLockingException(DbOperation dbOperation) {
     boolean isHandled = false;
 
@@ -567,6 +632,13 @@ public class DbEntityManager implements Session, EntityLoadListener {
     optimisticLockingListeners.add(optimisticLockingListener);
   }
 
+  public void registerFlushListener(FlushListener flushListener) {
+    if(flushListeners == null) {
+      flushListeners = new ArrayList<FlushListener>();
+    }
+    flushListeners.add(flushListener);
+  }
+
   public List<String> getTableNamesPresentInDatabase() {
     return persistenceSession.getTableNamesPresent();
   }
@@ -0,0 +1,31 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+
+/**
+ * Allows registering a listener which is notified about the cached entities
+ * right before they are flushed, i.e. while their states are not yet
+ * changed by the flush.
+ */
+public interface FlushListener {
+
+  /**
+   * @param cachedEntities the cached entities which are about to be flushed
+   */
+  void beforeFlush(List<CachedDbEntity> cachedEntities);
+
+}
@@ -31,6 +31,12 @@ public class CachedDbEntity implements Recyclable {
 
   protected Object copy;
 
+  /**
+   * The persistent state of the entity when it was loaded or last flushed. Unlike
+   * the copy, it is not discarded by {@link #forceSetDirty()}.
+   */
+  protected Object flushedState;
+
   protected DbEntityState entityState;
 
   /**
@@ -42,6 +48,7 @@ public class CachedDbEntity implements Recyclable {
     // clean out state
     dbEntity = null;
     copy = null;
+    flushedState = null;
     entityState = null;
   }
 
@@ -60,6 +67,11 @@ public class CachedDbEntity implements Recyclable {
 
   public void makeCopy() {
     copy = dbEntity.getPersistentState();
+    flushedState = copy;
+  }
+
+  public Object getFlushedState() {
+    return flushedState;
   }
 
   public String toString() {
@@ -55,6 +55,9 @@ public class DbEntityCache {
 
   protected DbEntityCacheKeyMapping cacheKeyMapping;
 
+  /** if true, the persistent entities are not prepared for dirty checking and flushing */
+  protected boolean readOnly = false;
+
   public DbEntityCache() {
     this.cacheKeyMapping = DbEntityCacheKeyMapping.emptyMapping();
   }
@@ -159,8 +162,10 @@ public class DbEntityCache {
     CachedDbEntity cachedDbEntity = new CachedDbEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(PERSISTENT);
-    cachedDbEntity.determineEntityReferences();
-    cachedDbEntity.makeCopy();
+    if (!readOnly) {
+      cachedDbEntity.determineEntityReferences();
+      cachedDbEntity.makeCopy();
+    }
 
     putInternal(cachedDbEntity);
   }
@@ -373,4 +378,12 @@ public class DbEntityCache {
     }
   }
 
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  public void setReadOnly(boolean readOnly) {
+    this.readOnly = readOnly;
+  }
+
 }
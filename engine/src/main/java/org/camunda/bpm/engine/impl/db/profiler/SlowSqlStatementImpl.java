@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.profiler;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.management.SlowSqlStatement;
+
+public class SlowSqlStatementImpl implements SlowSqlStatement {
+
+  protected String commandName;
+  protected String statementId;
+  protected String parameter;
+  protected long durationMicros;
+  protected Date timestamp;
+
+  public SlowSqlStatementImpl(String commandName, String statementId, String parameter, long durationMicros, Date timestamp) {
+    this.commandName = commandName;
+    this.statementId = statementId;
+    this.parameter = parameter;
+    this.durationMicros = durationMicros;
+    this.timestamp = timestamp;
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public String getStatementId() {
+    return statementId;
+  }
+
+  public String getParameter() {
+    return parameter;
+  }
+
+  public long getDurationMicros() {
+    return durationMicros;
+  }
+
+  public Date getTimestamp() {
+    return timestamp;
+  }
+
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[commandName=" + commandName
+        + ", statementId=" + statementId
+        + ", durationMicros=" + durationMicros
+        + ", timestamp=" + timestamp
+        + ", parameter=" + parameter
+        + "]";
+  }
+
+}
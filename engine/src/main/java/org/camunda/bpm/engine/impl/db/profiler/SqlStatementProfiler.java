@@ -0,0 +1,165 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.profiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandInvocationContext;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.SlowSqlStatement;
+import org.camunda.bpm.engine.management.SqlStatementStatistics;
+
+/**
+ * Collects the count and duration of the SQL statements executed by the
+ * {@link org.camunda.bpm.engine.impl.db.sql.DbSqlSession} per command class
+ * and keeps the most recent executions which exceeded the slow statement threshold.
+ *
+ * Recording a statement only updates atomic counters of a concurrent map, the
+ * statement parameter is converted to a string for slow statements only.
+ */
+public class SqlStatementProfiler {
+
+  public static final int MAX_PARAMETER_LENGTH = 2000;
+
+  protected static final String NO_COMMAND = "none";
+
+  protected final long slowStatementThresholdNanos;
+
+  protected final ConcurrentMap<String, ConcurrentMap<String, StatementCounter>> countersByCommand =
+      new ConcurrentHashMap<String, ConcurrentMap<String, StatementCounter>>();
+
+  protected final SlowSqlStatement[] slowStatements;
+  protected int nextSlowStatement = 0;
+
+  /**
+   * @param slowStatementThresholdMillis executions taking at least this many milliseconds are recorded as slow statements;
+   *   a negative value disables the recording
+   * @param slowStatementLogSize the number of most recent slow statements which are kept
+   */
+  public SqlStatementProfiler(long slowStatementThresholdMillis, int slowStatementLogSize) {
+    this.slowStatementThresholdNanos = slowStatementThresholdMillis >= 0 ? TimeUnit.MILLISECONDS.toNanos(slowStatementThresholdMillis) : -1;
+    this.slowStatements = new SlowSqlStatement[Math.max(slowStatementLogSize, 0)];
+  }
+
+  public void statementExecuted(String statementId, Object parameter, long durationNanos) {
+    String commandName = getCurrentCommandName();
+
+    getCounter(commandName, statementId).add(durationNanos);
+
+    if (slowStatementThresholdNanos >= 0 && durationNanos >= slowStatementThresholdNanos && slowStatements.length > 0) {
+      addSlowStatement(new SlowSqlStatementImpl(commandName, statementId, toParameterString(parameter),
+          TimeUnit.NANOSECONDS.toMicros(durationNanos), ClockUtil.getCurrentTime()));
+    }
+  }
+
+  protected String getCurrentCommandName() {
+    CommandInvocationContext invocationContext = Context.getCommandInvocationContext();
+    if (invocationContext != null) {
+      return invocationContext.getCommand().getClass().getName();
+    }
+    else {
+      return NO_COMMAND;
+    }
+  }
+
+  protected StatementCounter getCounter(String commandName, String statementId) {
+    ConcurrentMap<String, StatementCounter> counters = countersByCommand.get(commandName);
+    if (counters == null) {
+      counters = new ConcurrentHashMap<String, StatementCounter>();
+      ConcurrentMap<String, StatementCounter> existingCounters = countersByCommand.putIfAbsent(commandName, counters);
+      if (existingCounters != null) {
+        counters = existingCounters;
+      }
+    }
+
+    StatementCounter counter = counters.get(statementId);
+    if (counter == null) {
+      counter = new StatementCounter();
+      StatementCounter existingCounter = counters.putIfAbsent(statementId, counter);
+      if (existingCounter != null) {
+        counter = existingCounter;
+      }
+    }
+    return counter;
+  }
+
+  protected synchronized void addSlowStatement(SlowSqlStatement slowStatement) {
+    slowStatements[nextSlowStatement] = slowStatement;
+    nextSlowStatement = (nextSlowStatement + 1) % slowStatements.length;
+  }
+
+  protected String toParameterString(Object parameter) {
+    if (parameter == null) {
+      return null;
+    }
+
+    String parameterString;
+    try {
+      parameterString = String.valueOf(parameter);
+    }
+    catch (RuntimeException e) {
+      // the statistics must never fail the command
+      parameterString = parameter.getClass().getName();
+    }
+
+    if (parameterString.length() > MAX_PARAMETER_LENGTH) {
+      parameterString = parameterString.substring(0, MAX_PARAMETER_LENGTH);
+    }
+    return parameterString;
+  }
+
+  /**
+   * @return a snapshot of the statistics, ordered by command and statement
+   */
+  public List<SqlStatementStatistics> getStatistics() {
+    List<SqlStatementStatistics> statistics = new ArrayList<SqlStatementStatistics>();
+    for (Map.Entry<String, ConcurrentMap<String, StatementCounter>> commandCounters : countersByCommand.entrySet()) {
+      for (Map.Entry<String, StatementCounter> counter : commandCounters.getValue().entrySet()) {
+        statistics.add(counter.getValue().toStatistics(commandCounters.getKey(), counter.getKey()));
+      }
+    }
+    Collections.sort(statistics, SqlStatementStatisticsImpl.BY_COMMAND_AND_STATEMENT);
+    return statistics;
+  }
+
+  /**
+   * @return the recorded slow statements, the most recent first
+   */
+  public synchronized List<SlowSqlStatement> getSlowStatements() {
+    List<SlowSqlStatement> result = new ArrayList<SlowSqlStatement>();
+    for (int i = 1; i <= slowStatements.length; i++) {
+      int index = (nextSlowStatement - i + slowStatements.length) % slowStatements.length;
+      if (slowStatements[index] == null) {
+        break;
+      }
+      result.add(slowStatements[index]);
+    }
+    return result;
+  }
+
+  public synchronized void reset() {
+    countersByCommand.clear();
+    for (int i = 0; i < slowStatements.length; i++) {
+      slowStatements[i] = null;
+    }
+    nextSlowStatement = 0;
+  }
+
+}
@@ -0,0 +1,75 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.profiler;
+
+import java.util.Comparator;
+
+import org.camunda.bpm.engine.management.SqlStatementStatistics;
+
+public class SqlStatementStatisticsImpl implements SqlStatementStatistics {
+
+  public static final Comparator<SqlStatementStatistics> BY_COMMAND_AND_STATEMENT = new Comparator<SqlStatementStatistics>() {
+    public int compare(SqlStatementStatistics o1, SqlStatementStatistics o2) {
+      int result = o1.getCommandName().compareTo(o2.getCommandName());
+      if (result == 0) {
+        result = o1.getStatementId().compareTo(o2.getStatementId());
+      }
+      return result;
+    }
+  };
+
+  protected String commandName;
+  protected String statementId;
+  protected long count;
+  protected long totalDurationMicros;
+  protected long maxDurationMicros;
+
+  public SqlStatementStatisticsImpl(String commandName, String statementId, long count, long totalDurationMicros, long maxDurationMicros) {
+    this.commandName = commandName;
+    this.statementId = statementId;
+    this.count = count;
+    this.totalDurationMicros = totalDurationMicros;
+    this.maxDurationMicros = maxDurationMicros;
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public String getStatementId() {
+    return statementId;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getTotalDurationMicros() {
+    return totalDurationMicros;
+  }
+
+  public long getMaxDurationMicros() {
+    return maxDurationMicros;
+  }
+
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[commandName=" + commandName
+        + ", statementId=" + statementId
+        + ", count=" + count
+        + ", totalDurationMicros=" + totalDurationMicros
+        + ", maxDurationMicros=" + maxDurationMicros
+        + "]";
+  }
+
+}
@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.profiler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.management.SqlStatementStatistics;
+
+/**
+ * Thread-safe count and duration of the executions of one statement by one command.
+ */
+public class StatementCounter {
+
+  protected final AtomicLong count = new AtomicLong();
+  protected final AtomicLong totalDurationNanos = new AtomicLong();
+  protected final AtomicLong maxDurationNanos = new AtomicLong();
+
+  public void add(long durationNanos) {
+    count.incrementAndGet();
+    totalDurationNanos.addAndGet(durationNanos);
+
+    long max = maxDurationNanos.get();
+    while (durationNanos > max && !maxDurationNanos.compareAndSet(max, durationNanos)) {
+      max = maxDurationNanos.get();
+    }
+  }
+
+  public SqlStatementStatistics toStatistics(String commandName, String statementId) {
+    return new SqlStatementStatisticsImpl(commandName, statementId, count.get(),
+        TimeUnit.NANOSECONDS.toMicros(totalDurationNanos.get()),
+        TimeUnit.NANOSECONDS.toMicros(maxDurationNanos.get()));
+  }
+
+}
@@ -32,6 +32,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -39,8 +40,10 @@ import org.camunda.bpm.engine.impl.db.AbstractPersistenceSession;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.profiler.SqlStatementProfiler;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 
@@ -60,15 +63,23 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
   protected SqlSession sqlSession;
   protected DbSqlSessionFactory dbSqlSessionFactory;
+  protected SqlStatementProfiler sqlStatementProfiler;
 
   protected String connectionMetadataDefaultCatalog = null;
   protected String connectionMetadataDefaultSchema = null;
 
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory) {
+    this(dbSqlSessionFactory, dbSqlSessionFactory.getSqlSessionFactory());
+  }
+
+  /**
+   * Opens a session of the given MyBatis session factory, which must be built from the same
+   * mappings as the session factory of the {@link DbSqlSessionFactory}.
+   */
+  public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, SqlSessionFactory sqlSessionFactory) {
     this.dbSqlSessionFactory = dbSqlSessionFactory;
-    this.sqlSession = dbSqlSessionFactory
-      .getSqlSessionFactory()
-      .openSession();
+    this.sqlSession = sqlSessionFactory.openSession();
+    this.sqlStatementProfiler = dbSqlSessionFactory.getSqlStatementProfiler();
   }
 
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, Connection connection, String catalog, String schema) {
@@ -78,13 +89,21 @@ public class DbSqlSession extends AbstractPersistenceSession {
       .openSession(connection);
     this.connectionMetadataDefaultCatalog = catalog;
     this.connectionMetadataDefaultSchema = schema;
+    this.sqlStatementProfiler = dbSqlSessionFactory.getSqlStatementProfiler();
   }
 
   // select ////////////////////////////////////////////
 
   public List<?> selectList(String statement, Object parameter){
     statement = dbSqlSessionFactory.mapStatement(statement);
-    List<Object> resultList = sqlSession.selectList(statement, parameter);
+    long start = statementStarted();
+    List<Object> resultList;
+    try {
+      resultList = sqlSession.selectList(statement, parameter);
+    }
+    finally {
+      statementExecuted(statement, parameter, start);
+    }
     for (Object object : resultList) {
       fireEntityLoaded(object);
     }
@@ -97,14 +116,28 @@ public class DbSqlSession extends AbstractPersistenceSession {
     selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
     ensureNotNull("no select statement for " + type + " in the ibatis mapping files", "selectStatement", selectStatement);
 
-    Object result = sqlSession.selectOne(selectStatement, id);
+    long start = statementStarted();
+    Object result;
+    try {
+      result = sqlSession.selectOne(selectStatement, id);
+    }
+    finally {
+      statementExecuted(selectStatement, id, start);
+    }
     fireEntityLoaded(result);
     return (T) result;
   }
 
   public Object selectOne(String statement, Object parameter) {
     statement = dbSqlSessionFactory.mapStatement(statement);
-    Object result = sqlSession.selectOne(statement, parameter);
+    long start = statementStarted();
+    Object result;
+    try {
+      result = sqlSession.selectOne(statement, parameter);
+    }
+    finally {
+      statementExecuted(statement, parameter, start);
+    }
     fireEntityLoaded(result);
     return result;
   }
@@ -117,7 +150,25 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // Id using the DbIdGenerator while performing a deployment.
     if (!DbSqlSessionFactory.H2.equals(dbSqlSessionFactory.getDatabaseType())) {
       String mappedStatement = dbSqlSessionFactory.mapStatement(statement);
-      sqlSession.update(mappedStatement, parameter);
+      long start = statementStarted();
+      try {
+        sqlSession.update(mappedStatement, parameter);
+      }
+      finally {
+        statementExecuted(mappedStatement, parameter, start);
+      }
+    }
+  }
+
+  // profiling ///////////////////////////////////////
+
+  protected long statementStarted() {
+    return sqlStatementProfiler != null ? System.nanoTime() : 0;
+  }
+
+  protected void statementExecuted(String statement, Object parameter, long start) {
+    if (sqlStatementProfiler != null) {
+      sqlStatementProfiler.statementExecuted(statement, parameter, System.nanoTime() - start);
     }
   }
 
@@ -140,9 +191,66 @@ public class DbSqlSession extends AbstractPersistenceSession {
     entityInserted(dbEntity);
   }
 
+  @Override
+  public void executeInsertOperations(List<DbOperation> operations) {
+    DbEntity firstEntity = ((DbEntityOperation) operations.get(0)).getEntity();
+    String multiRowInsertStatement = dbSqlSessionFactory.getMultiRowInsertStatement(firstEntity);
+
+    if (multiRowInsertStatement == null) {
+      super.executeInsertOperations(operations);
+      return;
+    }
+
+    int maxRows = dbSqlSessionFactory.getMaxRowsPerInsert();
+    for (int fromIndex = 0; fromIndex < operations.size(); fromIndex += maxRows) {
+      List<DbOperation> chunk = operations.subList(fromIndex, Math.min(fromIndex + maxRows, operations.size()));
+
+      if (chunk.size() == 1) {
+        executeDbOperation(chunk.get(0));
+      }
+      else {
+        List<DbEntity> entities = new ArrayList<DbEntity>(chunk.size());
+        for (DbOperation operation : chunk) {
+          entities.add(((DbEntityOperation) operation).getEntity());
+        }
+
+        executeInsertEntities(multiRowInsertStatement, entities);
+
+        for (DbEntity entity : entities) {
+          entityInserted(entity);
+        }
+      }
+    }
+  }
+
+  protected void executeInsertEntities(String insertStatement, List<DbEntity> entities) {
+    for (DbEntity entity : entities) {
+      LOG.executeDatabaseOperation("INSERT", entity);
+    }
+    long start = statementStarted();
+    try {
+      sqlSession.insert(insertStatement, entities);
+    }
+    finally {
+      statementExecuted(insertStatement, entities, start);
+    }
+
+    for (DbEntity entity : entities) {
+      if (entity instanceof HasDbRevision) {
+        ((HasDbRevision) entity).setRevision(1);
+      }
+    }
+  }
+
   protected void executeInsertEntity(String insertStatement, Object parameter) {
     LOG.executeDatabaseOperation("INSERT", parameter);
-    sqlSession.insert(insertStatement, parameter);
+    long start = statementStarted();
+    try {
+      sqlSession.insert(insertStatement, parameter);
+    }
+    finally {
+      statementExecuted(insertStatement, parameter, start);
+    }
 
     // set revision of our copy to 1
     if (parameter instanceof HasDbRevision) {
@@ -184,7 +292,13 @@ public class DbSqlSession extends AbstractPersistenceSession {
   protected int executeDelete(String deleteStatement, Object parameter) {
     // map the statement
     deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
-    return sqlSession.delete(deleteStatement, parameter);
+    long start = statementStarted();
+    try {
+      return sqlSession.delete(deleteStatement, parameter);
+    }
+    finally {
+      statementExecuted(deleteStatement, parameter, start);
+    }
   }
 
   protected void entityDeleted(final DbEntity entity) {
@@ -234,7 +348,13 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
   protected int executeUpdate(String updateStatement, Object parameter) {
     updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
-    return sqlSession.update(updateStatement, parameter);
+    long start = statementStarted();
+    try {
+      return sqlSession.update(updateStatement, parameter);
+    }
+    finally {
+      statementExecuted(updateStatement, parameter, start);
+    }
   }
 
   protected void entityUpdated(final DbEntity entity) {
@@ -20,7 +20,10 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.profiler.SqlStatementProfiler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
@@ -70,8 +73,21 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   public static final Map<String, Map<String, String>> dbSpecificConstants = new HashMap<String, Map<String, String>>();
 
+  /** multi-row insert statements by the insert statement of a single entity */
+  protected static final Map<String, String> multiRowInsertStatements = new HashMap<String, String>();
+  /** maximum number of rows inserted by one multi-row insert statement */
+  public static final Map<String, Integer> databaseSpecificMaxRowsPerInsert = new HashMap<String, Integer>();
+  public static final int DEFAULT_MAX_ROWS_PER_INSERT = 100;
+
   static {
 
+    multiRowInsertStatements.put("insertHistoricActivityInstanceEvent", "insertHistoricActivityInstanceEvents");
+    multiRowInsertStatements.put("insertHistoricVariableUpdateEvent", "insertHistoricVariableUpdateEvents");
+    multiRowInsertStatements.put("insertVariableInstance", "insertVariableInstances");
+    multiRowInsertStatements.put("insertHistoricDecisionInstance", "insertHistoricDecisionInstances");
+    multiRowInsertStatements.put("insertHistoricDecisionInputInstance", "insertHistoricDecisionInputInstances");
+    multiRowInsertStatements.put("insertHistoricDecisionOutputInstance", "insertHistoricDecisionOutputInstances");
+
     String defaultOrderBy = " order by ${orderBy} ";
 
     // h2
@@ -216,6 +232,13 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(ORACLE, "selectHistoricProcessInstanceDurationReport", "selectHistoricProcessInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceDurationReport", "selectHistoricTaskInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectFilterByQueryCriteria", "selectFilterByQueryCriteria_oracleDb2");
+    addDatabaseSpecificStatement(ORACLE, "insertHistoricActivityInstanceEvents", "insertHistoricActivityInstanceEvents_oracle");
+    addDatabaseSpecificStatement(ORACLE, "insertHistoricVariableUpdateEvents", "insertHistoricVariableUpdateEvents_oracle");
+    addDatabaseSpecificStatement(ORACLE, "insertVariableInstances", "insertVariableInstances_oracle");
+    addDatabaseSpecificStatement(ORACLE, "insertHistoricDecisionInstances", "insertHistoricDecisionInstances_oracle");
+    addDatabaseSpecificStatement(ORACLE, "insertHistoricDecisionInputInstances", "insertHistoricDecisionInputInstances_oracle");
+    addDatabaseSpecificStatement(ORACLE, "insertHistoricDecisionOutputInstances", "insertHistoricDecisionOutputInstances_oracle");
+    databaseSpecificMaxRowsPerInsert.put(ORACLE, 50);
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "cast('event' as nvarchar2(255))");
@@ -294,6 +317,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(MSSQL, "selectEventSubscriptionsByNameAndExecution", "selectEventSubscriptionsByNameAndExecution_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectEventSubscriptionsByExecutionAndType", "selectEventSubscriptionsByExecutionAndType_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectHistoricDecisionInstancesByNativeQuery", "selectHistoricDecisionInstancesByNativeQuery_mssql_or_db2");
+    // a statement must not have more than 2100 parameters
+    databaseSpecificMaxRowsPerInsert.put(MSSQL, 80);
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "'event'");
@@ -313,6 +338,8 @@ public class DbSqlSessionFactory implements SessionFactory {
    */
   protected String databaseSchema;
   protected SqlSessionFactory sqlSessionFactory;
+  /** built on the read data source, if one is configured */
+  protected SqlSessionFactory readSqlSessionFactory;
   protected IdGenerator idGenerator;
   protected Map<String, String> statementMappings;
   protected Map<Class<?>,String>  insertStatements = new ConcurrentHashMap<Class<?>, String>();
@@ -323,12 +350,20 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected boolean isDbHistoryUsed = true;
   protected boolean cmmnEnabled = true;
   protected boolean dmnEnabled = true;
+  protected SqlStatementProfiler sqlStatementProfiler;
+  protected boolean isMultiRowInsertEnabled = false;
 
   public Class< ? > getSessionType() {
     return DbSqlSession.class;
   }
 
   public Session openSession() {
+    if (readSqlSessionFactory != null) {
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext != null && commandContext.isReadDataSourceUsed()) {
+        return new DbSqlSession(this, readSqlSessionFactory);
+      }
+    }
     return new DbSqlSession(this);
   }
 
@@ -338,6 +373,31 @@ public class DbSqlSessionFactory implements SessionFactory {
     return getStatement(object.getClass(), insertStatements, "insert");
   }
 
+  /**
+   * @return the statement inserting several entities of the type of the given entity with one
+   *   statement or <code>null</code> if multi-row inserts are disabled or not supported for the type
+   */
+  public String getMultiRowInsertStatement(DbEntity object) {
+    if (!isMultiRowInsertEnabled) {
+      return null;
+    }
+    String statement = multiRowInsertStatements.get(getInsertStatement(object));
+    if (statement != null) {
+      return mapStatement(statement);
+    } else {
+      return null;
+    }
+  }
+
+  public int getMaxRowsPerInsert() {
+    Integer maxRows = databaseSpecificMaxRowsPerInsert.get(databaseType);
+    if (maxRows != null) {
+      return maxRows;
+    } else {
+      return DEFAULT_MAX_ROWS_PER_INSERT;
+    }
+  }
+
   public String getUpdateStatement(DbEntity object) {
     return getStatement(object.getClass(), updateStatements, "update");
   }
@@ -397,6 +457,14 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.sqlSessionFactory = sqlSessionFactory;
   }
 
+  public SqlSessionFactory getReadSqlSessionFactory() {
+    return readSqlSessionFactory;
+  }
+
+  public void setReadSqlSessionFactory(SqlSessionFactory readSqlSessionFactory) {
+    this.readSqlSessionFactory = readSqlSessionFactory;
+  }
+
   public IdGenerator getIdGenerator() {
     return idGenerator;
   }
@@ -508,5 +576,24 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.databaseSchema = databaseSchema;
   }
 
+  /**
+   * @return the profiler recording the executed statements or <code>null</code> if profiling is disabled
+   */
+  public SqlStatementProfiler getSqlStatementProfiler() {
+    return sqlStatementProfiler;
+  }
+
+  public void setSqlStatementProfiler(SqlStatementProfiler sqlStatementProfiler) {
+    this.sqlStatementProfiler = sqlStatementProfiler;
+  }
+
+  public boolean isMultiRowInsertEnabled() {
+    return isMultiRowInsertEnabled;
+  }
+
+  public void setMultiRowInsertEnabled(boolean isMultiRowInsertEnabled) {
+    this.isMultiRowInsertEnabled = isMultiRowInsertEnabled;
+  }
+
 
 }
@@ -0,0 +1,214 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.sql;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+
+/**
+ * {@link ReadDataSourceStalenessPolicy} which lets a thread read its own writes and optionally
+ * bounds the lag of the read data source.
+ *
+ * <p>Read-your-writes: within the read-your-writes window after the current thread committed
+ * a command context which was not read-only, the thread reads from the primary data source
+ * again. The guarantee is scoped to the thread: a client whose write and subsequent read are
+ * executed by different threads (e.g. different requests served by a thread pool) may read
+ * stale data. A window of <code>0</code> disables read-your-writes.</p>
+ *
+ * <p>Replica lag: if a {@link #setMaxReplicaLag(long) maximum replica lag} and a
+ * {@link #setReplicaLagStatement(String) statement} which selects the current lag of the
+ * read data source in milliseconds are set, the read data source is only used while the
+ * selected lag is within the maximum. This bounds the staleness for all clients. The lag is
+ * selected at most once per {@link #setReplicaLagCheckInterval(long) check interval}. If the
+ * lag cannot be determined, the primary data source is used. On PostgreSQL, the lag of a
+ * streaming replica can e.g. be selected by
+ * <code>select extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000</code>.</p>
+ */
+public class DefaultReadDataSourceStalenessPolicy implements ReadDataSourceStalenessPolicy {
+
+  private final static EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  /** default read-your-writes window in milliseconds */
+  public static final long DEFAULT_READ_YOUR_WRITES_WINDOW = 1000;
+
+  /** default interval in milliseconds in which the replica lag is selected */
+  public static final long DEFAULT_REPLICA_LAG_CHECK_INTERVAL = 1000;
+
+  protected long readYourWritesWindow;
+
+  /** the maximum lag of the read data source in milliseconds, 0 if the lag is not bounded */
+  protected long maxReplicaLag = 0;
+  protected String replicaLagStatement;
+  protected long replicaLagCheckInterval = DEFAULT_REPLICA_LAG_CHECK_INTERVAL;
+
+  /** the time of the last commit of the current thread which may have written data */
+  protected ThreadLocal<Long> lastWriteCommit = new ThreadLocal<Long>();
+
+  /** the last selected replica lag, null if it could not be determined */
+  protected volatile Long replicaLag;
+  protected volatile long lastReplicaLagCheck = 0;
+
+  public DefaultReadDataSourceStalenessPolicy() {
+    this(DEFAULT_READ_YOUR_WRITES_WINDOW);
+  }
+
+  public DefaultReadDataSourceStalenessPolicy(long readYourWritesWindow) {
+    this.readYourWritesWindow = readYourWritesWindow;
+  }
+
+  public boolean isReadDataSourceAllowed(DataSource readDataSource) {
+    return isOwnWriteVisible() && isReplicaLagWithinBound(readDataSource);
+  }
+
+  public void writeCommitted() {
+    if (readYourWritesWindow > 0) {
+      lastWriteCommit.set(System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * @return true if the last write of the current thread is outside of the read-your-writes window
+   */
+  protected boolean isOwnWriteVisible() {
+    Long lastWrite = lastWriteCommit.get();
+    if (lastWrite == null) {
+      return true;
+    }
+    else if (System.currentTimeMillis() - lastWrite >= readYourWritesWindow) {
+      lastWriteCommit.remove();
+      return true;
+    }
+    else {
+      return false;
+    }
+  }
+
+  protected boolean isReplicaLagWithinBound(DataSource readDataSource) {
+    if (maxReplicaLag <= 0 || replicaLagStatement == null) {
+      return true;
+    }
+
+    long now = System.currentTimeMillis();
+    if (now - lastReplicaLagCheck >= replicaLagCheckInterval) {
+      // concurrent threads may select the lag at the same time, the last result wins
+      replicaLag = selectReplicaLag(readDataSource);
+      lastReplicaLagCheck = now;
+    }
+
+    Long currentReplicaLag = replicaLag;
+    return currentReplicaLag != null && currentReplicaLag <= maxReplicaLag;
+  }
+
+  /**
+   * @return the lag of the read data source in milliseconds, null if it could not be determined
+   */
+  protected Long selectReplicaLag(DataSource readDataSource) {
+    Connection connection = null;
+    Statement statement = null;
+    ResultSet resultSet = null;
+    try {
+      connection = readDataSource.getConnection();
+      statement = connection.createStatement();
+      resultSet = statement.executeQuery(replicaLagStatement);
+
+      if (resultSet.next()) {
+        long lag = resultSet.getLong(1);
+        return resultSet.wasNull() ? null : lag;
+      }
+      else {
+        return null;
+      }
+    }
+    catch (SQLException e) {
+      LOG.couldNotSelectReplicaLag(e);
+      return null;
+    }
+    finally {
+      closeSilently(resultSet, statement, connection);
+    }
+  }
+
+  protected void closeSilently(ResultSet resultSet, Statement statement, Connection connection) {
+    try {
+      if (resultSet != null) {
+        resultSet.close();
+      }
+      if (statement != null) {
+        statement.close();
+      }
+    }
+    catch (SQLException e) {
+      // ignore
+    }
+    finally {
+      try {
+        if (connection != null) {
+          connection.close();
+        }
+      }
+      catch (SQLException e) {
+        // ignore
+      }
+    }
+  }
+
+  public long getReadYourWritesWindow() {
+    return readYourWritesWindow;
+  }
+
+  public void setReadYourWritesWindow(long readYourWritesWindow) {
+    this.readYourWritesWindow = readYourWritesWindow;
+  }
+
+  public long getMaxReplicaLag() {
+    return maxReplicaLag;
+  }
+
+  /**
+   * Sets the maximum lag of the read data source in milliseconds. Requires a
+   * {@link #setReplicaLagStatement(String) replica lag statement}. 0 (the default) does
+   * not bound the lag.
+   */
+  public void setMaxReplicaLag(long maxReplicaLag) {
+    this.maxReplicaLag = maxReplicaLag;
+  }
+
+  public String getReplicaLagStatement() {
+    return replicaLagStatement;
+  }
+
+  /**
+   * Sets the SQL statement which selects the current lag of the read data source in
+   * milliseconds as the first column of the first row.
+   */
+  public void setReplicaLagStatement(String replicaLagStatement) {
+    this.replicaLagStatement = replicaLagStatement;
+    this.lastReplicaLagCheck = 0;
+  }
+
+  public long getReplicaLagCheckInterval() {
+    return replicaLagCheckInterval;
+  }
+
+  public void setReplicaLagCheckInterval(long replicaLagCheckInterval) {
+    this.replicaLagCheckInterval = replicaLagCheckInterval;
+  }
+
+}
@@ -0,0 +1,40 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.sql;
+
+import javax.sql.DataSource;
+
+/**
+ * Decides whether a command context may read from the
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getReadDataSource() read data source}.
+ * The read data source usually points to a replica of the database which lags behind
+ * the primary data source.
+ *
+ * <p>Implementations must be thread-safe.</p>
+ *
+ * @see DefaultReadDataSourceStalenessPolicy
+ */
+public interface ReadDataSourceStalenessPolicy {
+
+  /**
+   * @param readDataSource the read data source of the process engine
+   * @return true if the current thread may read from the read data source
+   */
+  boolean isReadDataSourceAllowed(DataSource readDataSource);
+
+  /**
+   * Called after the current thread committed a command context which was not read-only.
+   */
+  void writeCommitted();
+
+}
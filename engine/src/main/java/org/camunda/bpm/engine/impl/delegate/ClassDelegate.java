@@ -24,6 +24,7 @@ public abstract class ClassDelegate {
 
   protected String className;
   protected List<FieldDeclaration> fieldDeclarations;
+  protected DelegateInstanceCache delegateInstanceCache = new DelegateInstanceCache();
 
   public ClassDelegate(String className, List<FieldDeclaration> fieldDeclarations) {
     this.className = className;
@@ -42,4 +43,8 @@ public abstract class ClassDelegate {
     return fieldDeclarations;
   }
 
+  protected Object getDelegateInstance() {
+    return delegateInstanceCache.getInstance(className, fieldDeclarations);
+  }
+
 }
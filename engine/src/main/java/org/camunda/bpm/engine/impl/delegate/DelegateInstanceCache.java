@@ -0,0 +1,87 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.delegate;
+
+import static org.camunda.bpm.engine.impl.util.ClassDelegateUtil.instantiateDelegate;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.DefaultArtifactFactory;
+import org.camunda.bpm.engine.impl.bpmn.parser.FieldDeclaration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.util.ClassDelegateUtil;
+import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
+
+/**
+ * Provides the instances of a delegate class referenced by a class delegate.
+ *
+ * If {@link ProcessEngineConfigurationImpl#isReuseStatelessDelegateInstances()} is enabled,
+ * no fields are injected and the instances are created by the {@link DefaultArtifactFactory},
+ * the first instance of a {@link ClassDelegateUtil#isStateless(Class) stateless} class is kept
+ * and returned by all following invocations within the same context class loader. Otherwise, a
+ * new instance is created for every invocation.
+ *
+ * An instance of this class belongs to a single class delegate of a cached definition and
+ * may be accessed by several threads concurrently.
+ */
+public class DelegateInstanceCache {
+
+  /** the kept instance together with the context class loader it was created in */
+  protected volatile CachedInstance cachedInstance;
+
+  public Object getInstance(String className, List<FieldDeclaration> fieldDeclarations) {
+    if (!isReusable(fieldDeclarations)) {
+      return instantiateDelegate(className, fieldDeclarations);
+    }
+
+    ClassLoader classLoader = ClassLoaderUtil.getContextClassloader();
+    CachedInstance cached = cachedInstance;
+    if (cached != null && cached.classLoader == classLoader) {
+      if (cached.instance != null) {
+        return cached.instance;
+      } else {
+        // the class is not stateless
+        return instantiateDelegate(className, fieldDeclarations);
+      }
+    }
+
+    Object instance = instantiateDelegate(className, fieldDeclarations);
+    if (ClassDelegateUtil.isStateless(instance.getClass())) {
+      cachedInstance = new CachedInstance(classLoader, instance);
+    } else {
+      cachedInstance = new CachedInstance(classLoader, null);
+    }
+    return instance;
+  }
+
+  protected boolean isReusable(List<FieldDeclaration> fieldDeclarations) {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    return configuration.isReuseStatelessDelegateInstances()
+        && (fieldDeclarations == null || fieldDeclarations.isEmpty())
+        // other artifact factories may manage the life cycle of the instances themselves
+        && configuration.getArtifactFactory().getClass() == DefaultArtifactFactory.class;
+  }
+
+  protected static class CachedInstance {
+
+    protected final ClassLoader classLoader;
+    protected final Object instance;
+
+    public CachedInstance(ClassLoader classLoader, Object instance) {
+      this.classLoader = classLoader;
+      this.instance = instance;
+    }
+  }
+
+}
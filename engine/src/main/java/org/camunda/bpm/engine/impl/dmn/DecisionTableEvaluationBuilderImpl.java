@@ -14,15 +14,20 @@ package org.camunda.bpm.engine.impl.dmn;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableResultImpl;
 import org.camunda.bpm.engine.dmn.DecisionEvaluationBuilder;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.exception.dmn.DecisionDefinitionNotFoundException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.dmn.cmd.EvaluateDecisionBatchCmd;
 import org.camunda.bpm.engine.impl.dmn.cmd.EvaluateDecisionTableCmd;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 
@@ -89,6 +94,31 @@ public class DecisionTableEvaluationBuilderImpl implements DecisionEvaluationBui
     }
   }
 
+  public List<DmnDecisionTableResult> evaluateAll(List<? extends Map<String, Object>> variablesList) {
+    ensureOnlyOneNotNull(NotValidException.class, "either decision definition id or key must be set", decisionDefinitionId, decisionDefinitionKey);
+
+    if (isTenantIdSet && decisionDefinitionId != null) {
+      throw LOG.exceptionEvaluateDecisionDefinitionByIdAndTenantId();
+    }
+
+    List<DmnDecisionResult> decisionResults;
+    try {
+      decisionResults = commandExecutor.execute(new EvaluateDecisionBatchCmd(this, variablesList));
+    }
+    catch (NullValueException e) {
+      throw new NotValidException(e.getMessage(), e);
+    }
+    catch (DecisionDefinitionNotFoundException e) {
+      throw new NotFoundException(e.getMessage(), e);
+    }
+
+    List<DmnDecisionTableResult> results = new ArrayList<DmnDecisionTableResult>(decisionResults.size());
+    for (DmnDecisionResult decisionResult : decisionResults) {
+      results.add(DmnDecisionTableResultImpl.wrap(decisionResult));
+    }
+    return results;
+  }
+
   public static DecisionEvaluationBuilder evaluateDecisionTableByKey(CommandExecutor commandExecutor, String decisionDefinitionKey) {
     DecisionTableEvaluationBuilderImpl builder = new DecisionTableEvaluationBuilderImpl(commandExecutor);
     builder.decisionDefinitionKey = decisionDefinitionKey;
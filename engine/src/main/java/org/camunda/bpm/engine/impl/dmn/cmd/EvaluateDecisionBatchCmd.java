@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.impl.dmn.DecisionEvaluationBuilderImpl;
+import org.camunda.bpm.engine.impl.dmn.DecisionTableEvaluationBuilderImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+
+/**
+ * Evaluates the decision with the given key or id once for each of the given
+ * input variables.
+ *
+ * The decision definition is resolved and the permissions are checked only once
+ * by the {@link EvaluateDecisionCmd}. All evaluations are executed within this
+ * command, so that the historic decision instances are flushed together when
+ * the command completes.
+ */
+public class EvaluateDecisionBatchCmd implements Command<List<DmnDecisionResult>> {
+
+  protected EvaluateDecisionCmd evaluateDecisionCmd;
+  protected List<VariableMap> variablesList;
+
+  public EvaluateDecisionBatchCmd(DecisionEvaluationBuilderImpl builder, List<? extends Map<String, Object>> variablesList) {
+    this(new EvaluateDecisionCmd(builder.getDecisionDefinitionKey(), builder.getDecisionDefinitionId(), builder.getVersion(),
+        builder.getDecisionDefinitionTenantId(), builder.isTenantIdSet(), null), variablesList);
+  }
+
+  public EvaluateDecisionBatchCmd(DecisionTableEvaluationBuilderImpl builder, List<? extends Map<String, Object>> variablesList) {
+    this(new EvaluateDecisionCmd(builder.getDecisionDefinitionKey(), builder.getDecisionDefinitionId(), builder.getVersion(),
+        builder.getDecisionDefinitionTenantId(), builder.isTenantIdSet(), null), variablesList);
+  }
+
+  protected EvaluateDecisionBatchCmd(EvaluateDecisionCmd evaluateDecisionCmd, List<? extends Map<String, Object>> variablesList) {
+    ensureNotNull("variablesList", variablesList);
+
+    this.evaluateDecisionCmd = evaluateDecisionCmd;
+
+    this.variablesList = new ArrayList<VariableMap>(variablesList.size());
+    for (Map<String, Object> variables : variablesList) {
+      this.variablesList.add(Variables.fromMap(variables));
+    }
+  }
+
+  @Override
+  public List<DmnDecisionResult> execute(CommandContext commandContext) {
+    DecisionDefinition decisionDefinition = evaluateDecisionCmd.getAuthorizedDecisionDefinition(commandContext);
+
+    List<DmnDecisionResult> results = new ArrayList<DmnDecisionResult>(variablesList.size());
+    for (VariableMap variables : variablesList) {
+      results.add(evaluateDecisionCmd.doEvaluateDecision(decisionDefinition, variables));
+    }
+    return results;
+  }
+
+}
@@ -40,19 +40,36 @@ public class EvaluateDecisionCmd implements Command<DmnDecisionResult> {
   protected Integer version;
   protected VariableMap variables;
   protected String decisionDefinitionTenantId;
-  protected boolean isTenandIdSet;
+  protected boolean isTenantIdSet;
 
   public EvaluateDecisionCmd(DecisionEvaluationBuilderImpl builder) {
-    this.decisionDefinitionKey = builder.getDecisionDefinitionKey();
-    this.decisionDefinitionId = builder.getDecisionDefinitionId();
-    this.version = builder.getVersion();
-    this.variables = Variables.fromMap(builder.getVariables());
-    this.decisionDefinitionTenantId = builder.getDecisionDefinitionTenantId();
-    this.isTenandIdSet = builder.isTenantIdSet();
+    this(builder.getDecisionDefinitionKey(), builder.getDecisionDefinitionId(), builder.getVersion(),
+        builder.getDecisionDefinitionTenantId(), builder.isTenantIdSet(), Variables.fromMap(builder.getVariables()));
+  }
+
+  protected EvaluateDecisionCmd(String decisionDefinitionKey, String decisionDefinitionId, Integer version,
+      String decisionDefinitionTenantId, boolean isTenantIdSet, VariableMap variables) {
+    this.decisionDefinitionKey = decisionDefinitionKey;
+    this.decisionDefinitionId = decisionDefinitionId;
+    this.version = version;
+    this.variables = variables;
+    this.decisionDefinitionTenantId = decisionDefinitionTenantId;
+    this.isTenantIdSet = isTenantIdSet;
   }
 
   @Override
   public DmnDecisionResult execute(CommandContext commandContext) {
+    DecisionDefinition decisionDefinition = getAuthorizedDecisionDefinition(commandContext);
+
+    return doEvaluateDecision(decisionDefinition, variables);
+
+  }
+
+  /**
+   * Resolves the decision definition to evaluate and checks that the current
+   * user is allowed to evaluate it.
+   */
+  protected DecisionDefinition getAuthorizedDecisionDefinition(CommandContext commandContext) {
     ensureOnlyOneNotNull("either decision definition id or key must be set", decisionDefinitionId, decisionDefinitionKey);
 
     DecisionDefinition decisionDefinition = getDecisionDefinition(commandContext);
@@ -61,8 +78,7 @@ public class EvaluateDecisionCmd implements Command<DmnDecisionResult> {
       checker.checkEvaluateDecision(decisionDefinition);
     }
 
-    return doEvaluateDecision(decisionDefinition, variables);
-
+    return decisionDefinition;
   }
 
   protected DmnDecisionResult doEvaluateDecision(DecisionDefinition decisionDefinition, VariableMap variables) {
@@ -91,16 +107,16 @@ public class EvaluateDecisionCmd implements Command<DmnDecisionResult> {
   protected DecisionDefinition findByKey(DeploymentCache deploymentCache) {
     DecisionDefinition decisionDefinition = null;
 
-    if (version == null && !isTenandIdSet) {
+    if (version == null && !isTenantIdSet) {
       decisionDefinition = deploymentCache.findDeployedLatestDecisionDefinitionByKey(decisionDefinitionKey);
     }
-    else if (version == null && isTenandIdSet) {
+    else if (version == null && isTenantIdSet) {
       decisionDefinition = deploymentCache.findDeployedLatestDecisionDefinitionByKeyAndTenantId(decisionDefinitionKey, decisionDefinitionTenantId);
     }
-    else if (version != null && !isTenandIdSet) {
+    else if (version != null && !isTenantIdSet) {
       decisionDefinition = deploymentCache.findDeployedDecisionDefinitionByKeyAndVersion(decisionDefinitionKey, version);
     }
-    else if (version != null && isTenandIdSet) {
+    else if (version != null && isTenantIdSet) {
       decisionDefinition = deploymentCache.findDeployedDecisionDefinitionByKeyVersionAndTenantId(decisionDefinitionKey, version, decisionDefinitionTenantId);
     }
 
@@ -17,6 +17,7 @@ import java.util.Collection;
 import java.util.List;
 
 import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
 import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformer;
 import org.camunda.bpm.engine.impl.AbstractDefinitionDeployer;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -25,6 +26,7 @@ import org.camunda.bpm.engine.impl.dmn.DecisionLogger;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionManager;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionEntity;
+import org.camunda.bpm.engine.impl.dmn.index.DecisionTableIndex;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
@@ -44,6 +46,9 @@ public class DecisionDefinitionDeployer extends AbstractDefinitionDeployer<Decis
 
   protected DmnTransformer transformer;
 
+  protected int decisionTableIndexThreshold = -1;
+  protected String defaultInputEntryExpressionLanguage;
+
   @Override
   protected String[] getResourcesSuffixes() {
     return DMN_RESOURCE_SUFFIXES;
@@ -108,6 +113,18 @@ public class DecisionDefinitionDeployer extends AbstractDefinitionDeployer<Decis
     deploymentCache.addDecisionDefinition(definition);
   }
 
+  @Override
+  protected void definitionAddedToDeploymentCache(DeploymentEntity deployment, DecisionDefinitionEntity definition, Properties properties) {
+    if (decisionTableIndexThreshold >= 0 && definition.getDecisionLogic() instanceof DmnDecisionTableImpl) {
+      DmnDecisionTableImpl decisionTable = (DmnDecisionTableImpl) definition.getDecisionLogic();
+
+      // the outputs of required decisions are not known before the evaluation
+      if (decisionTable.getRules().size() >= decisionTableIndexThreshold && definition.getRequiredDecisions().isEmpty()) {
+        definition.setDecisionTableIndex(DecisionTableIndex.create(decisionTable, defaultInputEntryExpressionLanguage));
+      }
+    }
+  }
+
   // context ///////////////////////////////////////////////////////////////////////////////////////////
 
   protected DecisionDefinitionManager getDecisionDefinitionManager() {
@@ -124,4 +141,20 @@ public class DecisionDefinitionDeployer extends AbstractDefinitionDeployer<Decis
     this.transformer = transformer;
   }
 
+  public int getDecisionTableIndexThreshold() {
+    return decisionTableIndexThreshold;
+  }
+
+  public void setDecisionTableIndexThreshold(int decisionTableIndexThreshold) {
+    this.decisionTableIndexThreshold = decisionTableIndexThreshold;
+  }
+
+  public String getDefaultInputEntryExpressionLanguage() {
+    return defaultInputEntryExpressionLanguage;
+  }
+
+  public void setDefaultInputEntryExpressionLanguage(String defaultInputEntryExpressionLanguage) {
+    this.defaultInputEntryExpressionLanguage = defaultInputEntryExpressionLanguage;
+  }
+
 }
@@ -14,11 +14,13 @@ package org.camunda.bpm.engine.impl.dmn.entity.repository;
 
 import java.io.Serializable;
 
+import org.camunda.bpm.dmn.engine.DmnDecisionLogic;
 import org.camunda.bpm.dmn.engine.impl.DmnDecisionImpl;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.dmn.index.DecisionTableIndex;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
@@ -46,6 +48,8 @@ public class DecisionDefinitionEntity extends DmnDecisionImpl implements Decisio
   protected boolean firstVersion = false;
   protected String previousDecisionDefinitionId;
 
+  protected transient DecisionTableIndex decisionTableIndex;
+
   public DecisionDefinitionEntity() {
 
   }
@@ -232,6 +236,40 @@ public class DecisionDefinitionEntity extends DmnDecisionImpl implements Decisio
     }
   }
 
+  // decision table index ////////////////////////////////////////////////////
+
+  public DecisionTableIndex getDecisionTableIndex() {
+    return decisionTableIndex;
+  }
+
+  public void setDecisionTableIndex(DecisionTableIndex decisionTableIndex) {
+    this.decisionTableIndex = decisionTableIndex;
+  }
+
+  /**
+   * Returns a copy of this decision definition with the given decision logic which is
+   * only used for a single evaluation. The copy has no required decisions and no index.
+   */
+  public DecisionDefinitionEntity copyWithDecisionLogic(DmnDecisionLogic decisionLogic) {
+    DecisionDefinitionEntity copy = new DecisionDefinitionEntity();
+    copy.id = id;
+    copy.revision = revision;
+    copy.name = name;
+    copy.category = category;
+    copy.key = key;
+    copy.version = version;
+    copy.deploymentId = deploymentId;
+    copy.resourceName = resourceName;
+    copy.diagramResourceName = diagramResourceName;
+    copy.tenantId = tenantId;
+    copy.decisionRequirementsDefinitionId = decisionRequirementsDefinitionId;
+    copy.decisionRequirementsDefinitionKey = decisionRequirementsDefinitionKey;
+    copy.firstVersion = firstVersion;
+    copy.previousDecisionDefinitionId = previousDecisionDefinitionId;
+    copy.setDecisionLogic(decisionLogic);
+    return copy;
+  }
+
   @Override
   public String toString() {
     return "DecisionDefinitionEntity{" +
@@ -0,0 +1,174 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableInputImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * Index over the rules of a decision table, built when the decision is deployed.
+ *
+ * Before a decision table is evaluated, the values of its inputs are looked up in the
+ * {@link InputEntryIndex indexes} of their input entries. Only the rules which may match
+ * all inputs are passed to the decision engine, which evaluates them as usual, so that
+ * hit policies and the evaluation results are not affected.
+ *
+ * An input is indexed if its expression is a variable name and its input entries are
+ * FEEL simple unary tests understood by the {@link InputEntryParser}. Inputs whose value
+ * is not available before the evaluation, e.g. since the variable does not exist, do not
+ * restrict the rules.
+ */
+public class DecisionTableIndex {
+
+  public static final String FEEL_LANGUAGE = "feel";
+  public static final String FEEL_LANGUAGE_NAMESPACE = "http://www.omg.org/spec/FEEL/20140401";
+
+  protected static final Pattern VARIABLE_NAME_PATTERN = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+  protected static final Set<String> RESERVED_WORDS = new HashSet<String>(Arrays.asList(
+      "true", "false", "null", "empty", "not", "and", "or", "div", "mod",
+      "eq", "ne", "lt", "gt", "le", "ge", "instanceof"));
+
+  protected final List<DmnDecisionTableRuleImpl> rules;
+  protected final List<String> inputVariableNames = new ArrayList<String>();
+  protected final List<InputEntryIndex> inputEntryIndexes = new ArrayList<InputEntryIndex>();
+
+  protected DecisionTableIndex(List<DmnDecisionTableRuleImpl> rules) {
+    this.rules = rules;
+  }
+
+  /**
+   * @return the index of the decision table or <code>null</code> if none of its inputs can be indexed
+   */
+  public static DecisionTableIndex create(DmnDecisionTableImpl decisionTable, String defaultInputEntryExpressionLanguage) {
+    List<DmnDecisionTableRuleImpl> rules = new ArrayList<DmnDecisionTableRuleImpl>(decisionTable.getRules());
+    DecisionTableIndex index = new DecisionTableIndex(rules);
+
+    List<DmnDecisionTableInputImpl> inputs = decisionTable.getInputs();
+    for (int input = 0; input < inputs.size(); input++) {
+      String variableName = getInputVariableName(inputs.get(input));
+      if (variableName == null) {
+        continue;
+      }
+
+      InputEntryIndex inputEntryIndex = new InputEntryIndex();
+      for (int rule = 0; rule < rules.size(); rule++) {
+        DmnExpressionImpl condition = rules.get(rule).getConditions().get(input);
+        inputEntryIndex.addRule(rule, parseCondition(condition, defaultInputEntryExpressionLanguage));
+      }
+
+      if (inputEntryIndex.isIndexed()) {
+        inputEntryIndex.build();
+        index.inputVariableNames.add(variableName);
+        index.inputEntryIndexes.add(inputEntryIndex);
+      }
+    }
+
+    return index.inputEntryIndexes.isEmpty() ? null : index;
+  }
+
+  protected static String getInputVariableName(DmnDecisionTableInputImpl input) {
+    DmnExpressionImpl expression = input.getExpression();
+    if (expression == null || expression.getExpression() == null) {
+      return null;
+    }
+    String text = expression.getExpression().trim();
+    if (VARIABLE_NAME_PATTERN.matcher(text).matches() && !RESERVED_WORDS.contains(text)) {
+      return text;
+    }
+    return null;
+  }
+
+  protected static InputEntryParser.ParsedInputEntry parseCondition(DmnExpressionImpl condition, String defaultInputEntryExpressionLanguage) {
+    if (condition == null) {
+      return null;
+    }
+    String language = condition.getExpressionLanguage();
+    if (language == null) {
+      language = defaultInputEntryExpressionLanguage;
+    }
+    if (language != null && !FEEL_LANGUAGE.equalsIgnoreCase(language) && !FEEL_LANGUAGE_NAMESPACE.equals(language)) {
+      return null;
+    }
+    return InputEntryParser.parse(condition.getExpression());
+  }
+
+  /**
+   * @return the rules which may match the given variables, in the order of the decision table,
+   *   or <code>null</code> if the rules cannot be restricted
+   */
+  public List<DmnDecisionTableRuleImpl> findCandidateRules(VariableContext variableContext) {
+    BitSet candidates = null;
+
+    for (int i = 0; i < inputEntryIndexes.size(); i++) {
+      TypedValue typedValue = variableContext.resolve(inputVariableNames.get(i));
+      if (typedValue == null || typedValue.getValue() == null) {
+        continue;
+      }
+
+      BitSet matchingRules = new BitSet(rules.size());
+      if (inputEntryIndexes.get(i).findMatchingRules(typedValue.getValue(), matchingRules)) {
+        if (candidates == null) {
+          candidates = matchingRules;
+        }
+        else {
+          candidates.and(matchingRules);
+        }
+      }
+    }
+
+    if (candidates == null) {
+      return null;
+    }
+
+    List<DmnDecisionTableRuleImpl> candidateRules = new ArrayList<DmnDecisionTableRuleImpl>(candidates.cardinality());
+    for (int rule = candidates.nextSetBit(0); rule >= 0; rule = candidates.nextSetBit(rule + 1)) {
+      candidateRules.add(rules.get(rule));
+    }
+    return candidateRules;
+  }
+
+  /**
+   * @return the decision to evaluate for the given variables: a copy of the decision definition
+   *   restricted to the candidate rules or the decision definition itself if the rules cannot be restricted
+   */
+  public DecisionDefinitionEntity selectDecision(DecisionDefinitionEntity decisionDefinition, VariableContext variableContext) {
+    List<DmnDecisionTableRuleImpl> candidateRules = findCandidateRules(variableContext);
+    if (candidateRules == null || candidateRules.size() == rules.size()) {
+      return decisionDefinition;
+    }
+
+    DmnDecisionTableImpl decisionTable = (DmnDecisionTableImpl) decisionDefinition.getDecisionLogic();
+    DmnDecisionTableImpl restrictedTable = new DmnDecisionTableImpl();
+    restrictedTable.setHitPolicyHandler(decisionTable.getHitPolicyHandler());
+    restrictedTable.setInputs(decisionTable.getInputs());
+    restrictedTable.setOutputs(decisionTable.getOutputs());
+    restrictedTable.setRules(candidateRules);
+
+    return decisionDefinition.copyWithDecisionLogic(restrictedTable);
+  }
+
+}
@@ -0,0 +1,130 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.dmn.index.InputEntryParser.ParsedInputEntry;
+import org.camunda.bpm.engine.impl.dmn.index.IntervalTree.Interval;
+
+/**
+ * Index over the input entries of one decision table input. Literal entries are
+ * looked up in a hash map, numeric comparisons and ranges in an {@link IntervalTree}.
+ * Rules with an empty entry or an entry which cannot be indexed match any value.
+ *
+ * The index is only used if all indexed entries have the same type (strings, numbers
+ * or booleans). Values of a different type are not looked up, so that the decision
+ * engine reports type mismatches as before.
+ */
+public class InputEntryIndex {
+
+  protected final BitSet unrestrictedRules = new BitSet();
+  protected final Map<Object, BitSet> rulesByValue = new HashMap<Object, BitSet>();
+  protected final List<Interval> intervals = new ArrayList<Interval>();
+  protected IntervalTree intervalTree;
+
+  protected Class<?> valueType;
+  protected boolean mixedValueTypes = false;
+
+  /**
+   * @param entry the parsed entry or <code>null</code> if it cannot be indexed
+   */
+  public void addRule(int rule, ParsedInputEntry entry) {
+    if (entry == null || entry.isWildcard()) {
+      unrestrictedRules.set(rule);
+      return;
+    }
+
+    for (Object value : entry.getValues()) {
+      addValueType(value.getClass());
+      BitSet rules = rulesByValue.get(value);
+      if (rules == null) {
+        rules = new BitSet();
+        rulesByValue.put(value, rules);
+      }
+      rules.set(rule);
+    }
+
+    for (Interval interval : entry.getIntervals()) {
+      addValueType(BigDecimal.class);
+      intervals.add(interval.forRule(rule));
+    }
+  }
+
+  protected void addValueType(Class<?> type) {
+    if (valueType == null) {
+      valueType = type;
+    }
+    else if (valueType != type) {
+      mixedValueTypes = true;
+    }
+  }
+
+  /**
+   * @return true if the input has indexed entries of a single type
+   */
+  public boolean isIndexed() {
+    return valueType != null && !mixedValueTypes;
+  }
+
+  public void build() {
+    if (!intervals.isEmpty()) {
+      intervalTree = new IntervalTree(intervals);
+    }
+    intervals.clear();
+  }
+
+  /**
+   * Adds the rules whose entries may match the given value to the result.
+   *
+   * @return false if the value cannot be looked up in this index; the result is not changed then
+   */
+  public boolean findMatchingRules(Object value, BitSet result) {
+    Object key = toKey(value);
+    if (key == null) {
+      return false;
+    }
+
+    result.or(unrestrictedRules);
+
+    BitSet rules = rulesByValue.get(key);
+    if (rules != null) {
+      result.or(rules);
+    }
+
+    if (intervalTree != null) {
+      intervalTree.findContaining((BigDecimal) key, result);
+    }
+
+    return true;
+  }
+
+  protected Object toKey(Object value) {
+    if (valueType == BigDecimal.class) {
+      BigDecimal number = InputEntryParser.toNumber(value);
+      return number != null ? InputEntryParser.toKey(number) : null;
+    }
+    else if (valueType != null && valueType.isInstance(value)) {
+      return value;
+    }
+    else {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,223 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.index;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.engine.impl.dmn.index.IntervalTree.Interval;
+
+/**
+ * Parses the FEEL simple unary tests of decision table input entries which can be
+ * indexed: empty entries and <code>-</code>, string, number and boolean literals,
+ * comparisons with numbers (<code>&lt; 10</code>), numeric ranges (<code>[1..10[</code>)
+ * and comma separated lists of those. Any other entry, e.g. <code>not(...)</code>,
+ * a date or a variable reference, cannot be indexed.
+ */
+public class InputEntryParser {
+
+  protected static final Pattern NUMBER_PATTERN = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+  /**
+   * @return the parsed input entry or <code>null</code> if the entry cannot be indexed
+   */
+  public static ParsedInputEntry parse(String text) {
+    ParsedInputEntry entry = new ParsedInputEntry();
+
+    if (text == null || text.trim().length() == 0 || "-".equals(text.trim())) {
+      entry.wildcard = true;
+      return entry;
+    }
+
+    List<String> tests = splitTests(text);
+    if (tests == null) {
+      return null;
+    }
+
+    for (String test : tests) {
+      if (!parseTest(test.trim(), entry)) {
+        return null;
+      }
+    }
+    return entry;
+  }
+
+  protected static boolean parseTest(String test, ParsedInputEntry entry) {
+    if (test.length() == 0) {
+      return false;
+    }
+
+    char first = test.charAt(0);
+    char last = test.charAt(test.length() - 1);
+
+    if (first == '"') {
+      if (test.length() < 2 || last != '"') {
+        return false;
+      }
+      String value = test.substring(1, test.length() - 1);
+      if (value.indexOf('"') >= 0 || value.indexOf('\\') >= 0) {
+        return false;
+      }
+      entry.values.add(value);
+      return true;
+    }
+
+    if ("true".equals(test) || "false".equals(test)) {
+      entry.values.add(Boolean.valueOf(test));
+      return true;
+    }
+
+    if (isNumber(test)) {
+      entry.values.add(toKey(new BigDecimal(test)));
+      return true;
+    }
+
+    if (test.startsWith("<=") || test.startsWith(">=")) {
+      return parseComparison(test.substring(0, 2), test.substring(2).trim(), entry);
+    }
+
+    if (first == '<' || first == '>') {
+      return parseComparison(test.substring(0, 1), test.substring(1).trim(), entry);
+    }
+
+    if ((first == '[' || first == ']' || first == '(') && (last == '[' || last == ']' || last == ')')) {
+      return parseRange(test, entry);
+    }
+
+    return false;
+  }
+
+  protected static boolean parseComparison(String operator, String operand, ParsedInputEntry entry) {
+    if (!isNumber(operand)) {
+      return false;
+    }
+    BigDecimal bound = new BigDecimal(operand);
+
+    if (operator.charAt(0) == '<') {
+      entry.intervals.add(new Interval(-1, null, false, bound, operator.length() == 2));
+    }
+    else {
+      entry.intervals.add(new Interval(-1, bound, operator.length() == 2, null, false));
+    }
+    return true;
+  }
+
+  protected static boolean parseRange(String test, ParsedInputEntry entry) {
+    String range = test.substring(1, test.length() - 1);
+    int separator = range.indexOf("..");
+    if (separator < 0 || range.indexOf("..", separator + 2) >= 0) {
+      return false;
+    }
+
+    String low = range.substring(0, separator).trim();
+    String high = range.substring(separator + 2).trim();
+    if (!isNumber(low) || !isNumber(high)) {
+      return false;
+    }
+
+    boolean lowInclusive = test.charAt(0) == '[';
+    boolean highInclusive = test.charAt(test.length() - 1) == ']';
+    entry.intervals.add(new Interval(-1, new BigDecimal(low), lowInclusive, new BigDecimal(high), highInclusive));
+    return true;
+  }
+
+  /**
+   * Splits the comma separated tests of an entry, ignoring commas in string literals.
+   */
+  protected static List<String> splitTests(String text) {
+    List<String> tests = new ArrayList<String>();
+    boolean inString = false;
+    int start = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '"') {
+        inString = !inString;
+      }
+      else if (c == ',' && !inString) {
+        tests.add(text.substring(start, i));
+        start = i + 1;
+      }
+    }
+    if (inString) {
+      return null;
+    }
+    tests.add(text.substring(start));
+    return tests;
+  }
+
+  protected static boolean isNumber(String text) {
+    return NUMBER_PATTERN.matcher(text).matches();
+  }
+
+  /**
+   * @return the numeric value of an input as used by the index or <code>null</code> if it is not a number
+   */
+  public static BigDecimal toNumber(Object value) {
+    BigDecimal number = null;
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      number = BigDecimal.valueOf(((Number) value).longValue());
+    }
+    else if (value instanceof Double || value instanceof Float) {
+      double doubleValue = ((Number) value).doubleValue();
+      if (!Double.isNaN(doubleValue) && !Double.isInfinite(doubleValue)) {
+        number = BigDecimal.valueOf(doubleValue);
+      }
+    }
+    else if (value instanceof BigDecimal) {
+      number = (BigDecimal) value;
+    }
+    else if (value instanceof BigInteger) {
+      number = new BigDecimal((BigInteger) value);
+    }
+    return number;
+  }
+
+  /**
+   * @return the number normalized so that numerically equal values are equal keys
+   */
+  public static BigDecimal toKey(BigDecimal number) {
+    if (number.signum() == 0) {
+      return BigDecimal.ZERO;
+    }
+    return number.stripTrailingZeros();
+  }
+
+  public static class ParsedInputEntry {
+
+    protected boolean wildcard = false;
+    protected List<Object> values = new ArrayList<Object>();
+    protected List<Interval> intervals = new ArrayList<Interval>();
+
+    public boolean isWildcard() {
+      return wildcard;
+    }
+
+    /**
+     * @return the literals of the entry, i.e. strings, normalized numbers and booleans
+     */
+    public List<Object> getValues() {
+      return values;
+    }
+
+    /**
+     * @return the numeric intervals of the entry, not yet assigned to a rule
+     */
+    public List<Interval> getIntervals() {
+      return intervals;
+    }
+  }
+
+}
@@ -0,0 +1,207 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Centered interval tree over numeric intervals of decision table rules.
+ * A point query returns the rules of all intervals containing the point
+ * in <code>O(log n + k)</code>.
+ */
+public class IntervalTree {
+
+  protected final Node root;
+
+  public IntervalTree(List<Interval> intervals) {
+    root = build(new ArrayList<Interval>(intervals));
+  }
+
+  /**
+   * Adds the rules of all intervals containing the given value to the result.
+   */
+  public void findContaining(BigDecimal value, BitSet result) {
+    Node node = root;
+    while (node != null) {
+      int comparison = value.compareTo(node.center);
+      if (comparison < 0) {
+        for (Interval interval : node.byLow) {
+          if (interval.low != null && value.compareTo(interval.low) < 0) {
+            break;
+          }
+          if (interval.contains(value)) {
+            result.set(interval.rule);
+          }
+        }
+        node = node.left;
+      }
+      else if (comparison > 0) {
+        for (Interval interval : node.byHigh) {
+          if (interval.high != null && value.compareTo(interval.high) > 0) {
+            break;
+          }
+          if (interval.contains(value)) {
+            result.set(interval.rule);
+          }
+        }
+        node = node.right;
+      }
+      else {
+        for (Interval interval : node.byLow) {
+          if (interval.contains(value)) {
+            result.set(interval.rule);
+          }
+        }
+        node = null;
+      }
+    }
+  }
+
+  protected Node build(List<Interval> intervals) {
+    if (intervals.isEmpty()) {
+      return null;
+    }
+
+    BigDecimal center = selectCenter(intervals);
+
+    List<Interval> left = new ArrayList<Interval>();
+    List<Interval> right = new ArrayList<Interval>();
+    List<Interval> overlapping = new ArrayList<Interval>();
+    for (Interval interval : intervals) {
+      if (interval.high != null && interval.high.compareTo(center) < 0) {
+        left.add(interval);
+      }
+      else if (interval.low != null && interval.low.compareTo(center) > 0) {
+        right.add(interval);
+      }
+      else {
+        overlapping.add(interval);
+      }
+    }
+
+    Node node = new Node(center, overlapping);
+    node.left = build(left);
+    node.right = build(right);
+    return node;
+  }
+
+  protected BigDecimal selectCenter(List<Interval> intervals) {
+    List<BigDecimal> endpoints = new ArrayList<BigDecimal>();
+    for (Interval interval : intervals) {
+      if (interval.low != null) {
+        endpoints.add(interval.low);
+      }
+      if (interval.high != null) {
+        endpoints.add(interval.high);
+      }
+    }
+    if (endpoints.isEmpty()) {
+      // only unbounded intervals
+      return BigDecimal.ZERO;
+    }
+    Collections.sort(endpoints);
+    return endpoints.get(endpoints.size() / 2);
+  }
+
+  protected static class Node {
+
+    protected final BigDecimal center;
+    /** intervals containing the center, ascending by lower bound */
+    protected final List<Interval> byLow;
+    /** intervals containing the center, descending by upper bound */
+    protected final List<Interval> byHigh;
+    protected Node left;
+    protected Node right;
+
+    protected Node(BigDecimal center, List<Interval> intervals) {
+      this.center = center;
+
+      byLow = new ArrayList<Interval>(intervals);
+      Collections.sort(byLow, new Comparator<Interval>() {
+        public int compare(Interval a, Interval b) {
+          return compareBounds(a.low, b.low, -1);
+        }
+      });
+
+      byHigh = new ArrayList<Interval>(intervals);
+      Collections.sort(byHigh, new Comparator<Interval>() {
+        public int compare(Interval a, Interval b) {
+          return compareBounds(b.high, a.high, 1);
+        }
+      });
+    }
+
+    /**
+     * @param nullSign the sign of a <code>null</code> bound, i.e. -1 for negative infinity
+     */
+    protected static int compareBounds(BigDecimal a, BigDecimal b, int nullSign) {
+      if (a == null) {
+        return b == null ? 0 : nullSign;
+      }
+      if (b == null) {
+        return -nullSign;
+      }
+      return a.compareTo(b);
+    }
+  }
+
+  /**
+   * A numeric interval of a rule. A <code>null</code> bound is unbounded.
+   */
+  public static class Interval {
+
+    protected final int rule;
+    protected final BigDecimal low;
+    protected final boolean lowInclusive;
+    protected final BigDecimal high;
+    protected final boolean highInclusive;
+
+    public Interval(int rule, BigDecimal low, boolean lowInclusive, BigDecimal high, boolean highInclusive) {
+      this.rule = rule;
+      this.low = low;
+      this.lowInclusive = lowInclusive;
+      this.high = high;
+      this.highInclusive = highInclusive;
+    }
+
+    public boolean contains(BigDecimal value) {
+      return isAboveLow(value) && isBelowHigh(value);
+    }
+
+    protected boolean isAboveLow(BigDecimal value) {
+      if (low == null) {
+        return true;
+      }
+      int comparison = value.compareTo(low);
+      return lowInclusive ? comparison >= 0 : comparison > 0;
+    }
+
+    protected boolean isBelowHigh(BigDecimal value) {
+      if (high == null) {
+        return true;
+      }
+      int comparison = value.compareTo(high);
+      return highInclusive ? comparison <= 0 : comparison < 0;
+    }
+
+    public Interval forRule(int rule) {
+      return new Interval(rule, low, lowInclusive, high, highInclusive);
+    }
+  }
+
+}
@@ -12,12 +12,12 @@
  */
 package org.camunda.bpm.engine.impl.dmn.invocation;
 
-import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnEngine;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
+import org.camunda.bpm.engine.impl.dmn.index.DecisionTableIndex;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.variable.context.VariableContext;
 
@@ -50,7 +50,13 @@ public class DecisionInvocation extends DelegateInvocation {
     final DmnEngine dmnEngine = Context.getProcessEngineConfiguration()
       .getDmnEngine();
 
-    invocationResult = dmnEngine.evaluateDecision((DmnDecision) decisionDefinition, variableContext);
+    DecisionDefinitionEntity decision = (DecisionDefinitionEntity) decisionDefinition;
+    DecisionTableIndex decisionTableIndex = decision.getDecisionTableIndex();
+    if (decisionTableIndex != null) {
+      decision = decisionTableIndex.selectDecision(decision, variableContext);
+    }
+
+    invocationResult = dmnEngine.evaluateDecision(decision, variableContext);
   }
 
   @Override
@@ -57,6 +57,7 @@ public class ExpressionManager {
   protected ELContext parsingElContext = new ProcessEngineElContext(functionMappers);
   protected Map<Object, Object> beans;
   protected ELResolver elResolver;
+  protected int inlineCachingThreshold = -1;
 
   public ExpressionManager() {
     this(null);
@@ -109,6 +110,7 @@ public class ExpressionManager {
   protected ProcessEngineElContext createElContext(VariableScope variableScope) {
     ELResolver elResolver = getCachedElResolver();
     ProcessEngineElContext elContext = new ProcessEngineElContext(functionMappers, elResolver);
+    elContext.setInlineCachingThreshold(inlineCachingThreshold);
     elContext.putContext(ExpressionFactory.class, expressionFactory);
     elContext.putContext(VariableScope.class, variableScope);
     return elContext;
@@ -147,6 +149,18 @@ public class ExpressionManager {
     return elResolver;
   }
 
+  public int getInlineCachingThreshold() {
+    return inlineCachingThreshold;
+  }
+
+  /**
+   * Sets the number of evaluations after which the property and method nodes of an expression
+   * cache the bean accessor they were resolved with. A negative value disables inline caching.
+   */
+  public void setInlineCachingThreshold(int inlineCachingThreshold) {
+    this.inlineCachingThreshold = inlineCachingThreshold;
+  }
+
   /**
    * @param elFunctionMapper
    */
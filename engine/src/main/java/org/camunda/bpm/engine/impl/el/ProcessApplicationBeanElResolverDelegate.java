@@ -33,6 +33,9 @@ import org.camunda.bpm.engine.impl.javax.el.ELResolver;
  */
 public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolverDelegate {
 
+  /** resolver used outside of process applications, shared to reuse its bean introspection cache */
+  protected final BeanELResolver beanElResolver = new BeanELResolver();
+
   protected ELResolver getElResolverDelegate() {
 
     ProcessApplicationReference processApplicationReference = Context.getCurrentProcessApplication();
@@ -47,7 +50,7 @@ public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolver
       }
 
     } else {
-      return new BeanELResolver();
+      return beanElResolver;
     }
 
   }
@@ -15,10 +15,12 @@ package org.camunda.bpm.engine.impl.externaltask;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
 
@@ -124,6 +126,55 @@ public class LockedExternalTaskImpl implements LockedExternalTask {
    * database and variables attached
    */
   public static LockedExternalTaskImpl fromEntity(ExternalTaskEntity externalTaskEntity, List<String> variablesToFetch) {
+    LockedExternalTaskImpl result = fromEntityWithoutVariables(externalTaskEntity);
+
+    ExecutionEntity execution = externalTaskEntity.getExecution();
+    result.variables = new VariableMapImpl();
+    execution.collectVariables(result.variables, variablesToFetch, false, false);
+
+    return result;
+  }
+
+  /**
+   * Construct representation of locked ExternalTask from corresponding entity. Unlike
+   * {@link #fromEntity(ExternalTaskEntity, List)}, the variables are not loaded from the
+   * variable scopes but collected from variables which were fetched in advance for many
+   * external tasks at once. Like during collection, a variable of an execution hides the
+   * variables with the same name of its parent executions.
+   *
+   * @param externalTaskEntity - source persistent entity to use for fields
+   * @param variablesToFetch - list of variable names to fetch, if null then all variables will be fetched
+   * @param variablesByExecution - the fetched variables, grouped by the id of their execution.
+   *   Must contain the requested variables of the execution of the external task and its parents.
+   *
+   * @return object with all fields copied from the ExternalTaskEntity, error details fetched from the
+   * database and variables attached
+   */
+  public static LockedExternalTaskImpl fromEntity(ExternalTaskEntity externalTaskEntity, List<String> variablesToFetch,
+      Map<String, List<VariableInstanceEntity>> variablesByExecution) {
+    LockedExternalTaskImpl result = fromEntityWithoutVariables(externalTaskEntity);
+
+    result.variables = new VariableMapImpl();
+    if (variablesToFetch == null || !variablesToFetch.isEmpty()) {
+      ExecutionEntity execution = externalTaskEntity.getExecution();
+      while (execution != null) {
+        List<VariableInstanceEntity> variables = variablesByExecution.get(execution.getId());
+        if (variables != null) {
+          for (VariableInstanceEntity variable : variables) {
+            String name = variable.getName();
+            if (!result.variables.containsKey(name) && (variablesToFetch == null || variablesToFetch.contains(name))) {
+              result.variables.put(name, variable.getTypedValue(false));
+            }
+          }
+        }
+        execution = execution.getParent();
+      }
+    }
+
+    return result;
+  }
+
+  protected static LockedExternalTaskImpl fromEntityWithoutVariables(ExternalTaskEntity externalTaskEntity) {
     LockedExternalTaskImpl result = new LockedExternalTaskImpl();
     result.id = externalTaskEntity.getId();
     result.topicName = externalTaskEntity.getTopicName();
@@ -142,10 +193,6 @@ public class LockedExternalTaskImpl implements LockedExternalTask {
     result.tenantId = externalTaskEntity.getTenantId();
     result.priority = externalTaskEntity.getPriority();
 
-    ExecutionEntity execution = externalTaskEntity.getExecution();
-    result.variables = new VariableMapImpl();
-    execution.collectVariables(result.variables, variablesToFetch, false, false);
-
     return result;
   }
 }
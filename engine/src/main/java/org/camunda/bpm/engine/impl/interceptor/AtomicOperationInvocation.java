@@ -14,7 +14,10 @@ package org.camunda.bpm.engine.impl.interceptor;
 
 import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.context.BpmnExecutionContext;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.context.CoreExecutionContext;
+import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.pvm.runtime.AtomicOperation;
 import org.camunda.bpm.engine.impl.pvm.runtime.operation.PvmAtomicOperation;
@@ -81,8 +84,12 @@ public class AtomicOperationInvocation {
     activityId = execution.getActivityId();
     stackTrace.add(this);
 
+    // the execution context only has to be set if the operation is performed on another execution
+    boolean switchExecutionContext = !isCurrentExecutionContext(execution);
     try {
-      Context.setExecutionContext(execution);
+      if (switchExecutionContext) {
+        Context.setExecutionContext(execution);
+      }
       if(!performAsync) {
         LOG.debugExecutingAtomicOperation(operation, execution);
         operation.execute(execution);
@@ -91,10 +98,17 @@ public class AtomicOperationInvocation {
         execution.scheduleAtomicOperationAsync(this);
       }
     } finally {
-      Context.removeExecutionContext();
+      if (switchExecutionContext) {
+        Context.removeExecutionContext();
+      }
     }
   }
 
+  protected boolean isCurrentExecutionContext(ExecutionEntity execution) {
+    CoreExecutionContext<? extends CoreExecution> executionContext = Context.getCoreExecutionContext();
+    return executionContext instanceof BpmnExecutionContext && executionContext.getExecution() == execution;
+  }
+
   // getters / setters ////////////////////////////////////
 
   public AtomicOperation getOperation() {
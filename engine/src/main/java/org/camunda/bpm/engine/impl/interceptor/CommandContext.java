@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.interceptor;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -42,6 +43,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.ProcessApplicationContextUtil;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSession;
+import org.camunda.bpm.engine.impl.db.sql.ReadDataSourceStalenessPolicy;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionManager;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
 import org.camunda.bpm.engine.impl.identity.Authentication;
@@ -100,10 +102,16 @@ public class CommandContext {
   protected boolean authorizationCheckEnabled = true;
   protected boolean userOperationLogEnabled = true;
   protected boolean tenantCheckEnabled = true;
+  protected boolean readOnly = false;
+  protected boolean readDataSourceUsed = false;
 
   protected TransactionContext transactionContext;
   protected Map<Class< ? >, SessionFactory> sessionFactories;
-  protected Map<Class< ? >, Session> sessions = new HashMap<Class< ? >, Session>();
+  /** sessions of the types which have a slot assigned by the process engine configuration */
+  protected Map<Class< ? >, Integer> sessionSlots;
+  protected Session[] slottedSessions;
+  /** sessions of the types without a slot, created on demand */
+  protected Map<Class< ? >, Session> sessions;
   protected List<Session> sessionList = new ArrayList<Session>();
   protected ProcessEngineConfigurationImpl processEngineConfiguration;
   protected FailedJobCommandFactory failedJobCommandFactory;
@@ -118,6 +126,10 @@ public class CommandContext {
     this.processEngineConfiguration = processEngineConfiguration;
     this.failedJobCommandFactory = processEngineConfiguration.getFailedJobCommandFactory();
     sessionFactories = processEngineConfiguration.getSessionFactories();
+    sessionSlots = processEngineConfiguration.getSessionSlots();
+    if (sessionSlots != null) {
+      slottedSessions = new Session[sessionSlots.size()];
+    }
     this.transactionContext = transactionContextFactory.openTransactionContext(this);
   }
 
@@ -167,7 +179,8 @@ public class CommandContext {
       try {
         try {
 
-          if (commandInvocationContext.getThrowable() == null) {
+          // a read-only context has no changes to flush
+          if (commandInvocationContext.getThrowable() == null && !readOnly) {
             fireCommandContextClose();
             flushSessions();
           }
@@ -179,6 +192,9 @@ public class CommandContext {
           try {
             if (commandInvocationContext.getThrowable() == null) {
               transactionContext.commit();
+              if (!readOnly) {
+                fireWriteCommitted();
+              }
             }
           } catch (Throwable exception) {
             commandInvocationContext.trySetThrowable(exception);
@@ -228,6 +244,13 @@ public class CommandContext {
     }
   }
 
+  protected void fireWriteCommitted() {
+    ReadDataSourceStalenessPolicy stalenessPolicy = processEngineConfiguration.getReadDataSourceStalenessPolicy();
+    if (stalenessPolicy != null) {
+      stalenessPolicy.writeCommitted();
+    }
+  }
+
   protected void fireCommandFailed(Throwable t) {
     for (CommandContextListener listener : commandContextListeners) {
       try {
@@ -257,18 +280,57 @@ public class CommandContext {
 
   @SuppressWarnings({"unchecked"})
   public <T> T getSession(Class<T> sessionClass) {
-    Session session = sessions.get(sessionClass);
-    if (session == null) {
-      SessionFactory sessionFactory = sessionFactories.get(sessionClass);
-      ensureNotNull("no session factory configured for " + sessionClass.getName(), "sessionFactory", sessionFactory);
-      session = sessionFactory.openSession();
-      sessions.put(sessionClass, session);
-      sessionList.add(0, session);
+    Integer slot = sessionSlots != null ? sessionSlots.get(sessionClass) : null;
+    Session session;
+
+    if (slot != null) {
+      session = slottedSessions[slot];
+      if (session == null) {
+        session = openSession(sessionClass);
+        slottedSessions[slot] = session;
+      }
+
+    } else {
+      if (sessions == null) {
+        sessions = new HashMap<Class< ? >, Session>();
+      }
+      session = sessions.get(sessionClass);
+      if (session == null) {
+        session = openSession(sessionClass);
+        sessions.put(sessionClass, session);
+      }
     }
 
     return (T) session;
   }
 
+  /**
+   * Replaces the session of the given type which is returned by {@link #getSession(Class)}
+   * for the remaining execution of this context. The given session is neither flushed nor
+   * closed by this context.
+   */
+  public <T extends Session> void setSession(Class<T> sessionClass, T session) {
+    Integer slot = sessionSlots != null ? sessionSlots.get(sessionClass) : null;
+
+    if (slot != null) {
+      slottedSessions[slot] = session;
+
+    } else {
+      if (sessions == null) {
+        sessions = new HashMap<Class< ? >, Session>();
+      }
+      sessions.put(sessionClass, session);
+    }
+  }
+
+  protected Session openSession(Class<?> sessionClass) {
+    SessionFactory sessionFactory = sessionFactories.get(sessionClass);
+    ensureNotNull("no session factory configured for " + sessionClass.getName(), "sessionFactory", sessionFactory);
+    Session session = sessionFactory.openSession();
+    sessionList.add(0, session);
+    return session;
+  }
+
   public DbEntityManager getDbEntityManager() {
     return getSession(DbEntityManager.class);
   }
@@ -485,8 +547,24 @@ public class CommandContext {
     return transactionContext;
   }
 
+  /**
+   * @return the sessions which are currently held by this context; use
+   * {@link #setSession(Class, Session)} to replace one of them
+   */
   public Map<Class< ? >, Session> getSessions() {
-    return sessions;
+    Map<Class< ? >, Session> allSessions = new HashMap<Class< ? >, Session>();
+    if (sessions != null) {
+      allSessions.putAll(sessions);
+    }
+    if (sessionSlots != null) {
+      for (Map.Entry<Class< ? >, Integer> sessionSlot : sessionSlots.entrySet()) {
+        Session session = slottedSessions[sessionSlot.getValue()];
+        if (session != null) {
+          allSessions.put(sessionSlot.getKey(), session);
+        }
+      }
+    }
+    return Collections.unmodifiableMap(allSessions);
   }
 
   public FailedJobCommandFactory getFailedJobCommandFactory() {
@@ -583,4 +661,47 @@ public class CommandContext {
     return tenantCheckEnabled;
   }
 
+  /**
+   * @return true if this context was opened for a {@link ReadOnlyCommand}
+   */
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  public void setReadOnly(boolean readOnly) {
+    this.readOnly = readOnly;
+  }
+
+  /**
+   * Lets this context read from the {@link ProcessEngineConfigurationImpl#getReadDataSource() read data source}
+   * instead of the primary data source. Has no effect if this context is not read-only,
+   * no read data source is configured, the context already accessed the database or the
+   * {@link ReadDataSourceStalenessPolicy} does not allow it.
+   */
+  public void useReadDataSource() {
+    if (readOnly
+        && !readDataSourceUsed
+        && processEngineConfiguration.getReadDataSource() != null
+        && !hasOpenSession(DbSqlSession.class)) {
+      ReadDataSourceStalenessPolicy stalenessPolicy = processEngineConfiguration.getReadDataSourceStalenessPolicy();
+      readDataSourceUsed = stalenessPolicy == null || stalenessPolicy.isReadDataSourceAllowed(processEngineConfiguration.getReadDataSource());
+    }
+  }
+
+  /**
+   * @return true if the database sessions of this context read from the read data source
+   */
+  public boolean isReadDataSourceUsed() {
+    return readDataSourceUsed;
+  }
+
+  protected boolean hasOpenSession(Class<?> sessionClass) {
+    for (Session session : sessionList) {
+      if (sessionClass.isInstance(session)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
 }
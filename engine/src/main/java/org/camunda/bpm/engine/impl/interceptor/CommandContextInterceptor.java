@@ -73,11 +73,16 @@ public class CommandContextInterceptor extends CommandInterceptor {
 
   public <T> T execute(Command<T> command) {
     CommandContext context = null;
+    boolean readOnly = isReadOnly(command);
 
     if(!alwaysOpenNew) {
       // check whether we can reuse the command context
       CommandContext existingCommandContext = Context.getCommandContext();
       if(existingCommandContext != null && isFromSameEngine(existingCommandContext)) {
+        if (!readOnly && existingCommandContext.isReadOnly()) {
+          // the changes would neither be flushed with the read-only context nor be part of its transaction
+          throw LOG.exceptionWriteCommandInReadOnlyCommandContext(command.getClass().getName());
+        }
         context = existingCommandContext;
       }
     }
@@ -91,6 +96,10 @@ public class CommandContextInterceptor extends CommandInterceptor {
       if(openNew) {
         LOG.debugOpeningNewCommandContext();
         context = commandContextFactory.createCommandContext();
+        context.setReadOnly(readOnly);
+        if (readOnly && command instanceof ReadDataSourceCommand) {
+          context.useReadDataSource();
+        }
 
       } else {
         LOG.debugReusingExistingCommandContext();
@@ -124,6 +133,12 @@ public class CommandContextInterceptor extends CommandInterceptor {
     return null;
   }
 
+  protected boolean isReadOnly(Command<?> command) {
+    return command instanceof ReadOnlyCommand
+        && processEngineConfiguration != null
+        && processEngineConfiguration.isReadOnlyCommandsEnabled();
+  }
+
   protected boolean isFromSameEngine(CommandContext existingCommandContext) {
     return processEngineConfiguration == existingCommandContext.getProcessEngineConfiguration();
   }
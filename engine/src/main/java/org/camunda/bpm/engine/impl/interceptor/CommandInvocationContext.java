@@ -12,8 +12,8 @@
  */
 package org.camunda.bpm.engine.impl.interceptor;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.Callable;
 
 import org.apache.ibatis.exceptions.PersistenceException;
@@ -41,7 +41,7 @@ public class CommandInvocationContext {
   protected Throwable throwable;
   protected Command< ? > command;
   protected boolean isExecuting = false;
-  protected List<AtomicOperationInvocation> queuedInvocations = new ArrayList<AtomicOperationInvocation>();
+  protected Deque<AtomicOperationInvocation> queuedInvocations = new ArrayDeque<AtomicOperationInvocation>();
   protected BpmnStackTrace bpmnStackTrace = new BpmnStackTrace();
 
   public CommandInvocationContext(Command<?> command) {
@@ -75,12 +75,12 @@ public class CommandInvocationContext {
 
   public void performOperation(final AtomicOperation executionOperation, final ExecutionEntity execution, final boolean performAsync) {
     AtomicOperationInvocation invocation = new AtomicOperationInvocation(executionOperation, execution, performAsync);
-    queuedInvocations.add(0, invocation);
+    queuedInvocations.push(invocation);
     performNext();
   }
 
   protected void performNext() {
-    AtomicOperationInvocation nextInvocation = queuedInvocations.get(0);
+    AtomicOperationInvocation nextInvocation = queuedInvocations.peek();
 
     if(nextInvocation.operation.isAsyncCapable() && isExecuting) {
       // will be picked up by while loop below
@@ -104,23 +104,26 @@ public class CommandInvocationContext {
         invokeNext();
       }
       else {
+        // the execution context is kept for all operations on the same execution,
+        // so that they do not have to set it again
+        Context.setExecutionContext(nextInvocation.execution);
         try  {
           isExecuting = true;
           while (! queuedInvocations.isEmpty()) {
             // assumption: all operations are executed within the same process application...
-            nextInvocation = queuedInvocations.get(0);
             invokeNext();
           }
         }
         finally {
           isExecuting = false;
+          Context.removeExecutionContext();
         }
       }
     }
   }
 
   protected void invokeNext() {
-    AtomicOperationInvocation invocation = queuedInvocations.remove(0);
+    AtomicOperationInvocation invocation = queuedInvocations.pop();
     try {
       invocation.execute(bpmnStackTrace);
     }
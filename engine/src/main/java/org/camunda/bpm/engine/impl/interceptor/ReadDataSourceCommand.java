@@ -0,0 +1,26 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.interceptor;
+
+/**
+ * A {@link ReadOnlyCommand} which tolerates to read data that is slightly out of date, like
+ * history queries, reports and statistics.
+ *
+ * <p>If a {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getReadDataSource() read data source}
+ * is configured, the command is executed against it when it opens a new read-only command
+ * context and the {@link org.camunda.bpm.engine.impl.db.sql.ReadDataSourceStalenessPolicy}
+ * allows it (see {@link CommandContext#useReadDataSource()}).</p>
+ */
+public interface ReadDataSourceCommand<T> extends Command<T>, ReadOnlyCommand {
+
+}
@@ -0,0 +1,31 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.interceptor;
+
+/**
+ * Marks a {@link Command} which only reads data and does not change any entity.
+ *
+ * <p>If {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isReadOnlyCommandsEnabled()}
+ * is enabled and the command opens a new {@link CommandContext}, the context is
+ * {@link CommandContext#isReadOnly() read-only}: the entities loaded by the command are not
+ * prepared for dirty checking and the sessions are not flushed when the context is closed.
+ * Changes made to entities by a read-only command are therefore lost.</p>
+ *
+ * <p>A read-only command must not execute commands which are not read-only: their changes
+ * would not be part of the read-only context's transaction. Such nested commands fail with
+ * a {@link org.camunda.bpm.engine.ProcessEngineException}, unless they are executed with
+ * a command executor which always opens a new context.</p>
+ */
+public interface ReadOnlyCommand {
+
+}
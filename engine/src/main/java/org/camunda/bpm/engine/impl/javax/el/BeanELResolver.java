@@ -306,6 +306,7 @@ public class BeanELResolver extends ELResolver {
 			} catch (Exception e) {
 				throw new ELException(e);
 			}
+			context.setResolvedMethod(base, method);
 			context.setPropertyResolved(true);
 		}
 		return result;
@@ -482,6 +483,7 @@ public class BeanELResolver extends ELResolver {
 			} catch (IllegalAccessException e) {
 				throw new ELException(e);
 			}
+			context.setResolvedMethod(base, target);
 			context.setPropertyResolved(true);
 		}
 		return result;
@@ -15,6 +15,7 @@
  */
 package org.camunda.bpm.engine.impl.javax.el;
 
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -46,6 +47,9 @@ public abstract class ELContext {
 
 	private Locale locale;
 	private boolean resolved;
+	private int inlineCachingThreshold = -1;
+	private Object resolvedBase;
+	private Method resolvedMethod;
 
 	/**
 	 * Returns the context object associated with the given key. The ELContext maintains a
@@ -160,4 +164,33 @@ public abstract class ELContext {
 	public void setPropertyResolved(boolean resolved) {
 		this.resolved = resolved;
 	}
+
+	/**
+	 * Number of evaluations after which an expression node caches the bean accessor it resolved
+	 * its value with, or <code>-1</code> if inline caching is disabled.
+	 */
+	public int getInlineCachingThreshold() {
+		return inlineCachingThreshold;
+	}
+
+	public void setInlineCachingThreshold(int inlineCachingThreshold) {
+		this.inlineCachingThreshold = inlineCachingThreshold;
+	}
+
+	/**
+	 * Called by bean resolvers to report the method a (base, property) or (base, method) pair was
+	 * resolved with. This feedback is used to install inline caches in the expression tree.
+	 */
+	public void setResolvedMethod(Object base, Method method) {
+		this.resolvedBase = base;
+		this.resolvedMethod = method;
+	}
+
+	public Object getResolvedBase() {
+		return resolvedBase;
+	}
+
+	public Method getResolvedMethod() {
+		return resolvedMethod;
+	}
 }
@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+import java.util.Calendar;
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ConfigurationLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+
+/**
+ * Evaluates the daily batch window of the history cleanup. The window is given by
+ * a start and an end time of day ("HH:mm") and may span midnight. Equal start and
+ * end times denote a window of the whole day.
+ */
+public class HistoryCleanupHelper {
+
+  protected static final ConfigurationLogger LOG = ProcessEngineLogger.CONFIG_LOGGER;
+
+  /**
+   * @return the minute of the day represented by the given "HH:mm" value
+   */
+  public static int parseTime(String propertyName, String time) {
+    if (time != null) {
+      String[] parts = time.trim().split(":");
+      if (parts.length == 2) {
+        try {
+          int hours = Integer.parseInt(parts[0]);
+          int minutes = Integer.parseInt(parts[1]);
+          if (hours >= 0 && hours < 24 && minutes >= 0 && minutes < 60) {
+            return hours * 60 + minutes;
+          }
+        } catch (NumberFormatException e) {
+          // fall through
+        }
+      }
+    }
+
+    throw LOG.invalidConfigHistoryCleanupBatchWindowTime(propertyName, time);
+  }
+
+  public static boolean isWithinBatchWindow(Date date, ProcessEngineConfigurationImpl configuration) {
+    if (!configuration.isHistoryCleanupBatchWindowConfigured()) {
+      return false;
+    }
+
+    int start = parseTime("historyCleanupBatchWindowStartTime", configuration.getHistoryCleanupBatchWindowStartTime());
+    int end = parseTime("historyCleanupBatchWindowEndTime", configuration.getHistoryCleanupBatchWindowEndTime());
+    int now = minuteOfDay(date);
+
+    if (start == end) {
+      return true;
+    }
+    else if (start < end) {
+      return start <= now && now < end;
+    }
+    else {
+      // window spans midnight
+      return start <= now || now < end;
+    }
+  }
+
+  /**
+   * @return the given date if it lies within the batch window, the next start of the batch window otherwise
+   */
+  public static Date getNextRunWithinBatchWindow(Date date, ProcessEngineConfigurationImpl configuration) {
+    if (isWithinBatchWindow(date, configuration)) {
+      return date;
+    }
+    else {
+      return getNextBatchWindowStart(date, configuration);
+    }
+  }
+
+  /**
+   * @return the first start of the batch window after the given date
+   */
+  public static Date getNextBatchWindowStart(Date date, ProcessEngineConfigurationImpl configuration) {
+    int start = parseTime("historyCleanupBatchWindowStartTime", configuration.getHistoryCleanupBatchWindowStartTime());
+
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    if (minuteOfDay(date) >= start) {
+      calendar.add(Calendar.DAY_OF_MONTH, 1);
+    }
+    calendar.set(Calendar.HOUR_OF_DAY, start / 60);
+    calendar.set(Calendar.MINUTE, start % 60);
+    calendar.set(Calendar.SECOND, 0);
+    calendar.set(Calendar.MILLISECOND, 0);
+
+    return calendar.getTime();
+  }
+
+  protected static int minuteOfDay(Date date) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    return calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
+  }
+
+}
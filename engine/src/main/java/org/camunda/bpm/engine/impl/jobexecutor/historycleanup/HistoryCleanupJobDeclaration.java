@@ -0,0 +1,70 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.DefaultPriorityProvider;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.mapping.value.ConstantValueProvider;
+import org.camunda.bpm.engine.impl.core.variable.mapping.value.ParameterValueProvider;
+import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.jobexecutor.JobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler.HistoryCleanupJobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+
+/**
+ * Job declaration for the history cleanup job.
+ */
+public class HistoryCleanupJobDeclaration extends JobDeclaration<HistoryCleanupJobHandlerConfiguration, MessageEntity> {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final HistoryCleanupJobDeclaration HISTORY_CLEANUP_JOB_DECLARATION = new HistoryCleanupJobDeclaration();
+
+  public HistoryCleanupJobDeclaration() {
+    super(HistoryCleanupJobHandler.TYPE);
+  }
+
+  protected ExecutionEntity resolveExecution(HistoryCleanupJobHandlerConfiguration configuration) {
+    return null;
+  }
+
+  protected MessageEntity newJobInstance(HistoryCleanupJobHandlerConfiguration configuration) {
+    return new MessageEntity();
+  }
+
+  protected JobHandlerConfiguration resolveJobHandlerConfiguration(HistoryCleanupJobHandlerConfiguration configuration) {
+    return configuration;
+  }
+
+  public ParameterValueProvider getJobPriorityProvider() {
+    return new ConstantValueProvider(DefaultPriorityProvider.DEFAULT_PRIORITY);
+  }
+
+  /**
+   * Creates a new history cleanup job that becomes due at the given date.
+   */
+  public static MessageEntity schedule(boolean immediatelyDue, Date dueDate) {
+    MessageEntity job = HISTORY_CLEANUP_JOB_DECLARATION.createJobInstance(new HistoryCleanupJobHandlerConfiguration(immediatelyDue));
+    job.setDuedate(dueDate);
+
+    Context.getCommandContext()
+      .getJobManager()
+      .insertAndHintJobExecutor(job);
+
+    return job;
+  }
+
+}
@@ -0,0 +1,97 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.DeleteHistoricProcessInstancesBulkCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.JobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler.HistoryCleanupJobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
+
+/**
+ * Job handler for the history cleanup job. Each execution removes the history of at most
+ * {@link ProcessEngineConfigurationImpl#getHistoryCleanupBatchSize()} process instances
+ * whose history time to live has expired and schedules its successor: right away if there
+ * may be more to remove, otherwise at the start of the next batch window.
+ */
+public class HistoryCleanupJobHandler implements JobHandler<HistoryCleanupJobHandlerConfiguration> {
+
+  public static final String TYPE = "history-cleanup";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(HistoryCleanupJobHandlerConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    Date now = ClockUtil.getCurrentTime();
+
+    boolean immediatelyDue = configuration.isImmediatelyDue();
+    boolean moreToCleanUp = false;
+
+    if (immediatelyDue || HistoryCleanupHelper.isWithinBatchWindow(now, processEngineConfiguration)) {
+      int batchSize = processEngineConfiguration.getHistoryCleanupBatchSize();
+      HistoricProcessInstanceManager historicProcessInstanceManager = commandContext.getHistoricProcessInstanceManager();
+
+      List<String> historicProcessInstanceIds = historicProcessInstanceManager.findHistoricProcessInstanceIdsForCleanup(batchSize);
+      for (List<String> partition : CollectionUtil.partition(historicProcessInstanceIds, DeleteHistoricProcessInstancesBulkCmd.MAX_IDS_PER_STATEMENT)) {
+        historicProcessInstanceManager.deleteHistoricProcessInstanceByIds(partition);
+      }
+
+      moreToCleanUp = historicProcessInstanceIds.size() == batchSize;
+    }
+
+    if (moreToCleanUp) {
+      HistoryCleanupJobDeclaration.schedule(immediatelyDue, now);
+    }
+    else if (processEngineConfiguration.isHistoryCleanupBatchWindowConfigured()) {
+      HistoryCleanupJobDeclaration.schedule(false, HistoryCleanupHelper.getNextBatchWindowStart(now, processEngineConfiguration));
+    }
+  }
+
+  public HistoryCleanupJobHandlerConfiguration newConfiguration(String canonicalString) {
+    return new HistoryCleanupJobHandlerConfiguration(Boolean.parseBoolean(canonicalString));
+  }
+
+  public void onDelete(HistoryCleanupJobHandlerConfiguration configuration, JobEntity jobEntity) {
+    // do nothing
+  }
+
+  public static class HistoryCleanupJobHandlerConfiguration implements JobHandlerConfiguration {
+
+    /** true if the job was triggered manually and ignores the batch window */
+    protected boolean immediatelyDue;
+
+    public HistoryCleanupJobHandlerConfiguration(boolean immediatelyDue) {
+      this.immediatelyDue = immediatelyDue;
+    }
+
+    public boolean isImmediatelyDue() {
+      return immediatelyDue;
+    }
+
+    public String toCanonicalString() {
+      return Boolean.toString(immediatelyDue);
+    }
+  }
+
+}
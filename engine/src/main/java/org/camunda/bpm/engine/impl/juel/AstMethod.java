@@ -15,6 +15,8 @@
  */
 package org.camunda.bpm.engine.impl.juel;
 
+import java.lang.reflect.Method;
+
 import org.camunda.bpm.engine.impl.javax.el.ELContext;
 import org.camunda.bpm.engine.impl.javax.el.ELException;
 import org.camunda.bpm.engine.impl.javax.el.MethodInfo;
@@ -26,6 +28,7 @@ import org.camunda.bpm.engine.impl.javax.el.ValueReference;
 public class AstMethod extends AstNode {
 	private final AstProperty property;
 	private final AstParameters params;
+	private final InlineCache inlineCache = new InlineCache();
 	
 	public AstMethod(AstProperty property, AstParameters params) {
 		this.property = property;
@@ -87,17 +90,31 @@ public class AstMethod extends AstNode {
 		String name = bindings.convert(method, String.class);
 		paramValues = params.eval(bindings, context);
 
+		if (paramTypes == null) {
+			Method cachedMethod = inlineCache.lookup(context, base, name);
+			if (cachedMethod != null && InlineCache.isAssignable(cachedMethod, paramValues)) {
+				return InlineCache.invoke(cachedMethod, base, paramValues);
+			}
+		}
+		boolean recording = paramTypes == null && inlineCache.prepareRecording(context);
 		context.setPropertyResolved(false);
 		Object result = context.getELResolver().invoke(context, base, name, paramTypes, paramValues);
 		if (!context.isPropertyResolved()) {
 			throw new MethodNotFoundException(LocalMessages.get("error.property.method.notfound", name, base.getClass()));
 		}
+		if (recording) {
+			inlineCache.record(context, base, name, paramValues.length);
+		}
 //		if (returnType != null && !returnType.isInstance(result)) { // should we check returnType for method invocations?
 //			throw new MethodNotFoundException(LocalMessages.get("error.property.method.notfound", name, base.getClass()));
 //		}
 		return result;
 	}
 
+	public InlineCache getInlineCache() {
+		return inlineCache;
+	}
+
 	public int getCardinality() {
 		return 2;
 	}
@@ -31,6 +31,8 @@ public abstract class AstProperty extends AstNode {
 	protected final boolean lvalue;
 	protected final boolean strict; // allow null as property value?
 	
+	protected final InlineCache inlineCache = new InlineCache();
+
 	public AstProperty(AstNode prefix, boolean lvalue, boolean strict) {
 		this.prefix = prefix;
 		this.lvalue = lvalue;
@@ -57,14 +59,26 @@ public abstract class AstProperty extends AstNode {
 		if (property == null && strict) {
 			return null;
 		}
+		Method cachedMethod = property == null ? null : inlineCache.lookup(context, base, property);
+		if (cachedMethod != null) {
+			return InlineCache.invoke(cachedMethod, base, null);
+		}
+		boolean recording = inlineCache.prepareRecording(context);
 		context.setPropertyResolved(false);
 		Object result = context.getELResolver().getValue(context, base, property);
 		if (!context.isPropertyResolved()) {
 			throw new PropertyNotFoundException(LocalMessages.get("error.property.property.notfound", property, base));
 		}
+		if (recording) {
+			inlineCache.record(context, base, property, 0);
+		}
 		return result;
 	}
 
+	public InlineCache getInlineCache() {
+		return inlineCache;
+	}
+
 	public final boolean isLiteralText() {
 		return false;
 	}
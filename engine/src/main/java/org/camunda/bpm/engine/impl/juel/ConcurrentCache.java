@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.camunda.bpm.engine.impl.util.ConcurrentLruCache;
+
+/**
+ * Thread-safe tree cache with approximate LRU eviction, backed by a {@link ConcurrentLruCache}.
+ *
+ * Lookups do not take any lock. Once the cache grows beyond its size, the thread adding an entry
+ * evicts the least recently accessed entries in one pass, see {@link ConcurrentLruCache}.
+ *
+ * Like {@link Cache}, evicted trees are moved to an optional secondary map which is only
+ * consulted on misses of the primary map.
+ */
+public final class ConcurrentCache implements TreeCache {
+
+	private final ConcurrentLruCache<String, Tree> primary;
+	private final Map<String, Tree> secondary;
+
+	/**
+	 * Constructor.
+	 * Use a {@link WeakHashMap} as secondary map.
+	 * @param size maximum primary cache size
+	 */
+	public ConcurrentCache(int size) {
+		this(size, new WeakHashMap<String, Tree>());
+	}
+
+	/**
+	 * Constructor.
+	 * If an entry is evicted from the primary cache, it is added to the secondary map.
+	 * @param size maximum primary cache size
+	 * @param secondary the secondary map (may be <code>null</code>)
+	 */
+	public ConcurrentCache(int size, Map<String, Tree> secondary) {
+		this.secondary = secondary == null ? null : Collections.synchronizedMap(secondary);
+		this.primary = new ConcurrentLruCache<String, Tree>(size) {
+			protected void evicted(String expression, Tree tree) {
+				if (ConcurrentCache.this.secondary != null) {
+					ConcurrentCache.this.secondary.put(expression, tree);
+				}
+			}
+		};
+	}
+
+	public Tree get(String expression) {
+		Tree tree = primary.get(expression);
+		if (tree == null && secondary != null) {
+			tree = secondary.get(expression);
+		}
+		return tree;
+	}
+
+	public void put(String expression, Tree tree) {
+		primary.put(expression, tree);
+	}
+
+	public int size() {
+		return primary.size();
+	}
+}
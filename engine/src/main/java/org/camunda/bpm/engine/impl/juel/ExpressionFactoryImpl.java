@@ -334,7 +334,7 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 				throw new ELException("Cannot parse EL property " + PROP_CACHE_SIZE, e);
 			}
 		}
-		Cache cache = cacheSize > 0 ? new Cache(cacheSize) : null;
+		TreeCache cache = cacheSize > 0 ? new ConcurrentCache(cacheSize) : null;
 
 		return new TreeStore(builder, cache);
 	}
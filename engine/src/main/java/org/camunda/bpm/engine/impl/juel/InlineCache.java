@@ -0,0 +1,178 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ELException;
+import org.camunda.bpm.engine.impl.javax.el.ELResolver;
+
+/**
+ * Monomorphic inline cache of a property or method node.
+ *
+ * The node is interpreted through the {@link ELResolver} chain until it was evaluated
+ * {@link ELContext#getInlineCachingThreshold()} times. Afterwards the bean accessor reported by
+ * the resolver is cached together with the class of the base object, the property or method name
+ * and the resolver chain, and later evaluations matching all of them invoke the accessor directly.
+ * If a different base class is observed the cache is dropped and the node is interpreted again;
+ * after {@link #MAX_INVALIDATIONS} such changes the node is considered polymorphic and stays
+ * interpreted.
+ *
+ * The cache is shared by all threads evaluating the tree. Entries are immutable and published
+ * through a volatile field, the evaluation counter is intentionally not synchronized.
+ */
+public final class InlineCache {
+
+	public static final int MAX_INVALIDATIONS = 3;
+
+	private static final class Entry {
+		private final ELResolver resolver;
+		private final Class<?> baseClass;
+		private final Object name;
+		private final Method method;
+
+		private Entry(ELResolver resolver, Class<?> baseClass, Object name, Method method) {
+			this.resolver = resolver;
+			this.baseClass = baseClass;
+			this.name = name;
+			this.method = method;
+		}
+	}
+
+	private volatile Entry entry;
+	private volatile boolean polymorphic;
+	private int evaluations;
+	private int invalidations;
+
+	/**
+	 * @return the cached accessor for the given base and name or <code>null</code> if the node must be interpreted
+	 */
+	public Method lookup(ELContext context, Object base, Object name) {
+		Entry current = entry;
+		if (current == null) {
+			return null;
+		}
+		if (current.baseClass == base.getClass() && current.resolver == context.getELResolver() && current.name.equals(name)) {
+			return current.method;
+		}
+		invalidate();
+		return null;
+	}
+
+	/**
+	 * Counts an interpreted evaluation.
+	 *
+	 * @return <code>true</code> if the resolution which is about to happen should be recorded
+	 */
+	public boolean prepareRecording(ELContext context) {
+		int threshold = context.getInlineCachingThreshold();
+		if (threshold < 0 || polymorphic || entry != null) {
+			return false;
+		}
+		if (++evaluations < threshold) {
+			return false;
+		}
+		context.setResolvedMethod(null, null);
+		return true;
+	}
+
+	/**
+	 * Installs the accessor reported by the resolver if it was resolved for the given base.
+	 */
+	public void record(ELContext context, Object base, Object name, int parameterCount) {
+		Method method = context.getResolvedMethod();
+		if (method != null && context.getResolvedBase() == base && name != null
+				&& !method.isVarArgs() && method.getParameterTypes().length == parameterCount) {
+			entry = new Entry(context.getELResolver(), base.getClass(), name, method);
+		}
+		context.setResolvedMethod(null, null);
+	}
+
+	public boolean isCached() {
+		return entry != null;
+	}
+
+	public boolean isPolymorphic() {
+		return polymorphic;
+	}
+
+	private synchronized void invalidate() {
+		if (entry != null) {
+			entry = null;
+			evaluations = 0;
+			if (++invalidations >= MAX_INVALIDATIONS) {
+				polymorphic = true;
+			}
+		}
+	}
+
+	/**
+	 * Invokes a cached accessor the same way the bean resolver does.
+	 */
+	public static Object invoke(Method method, Object base, Object[] params) {
+		try {
+			return method.invoke(base, params);
+		} catch (InvocationTargetException e) {
+			throw new ELException(e.getCause());
+		} catch (Exception e) {
+			throw new ELException(e);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the given values can be passed to the method without coercion
+	 */
+	public static boolean isAssignable(Method method, Object[] params) {
+		Class<?>[] types = method.getParameterTypes();
+		if (params.length != types.length) {
+			return false;
+		}
+		for (int i = 0; i < types.length; i++) {
+			Class<?> type = types[i];
+			Object param = params[i];
+			if (param == null) {
+				if (type.isPrimitive()) {
+					return false;
+				}
+			} else if (!toWrapperType(type).isInstance(param)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Class<?> toWrapperType(Class<?> type) {
+		if (!type.isPrimitive()) {
+			return type;
+		}
+		if (type == Boolean.TYPE) {
+			return Boolean.class;
+		} else if (type == Character.TYPE) {
+			return Character.class;
+		} else if (type == Byte.TYPE) {
+			return Byte.class;
+		} else if (type == Short.TYPE) {
+			return Short.class;
+		} else if (type == Integer.TYPE) {
+			return Integer.class;
+		} else if (type == Long.TYPE) {
+			return Long.class;
+		} else if (type == Float.TYPE) {
+			return Float.class;
+		} else {
+			return Double.class;
+		}
+	}
+}
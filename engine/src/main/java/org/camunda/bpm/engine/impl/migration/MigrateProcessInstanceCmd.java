@@ -17,6 +17,7 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -53,6 +54,7 @@ import org.camunda.bpm.engine.impl.migration.validation.instance.MigratingTransi
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.tree.ReferenceWalker;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.migration.MigrationPlan;
 
 /**
@@ -73,6 +75,9 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd<Void> {
 
   protected static final MigrationLogger LOGGER = ProcessEngineLogger.MIGRATION_LOGGER;
 
+  /** maximum number of process instances whose entities are prefetched with one statement */
+  protected static final int MAX_IDS_PER_STATEMENT = 1000;
+
   protected boolean writeOperationLog;
 
   public MigrateProcessInstanceCmd(MigrationPlanExecutionBuilderImpl migrationPlanExecutionBuilder, boolean writeOperationLog) {
@@ -103,12 +108,22 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd<Void> {
           false);
     }
 
+    // a single parser is shared by all process instances, such that state which only
+    // depends on the migration plan is resolved once for all of them
+    final MigratingInstanceParser migratingInstanceParser = new MigratingInstanceParser(Context.getProcessEngineConfiguration().getProcessEngine());
+
     commandContext.runWithoutAuthorization(new Callable<Void>() {
 
       @Override
       public Void call() throws Exception {
-        for (String processInstanceId : processInstanceIds) {
-          migrateProcessInstance(commandContext, processInstanceId, migrationPlan, targetDefinition);
+        List<List<String>> partitions = CollectionUtil.partition(new ArrayList<String>(processInstanceIds), MAX_IDS_PER_STATEMENT);
+        for (List<String> partition : partitions) {
+          // fetch the entities of all process instances of the partition at once instead of per instance
+          migratingInstanceParser.prefetch(commandContext, partition);
+
+          for (String processInstanceId : partition) {
+            migrateProcessInstance(commandContext, processInstanceId, migrationPlan, targetDefinition, migratingInstanceParser);
+          }
         }
         return null;
       }
@@ -119,6 +134,12 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd<Void> {
   }
 
   public Void migrateProcessInstance(CommandContext commandContext, String processInstanceId, MigrationPlan migrationPlan, ProcessDefinitionEntity targetProcessDefinition) {
+    MigratingInstanceParser migratingInstanceParser = new MigratingInstanceParser(Context.getProcessEngineConfiguration().getProcessEngine());
+    return migrateProcessInstance(commandContext, processInstanceId, migrationPlan, targetProcessDefinition, migratingInstanceParser);
+  }
+
+  public Void migrateProcessInstance(CommandContext commandContext, String processInstanceId, MigrationPlan migrationPlan,
+      ProcessDefinitionEntity targetProcessDefinition, MigratingInstanceParser migratingInstanceParser) {
     ensureNotNull(BadUserRequestException.class, "Process instance id cannot be null", "process instance id", processInstanceId);
 
     final ExecutionEntity processInstance = commandContext.getExecutionManager().findExecutionById(processInstanceId);
@@ -130,7 +151,6 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd<Void> {
     MigratingProcessInstanceValidationReportImpl processInstanceReport = new MigratingProcessInstanceValidationReportImpl();
 
     // Initialize migration: match migration instructions to activity instances and collect required entities
-    MigratingInstanceParser migratingInstanceParser = new MigratingInstanceParser(Context.getProcessEngineConfiguration().getProcessEngine());
     final MigratingProcessInstance migratingProcessInstance = migratingInstanceParser.parse(processInstance.getId(), migrationPlan, processInstanceReport);
 
     validateInstructions(commandContext, migratingProcessInstance, processInstanceReport);
@@ -12,9 +12,15 @@
  */
 package org.camunda.bpm.engine.impl.migration.instance.parser;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cmd.GetActivityInstanceCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.migration.instance.MigratingActivityInstance;
@@ -33,6 +39,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.impl.tree.TreeVisitor;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.migration.MigrationPlan;
 import org.camunda.bpm.engine.runtime.ActivityInstance;
 import org.camunda.bpm.engine.runtime.TransitionInstance;
@@ -65,10 +72,62 @@ public class MigratingInstanceParser {
   protected MigratingInstanceParseHandler<IncidentEntity> incidentHandler =
       new IncidentInstanceHandler();
 
+  /**
+   * Job definitions of target process definitions; a parser may be used to parse
+   * multiple process instances that are migrated to the same target definition
+   */
+  protected Map<String, List<JobDefinitionEntity>> jobDefinitionsByProcessDefinitionId =
+      new HashMap<String, List<JobDefinitionEntity>>();
+
+  /**
+   * Process instances whose entities were fetched by {@link #prefetch(CommandContext, List)}
+   * and which are not parsed yet; the prefetched entities are kept by process instance id
+   */
+  protected Set<String> prefetchedProcessInstanceIds = new HashSet<String>();
+  protected Map<String, List<ExecutionEntity>> prefetchedExecutions = new HashMap<String, List<ExecutionEntity>>();
+  protected Map<String, List<EventSubscriptionEntity>> prefetchedEventSubscriptions = new HashMap<String, List<EventSubscriptionEntity>>();
+  protected Map<String, List<ExternalTaskEntity>> prefetchedExternalTasks = new HashMap<String, List<ExternalTaskEntity>>();
+  protected Map<String, List<IncidentEntity>> prefetchedIncidents = new HashMap<String, List<IncidentEntity>>();
+  protected Map<String, List<JobEntity>> prefetchedJobs = new HashMap<String, List<JobEntity>>();
+  protected Map<String, List<TaskEntity>> prefetchedTasks = new HashMap<String, List<TaskEntity>>();
+  protected Map<String, List<VariableInstanceEntity>> prefetchedVariables = new HashMap<String, List<VariableInstanceEntity>>();
+
   public MigratingInstanceParser(ProcessEngine engine) {
     this.engine = engine;
   }
 
+  /**
+   * Fetches the executions, event subscriptions, external tasks, incidents, jobs, tasks and variables of all
+   * given process instances with one query per entity type. Parsing one of these process instances
+   * afterwards does not query its entities again.
+   */
+  public void prefetch(CommandContext commandContext, List<String> processInstanceIds) {
+    for (ExecutionEntity execution : commandContext.getExecutionManager().findExecutionsByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedExecutions, execution.getProcessInstanceId(), execution);
+    }
+    for (EventSubscriptionEntity eventSubscription : commandContext.getEventSubscriptionManager().findEventSubscriptionsByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedEventSubscriptions, eventSubscription.getProcessInstanceId(), eventSubscription);
+    }
+    // external tasks are fetched by the execution id of the process instance, see #fetchExternalTasks
+    for (ExternalTaskEntity externalTask : commandContext.getExternalTaskManager().findExternalTasksByExecutionIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedExternalTasks, externalTask.getExecutionId(), externalTask);
+    }
+    for (IncidentEntity incident : commandContext.getIncidentManager().findIncidentsByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedIncidents, incident.getProcessInstanceId(), incident);
+    }
+    for (JobEntity job : commandContext.getJobManager().findJobsByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedJobs, job.getProcessInstanceId(), job);
+    }
+    for (TaskEntity task : commandContext.getTaskManager().findTasksByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedTasks, task.getProcessInstanceId(), task);
+    }
+    for (VariableInstanceEntity variable : commandContext.getVariableInstanceManager().findAllVariableInstancesByProcessInstanceIds(processInstanceIds)) {
+      CollectionUtil.addToMapOfLists(prefetchedVariables, variable.getProcessInstanceId(), variable);
+    }
+
+    prefetchedProcessInstanceIds.addAll(processInstanceIds);
+  }
+
   public MigratingProcessInstance parse(String processInstanceId, MigrationPlan migrationPlan, MigratingProcessInstanceValidationReportImpl processInstanceReport) {
 
     CommandContext commandContext = Context.getCommandContext();
@@ -79,6 +138,7 @@ public class MigratingInstanceParser {
     List<JobEntity> jobs = fetchJobs(commandContext, processInstanceId);
     List<TaskEntity> tasks = fetchTasks(commandContext, processInstanceId);
     List<VariableInstanceEntity> variables = fetchVariables(commandContext, processInstanceId);
+    prefetchedProcessInstanceIds.remove(processInstanceId);
 
     ExecutionEntity processInstance = commandContext.getExecutionManager().findExecutionById(processInstanceId);
     processInstance.restoreProcessInstance(executions, eventSubscriptions, variables, tasks, jobs, incidents, externalTasks);
@@ -98,7 +158,8 @@ public class MigratingInstanceParser {
       .targetJobDefinitions(targetJobDefinitions)
       .variables(variables);
 
-    ActivityInstance activityInstance = engine.getRuntimeService().getActivityInstance(processInstanceId);
+    // the executions are cached already, so the activity instance tree is built without querying them again
+    ActivityInstance activityInstance = new GetActivityInstanceCmd(processInstanceId).execute(commandContext);
 
     ActivityInstanceWalker activityInstanceWalker = new ActivityInstanceWalker(activityInstance);
 
@@ -161,34 +222,70 @@ public class MigratingInstanceParser {
   }
 
   protected List<ExecutionEntity> fetchExecutions(CommandContext commandContext, String processInstanceId) {
+    if (prefetchedProcessInstanceIds.contains(processInstanceId)) {
+      return getPrefetched(prefetchedExecutions, processInstanceId);
+    }
     return commandContext.getExecutionManager().findExecutionsByProcessInstanceId(processInstanceId);
   }
 
   protected List<EventSubscriptionEntity> fetchEventSubscriptions(CommandContext commandContext, String processInstanceId) {
+    if (prefetchedProcessInstanceIds.contains(processInstanceId)) {
+      return getPrefetched(prefetchedEventSubscriptions, processInstanceId);
+    }
     return commandContext.getEventSubscriptionManager().findEventSubscriptionsByProcessInstanceId(processInstanceId);
   }
 
   protected List<ExternalTaskEntity> fetchExternalTasks(CommandContext commandContext, String processInstanceId) {
+    if (prefetchedProcessInstanceIds.contains(processInstanceId)) {
+      return getPrefetched(prefetchedExternalTasks, processInstanceId);
+    }
     return commandContext.getExternalTaskManager().findExternalTasksByProcessInstanceId(processInstanceId);
   }
 
   protected List<JobEntity> fetchJobs(CommandContext commandContext, String processInstanceId) {
+    if (prefetchedProcessInstanceIds.contains(processInstanceId)) {
+      return getPrefetched(prefetchedJobs, processInstanceId);
+    }
     return commandContext.getJobManager().findJobsByProcessInstanceId(processInstanceId);
   }
 
   protected List<IncidentEntity> fetchIncidents(CommandContext commandContext, String processInstanceId) {
+    if (prefetchedProcessInstanceIds.contains(processInstanceId)) {
+      return getPrefetched(prefetchedIncidents, processInstanceId);
+    }
     return commandContext.getIncidentManager().findIncidentsByProcessInstance(processInstanceId);
   }
 
   protected List<TaskEntity> fetchTasks(CommandContext commandContext, String processInstanceId) {
+    if (prefetchedProcessInstanceIds.contains(processInstanceId)) {
+      return getPrefetched(prefetchedTasks, processInstanceId);
+    }
     return commandContext.getTaskManager().findTasksByProcessInstanceId(processInstanceId);
   }
 
+  protected <T> List<T> getPrefetched(Map<String, List<T>> prefetchedEntities, String processInstanceId) {
+    List<T> entities = prefetchedEntities.remove(processInstanceId);
+    if (entities == null) {
+      entities = new ArrayList<T>();
+    }
+    return entities;
+  }
+
   protected List<JobDefinitionEntity> fetchJobDefinitions(CommandContext commandContext, String processDefinitionId) {
-    return commandContext.getJobDefinitionManager().findByProcessDefinitionId(processDefinitionId);
+    List<JobDefinitionEntity> jobDefinitions = jobDefinitionsByProcessDefinitionId.get(processDefinitionId);
+
+    if (jobDefinitions == null) {
+      jobDefinitions = commandContext.getJobDefinitionManager().findByProcessDefinitionId(processDefinitionId);
+      jobDefinitionsByProcessDefinitionId.put(processDefinitionId, jobDefinitions);
+    }
+
+    return jobDefinitions;
   }
 
   protected List<VariableInstanceEntity> fetchVariables(CommandContext commandContext, String processInstanceId) {
+    if (prefetchedProcessInstanceIds.contains(processInstanceId)) {
+      return getPrefetched(prefetchedVariables, processInstanceId);
+    }
     return commandContext.getVariableInstanceManager().findVariableInstancesByProcessInstanceId(processInstanceId);
   }
 
@@ -17,10 +17,15 @@ import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+import org.camunda.bpm.engine.impl.util.ClassDelegateUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 
 
 /**
+ * Creates the managers of a type. A manager which does not declare any instance fields
+ * keeps no state between invocations, so that a single instance of it is shared by all
+ * command contexts instead of creating a new one for each command.
+ *
  * @author Tom Baeyens
  */
 public class GenericManagerFactory implements SessionFactory {
@@ -28,14 +33,18 @@ public class GenericManagerFactory implements SessionFactory {
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
   protected Class<? extends Session> managerImplementation;
+  protected boolean isStateless;
+  protected volatile Session sharedInstance;
   
   public GenericManagerFactory(Class< ? extends Session> managerImplementation) {
     this.managerImplementation = managerImplementation;
+    this.isStateless = ClassDelegateUtil.isStateless(managerImplementation);
   }
   
   @SuppressWarnings("unchecked")
   public GenericManagerFactory(String classname) {
-    managerImplementation = (Class<? extends Session>) ReflectUtil.loadClass(classname);    
+    managerImplementation = (Class<? extends Session>) ReflectUtil.loadClass(classname);
+    isStateless = ClassDelegateUtil.isStateless(managerImplementation);
   }
 
   public Class< ? > getSessionType() {
@@ -43,6 +52,21 @@ public class GenericManagerFactory implements SessionFactory {
   }
 
   public Session openSession() {
+    if (isStateless) {
+      Session session = sharedInstance;
+      if (session == null) {
+        // concurrent commands may create more than one instance; all but one are discarded
+        session = newInstance();
+        sharedInstance = session;
+      }
+      return session;
+
+    } else {
+      return newInstance();
+    }
+  }
+
+  protected Session newInstance() {
     try {
       return managerImplementation.newInstance();
     } catch (Exception e) {
@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.impl.persistence.deploy;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ import org.camunda.bpm.engine.exception.cmmn.CaseDefinitionNotFoundException;
 import org.camunda.bpm.engine.exception.dmn.DecisionDefinitionNotFoundException;
 import org.camunda.bpm.engine.impl.ProcessDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.GetDeploymentResourceCmd;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
@@ -38,6 +40,10 @@ import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDef
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.scripting.SourceExecutableScript;
+import org.camunda.bpm.engine.impl.util.ConcurrentLruCache;
+import org.camunda.bpm.engine.impl.util.ResourceUtil;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.repository.DecisionRequirementsDefinition;
@@ -58,16 +64,31 @@ public class DeploymentCache {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
-  protected Map<String, ProcessDefinitionEntity> processDefinitionCache = new HashMap<String, ProcessDefinitionEntity>();
-  protected Map<String, CaseDefinitionEntity> caseDefinitionCache = new HashMap<String, CaseDefinitionEntity>();
-  protected Map<String, DecisionDefinitionEntity> decisionDefinitionCache = new HashMap<String, DecisionDefinitionEntity>();
-  protected Map<String, DecisionRequirementsDefinitionEntity> decisionRequirementsDefinitionCache = new HashMap<String, DecisionRequirementsDefinitionEntity>();
+  public static final int DEFAULT_SCRIPT_RESOURCE_CACHE_CAPACITY = 1000;
 
-  protected Map<String, BpmnModelInstance> bpmnModelInstanceCache = new HashMap<String, BpmnModelInstance>();
-  protected Map<String, CmmnModelInstance> cmmnModelInstanceCache = new HashMap<String, CmmnModelInstance>();
-  protected Map<String, DmnModelInstance> dmnModelInstanceCache = new HashMap<String, DmnModelInstance>();
+  protected Map<String, ProcessDefinitionEntity> processDefinitionCache = Collections.synchronizedMap(new HashMap<String, ProcessDefinitionEntity>());
+  protected Map<String, CaseDefinitionEntity> caseDefinitionCache = Collections.synchronizedMap(new HashMap<String, CaseDefinitionEntity>());
+  protected Map<String, DecisionDefinitionEntity> decisionDefinitionCache = Collections.synchronizedMap(new HashMap<String, DecisionDefinitionEntity>());
+  protected Map<String, DecisionRequirementsDefinitionEntity> decisionRequirementsDefinitionCache = Collections.synchronizedMap(new HashMap<String, DecisionRequirementsDefinitionEntity>());
+
+  protected Map<String, BpmnModelInstance> bpmnModelInstanceCache = Collections.synchronizedMap(new HashMap<String, BpmnModelInstance>());
+  protected Map<String, CmmnModelInstance> cmmnModelInstanceCache = Collections.synchronizedMap(new HashMap<String, CmmnModelInstance>());
+  protected Map<String, DmnModelInstance> dmnModelInstanceCache = Collections.synchronizedMap(new HashMap<String, DmnModelInstance>());
+  protected ConcurrentLruCache<ScriptResourceKey, SourceExecutableScript> scriptResourceCache;
   protected List<Deployer> deployers;
 
+  public DeploymentCache() {
+    this(DEFAULT_SCRIPT_RESOURCE_CACHE_CAPACITY);
+  }
+
+  /**
+   * @param scriptResourceCacheCapacity the maximum number of script resources which are cached
+   * over all deployments
+   */
+  public DeploymentCache(int scriptResourceCacheCapacity) {
+    scriptResourceCache = new ConcurrentLruCache<ScriptResourceKey, SourceExecutableScript>(scriptResourceCacheCapacity);
+  }
+
   public void deploy(final DeploymentEntity deployment) {
     Context.getCommandContext().runWithoutAuthorization(new Callable<Void>() {
       public Void call() throws Exception {
@@ -635,8 +656,56 @@ public class DeploymentCache {
     decisionRequirementsDefinitionCache.remove(decisionRequirementsDefinitionId);
   }
 
+  // SCRIPT RESOURCES ////////////////////////////////////////////////////////
+
+  /**
+   * Returns the script loaded from the given resource in the scope of the given deployment.
+   * The script keeps its source and compilation result, so that the resource is only
+   * loaded and compiled once per deployment.
+   *
+   * @param deployment the deployment to resolve <code>deployment://</code> resources from
+   * @param language the language of the script
+   * @param resourcePath the resolved path of the script resource
+   */
+  public SourceExecutableScript findScriptResource(DeploymentEntity deployment, String language, String resourcePath) {
+    if (deployment == null || deployment.getId() == null) {
+      return new SourceExecutableScript(language, ResourceUtil.loadResourceContent(resourcePath, deployment));
+    }
+
+    ScriptResourceKey key = new ScriptResourceKey(deployment.getId(), resourcePath);
+    SourceExecutableScript script = scriptResourceCache.get(key);
+    if (script != null && language.equals(script.getLanguage())) {
+      markScriptResourceCacheOccurrence(Metrics.SCRIPT_RESOURCE_CACHE_HIT);
+      return script;
+    }
+
+    markScriptResourceCacheOccurrence(Metrics.SCRIPT_RESOURCE_CACHE_MISS);
+    script = new SourceExecutableScript(language, ResourceUtil.loadResourceContent(resourcePath, deployment));
+    scriptResourceCache.put(key, script);
+    return script;
+  }
+
+  protected void markScriptResourceCacheOccurrence(String metric) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(metric);
+    }
+  }
+
+  public void removeScriptResources(String deploymentId) {
+    for (ScriptResourceKey key : scriptResourceCache.keySet()) {
+      if (key.deploymentId.equals(deploymentId)) {
+        scriptResourceCache.remove(key);
+      }
+    }
+  }
+
   // getters and setters //////////////////////////////////////////////////////
 
+  public ConcurrentLruCache<ScriptResourceKey, SourceExecutableScript> getScriptResourceCache() {
+    return scriptResourceCache;
+  }
+
   public Map<String, BpmnModelInstance> getBpmnModelInstanceCache() {
     return bpmnModelInstanceCache;
   }
@@ -678,6 +747,7 @@ public class DeploymentCache {
     removeAllCaseDefinitionsByDeploymentId(deploymentId);
     removeAllDecisionDefinitionsByDeploymentId(deploymentId);
     removeAllDecisionRequirementsDefinitionsByDeploymentId(deploymentId);
+    removeScriptResources(deploymentId);
   }
 
   protected void removeAllProcessDefinitionsByDeploymentId(final String deploymentId) {
@@ -751,4 +821,43 @@ public class DeploymentCache {
       }
   }
 
+  /**
+   * Identifies a script resource by the deployment it is resolved in and its resource path.
+   */
+  public static class ScriptResourceKey {
+
+    protected final String deploymentId;
+    protected final String resourcePath;
+
+    public ScriptResourceKey(String deploymentId, String resourcePath) {
+      this.deploymentId = deploymentId;
+      this.resourcePath = resourcePath;
+    }
+
+    public String getDeploymentId() {
+      return deploymentId;
+    }
+
+    public String getResourcePath() {
+      return resourcePath;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * deploymentId.hashCode() + resourcePath.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ScriptResourceKey)) {
+        return false;
+      }
+      ScriptResourceKey other = (ScriptResourceKey) obj;
+      return deploymentId.equals(other.deploymentId) && resourcePath.equals(other.resourcePath);
+    }
+  }
+
 }
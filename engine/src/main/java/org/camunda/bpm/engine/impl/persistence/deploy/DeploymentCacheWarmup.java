@@ -0,0 +1,109 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.GetLatestDefinitionsDeploymentIdsCmd;
+import org.camunda.bpm.engine.impl.cmd.WarmupDeploymentCacheCmd;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Loads the latest versions of all deployed definitions into the
+ * {@link DeploymentCache} before the process engine starts serving requests.
+ *
+ * <p>Each deployment is parsed by a separate command, so that deployments
+ * can be processed concurrently by a fixed number of threads. A deployment
+ * which cannot be parsed is skipped and resolved lazily later on.</p>
+ */
+public class DeploymentCacheWarmup {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected int numberOfThreads;
+
+  public DeploymentCacheWarmup(CommandExecutor commandExecutor, int numberOfThreads) {
+    this.commandExecutor = commandExecutor;
+    this.numberOfThreads = numberOfThreads;
+  }
+
+  public void warmup() {
+    Set<String> deploymentIds = commandExecutor.execute(new GetLatestDefinitionsDeploymentIdsCmd());
+    if (deploymentIds.isEmpty()) {
+      return;
+    }
+
+    int threadCount = Math.max(1, Math.min(numberOfThreads, deploymentIds.size()));
+    LOG.warmingUpDeploymentCache(deploymentIds.size(), threadCount);
+
+    if (threadCount == 1) {
+      for (String deploymentId : deploymentIds) {
+        warmupDeployment(deploymentId);
+      }
+    }
+    else {
+      warmupConcurrently(deploymentIds, threadCount);
+    }
+  }
+
+  protected void warmupConcurrently(Set<String> deploymentIds, int threadCount) {
+    ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+    try {
+      Map<String, Future<Void>> futures = new LinkedHashMap<String, Future<Void>>();
+      for (final String deploymentId : deploymentIds) {
+        futures.put(deploymentId, executorService.submit(new Callable<Void>() {
+          public Void call() throws Exception {
+            warmupDeployment(deploymentId);
+            return null;
+          }
+        }));
+      }
+
+      for (Map.Entry<String, Future<Void>> future : futures.entrySet()) {
+        try {
+          future.getValue().get();
+        }
+        catch (ExecutionException e) {
+          // a failure which escaped the handling in warmupDeployment, e.g. an error
+          LOG.deploymentCacheWarmupFailed(future.getKey(), e.getCause());
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  protected void warmupDeployment(String deploymentId) {
+    try {
+      commandExecutor.execute(new WarmupDeploymentCacheCmd(deploymentId));
+    }
+    catch (RuntimeException e) {
+      LOG.deploymentCacheWarmupFailed(deploymentId, e);
+    }
+  }
+
+}
@@ -108,6 +108,10 @@ public class DeploymentManager extends AbstractManager {
 
     getResourceManager().deleteResourcesByDeploymentId(deploymentId);
 
+    Context.getProcessEngineConfiguration()
+      .getDeploymentCache()
+      .removeScriptResources(deploymentId);
+
     deleteAuthorizations(Resources.DEPLOYMENT, deploymentId);
     getDbEntityManager().delete(DeploymentEntity.class, "deleteDeployment", deploymentId);
 
@@ -14,7 +14,9 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +29,7 @@ import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 
 /**
  * @author Thorben Lindhauer
@@ -58,13 +61,108 @@ public class ExternalTaskManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExternalTasksByExecutionId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ExternalTaskEntity> findExternalTasksByExecutionIds(List<String> executionIds) {
+    return getDbEntityManager().selectList("selectExternalTasksByExecutionIds", executionIds);
+  }
+
   public List<ExternalTaskEntity> selectExternalTasksForTopics(Collection<String> topics, int maxResults, boolean usePriority) {
+    return selectExternalTasksForTopics(topics, null, maxResults, usePriority);
+  }
+
+  /**
+   * Selects the external tasks of each topic separately, so that a topic with many tasks
+   * cannot starve the other ones. <code>maxResults</code> is distributed among the topics
+   * in proportion to their weights (1 unless set in <code>topicWeights</code>). The part of
+   * the share a topic cannot use is distributed among the topics which filled their share.
+   * If <code>usePriority</code> is set, the tasks are ordered by priority within each topic only.
+   */
+  public List<ExternalTaskEntity> selectExternalTasksForTopicsFairly(Collection<String> topics, int maxResults, boolean usePriority, Map<String, Integer> topicWeights) {
+    List<ExternalTaskEntity> result = new ArrayList<ExternalTaskEntity>();
+
+    // the topics are shuffled, so that topics which get no share in a round are chosen randomly
+    List<String> remainingTopics = new ArrayList<String>(topics);
+    Collections.shuffle(remainingTopics);
+
+    Map<String, List<String>> selectedIdsByTopic = new HashMap<String, List<String>>();
+    int remainingResults = maxResults;
+
+    while (remainingResults > 0 && !remainingTopics.isEmpty()) {
+      Map<String, Integer> shares = distributeAmongTopics(remainingResults, remainingTopics, topicWeights);
+      int selectedInRound = 0;
+
+      Iterator<String> topicIt = remainingTopics.iterator();
+      while (topicIt.hasNext()) {
+        String topic = topicIt.next();
+        int share = shares.get(topic);
+        if (share == 0) {
+          continue;
+        }
+
+        List<String> selectedIds = selectedIdsByTopic.get(topic);
+        List<ExternalTaskEntity> externalTasks = selectExternalTasksForTopics(Collections.singleton(topic), selectedIds, share, usePriority);
+        for (ExternalTaskEntity externalTask : externalTasks) {
+          CollectionUtil.addToMapOfLists(selectedIdsByTopic, topic, externalTask.getId());
+        }
+        result.addAll(externalTasks);
+        selectedInRound += externalTasks.size();
+
+        if (externalTasks.size() < share) {
+          // the topic has no more tasks
+          topicIt.remove();
+        }
+      }
+
+      remainingResults -= selectedInRound;
+      if (selectedInRound == 0) {
+        break;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Distributes the results among the topics in proportion to their weights. The remainder
+   * of the division is given to the first topics, one result each.
+   */
+  protected Map<String, Integer> distributeAmongTopics(int results, List<String> topics, Map<String, Integer> topicWeights) {
+    long totalWeight = 0;
+    for (String topic : topics) {
+      totalWeight += getTopicWeight(topic, topicWeights);
+    }
+
+    Map<String, Integer> shares = new HashMap<String, Integer>();
+    int distributed = 0;
+    for (String topic : topics) {
+      int share = (int) (results * getTopicWeight(topic, topicWeights) / totalWeight);
+      shares.put(topic, share);
+      distributed += share;
+    }
+    for (int i = 0; distributed < results; i++, distributed++) {
+      String topic = topics.get(i % topics.size());
+      shares.put(topic, shares.get(topic) + 1);
+    }
+
+    return shares;
+  }
+
+  protected long getTopicWeight(String topic, Map<String, Integer> topicWeights) {
+    Integer weight = topicWeights != null ? topicWeights.get(topic) : null;
+    if (weight == null || weight < 1) {
+      return 1;
+    }
+    return weight;
+  }
+
+  protected List<ExternalTaskEntity> selectExternalTasksForTopics(Collection<String> topics, List<String> excludedIds, int maxResults, boolean usePriority) {
     if (topics.isEmpty()) {
       return new ArrayList<ExternalTaskEntity>();
     }
 
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("topics", topics);
+    parameters.put("excludedIds", excludedIds);
     parameters.put("now", ClockUtil.getCurrentTime());
     parameters.put("applyOrdering", usePriority);
     List<QueryOrderingProperty> orderingProperties = new ArrayList<QueryOrderingProperty>();
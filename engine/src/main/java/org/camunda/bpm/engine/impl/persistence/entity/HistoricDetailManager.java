@@ -37,6 +37,13 @@ public class HistoricDetailManager extends AbstractHistoricManager {
     deleteHistoricDetailsByProcessCaseInstanceId(null, historicCaseInstanceId);
   }
 
+  public void deleteHistoricDetailsByProcessInstanceIds(List<String> historicProcessInstanceIds) {
+    if (isHistoryEnabled()) {
+      getDbEntityManager().delete(ByteArrayEntity.class, "deleteHistoricDetailByteArraysByProcessInstanceIds", historicProcessInstanceIds);
+      getDbEntityManager().delete(HistoricDetailEventEntity.class, "deleteHistoricDetailsByProcessInstanceIds", historicProcessInstanceIds);
+    }
+  }
+
   public void deleteHistoricDetailsByProcessCaseInstanceId(String historicProcessInstanceId, String historicCaseInstanceId) {
     ensureOnlyOneNotNull("Only the process instance or case instance id should be set", historicProcessInstanceId, historicCaseInstanceId);
     if (isHistoryEnabled()) {
@@ -36,6 +36,12 @@ public class HistoricIdentityLinkLogManager extends AbstractHistoricManager {
     }
   }
 
+  public void deleteHistoricIdentityLinksLogByProcessInstanceIds(List<String> processInstanceIds) {
+    if (isHistoryLevelFullEnabled()) {
+      getDbEntityManager().delete(HistoricIdentityLinkLogEntity.class, "deleteHistoricIdentityLinksByProcessInstanceIds", processInstanceIds);
+    }
+  }
+
   protected void configureQuery(HistoricIdentityLinkLogQueryImpl query) {
     getAuthorizationManager().configureHistoricIdentityLinkQuery(query);
     getTenantManager().configureQuery(query);
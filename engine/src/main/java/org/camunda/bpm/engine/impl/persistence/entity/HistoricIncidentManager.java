@@ -42,6 +42,12 @@ public class HistoricIncidentManager extends AbstractHistoricManager {
     }
   }
 
+  public void deleteHistoricIncidentsByProcessInstanceIds(List<String> processInstanceIds) {
+    if (isHistoryLevelFullEnabled()) {
+      getDbEntityManager().delete(HistoricIncidentEntity.class, "deleteHistoricIncidentsByProcessInstanceIds", processInstanceIds);
+    }
+  }
+
   public void deleteHistoricIncidentsByProcessDefinitionId(String processDefinitionId) {
     if (isHistoryLevelFullEnabled()) {
       getDbEntityManager().delete(HistoricIncidentEntity.class, "deleteHistoricIncidentsByProcessDefinitionId", processDefinitionId);
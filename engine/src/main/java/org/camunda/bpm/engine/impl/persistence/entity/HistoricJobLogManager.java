@@ -76,6 +76,11 @@ public class HistoricJobLogManager extends AbstractManager {
     getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByProcessInstanceId", processInstanceId);
   }
 
+  public void deleteHistoricJobLogsByProcessInstanceIds(List<String> processInstanceIds) {
+    getDbEntityManager().delete(ByteArrayEntity.class, "deleteExceptionByteArraysByProcessInstanceIds", processInstanceIds);
+    getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByProcessInstanceIds", processInstanceIds);
+  }
+
   public void deleteHistoricJobLogsByProcessDefinitionId(String processDefinitionId) {
     deleteExceptionByteArrayByParameterMap("processDefinitionId", processDefinitionId);
     getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByProcessDefinitionId", processDefinitionId);
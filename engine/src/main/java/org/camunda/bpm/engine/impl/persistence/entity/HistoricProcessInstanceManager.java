@@ -13,7 +13,10 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +27,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
 
 
 /**
@@ -84,6 +88,74 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     }
   }
 
+  /**
+   * Deletes the history of the given process instances with a fixed number of
+   * set-based statements instead of loading and deleting every dependent row.
+   * The statements rely on the flush order of bulk operations: byte arrays are
+   * removed before the rows referencing them and task scoped rows
+   * (comments, attachments, identity link logs) before the task instances.
+   */
+  public void deleteHistoricProcessInstanceByIds(List<String> historicProcessInstanceIds) {
+    if (isHistoryEnabled()) {
+      CommandContext commandContext = Context.getCommandContext();
+
+      getHistoricDetailManager()
+        .deleteHistoricDetailsByProcessInstanceIds(historicProcessInstanceIds);
+
+      getHistoricVariableInstanceManager()
+        .deleteHistoricVariableInstancesByProcessInstanceIds(historicProcessInstanceIds);
+
+      getHistoricActivityInstanceManager()
+        .deleteHistoricActivityInstancesByProcessInstanceIds(historicProcessInstanceIds);
+
+      getHistoricTaskInstanceManager()
+        .deleteHistoricTaskInstancesByProcessInstanceIds(historicProcessInstanceIds);
+
+      getHistoricIncidentManager()
+        .deleteHistoricIncidentsByProcessInstanceIds(historicProcessInstanceIds);
+
+      getHistoricJobLogManager()
+        .deleteHistoricJobLogsByProcessInstanceIds(historicProcessInstanceIds);
+
+      commandContext.getDbEntityManager().delete(HistoricProcessInstanceEntity.class, "deleteHistoricProcessInstances", historicProcessInstanceIds);
+    }
+  }
+
+  /**
+   * Returns the ids of at most <code>batchSize</code> finished process instances whose
+   * history has outlived the history time to live of their process definition.
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findHistoricProcessInstanceIdsForCleanup(int batchSize) {
+    List<String> historicProcessInstanceIds = new ArrayList<String>();
+
+    if (isHistoryEnabled()) {
+      List<ProcessDefinitionEntity> processDefinitions = getProcessDefinitionManager().findProcessDefinitionsWithHistoryTimeToLive();
+
+      for (ProcessDefinitionEntity processDefinition : processDefinitions) {
+        int remaining = batchSize - historicProcessInstanceIds.size();
+        if (remaining <= 0) {
+          break;
+        }
+
+        Calendar endedBefore = Calendar.getInstance();
+        endedBefore.setTime(ClockUtil.getCurrentTime());
+        endedBefore.add(Calendar.DAY_OF_MONTH, -processDefinition.getHistoryTimeToLive());
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("processDefinitionId", processDefinition.getId());
+        parameters.put("endedBefore", endedBefore.getTime());
+
+        List<String> ids = getDbEntityManager()
+          .selectList("selectHistoricProcessInstanceIdsForCleanup", parameters, new Page(0, remaining));
+
+        historicProcessInstanceIds.addAll(ids);
+      }
+    }
+
+    return historicProcessInstanceIds;
+  }
+
   public long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
     if (isHistoryEnabled()) {
       configureQuery(historicProcessInstanceQuery);
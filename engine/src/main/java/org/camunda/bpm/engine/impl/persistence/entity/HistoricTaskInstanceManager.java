@@ -51,6 +51,32 @@ public class HistoricTaskInstanceManager extends AbstractHistoricManager {
     deleteHistoricTaskInstances("caseDefinitionId", caseDefinitionId);
   }
 
+  /**
+   * Deletes the historic task instances of the given process instances together
+   * with their comments, attachments and identity link logs. Task scoped details
+   * and variables also carry the process instance id and are expected to be
+   * removed by the caller.
+   */
+  public void deleteHistoricTaskInstancesByProcessInstanceIds(List<String> processInstanceIds) {
+    if (isHistoryEnabled()) {
+      CommandContext commandContext = Context.getCommandContext();
+
+      commandContext
+        .getCommentManager()
+        .deleteCommentsByProcessInstanceIds(processInstanceIds);
+
+      commandContext
+        .getAttachmentManager()
+        .deleteAttachmentsByProcessInstanceIds(processInstanceIds);
+
+      commandContext
+        .getHistoricIdentityLinkManager()
+        .deleteHistoricIdentityLinksLogByProcessInstanceIds(processInstanceIds);
+
+      getDbEntityManager().delete(HistoricTaskInstanceEntity.class, "deleteHistoricTaskInstancesByProcessInstanceIds", processInstanceIds);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   protected void deleteHistoricTaskInstances(String key, String value) {
     if (isHistoryEnabled()) {
@@ -35,6 +35,14 @@ public class IdentityLinkManager extends AbstractManager {
     return getDbEntityManager().selectList("selectIdentityLinksByTask", taskId);
   }
 
+  /**
+   * @return the next identity links of tasks ordered by id, starting after the given id
+   */
+  @SuppressWarnings("unchecked")
+  public List<IdentityLinkEntity> findIdentityLinksForTaskSearchIndex(String afterIdentityLinkId, int maxResults) {
+    return getDbEntityManager().selectList("selectIdentityLinksForTaskSearchIndex", afterIdentityLinkId, 0, maxResults);
+  }
+
   @SuppressWarnings("unchecked")
   public List<IdentityLinkEntity> findIdentityLinksByProcessDefinitionId(String processDefinitionId) {
     return getDbEntityManager().selectList("selectIdentityLinksByProcessDefinition", processDefinitionId);
@@ -31,11 +31,19 @@ public class IncidentStatisticsEntity implements IncidentStatistics {
   public void setIncidenType(String incidentType) {
     this.incidentType = incidentType;
   }
+
+  public void setIncidentType(String incidentType) {
+    this.incidentType = incidentType;
+  }
   
   public int getIncidentCount() {
     return incidentCount;
   }
 
+  public void setIncidentCount(int incidentCount) {
+    this.incidentCount = incidentCount;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
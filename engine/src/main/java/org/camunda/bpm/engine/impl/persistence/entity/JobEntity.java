@@ -56,6 +56,13 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
   public static final boolean DEFAULT_EXCLUSIVE = true;
   public static final int DEFAULT_RETRIES = 3;
 
+  /**
+   * Acquirable time of jobs without due date. It is the earliest time stamp
+   * which can be stored in the timestamp columns of all supported databases
+   * regardless of the time zone.
+   */
+  public static final Date ACQUIRABLE_IMMEDIATELY = new Date(24 * 60 * 60 * 1000L);
+
   /**
    * Note: {@link String#length()} counts Unicode supplementary
    * characters twice, so for a String consisting only of those,
@@ -436,6 +443,32 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
     return duedate;
   }
 
+  /**
+   * The earliest time at which the job can be acquired by the job executor or
+   * <code>null</code> if it cannot be acquired at all because it has no retries left,
+   * is suspended or is locked without expiration. The value is derived from the
+   * state of the job and stored in the <code>ACQUIRABLE_AT_</code> column, so that
+   * job acquisition can perform an index range scan on it. Job acquisition treats a
+   * <code>null</code> value as unknown and checks the state of such a job instead, since
+   * jobs may also be written by engines or tools which do not maintain the column.
+   */
+  public Date getAcquirableAt() {
+    if (retries <= 0 || suspensionState != SuspensionState.ACTIVE.getStateCode()) {
+      return null;
+    }
+
+    Date acquirableAt = duedate != null ? duedate : ACQUIRABLE_IMMEDIATELY;
+    if (lockOwner != null) {
+      if (lockExpirationTime == null) {
+        return null;
+      }
+      if (lockExpirationTime.after(acquirableAt)) {
+        acquirableAt = lockExpirationTime;
+      }
+    }
+    return acquirableAt;
+  }
+
   public void setDuedate(Date duedate) {
     this.duedate = duedate;
   }
@@ -205,11 +205,21 @@ public class JobManager extends AbstractManager {
     return getDbEntityManager().selectList("selectJobsByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsByProcessInstanceIds(List<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectJobsByProcessInstanceIds", processInstanceIds);
+  }
+
   @SuppressWarnings("unchecked")
   public List<JobEntity> findJobsByJobDefinitionId(String jobDefinitionId) {
     return getDbEntityManager().selectList("selectJobsByJobDefinitionId", jobDefinitionId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsByHandlerType(String handlerType) {
+    return getDbEntityManager().selectList("selectJobsByHandlerType", handlerType);
+  }
+
   @SuppressWarnings("unchecked")
   public List<JobEntity> findExclusiveJobsToExecute(String processInstanceId) {
     Map<String,Object> params = new HashMap<String, Object>();
@@ -264,6 +274,7 @@ public class JobManager extends AbstractManager {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("jobId", jobId);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    parameters.put("acquirableImmediately", JobEntity.ACQUIRABLE_IMMEDIATELY);
     getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
   }
 
@@ -271,6 +282,7 @@ public class JobManager extends AbstractManager {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("jobDefinitionId", jobDefinitionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    parameters.put("acquirableImmediately", JobEntity.ACQUIRABLE_IMMEDIATELY);
     getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
   }
 
@@ -278,6 +290,7 @@ public class JobManager extends AbstractManager {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("processInstanceId", processInstanceId);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    parameters.put("acquirableImmediately", JobEntity.ACQUIRABLE_IMMEDIATELY);
     getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
   }
 
@@ -285,6 +298,7 @@ public class JobManager extends AbstractManager {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("processDefinitionId", processDefinitionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    parameters.put("acquirableImmediately", JobEntity.ACQUIRABLE_IMMEDIATELY);
     getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
   }
 
@@ -292,6 +306,7 @@ public class JobManager extends AbstractManager {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("processDefinitionId", processDefinitionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    parameters.put("acquirableImmediately", JobEntity.ACQUIRABLE_IMMEDIATELY);
     parameters.put("handlerType", TimerStartEventJobHandler.TYPE);
     getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
   }
@@ -301,6 +316,7 @@ public class JobManager extends AbstractManager {
     parameters.put("processDefinitionKey", processDefinitionKey);
     parameters.put("isProcessDefinitionTenantIdSet", false);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    parameters.put("acquirableImmediately", JobEntity.ACQUIRABLE_IMMEDIATELY);
     getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
   }
 
@@ -310,6 +326,7 @@ public class JobManager extends AbstractManager {
     parameters.put("isProcessDefinitionTenantIdSet", true);
     parameters.put("processDefinitionTenantId", processDefinitionTenantId);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    parameters.put("acquirableImmediately", JobEntity.ACQUIRABLE_IMMEDIATELY);
     getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
   }
 
@@ -318,6 +335,7 @@ public class JobManager extends AbstractManager {
     parameters.put("processDefinitionKey", processDefinitionKey);
     parameters.put("isProcessDefinitionTenantIdSet", false);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    parameters.put("acquirableImmediately", JobEntity.ACQUIRABLE_IMMEDIATELY);
     parameters.put("handlerType", TimerStartEventJobHandler.TYPE);
     getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
   }
@@ -328,6 +346,7 @@ public class JobManager extends AbstractManager {
     parameters.put("isProcessDefinitionTenantIdSet", true);
     parameters.put("processDefinitionTenantId", processDefinitionTenantId);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    parameters.put("acquirableImmediately", JobEntity.ACQUIRABLE_IMMEDIATELY);
     parameters.put("handlerType", TimerStartEventJobHandler.TYPE);
     getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", configureParameterizedQuery(parameters));
   }
@@ -336,6 +355,7 @@ public class JobManager extends AbstractManager {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("jobDefinitionId", jobDefinitionId);
     parameters.put("retries", retries);
+    parameters.put("acquirableImmediately", JobEntity.ACQUIRABLE_IMMEDIATELY);
     getDbEntityManager().update(JobEntity.class, "updateFailedJobRetriesByParameters", parameters);
   }
 
@@ -159,6 +159,11 @@ public class ProcessDefinitionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectProcessDefinitionByKeyIn", keys);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ProcessDefinitionEntity> findProcessDefinitionsWithHistoryTimeToLive() {
+    return getDbEntityManager().selectList("selectProcessDefinitionsWithHistoryTimeToLive");
+  }
+
   // update ///////////////////////////////////////////////////////////
 
   public void updateProcessDefinitionSuspensionStateById(String processDefinitionId, SuspensionState suspensionState) {
@@ -17,6 +17,7 @@ import static org.camunda.bpm.engine.authorization.Permissions.READ;
 import static org.camunda.bpm.engine.authorization.Resources.PROCESS_DEFINITION;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.camunda.bpm.engine.batch.BatchStatistics;
@@ -25,8 +26,13 @@ import org.camunda.bpm.engine.impl.DeploymentStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.ProcessDefinitionStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.batch.BatchStatisticsQueryImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.statistics.RuntimeStatistics;
+import org.camunda.bpm.engine.impl.statistics.RuntimeStatisticsCount;
+import org.camunda.bpm.engine.impl.statistics.RuntimeStatisticsStore;
 import org.camunda.bpm.engine.management.ActivityStatistics;
 import org.camunda.bpm.engine.management.DeploymentStatistics;
 import org.camunda.bpm.engine.management.ProcessDefinitionStatistics;
@@ -36,22 +42,47 @@ public class StatisticsManager extends AbstractManager {
   @SuppressWarnings("unchecked")
   public List<ProcessDefinitionStatistics> getStatisticsGroupedByProcessDefinitionVersion(ProcessDefinitionStatisticsQueryImpl query, Page page) {
     configureQuery(query);
+
+    RuntimeStatisticsStore store = getRuntimeStatisticsStore(query);
+    if (store != null) {
+      List processDefinitions = getDbEntityManager().selectList("selectProcessDefinitionsForRuntimeStatistics", query, page);
+      store.fillProcessDefinitionStatistics(processDefinitions, query);
+      return processDefinitions;
+    }
+
     return getDbEntityManager().selectList("selectProcessDefinitionStatistics", query, page);
   }
 
   public long getStatisticsCountGroupedByProcessDefinitionVersion(ProcessDefinitionStatisticsQueryImpl query) {
     configureQuery(query);
+
+    if (getRuntimeStatisticsStore(query) != null) {
+      return (Long) getDbEntityManager().selectOne("selectProcessDefinitionCountForRuntimeStatistics", query);
+    }
+
     return (Long) getDbEntityManager().selectOne("selectProcessDefinitionStatisticsCount", query);
   }
 
   @SuppressWarnings("unchecked")
   public List<ActivityStatistics> getStatisticsGroupedByActivity(ActivityStatisticsQueryImpl query, Page page) {
     configureQuery(query);
+
+    RuntimeStatisticsStore store = getRuntimeStatisticsStore(query);
+    if (store != null) {
+      return getPage(store.getActivityStatistics(query), page);
+    }
+
     return getDbEntityManager().selectList("selectActivityStatistics", query, page);
   }
 
   public long getStatisticsCountGroupedByActivity(ActivityStatisticsQueryImpl query) {
     configureQuery(query);
+
+    RuntimeStatisticsStore store = getRuntimeStatisticsStore(query);
+    if (store != null) {
+      return store.getActivityStatistics(query).size();
+    }
+
     return (Long) getDbEntityManager().selectOne("selectActivityStatisticsCount", query);
   }
 
@@ -77,6 +108,65 @@ public class StatisticsManager extends AbstractManager {
     return (Long) getDbEntityManager().selectOne("selectBatchStatisticsCount", query);
   }
 
+  /**
+   * Selects the counts of the process definition and activity statistics from the database
+   * to reconcile the {@link RuntimeStatisticsStore}.
+   */
+  @SuppressWarnings("unchecked")
+  public RuntimeStatistics selectRuntimeStatistics() {
+    RuntimeStatistics statistics = new RuntimeStatistics();
+
+    List<RuntimeStatisticsCount> counts = getDbEntityManager().selectList("selectProcessInstanceCountsForRuntimeStatistics");
+    for (RuntimeStatisticsCount count : counts) {
+      statistics.addInstances(count.getProcessDefinitionId(), count.getCount());
+    }
+
+    counts = getDbEntityManager().selectList("selectActivityInstanceCountsForRuntimeStatistics");
+    for (RuntimeStatisticsCount count : counts) {
+      statistics.addActivityInstances(count.getProcessDefinitionId(), count.getActivityId(), count.getCount());
+    }
+
+    counts = getDbEntityManager().selectList("selectFailedJobCountsForRuntimeStatistics");
+    for (RuntimeStatisticsCount count : counts) {
+      statistics.addFailedJobs(count.getProcessDefinitionId(), count.getActivityId(), count.getCount());
+    }
+
+    counts = getDbEntityManager().selectList("selectIncidentCountsForRuntimeStatistics");
+    for (RuntimeStatisticsCount count : counts) {
+      statistics.addIncidents(count.getProcessDefinitionId(), count.getActivityId(), count.getIncidentType(), count.getCount());
+    }
+
+    return statistics;
+  }
+
+  /**
+   * @return the runtime statistics store if it can answer the query, i.e. if it is initialized
+   *   and the query is restricted neither by authorizations nor by tenants; <code>null</code> otherwise
+   */
+  protected RuntimeStatisticsStore getRuntimeStatisticsStore(ListQueryParameterObject query) {
+    RuntimeStatisticsStore store = Context.getProcessEngineConfiguration().getRuntimeStatisticsStore();
+
+    if (store != null
+        && store.isInitialized()
+        && !query.getAuthCheck().isAuthorizationCheckEnabled()
+        && !query.getTenantCheck().isTenantCheckEnabled()) {
+      return store;
+    }
+    else {
+      return null;
+    }
+  }
+
+  protected <T> List<T> getPage(List<T> list, Page page) {
+    if (page == null) {
+      return list;
+    }
+
+    int firstResult = Math.min(page.getFirstResult(), list.size());
+    int lastResult = (int) Math.min((long) firstResult + page.getMaxResults(), list.size());
+    return new ArrayList<T>(list.subList(firstResult, lastResult));
+  }
+
   protected void configureQuery(DeploymentStatisticsQueryImpl query) {
     getAuthorizationManager().configureDeploymentStatisticsQuery(query);
     getTenantManager().configureQuery(query);
@@ -15,19 +15,26 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.task.search.TaskSearchIndex;
+import org.camunda.bpm.engine.impl.task.search.TaskSearchIndexRebuilder;
+import org.camunda.bpm.engine.impl.task.search.TaskSearchIndexUpdate;
 import org.camunda.bpm.engine.task.Task;
 
 
@@ -36,6 +43,9 @@ import org.camunda.bpm.engine.task.Task;
  */
 public class TaskManager extends AbstractManager {
 
+  /** the number of ids in one select of tasks by ids, databases limit the size of in-lists */
+  protected static final int MAX_IDS_PER_SELECT = 1000;
+
   public void insertTask(TaskEntity task) {
     getDbEntityManager().insert(task);
     createDefaultAuthorizations(task);
@@ -129,6 +139,11 @@ public class TaskManager extends AbstractManager {
     return getDbEntityManager().selectList("selectTasksByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<TaskEntity> findTasksByProcessInstanceIds(List<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectTasksByProcessInstanceIds", processInstanceIds);
+  }
+
 
   @Deprecated
   public List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery, Page page) {
@@ -140,14 +155,107 @@ public class TaskManager extends AbstractManager {
   @SuppressWarnings("unchecked")
   public List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery) {
     configureQuery(taskQuery);
+
+    TaskSearchIndex taskSearchIndex = getTaskSearchIndex(taskQuery);
+    if (taskSearchIndex != null) {
+      List<String> taskIds = taskSearchIndex.findTaskIds(taskQuery, taskQuery.getFirstResult(), taskQuery.getMaxResults());
+      List<Task> tasks = findTasksByIds(taskIds);
+      if (tasks.size() == taskIds.size()) {
+        return tasks;
+      }
+
+      // the index contains tasks which were deleted without being seen by the index
+      removeDeletedTasks(taskSearchIndex, taskIds, tasks);
+    }
+
     return getDbEntityManager().selectList("selectTaskByQueryCriteria", taskQuery);
   }
 
   public long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery) {
     configureQuery(taskQuery);
+
+    TaskSearchIndex taskSearchIndex = getTaskSearchIndex(taskQuery);
+    if (taskSearchIndex != null) {
+      return taskSearchIndex.countTasks(taskQuery);
+    }
+
     return (Long) getDbEntityManager().selectOne("selectTaskCountByQueryCriteria", taskQuery);
   }
 
+  /**
+   * @return the task search index if it can answer the query, <code>null</code> if the
+   *   query must be executed on the database
+   */
+  protected TaskSearchIndex getTaskSearchIndex(TaskQueryImpl taskQuery) {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    TaskSearchIndex taskSearchIndex = configuration.getTaskSearchIndex();
+    TaskSearchIndexRebuilder taskSearchIndexRebuilder = configuration.getTaskSearchIndexRebuilder();
+
+    if (taskSearchIndex != null
+        && taskSearchIndex.isInitialized()
+        // the index does not see the changes of other process engines
+        && (taskSearchIndexRebuilder == null || taskSearchIndexRebuilder.isIndexUsable())
+        // the index does not know about authorizations
+        && !taskQuery.getAuthCheck().isAuthorizationCheckEnabled()
+        && taskSearchIndex.isQuerySupported(taskQuery)) {
+      return taskSearchIndex;
+    }
+    else {
+      return null;
+    }
+  }
+
+  /**
+   * Selects the tasks with the given ids in the order of the ids. Tasks which do not
+   * exist anymore are skipped.
+   */
+  @SuppressWarnings("unchecked")
+  protected List<Task> findTasksByIds(List<String> taskIds) {
+    Map<String, TaskEntity> tasksById = new HashMap<String, TaskEntity>();
+
+    for (int i = 0; i < taskIds.size(); i += MAX_IDS_PER_SELECT) {
+      List<String> chunk = taskIds.subList(i, Math.min(i + MAX_IDS_PER_SELECT, taskIds.size()));
+      List<TaskEntity> tasks = getDbEntityManager().selectList("selectTasksByIds", new ArrayList<String>(chunk));
+      for (TaskEntity task : tasks) {
+        tasksById.put(task.getId(), task);
+      }
+    }
+
+    List<Task> result = new ArrayList<Task>();
+    for (String taskId : taskIds) {
+      TaskEntity task = tasksById.get(taskId);
+      if (task != null) {
+        result.add(task);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Removes the tasks from the index which were found by the index but do not exist anymore,
+   * so that the index does not count them either.
+   */
+  protected void removeDeletedTasks(TaskSearchIndex taskSearchIndex, List<String> taskIds, List<Task> existingTasks) {
+    Set<String> deletedTaskIds = new HashSet<String>(taskIds);
+    for (Task task : existingTasks) {
+      deletedTaskIds.remove(task.getId());
+    }
+
+    TaskSearchIndexUpdate update = new TaskSearchIndexUpdate();
+    for (String deletedTaskId : deletedTaskIds) {
+      update.deleteTask(deletedTaskId);
+    }
+    taskSearchIndex.update(update);
+  }
+
+  /**
+   * @return the next tasks ordered by id, starting after the given id
+   */
+  @SuppressWarnings("unchecked")
+  public List<TaskEntity> findTasksForTaskSearchIndex(String afterTaskId, int maxResults) {
+    return getDbEntityManager().selectList("selectTasksForTaskSearchIndex", afterTaskId, 0, maxResults);
+  }
+
   @SuppressWarnings("unchecked")
   public List<Task> findTasksByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return getDbEntityManager().selectListWithRawParameter("selectTaskByNativeQuery", parameterMap, firstResult, maxResults);
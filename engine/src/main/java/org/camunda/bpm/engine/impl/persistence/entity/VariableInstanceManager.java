@@ -13,7 +13,10 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.VariableInstanceQueryImpl;
@@ -31,6 +34,14 @@ public class VariableInstanceManager extends AbstractManager {
     return getDbEntityManager().selectList("selectVariablesByTaskId", taskId);
   }
 
+  /**
+   * @return the next runtime variables ordered by id, starting after the given id
+   */
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesForTaskSearchIndex(String afterVariableId, int maxResults) {
+    return getDbEntityManager().selectList("selectVariablesForTaskSearchIndex", afterVariableId, 0, maxResults);
+  }
+
   @SuppressWarnings("unchecked")
   public List<VariableInstanceEntity> findVariableInstancesByExecutionId(String executionId) {
     return getDbEntityManager().selectList("selectVariablesByExecutionId", executionId);
@@ -41,6 +52,25 @@ public class VariableInstanceManager extends AbstractManager {
     return getDbEntityManager().selectList("selectVariablesByProcessInstanceId", processInstanceId);
   }
 
+  /**
+   * @return all variables of the given process instances, including task variables
+   */
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findAllVariableInstancesByProcessInstanceIds(List<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectAllVariablesByProcessInstanceIds", processInstanceIds);
+  }
+
+  /**
+   * @param variableNames the names of the variables to select or <code>null</code> to select all variables
+   */
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceIds(List<String> processInstanceIds, Collection<String> variableNames) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("variableNames", variableNames);
+    return getDbEntityManager().selectList("selectVariablesByProcessInstanceIds", parameters);
+  }
+
   @SuppressWarnings("unchecked")
   public List<VariableInstanceEntity> findVariableInstancesByCaseExecutionId(String caseExecutionId) {
     return getDbEntityManager().selectList("selectVariablesByCaseExecutionId", caseExecutionId);
@@ -46,9 +46,13 @@ public class CompiledExecutableScript extends ExecutableScript {
   }
 
   public Object evaluate(ScriptEngine scriptEngine, VariableScope variableScope, Bindings bindings) {
+    return evaluateCompiledScript(getCompiledScript(), bindings);
+  }
+
+  protected Object evaluateCompiledScript(CompiledScript compiledScript, Bindings bindings) {
     try {
       LOG.debugEvaluatingCompiledScript(language);
-      return getCompiledScript().eval(bindings);
+      return compiledScript.eval(bindings);
     } catch (ScriptException e) {
       if (e.getCause() instanceof BpmnError) {
         throw (BpmnError) e.getCause();
@@ -13,11 +13,13 @@
 
 package org.camunda.bpm.engine.impl.scripting;
 
+import javax.script.Bindings;
+import javax.script.ScriptEngine;
+
 import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
-import org.camunda.bpm.engine.impl.util.ResourceUtil;
 
 /**
  * A script which resource path is dynamically determined during the execution.
@@ -31,9 +33,21 @@ public class DynamicResourceExecutableScript extends DynamicExecutableScript {
     super(scriptResourceExpression, language);
   }
 
+  @Override
+  public Object evaluate(ScriptEngine scriptEngine, VariableScope variableScope, Bindings bindings) {
+    // the resolved resource is cached per deployment together with its compiled form
+    return getScript(variableScope).evaluate(scriptEngine, variableScope, bindings);
+  }
+
   public String getScriptSource(VariableScope variableScope) {
+    return getScript(variableScope).getScriptSource();
+  }
+
+  protected SourceExecutableScript getScript(VariableScope variableScope) {
     String scriptPath = evaluateExpression(variableScope);
-    return ResourceUtil.loadResourceContent(scriptPath, getDeployment());
+    return Context.getProcessEngineConfiguration()
+      .getDeploymentCache()
+      .findScriptResource(getDeployment(), language, scriptPath);
   }
 
   protected DeploymentEntity getDeployment() {
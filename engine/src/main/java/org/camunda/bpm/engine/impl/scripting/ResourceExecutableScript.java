@@ -19,7 +19,6 @@ import javax.script.ScriptEngine;
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
-import org.camunda.bpm.engine.impl.util.ResourceUtil;
 
 /**
  * A script which is provided by an external resource.
@@ -46,7 +45,10 @@ public class ResourceExecutableScript extends SourceExecutableScript {
   protected synchronized void loadScriptSource() {
     if (getScriptSource() == null) {
       DeploymentEntity deployment = Context.getCoreExecutionContext().getDeployment();
-      String source = ResourceUtil.loadResourceContent(scriptResource, deployment);
+      String source = Context.getProcessEngineConfiguration()
+        .getDeploymentCache()
+        .findScriptResource(deployment, language, scriptResource)
+        .getScriptSource();
       setScriptSource(source);
     }
   }
@@ -12,9 +12,13 @@
  */
 package org.camunda.bpm.engine.impl.scripting;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import javax.script.Bindings;
 import javax.script.Compilable;
 import javax.script.CompiledScript;
+import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
@@ -25,6 +29,7 @@ import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
 
 /**
  * A script which is provided as source code.
@@ -36,6 +41,12 @@ public class SourceExecutableScript extends CompiledExecutableScript {
 
   private final static ScriptLogger LOG = ProcessEngineLogger.SCRIPT_LOGGER;
 
+  /** Engine scoped attribute holding the scripts compiled by a JavaScript engine */
+  public static final String ENGINE_BOUND_SCRIPT_CACHE_ATTRIBUTE = "camunda.compiledScripts";
+
+  /** Maximum number of compiled scripts kept per JavaScript engine */
+  public static final int ENGINE_BOUND_SCRIPT_CACHE_SIZE = 500;
+
   /** The source of the script. */
   protected String scriptSource;
 
@@ -49,6 +60,16 @@ public class SourceExecutableScript extends CompiledExecutableScript {
 
   @Override
   public Object evaluate(ScriptEngine engine, VariableScope variableScope, Bindings bindings) {
+    if (isEngineBoundCompilation(engine)) {
+      CompiledScript engineBoundScript = getEngineBoundCompiledScript(engine);
+      if (engineBoundScript != null) {
+        return evaluateCompiledScript(engineBoundScript, bindings);
+      }
+      else {
+        return evaluateScript(engine, bindings);
+      }
+    }
+
     if (shouldBeCompiled) {
       compileScript(engine);
     }
@@ -85,8 +106,68 @@ public class SourceExecutableScript extends CompiledExecutableScript {
     }
   }
 
+  /**
+   * JavaScript engines are not compiled against by default. If JavaScript compilation is enabled,
+   * scripts compiled by an engine which is not thread-safe (e.g. Nashorn, GraalJS) must only be
+   * evaluated by the thread owning that engine. They are therefore cached in the engine itself
+   * rather than in this script.
+   */
+  protected boolean isEngineBoundCompilation(ScriptEngine engine) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return processEngineConfiguration != null
+        && processEngineConfiguration.isEnableScriptEngineCaching()
+        && processEngineConfiguration.isEnableScriptCompilation()
+        && processEngineConfiguration.isEnableJavaScriptCompilation()
+        && engine instanceof Compilable
+        && ScriptEngineResolver.isJavaScriptEngine(engine);
+  }
+
+  /**
+   * Returns the script compiled by the given engine. The engine keeps its compiled scripts
+   * keyed by script source, so scripts sharing the same source share the compilation result.
+   * Every evaluation still uses its own bindings, so no state is shared between evaluations.
+   */
+  @SuppressWarnings("unchecked")
+  protected CompiledScript getEngineBoundCompiledScript(ScriptEngine engine) {
+    ScriptContext engineContext = engine.getContext();
+
+    Map<String, CompiledScript> compiledScripts;
+    synchronized (engine) {
+      compiledScripts = (Map<String, CompiledScript>) engineContext.getAttribute(ENGINE_BOUND_SCRIPT_CACHE_ATTRIBUTE, ScriptContext.ENGINE_SCOPE);
+      if (compiledScripts == null) {
+        compiledScripts = new LinkedHashMap<String, CompiledScript>(16, 0.75f, true) {
+          private static final long serialVersionUID = 1L;
+          protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+            return size() > ENGINE_BOUND_SCRIPT_CACHE_SIZE;
+          }
+        };
+        engineContext.setAttribute(ENGINE_BOUND_SCRIPT_CACHE_ATTRIBUTE, compiledScripts, ScriptContext.ENGINE_SCOPE);
+      }
+
+      CompiledScript compiledScript = compiledScripts.get(scriptSource);
+      if (compiledScript == null) {
+        compiledScript = compileJavaScript((Compilable) engine);
+        compiledScripts.put(scriptSource, compiledScript);
+      }
+      return compiledScript;
+    }
+  }
+
+  protected CompiledScript compileJavaScript(Compilable compilingEngine) {
+    try {
+      CompiledScript compiledScript = compilingEngine.compile(scriptSource);
+
+      LOG.debugCompiledScriptUsing(language);
+
+      return compiledScript;
+
+    } catch (ScriptException e) {
+      throw new ScriptCompilationException("Unable to compile script: " + e.getMessage(), e);
+    }
+  }
+
   public CompiledScript compile(ScriptEngine scriptEngine, String language, String src) {
-    if(scriptEngine instanceof Compilable && !scriptEngine.getFactory().getLanguageName().equalsIgnoreCase("ecmascript")) {
+    if(scriptEngine instanceof Compilable && !ScriptEngineResolver.isJavaScriptEngine(scriptEngine)) {
       Compilable compilingEngine = (Compilable) scriptEngine;
 
       try {
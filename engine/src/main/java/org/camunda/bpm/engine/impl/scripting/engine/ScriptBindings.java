@@ -68,7 +68,8 @@ public class ScriptBindings implements Bindings {
       "JSON", // Spin Internal Variable
       ScriptEngine.ARGV, // jRuby is only setting this variable and execution instead of exporting any other variables
       "execution",
-      "__doc__" // do not export python doc string
+      "__doc__", // do not export python doc string
+      "nashorn.global" // Nashorn associates its global object with foreign bindings
       ));
 
   protected List<Resolver> scriptResolvers;
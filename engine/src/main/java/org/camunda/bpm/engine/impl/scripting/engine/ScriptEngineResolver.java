@@ -12,8 +12,10 @@
  */
 package org.camunda.bpm.engine.impl.scripting.engine;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
@@ -30,6 +32,12 @@ public class ScriptEngineResolver {
 
   protected Map<String, ScriptEngine> cachedEngines = new HashMap<String, ScriptEngine>();
 
+  /**
+   * engines which are not thread-safe but may be reused by the thread which created them;
+   * the threads are referenced weakly and the engines are dropped by {@link #clearThreadBoundEngines()}
+   */
+  protected Map<Thread, Map<String, ScriptEngine>> threadBoundEngines = Collections.synchronizedMap(new WeakHashMap<Thread, Map<String, ScriptEngine>>());
+
   public ScriptEngineResolver(ScriptEngineManager scriptEngineManager) {
     this.scriptEngineManager = scriptEngineManager;
   }
@@ -50,12 +58,29 @@ public class ScriptEngineResolver {
    * @return the cached engine or null if no script engine can be created for the given language
    */
   public ScriptEngine getScriptEngine(String language, boolean resolveFromCache) {
+    return getScriptEngine(language, resolveFromCache, false);
+  }
+
+  /**
+   * Returns a cached script engine or creates a new script engine if no such engine is currently cached.
+   *
+   * @param language the language (such as 'groovy' for the script engine)
+   * @param resolveFromCache if true, the engine is resolved from the cache
+   * @param bindJavaScriptEnginesToThread if true, JavaScript engines which are not thread-safe are
+   *   cached per thread instead of being created for every invocation
+   * @return the cached engine or null if no script engine can be created for the given language
+   */
+  public ScriptEngine getScriptEngine(String language, boolean resolveFromCache, boolean bindJavaScriptEnginesToThread) {
 
     ScriptEngine scriptEngine = null;
 
     if (resolveFromCache) {
       scriptEngine = cachedEngines.get(language);
 
+      if (scriptEngine == null && bindJavaScriptEnginesToThread) {
+        scriptEngine = getThreadBoundEngines().get(language);
+      }
+
       if(scriptEngine == null) {
         scriptEngine = scriptEngineManager.getEngineByName(language);
 
@@ -68,6 +93,9 @@ public class ScriptEngineResolver {
           if(isCachable(scriptEngine)) {
             cachedEngines.put(language, scriptEngine);
           }
+          else if (bindJavaScriptEnginesToThread && isJavaScriptEngine(scriptEngine)) {
+            getThreadBoundEngines().put(language, scriptEngine);
+          }
 
         }
 
@@ -80,6 +108,29 @@ public class ScriptEngineResolver {
     return scriptEngine;
   }
 
+  /**
+   * @return the engines bound to the current thread
+   */
+  protected Map<String, ScriptEngine> getThreadBoundEngines() {
+    Thread currentThread = Thread.currentThread();
+    Map<String, ScriptEngine> engines = threadBoundEngines.get(currentThread);
+    if (engines == null) {
+      // only the current thread adds engines for itself
+      engines = new HashMap<String, ScriptEngine>();
+      threadBoundEngines.put(currentThread, engines);
+    }
+    return engines;
+  }
+
+  /**
+   * Drops the engines bound to any thread, e.g. when the process engine or process
+   * application using this resolver is closed, so that the engines and the class loaders
+   * they reference are not kept by pooled threads.
+   */
+  public void clearThreadBoundEngines() {
+    threadBoundEngines.clear();
+  }
+
   /**
    * Allows checking whether the script engine can be cached.
    *
@@ -92,6 +143,16 @@ public class ScriptEngineResolver {
     return threadingParameter != null;
   }
 
+  /**
+   * Allows checking whether the script engine evaluates JavaScript (e.g. Nashorn or GraalJS).
+   *
+   * @param scriptEngine the script engine to check.
+   * @return true if the script engine is a JavaScript engine.
+   */
+  public static boolean isJavaScriptEngine(ScriptEngine scriptEngine) {
+    return ScriptingEngines.ECMASCRIPT_LANGUAGE_NAME.equalsIgnoreCase(scriptEngine.getFactory().getLanguageName());
+  }
+
   /**
    * Allows providing custom configuration for the groovy script engine.
    * @param scriptEngine the groovy script engine to configure.
@@ -49,11 +49,13 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
 
   public static final String DEFAULT_SCRIPTING_LANGUAGE = "juel";
   public static final String GROOVY_SCRIPTING_LANGUAGE = "groovy";
+  public static final String ECMASCRIPT_LANGUAGE_NAME = "ecmascript";
 
   protected ScriptEngineResolver scriptEngineResolver;
   protected ScriptBindingsFactory scriptBindingsFactory;
 
   protected boolean enableScriptEngineCaching = true;
+  protected boolean enableJavaScriptCompilation = false;
 
   public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
     this(new ScriptEngineManager());
@@ -72,6 +74,18 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     this.enableScriptEngineCaching = enableScriptEngineCaching;
   }
 
+  public boolean isEnableJavaScriptCompilation() {
+    return enableJavaScriptCompilation;
+  }
+
+  /**
+   * If set to true, JavaScript engines which are not thread-safe are reused by the thread
+   * which created them so that scripts compiled by them can be reused as well.
+   */
+  public void setEnableJavaScriptCompilation(boolean enableJavaScriptCompilation) {
+    this.enableJavaScriptCompilation = enableJavaScriptCompilation;
+  }
+
   public ScriptEngineManager getScriptEngineManager() {
     return scriptEngineResolver.getScriptEngineManager();
   }
@@ -118,7 +132,7 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
 
       if (rawObject instanceof AbstractProcessApplication) {
         AbstractProcessApplication abstractProcessApplication = (AbstractProcessApplication) rawObject;
-        return abstractProcessApplication.getScriptEngineForName(language, enableScriptEngineCaching);
+        return abstractProcessApplication.getScriptEngineForName(language, enableScriptEngineCaching, enableJavaScriptCompilation);
       }
       return null;
     }
@@ -129,13 +143,20 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
 
   protected ScriptEngine getGlobalScriptEngine(String language) {
 
-    ScriptEngine scriptEngine = scriptEngineResolver.getScriptEngine(language, enableScriptEngineCaching);
+    ScriptEngine scriptEngine = scriptEngineResolver.getScriptEngine(language, enableScriptEngineCaching, enableJavaScriptCompilation);
 
     ensureNotNull("Can't find scripting engine for '" + language + "'", "scriptEngine", scriptEngine);
 
     return scriptEngine;
   }
 
+  /**
+   * Drops the script engines which are bound to threads of the process engine.
+   */
+  public void close() {
+    scriptEngineResolver.clearThreadBoundEngines();
+  }
+
   /** override to build a spring aware ScriptingEngines
    * @param engineBindin
    * @param scriptEngine */
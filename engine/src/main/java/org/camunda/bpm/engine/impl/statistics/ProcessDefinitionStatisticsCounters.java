@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.statistics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The {@link StatisticsCounters} of a process definition and of its activities.
+ *
+ * <p>The activity counters only count active activity instances, failed jobs of
+ * jobs with a job definition and incidents with an activity id, like the
+ * activity statistics query does.</p>
+ */
+public class ProcessDefinitionStatisticsCounters extends StatisticsCounters {
+
+  protected Map<String, StatisticsCounters> activities = new HashMap<String, StatisticsCounters>();
+
+  public StatisticsCounters getActivity(String activityId) {
+    StatisticsCounters counters = activities.get(activityId);
+    if (counters == null) {
+      counters = new StatisticsCounters();
+      activities.put(activityId, counters);
+    }
+    return counters;
+  }
+
+  public Map<String, StatisticsCounters> getActivities() {
+    return activities;
+  }
+
+  public void add(StatisticsCounters other) {
+    super.add(other);
+
+    if (other instanceof ProcessDefinitionStatisticsCounters) {
+      for (Entry<String, StatisticsCounters> activity : ((ProcessDefinitionStatisticsCounters) other).activities.entrySet()) {
+        StatisticsCounters counters = getActivity(activity.getKey());
+        counters.add(activity.getValue());
+        if (counters.isEmpty()) {
+          activities.remove(activity.getKey());
+        }
+      }
+    }
+  }
+
+  public boolean isEmpty() {
+    return super.isEmpty() && activities.isEmpty();
+  }
+
+}
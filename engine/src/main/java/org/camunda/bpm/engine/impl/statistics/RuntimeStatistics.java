@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.statistics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The {@link ProcessDefinitionStatisticsCounters} of all process definitions, either
+ * the committed state kept by the {@link RuntimeStatisticsStore} or the changes of a
+ * single transaction collected by the {@link RuntimeStatisticsCollector}.
+ *
+ * <p>Counts without a process definition id are ignored. Not thread-safe.</p>
+ */
+public class RuntimeStatistics {
+
+  protected Map<String, ProcessDefinitionStatisticsCounters> processDefinitions = new HashMap<String, ProcessDefinitionStatisticsCounters>();
+
+  public void addInstances(String processDefinitionId, long delta) {
+    if (processDefinitionId != null) {
+      getOrCreate(processDefinitionId).addInstances(delta);
+    }
+  }
+
+  public void addActivityInstances(String processDefinitionId, String activityId, long delta) {
+    if (processDefinitionId != null && activityId != null) {
+      getOrCreate(processDefinitionId).getActivity(activityId).addInstances(delta);
+    }
+  }
+
+  /**
+   * @param activityId the activity of the job's definition or <code>null</code>
+   *   if the failed jobs are only counted for the process definition
+   */
+  public void addFailedJobs(String processDefinitionId, String activityId, long delta) {
+    if (processDefinitionId != null) {
+      ProcessDefinitionStatisticsCounters counters = getOrCreate(processDefinitionId);
+      counters.addFailedJobs(delta);
+      if (activityId != null) {
+        counters.getActivity(activityId).addFailedJobs(delta);
+      }
+    }
+  }
+
+  /**
+   * @param activityId the activity of the incidents or <code>null</code>
+   *   if the incidents are only counted for the process definition
+   */
+  public void addIncidents(String processDefinitionId, String activityId, String incidentType, long delta) {
+    if (processDefinitionId != null) {
+      ProcessDefinitionStatisticsCounters counters = getOrCreate(processDefinitionId);
+      counters.addIncidents(incidentType, delta);
+      if (activityId != null) {
+        counters.getActivity(activityId).addIncidents(incidentType, delta);
+      }
+    }
+  }
+
+  public void add(RuntimeStatistics other) {
+    for (Entry<String, ProcessDefinitionStatisticsCounters> processDefinition : other.processDefinitions.entrySet()) {
+      ProcessDefinitionStatisticsCounters counters = getOrCreate(processDefinition.getKey());
+      counters.add(processDefinition.getValue());
+      if (counters.isEmpty()) {
+        processDefinitions.remove(processDefinition.getKey());
+      }
+    }
+  }
+
+  public boolean isEmpty() {
+    return processDefinitions.isEmpty();
+  }
+
+  /**
+   * @return the counters of the process definition or <code>null</code> if nothing is counted for it
+   */
+  public ProcessDefinitionStatisticsCounters getProcessDefinition(String processDefinitionId) {
+    return processDefinitions.get(processDefinitionId);
+  }
+
+  protected ProcessDefinitionStatisticsCounters getOrCreate(String processDefinitionId) {
+    ProcessDefinitionStatisticsCounters counters = processDefinitions.get(processDefinitionId);
+    if (counters == null) {
+      counters = new ProcessDefinitionStatisticsCounters();
+      processDefinitions.put(processDefinitionId, counters);
+    }
+    return counters;
+  }
+
+}
@@ -0,0 +1,243 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.statistics;
+
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.FlushListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IncidentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Collects the changes of the {@link RuntimeStatisticsStore}'s counts while the entity
+ * cache of a command is flushed and applies them to the store once the transaction is
+ * committed.
+ *
+ * <p>The changes are derived by comparing the persistent state of executions, jobs and
+ * incidents when they were loaded (or last flushed) with their current state. Hence,
+ * the collector must be invoked before the entities are flushed. Entities which are merged
+ * without being loaded before are skipped since their previous state is unknown.</p>
+ */
+public class RuntimeStatisticsCollector implements FlushListener, TransactionListener {
+
+  protected RuntimeStatisticsStore store;
+  protected RuntimeStatistics changes = new RuntimeStatistics();
+  protected boolean isRegistered = false;
+  /** the reconciliation of the store the commit belongs to, null until the commit started */
+  protected Long reconciliation;
+
+  public RuntimeStatisticsCollector(RuntimeStatisticsStore store) {
+    this.store = store;
+  }
+
+  public void beforeFlush(List<CachedDbEntity> cachedEntities) {
+    for (CachedDbEntity cachedEntity : cachedEntities) {
+      collect(cachedEntity);
+    }
+
+    if (!changes.isEmpty() && !isRegistered) {
+      TransactionContext transactionContext = Context.getCommandContext().getTransactionContext();
+
+      transactionContext.addTransactionListener(TransactionState.COMMITTING, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          reconciliation = store.commitStarted();
+        }
+      });
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, this);
+      transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          if (reconciliation != null) {
+            store.commitFailed(reconciliation);
+            reconciliation = null;
+          }
+        }
+      });
+      isRegistered = true;
+    }
+  }
+
+  /**
+   * Applies the collected changes after the transaction is committed.
+   */
+  public void execute(CommandContext commandContext) {
+    if (reconciliation == null) {
+      // the transaction manager did not report the start of the commit
+      reconciliation = store.commitStarted();
+    }
+    store.apply(changes, reconciliation);
+    reconciliation = null;
+    changes = new RuntimeStatistics();
+    isRegistered = false;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected void collect(CachedDbEntity cachedEntity) {
+    DbEntity entity = cachedEntity.getEntity();
+    if (!(entity instanceof ExecutionEntity || entity instanceof JobEntity || entity instanceof IncidentEntity)) {
+      return;
+    }
+
+    Map<String, Object> previousState = null;
+    DbEntity currentEntity = null;
+
+    switch (cachedEntity.getEntityState()) {
+    case TRANSIENT:
+      currentEntity = entity;
+      break;
+    case PERSISTENT:
+      if (!(cachedEntity.getFlushedState() instanceof Map) || !cachedEntity.isDirty()) {
+        return;
+      }
+      previousState = (Map<String, Object>) cachedEntity.getFlushedState();
+      currentEntity = entity;
+      break;
+    case DELETED_PERSISTENT:
+      if (!(cachedEntity.getFlushedState() instanceof Map)) {
+        return;
+      }
+      previousState = (Map<String, Object>) cachedEntity.getFlushedState();
+      break;
+    default:
+      // MERGED and DELETED_MERGED entities have an unknown previous state,
+      // DELETED_TRANSIENT entities never reach the database
+      return;
+    }
+
+    if (entity instanceof ExecutionEntity) {
+      collectExecution(previousState, (ExecutionEntity) currentEntity);
+    }
+    else if (entity instanceof JobEntity) {
+      collectJob(previousState, (JobEntity) currentEntity);
+    }
+    else {
+      collectIncident(previousState, (IncidentEntity) currentEntity, ((IncidentEntity) entity).getIncidentType());
+    }
+  }
+
+  /**
+   * Process instances are counted by executions without parent, activity instances by
+   * active executions with an activity id.
+   */
+  protected void collectExecution(Map<String, Object> previousState, ExecutionEntity execution) {
+    String previousProcessDefinitionId = null;
+    String previousInstance = null;
+    String previousActivity = null;
+    if (previousState != null) {
+      previousProcessDefinitionId = (String) previousState.get("processDefinitionId");
+      previousInstance = previousState.get("parentId") == null ? previousProcessDefinitionId : null;
+      previousActivity = Boolean.TRUE.equals(previousState.get("isActive")) ? (String) previousState.get("activityId") : null;
+    }
+
+    String processDefinitionId = null;
+    String instance = null;
+    String activity = null;
+    if (execution != null) {
+      processDefinitionId = execution.getProcessDefinitionId();
+      instance = execution.getParentId() == null ? processDefinitionId : null;
+      activity = execution.isActive() ? execution.getActivityId() : null;
+    }
+
+    if (!equals(previousInstance, instance)) {
+      changes.addInstances(previousInstance, -1);
+      changes.addInstances(instance, 1);
+    }
+
+    if (!equals(previousProcessDefinitionId, processDefinitionId) || !equals(previousActivity, activity)) {
+      changes.addActivityInstances(previousProcessDefinitionId, previousActivity, -1);
+      changes.addActivityInstances(processDefinitionId, activity, 1);
+    }
+  }
+
+  /**
+   * Failed jobs are jobs without retries. They are attributed to the activity of their job definition.
+   */
+  protected void collectJob(Map<String, Object> previousState, JobEntity job) {
+    String previousProcessDefinitionId = null;
+    String previousJobDefinitionId = null;
+    boolean previousFailed = false;
+    if (previousState != null) {
+      previousProcessDefinitionId = (String) previousState.get("processDefinitionId");
+      previousJobDefinitionId = (String) previousState.get("jobDefinitionId");
+      previousFailed = Integer.valueOf(0).equals(previousState.get("retries"));
+    }
+
+    String processDefinitionId = null;
+    String jobDefinitionId = null;
+    boolean failed = false;
+    if (job != null) {
+      processDefinitionId = job.getProcessDefinitionId();
+      jobDefinitionId = job.getJobDefinitionId();
+      failed = job.getRetries() == 0;
+    }
+
+    if (previousFailed != failed
+        || !equals(previousProcessDefinitionId, processDefinitionId)
+        || !equals(previousJobDefinitionId, jobDefinitionId)) {
+
+      if (previousFailed) {
+        changes.addFailedJobs(previousProcessDefinitionId, getActivityId(previousJobDefinitionId), -1);
+      }
+      if (failed) {
+        changes.addFailedJobs(processDefinitionId, getActivityId(jobDefinitionId), 1);
+      }
+    }
+  }
+
+  protected void collectIncident(Map<String, Object> previousState, IncidentEntity incident, String incidentType) {
+    String previousProcessDefinitionId = null;
+    String previousActivityId = null;
+    if (previousState != null) {
+      previousProcessDefinitionId = (String) previousState.get("processDefinitionId");
+      previousActivityId = (String) previousState.get("activityId");
+    }
+
+    String processDefinitionId = null;
+    String activityId = null;
+    if (incident != null) {
+      processDefinitionId = incident.getProcessDefinitionId();
+      activityId = incident.getActivityId();
+    }
+
+    if (!equals(previousProcessDefinitionId, processDefinitionId) || !equals(previousActivityId, activityId)) {
+      changes.addIncidents(previousProcessDefinitionId, previousActivityId, incidentType, -1);
+      changes.addIncidents(processDefinitionId, activityId, incidentType, 1);
+    }
+  }
+
+  protected String getActivityId(String jobDefinitionId) {
+    if (jobDefinitionId == null) {
+      return null;
+    }
+
+    JobDefinitionEntity jobDefinition = Context.getCommandContext()
+      .getJobDefinitionManager()
+      .findById(jobDefinitionId);
+
+    return jobDefinition != null ? jobDefinition.getActivityId() : null;
+  }
+
+  protected static boolean equals(Object value, Object otherValue) {
+    return value == null ? otherValue == null : value.equals(otherValue);
+  }
+
+}
@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.statistics;
+
+import java.util.Timer;
+
+import org.camunda.bpm.engine.impl.cmd.ReconcileRuntimeStatisticsCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Periodically reconciles the {@link RuntimeStatisticsStore} with the database.
+ */
+public class RuntimeStatisticsReconciler {
+
+  protected RuntimeStatisticsStore store;
+  protected CommandExecutor commandExecutor;
+
+  // reconcile every 5 minutes...
+  protected long reconciliationIntervalInSeconds = 60 * 5;
+
+  protected RuntimeStatisticsReconciliationTask reconciliationTask;
+  private Timer timer;
+
+  public RuntimeStatisticsReconciler(RuntimeStatisticsStore store, CommandExecutor commandExecutor) {
+    this.store = store;
+    this.commandExecutor = commandExecutor;
+    initReconciliationTask();
+  }
+
+  protected void initReconciliationTask() {
+    reconciliationTask = new RuntimeStatisticsReconciliationTask(this);
+  }
+
+  /**
+   * Initializes the store and schedules the periodic reconciliation.
+   */
+  public void start() {
+    reconciliationTask.run();
+
+    timer = new Timer("Camunda Runtime Statistics Reconciler", true);
+    long reconciliationIntervalInMillis = reconciliationIntervalInSeconds * 1000;
+
+    timer.scheduleAtFixedRate(reconciliationTask,
+        reconciliationIntervalInMillis,
+        reconciliationIntervalInMillis);
+  }
+
+  public void stop() {
+    if(timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+  }
+
+  public void reconcileNow() {
+    commandExecutor.execute(new ReconcileRuntimeStatisticsCmd(store));
+  }
+
+  public long getReconciliationIntervalInSeconds() {
+    return reconciliationIntervalInSeconds;
+  }
+
+  public void setReconciliationIntervalInSeconds(long reconciliationIntervalInSeconds) {
+    this.reconciliationIntervalInSeconds = reconciliationIntervalInSeconds;
+  }
+
+  public RuntimeStatisticsStore getStore() {
+    return store;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+}
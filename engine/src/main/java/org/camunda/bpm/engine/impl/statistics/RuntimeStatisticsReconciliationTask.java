@@ -0,0 +1,48 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.statistics;
+
+import java.util.TimerTask;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+
+/**
+ * Reconciles the {@link RuntimeStatisticsStore}. Failures are logged, the store
+ * keeps its counts until the next reconciliation succeeds.
+ */
+public class RuntimeStatisticsReconciliationTask extends TimerTask {
+
+  private final static EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected RuntimeStatisticsReconciler reconciler;
+
+  public RuntimeStatisticsReconciliationTask(RuntimeStatisticsReconciler reconciler) {
+    this.reconciler = reconciler;
+  }
+
+  public void run() {
+    try {
+      reconciler.reconcileNow();
+    }
+    catch(Exception e) {
+      try {
+        LOG.couldNotReconcileRuntimeStatistics(e);
+      }
+      catch (Exception ex) {
+        // ignore if log can't be written
+      }
+    }
+  }
+
+}
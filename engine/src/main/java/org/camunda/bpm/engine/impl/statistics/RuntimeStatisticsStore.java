@@ -0,0 +1,258 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.statistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.camunda.bpm.engine.impl.ActivityStatisticsQueryImpl;
+import org.camunda.bpm.engine.impl.ProcessDefinitionStatisticsQueryImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ActivityStatisticsImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionStatisticsEntity;
+import org.camunda.bpm.engine.management.ActivityStatistics;
+import org.camunda.bpm.engine.management.IncidentStatistics;
+
+/**
+ * Keeps the counts of the process definition and activity statistics in memory, so that
+ * statistics queries do not have to group the rows of the runtime tables.
+ *
+ * <p>The counts are maintained incrementally: the changes of every transaction are
+ * collected by a {@link RuntimeStatisticsCollector} while flushing and applied once
+ * the transaction is committed. The {@link RuntimeStatisticsReconciler} periodically
+ * replaces the counts with counts selected from the database. This corrects changes
+ * which are not seen by the collector, i.e. changes made by other process engines of a
+ * cluster, bulk updates and deletes, and changes of entities which are merged without
+ * being read before. The counts are therefore eventually consistent only.</p>
+ *
+ * <p>The store is kept in memory by each process engine. In a cluster, the counts of one
+ * node contain the changes committed by the other nodes only after its next reconciliation.
+ * Every commit which changes executions, jobs or incidents briefly synchronizes on the store
+ * to apply its changes.</p>
+ *
+ * <p>The counts of a reconciliation are selected while other transactions keep committing.
+ * Before the counts are selected, the store waits for the transactions which are already
+ * committing, so that their changes are contained in the selected counts. If another
+ * transaction starts committing before the selected counts are passed to
+ * {@link #reconcile(RuntimeStatistics)}, it is unknown whether its changes are contained
+ * in the selected counts. The selected counts are discarded in that case and the current
+ * counts are kept.</p>
+ *
+ * <p>Until it is reconciled for the first time, the store is not initialized and all
+ * statistics queries are answered by the database.</p>
+ */
+public class RuntimeStatisticsStore {
+
+  /** maximum time to wait for committing transactions before the counts are selected */
+  protected static final long COMMIT_TIMEOUT_MILLIS = 10000;
+
+  protected RuntimeStatistics statistics;
+
+  /** the number of reconciliations started so far, identifies the commits of a reconciliation */
+  protected long reconciliation = 0;
+  /** the transactions which started committing after the current reconciliation started */
+  protected int committingTransactions = 0;
+  /** the transactions which started committing before the current reconciliation started */
+  protected int committingTransactionsBeforeReconciliation = 0;
+  /** whether a reconciliation is running whose counts may not be selected yet */
+  protected boolean isSelecting = false;
+  /** whether a transaction started committing while the counts of the current reconciliation were selected */
+  protected boolean isCommittedWhileSelecting = false;
+
+  protected ReentrantLock reconciliationLock = new ReentrantLock();
+
+  public synchronized boolean isInitialized() {
+    return statistics != null;
+  }
+
+  /**
+   * Invoked before a transaction with changes is committed.
+   *
+   * @return the reconciliation the commit belongs to, has to be passed to
+   *   {@link #apply(RuntimeStatistics, long)} or {@link #commitFailed(long)}
+   */
+  public synchronized long commitStarted() {
+    committingTransactions++;
+    if (isSelecting) {
+      isCommittedWhileSelecting = true;
+    }
+    return reconciliation;
+  }
+
+  /**
+   * Applies the committed changes of a transaction.
+   */
+  public synchronized void apply(RuntimeStatistics changes, long reconciliation) {
+    if (statistics != null) {
+      statistics.add(changes);
+    }
+    commitFinished(reconciliation);
+  }
+
+  /**
+   * Invoked if a transaction is rolled back after it started committing.
+   */
+  public synchronized void commitFailed(long reconciliation) {
+    commitFinished(reconciliation);
+  }
+
+  protected void commitFinished(long reconciliation) {
+    if (reconciliation == this.reconciliation) {
+      committingTransactions = Math.max(0, committingTransactions - 1);
+    }
+    else {
+      committingTransactionsBeforeReconciliation = Math.max(0, committingTransactionsBeforeReconciliation - 1);
+      notifyAll();
+    }
+  }
+
+  /**
+   * Starts a reconciliation: waits for the transactions which are committing and watches
+   * for transactions which start committing afterwards. Must be followed by
+   * {@link #endReconciliation()} once the counts are selected and passed to {@link #reconcile(RuntimeStatistics)}.
+   */
+  public void startReconciliation() {
+    reconciliationLock.lock();
+    synchronized (this) {
+      reconciliation++;
+      committingTransactionsBeforeReconciliation += committingTransactions;
+      committingTransactions = 0;
+
+      long timeout = System.currentTimeMillis() + COMMIT_TIMEOUT_MILLIS;
+      long remaining = COMMIT_TIMEOUT_MILLIS;
+      while (committingTransactionsBeforeReconciliation > 0 && remaining > 0) {
+        try {
+          wait(remaining);
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+        remaining = timeout - System.currentTimeMillis();
+      }
+      // transactions which did not finish in time (e.g. whose outcome was never
+      // reported) are not waited for again
+      committingTransactionsBeforeReconciliation = 0;
+
+      isSelecting = true;
+      // transactions which started committing while waiting are committed
+      // before the counts are selected, but may still be applied afterwards
+      isCommittedWhileSelecting = committingTransactions > 0;
+    }
+  }
+
+  /**
+   * Replaces all counts with the given ones, selected from the database. Within a
+   * reconciliation, the counts are only replaced if no transaction started committing
+   * since the reconciliation started, because the changes of such a transaction may or
+   * may not be contained in the selected counts.
+   *
+   * @return true if the counts were replaced
+   */
+  public synchronized boolean reconcile(RuntimeStatistics statistics) {
+    if (isSelecting && isCommittedWhileSelecting) {
+      return false;
+    }
+    this.statistics = statistics;
+    return true;
+  }
+
+  public void endReconciliation() {
+    synchronized (this) {
+      isSelecting = false;
+      isCommittedWhileSelecting = false;
+    }
+    reconciliationLock.unlock();
+  }
+
+  /**
+   * Sets the counts of the given process definitions which were selected for the query.
+   */
+  public synchronized void fillProcessDefinitionStatistics(List<ProcessDefinitionStatisticsEntity> processDefinitions,
+      ProcessDefinitionStatisticsQueryImpl query) {
+
+    for (ProcessDefinitionStatisticsEntity processDefinition : processDefinitions) {
+      StatisticsCounters counters = statistics.getProcessDefinition(processDefinition.getId());
+      if (counters == null) {
+        counters = new StatisticsCounters();
+      }
+
+      processDefinition.setInstances(counters.getInstances());
+
+      if (query.isFailedJobsToInclude()) {
+        processDefinition.setFailedJobs(counters.getFailedJobs());
+      }
+
+      if (query.isIncidentsToInclude()) {
+        processDefinition.setIncidentStatistics(counters.getIncidentStatistics(query.getIncludeIncidentsForType()));
+      }
+      else {
+        processDefinition.setIncidentStatistics(new ArrayList<IncidentStatistics>());
+      }
+    }
+  }
+
+  /**
+   * @return the statistics of all activities of the query's process definition
+   *   which match the query, ordered by activity id
+   */
+  public synchronized List<ActivityStatistics> getActivityStatistics(ActivityStatisticsQueryImpl query) {
+    List<ActivityStatistics> result = new ArrayList<ActivityStatistics>();
+
+    ProcessDefinitionStatisticsCounters processDefinition = statistics.getProcessDefinition(query.getProcessDefinitionId());
+    if (processDefinition == null) {
+      return result;
+    }
+
+    String incidentType = query.getIncludeIncidentsForType();
+
+    for (Entry<String, StatisticsCounters> activity : processDefinition.getActivities().entrySet()) {
+      StatisticsCounters counters = activity.getValue();
+
+      boolean hasInstances = counters.getInstances() > 0;
+      boolean hasFailedJobs = query.isFailedJobsToInclude() && counters.getFailedJobs() > 0;
+      boolean hasIncidents = query.isIncidentsToInclude() && counters.getIncidents(incidentType) > 0;
+
+      if (hasInstances || hasFailedJobs || hasIncidents) {
+        ActivityStatisticsImpl statistics = new ActivityStatisticsImpl();
+        statistics.setId(activity.getKey());
+        statistics.setInstances(counters.getInstances());
+
+        if (query.isFailedJobsToInclude()) {
+          statistics.setFailedJobs(counters.getFailedJobs());
+        }
+
+        if (query.isIncidentsToInclude()) {
+          statistics.setIncidentStatistics(counters.getIncidentStatistics(incidentType));
+        }
+        else {
+          statistics.setIncidentStatistics(new ArrayList<IncidentStatistics>());
+        }
+
+        result.add(statistics);
+      }
+    }
+
+    Collections.sort(result, new Comparator<ActivityStatistics>() {
+      public int compare(ActivityStatistics statistics1, ActivityStatistics statistics2) {
+        return statistics1.getId().compareTo(statistics2.getId());
+      }
+    });
+
+    return result;
+  }
+
+}
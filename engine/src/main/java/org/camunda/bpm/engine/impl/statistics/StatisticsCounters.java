@@ -0,0 +1,115 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.statistics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.camunda.bpm.engine.impl.persistence.entity.IncidentStatisticsEntity;
+import org.camunda.bpm.engine.management.IncidentStatistics;
+
+/**
+ * Counts the instances, failed jobs and incidents (per incident type) of a
+ * process definition or of an activity.
+ *
+ * <p>The counters are either absolute values or the changes of a single
+ * transaction and can therefore be negative. Not thread-safe.</p>
+ */
+public class StatisticsCounters {
+
+  protected long instances;
+  protected long failedJobs;
+  protected Map<String, Long> incidents = new HashMap<String, Long>();
+
+  public void addInstances(long delta) {
+    instances += delta;
+  }
+
+  public void addFailedJobs(long delta) {
+    failedJobs += delta;
+  }
+
+  public void addIncidents(String incidentType, long delta) {
+    Long count = incidents.get(incidentType);
+    long newCount = (count != null ? count : 0) + delta;
+
+    if (newCount != 0) {
+      incidents.put(incidentType, newCount);
+    }
+    else {
+      incidents.remove(incidentType);
+    }
+  }
+
+  public void add(StatisticsCounters other) {
+    instances += other.instances;
+    failedJobs += other.failedJobs;
+    for (Entry<String, Long> incident : other.incidents.entrySet()) {
+      addIncidents(incident.getKey(), incident.getValue());
+    }
+  }
+
+  public boolean isEmpty() {
+    return instances == 0 && failedJobs == 0 && incidents.isEmpty();
+  }
+
+  public int getInstances() {
+    return toCount(instances);
+  }
+
+  public int getFailedJobs() {
+    return toCount(failedJobs);
+  }
+
+  /**
+   * @param incidentType the type of the incidents to count or <code>null</code> to count all incidents
+   */
+  public int getIncidents(String incidentType) {
+    long count = 0;
+    for (Entry<String, Long> incident : incidents.entrySet()) {
+      if (incidentType == null || incidentType.equals(incident.getKey())) {
+        count += toCount(incident.getValue());
+      }
+    }
+    return toCount(count);
+  }
+
+  /**
+   * @param incidentType the type of the incidents to return or <code>null</code> to return all incidents
+   */
+  public List<IncidentStatistics> getIncidentStatistics(String incidentType) {
+    List<IncidentStatistics> incidentStatistics = new ArrayList<IncidentStatistics>();
+    for (Entry<String, Long> incident : incidents.entrySet()) {
+      int count = toCount(incident.getValue());
+      if (count > 0 && (incidentType == null || incidentType.equals(incident.getKey()))) {
+        IncidentStatisticsEntity statistics = new IncidentStatisticsEntity();
+        statistics.setIncidentType(incident.getKey());
+        statistics.setIncidentCount(count);
+        incidentStatistics.add(statistics);
+      }
+    }
+    return incidentStatistics;
+  }
+
+  /**
+   * Changes which are not seen by the store (e.g. bulk deletes) can make the counters
+   * inexact until the next reconciliation, so that they can even become negative.
+   */
+  protected static int toCount(long value) {
+    return (int) Math.max(0, Math.min(value, Integer.MAX_VALUE));
+  }
+
+}
@@ -0,0 +1,56 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task.search;
+
+import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkEntity;
+
+/**
+ * An identity link of a task, copied from an {@link IdentityLinkEntity}.
+ */
+public class IdentityLinkDocument {
+
+  protected String id;
+  protected String taskId;
+  protected String type;
+  protected String userId;
+  protected String groupId;
+
+  public IdentityLinkDocument(IdentityLinkEntity identityLink) {
+    id = identityLink.getId();
+    taskId = identityLink.getTaskId();
+    type = identityLink.getType();
+    userId = identityLink.getUserId();
+    groupId = identityLink.getGroupId();
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getTaskId() {
+    return taskId;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public String getUserId() {
+    return userId;
+  }
+
+  public String getGroupId() {
+    return groupId;
+  }
+
+}
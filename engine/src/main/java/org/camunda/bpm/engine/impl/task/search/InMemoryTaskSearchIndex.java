@@ -0,0 +1,868 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.engine.impl.Direction;
+import org.camunda.bpm.engine.impl.QueryOperator;
+import org.camunda.bpm.engine.impl.QueryOrderingProperty;
+import org.camunda.bpm.engine.impl.QueryVariableValue;
+import org.camunda.bpm.engine.impl.SingleQueryVariableValueCondition;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.TaskQueryProperty;
+import org.camunda.bpm.engine.impl.TaskQueryVariableValue;
+import org.camunda.bpm.engine.impl.db.TenantCheck;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.query.QueryProperty;
+import org.camunda.bpm.engine.task.IdentityLinkType;
+
+/**
+ * {@link TaskSearchIndex} which keeps the tasks, the candidate identity links of tasks
+ * and the runtime variables in memory of the process engine.
+ *
+ * <p>Queries pick the candidate tasks from inverted indexes on the task id, the process
+ * instance, the assignee and the candidate users and groups and evaluate the remaining
+ * criteria on the indexed documents. The criteria are evaluated with the same semantics
+ * as the SQL statement of the task query.</p>
+ *
+ * <p>The index is not shared between process engines, so it only sees the changes made
+ * by its own process engine. It must therefore only be used by a single process engine
+ * per database, see {@link TaskSearchIndexRebuilder} for the check of other nodes.</p>
+ *
+ * <p>Queries which are ordered by text properties are answered by the database, since
+ * the order depends on the collation of the database. Null values are ordered like the
+ * database of the process engine orders them.</p>
+ *
+ * <p>Changes of concurrent transactions can arrive in a different order than they were
+ * committed. Tasks and variables are therefore only replaced by documents with the same
+ * or a higher revision, and deleted tasks, identity links and variables are remembered for
+ * {@link #TOMBSTONE_RETENTION_MILLIS} so that late changes do not bring them back.</p>
+ */
+public class InMemoryTaskSearchIndex implements TaskSearchIndex {
+
+  /** properties which are ordered alike by all databases, generated ids only consist of digits, letters and dashes */
+  protected static final Set<QueryProperty> SUPPORTED_ORDERING_PROPERTIES = new HashSet<QueryProperty>(Arrays.asList(
+      TaskQueryProperty.TASK_ID,
+      TaskQueryProperty.PRIORITY,
+      TaskQueryProperty.CREATE_TIME,
+      TaskQueryProperty.PROCESS_INSTANCE_ID,
+      TaskQueryProperty.CASE_INSTANCE_ID,
+      TaskQueryProperty.EXECUTION_ID,
+      TaskQueryProperty.CASE_EXECUTION_ID,
+      TaskQueryProperty.DUE_DATE,
+      TaskQueryProperty.FOLLOW_UP_DATE));
+
+  /** databases which order null values after all other values in ascending order */
+  protected static final Set<String> DATABASES_ORDERING_NULLS_LAST = new HashSet<String>(Arrays.asList(
+      DbSqlSessionFactory.POSTGRES,
+      DbSqlSessionFactory.ORACLE,
+      DbSqlSessionFactory.DB2));
+
+  /** time for which deletions are remembered to reject changes which arrive late */
+  protected static final long TOMBSTONE_RETENTION_MILLIS = 60 * 1000;
+
+  protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  protected volatile boolean isInitialized = false;
+
+  protected boolean isNullOrderedLast;
+
+  protected Map<String, TaskDocument> tasks = new HashMap<String, TaskDocument>();
+  protected Map<String, IdentityLinkDocument> identityLinks = new HashMap<String, IdentityLinkDocument>();
+  protected Map<String, VariableDocument> variables = new HashMap<String, VariableDocument>();
+
+  protected Map<String, Set<String>> identityLinkIdsByTaskId = new HashMap<String, Set<String>>();
+  protected Map<String, Set<String>> variableIdsByTaskId = new HashMap<String, Set<String>>();
+  protected Map<String, Set<String>> variableIdsByProcessInstanceId = new HashMap<String, Set<String>>();
+  protected Map<String, Set<String>> variableIdsByCaseInstanceId = new HashMap<String, Set<String>>();
+
+  protected Map<String, Set<String>> taskIdsByProcessInstanceId = new HashMap<String, Set<String>>();
+  protected Map<String, Set<String>> taskIdsByAssignee = new HashMap<String, Set<String>>();
+  protected Map<String, Set<String>> taskIdsByCandidateUser = new HashMap<String, Set<String>>();
+  protected Map<String, Set<String>> taskIdsByCandidateGroup = new HashMap<String, Set<String>>();
+
+  /** the time of deletion of deleted tasks, identity links and variables by id, oldest first */
+  protected LinkedHashMap<String, Long> tombstones = new LinkedHashMap<String, Long>();
+
+  /** the updates applied since the running rebuild started, null if no rebuild is running */
+  protected List<TaskSearchIndexUpdate> updatesDuringRebuild;
+
+  /**
+   * @param databaseType the type of the database of the process engine, determines the order of null values
+   */
+  public InMemoryTaskSearchIndex(String databaseType) {
+    isNullOrderedLast = DATABASES_ORDERING_NULLS_LAST.contains(databaseType);
+  }
+
+  public boolean isInitialized() {
+    return isInitialized;
+  }
+
+  public boolean isQuerySupported(TaskQueryImpl query) {
+    if (query.getInvolvedUser() != null
+        || query.getProcessDefinitionName() != null
+        || query.getProcessDefinitionNameLike() != null
+        || query.getProcessInstanceBusinessKey() != null
+        || query.getProcessInstanceBusinessKeyLike() != null
+        || !isEmpty(query.getProcessInstanceBusinessKeys())
+        || query.getCaseDefinitionKey() != null
+        || query.getCaseDefinitionName() != null
+        || query.getCaseDefinitionNameLike() != null
+        || query.getCaseInstanceBusinessKey() != null
+        || query.getCaseInstanceBusinessKeyLike() != null
+        || !isEmpty(query.getActivityInstanceIdIn())
+        // the suspension state of tasks is changed by bulk updates which are not flushed as entities
+        || query.getSuspensionState() != null) {
+      return false;
+    }
+
+    for (QueryOrderingProperty orderingProperty : query.getOrderingProperties()) {
+      if (orderingProperty.getRelation() != null
+          || !SUPPORTED_ORDERING_PROPERTIES.contains(orderingProperty.getQueryProperty())) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  public List<String> findTaskIds(TaskQueryImpl query, int firstResult, int maxResults) {
+    QueryEvaluation evaluation = new QueryEvaluation(query);
+
+    List<TaskDocument> result;
+    lock.readLock().lock();
+    try {
+      result = evaluation.findMatchingTasks();
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+
+    Collections.sort(result, new TaskDocumentComparator(query.getOrderingProperties(), isNullOrderedLast));
+
+    List<String> taskIds = new ArrayList<String>();
+    long lastResult = Math.min((long) firstResult + maxResults, result.size());
+    for (int i = Math.max(firstResult, 0); i < lastResult; i++) {
+      taskIds.add(result.get(i).getId());
+    }
+    return taskIds;
+  }
+
+  public long countTasks(TaskQueryImpl query) {
+    QueryEvaluation evaluation = new QueryEvaluation(query);
+
+    lock.readLock().lock();
+    try {
+      return evaluation.findMatchingTasks().size();
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public void update(TaskSearchIndexUpdate update) {
+    lock.writeLock().lock();
+    try {
+      apply(update);
+      if (updatesDuringRebuild != null) {
+        updatesDuringRebuild.add(update);
+      }
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void startRebuild() {
+    lock.writeLock().lock();
+    try {
+      updatesDuringRebuild = new ArrayList<TaskSearchIndexUpdate>();
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void completeRebuild(TaskSearchIndexUpdate content) {
+    lock.writeLock().lock();
+    try {
+      clear();
+      apply(content);
+
+      // the content may have been selected before some of the updates were committed
+      if (updatesDuringRebuild != null) {
+        for (TaskSearchIndexUpdate update : updatesDuringRebuild) {
+          apply(update);
+        }
+      }
+
+      updatesDuringRebuild = null;
+      isInitialized = true;
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void abortRebuild() {
+    lock.writeLock().lock();
+    try {
+      updatesDuringRebuild = null;
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // maintenance /////////////////////////////////////////////////////////////
+
+  protected void clear() {
+    tasks.clear();
+    identityLinks.clear();
+    variables.clear();
+    identityLinkIdsByTaskId.clear();
+    variableIdsByTaskId.clear();
+    variableIdsByProcessInstanceId.clear();
+    variableIdsByCaseInstanceId.clear();
+    taskIdsByProcessInstanceId.clear();
+    taskIdsByAssignee.clear();
+    taskIdsByCandidateUser.clear();
+    taskIdsByCandidateGroup.clear();
+    tombstones.clear();
+  }
+
+  protected void apply(TaskSearchIndexUpdate update) {
+    removeExpiredTombstones();
+
+    for (String taskId : update.getDeletedTaskIds()) {
+      removeTask(taskId);
+      addTombstone(taskId);
+    }
+    for (TaskDocument task : update.getTasks()) {
+      TaskDocument indexedTask = tasks.get(task.getId());
+      if (!tombstones.containsKey(task.getId())
+          && (indexedTask == null || indexedTask.getRevision() <= task.getRevision())) {
+        removeTask(task.getId());
+        addTask(task);
+      }
+    }
+
+    for (String identityLinkId : update.getDeletedIdentityLinkIds()) {
+      removeIdentityLink(identityLinkId);
+      addTombstone(identityLinkId);
+    }
+    for (IdentityLinkDocument identityLink : update.getIdentityLinks()) {
+      // identity links are never updated, only inserted and deleted
+      if (!tombstones.containsKey(identityLink.getId())) {
+        removeIdentityLink(identityLink.getId());
+        addIdentityLink(identityLink);
+      }
+    }
+
+    for (String variableId : update.getDeletedVariableIds()) {
+      removeVariable(variableId);
+      addTombstone(variableId);
+    }
+    for (VariableDocument variable : update.getVariables()) {
+      VariableDocument indexedVariable = variables.get(variable.getId());
+      if (!tombstones.containsKey(variable.getId())
+          && (indexedVariable == null || indexedVariable.getRevision() <= variable.getRevision())) {
+        removeVariable(variable.getId());
+        addVariable(variable);
+      }
+    }
+  }
+
+  protected void addTombstone(String id) {
+    // re-insert the id, so that the tombstones stay ordered by the time of deletion
+    tombstones.remove(id);
+    tombstones.put(id, System.currentTimeMillis());
+  }
+
+  protected void removeExpiredTombstones() {
+    long expiredBefore = System.currentTimeMillis() - TOMBSTONE_RETENTION_MILLIS;
+
+    Iterator<Long> deletionTimes = tombstones.values().iterator();
+    while (deletionTimes.hasNext() && deletionTimes.next() < expiredBefore) {
+      deletionTimes.remove();
+    }
+  }
+
+  protected void addTask(TaskDocument task) {
+    tasks.put(task.getId(), task);
+    addToIndex(taskIdsByProcessInstanceId, task.getProcessInstanceId(), task.getId());
+    addToIndex(taskIdsByAssignee, task.getAssignee(), task.getId());
+  }
+
+  protected void removeTask(String taskId) {
+    TaskDocument task = tasks.remove(taskId);
+    if (task != null) {
+      removeFromIndex(taskIdsByProcessInstanceId, task.getProcessInstanceId(), taskId);
+      removeFromIndex(taskIdsByAssignee, task.getAssignee(), taskId);
+    }
+  }
+
+  protected void addIdentityLink(IdentityLinkDocument identityLink) {
+    identityLinks.put(identityLink.getId(), identityLink);
+    addToIndex(identityLinkIdsByTaskId, identityLink.getTaskId(), identityLink.getId());
+
+    if (IdentityLinkType.CANDIDATE.equals(identityLink.getType())) {
+      addToIndex(taskIdsByCandidateUser, identityLink.getUserId(), identityLink.getTaskId());
+      addToIndex(taskIdsByCandidateGroup, identityLink.getGroupId(), identityLink.getTaskId());
+    }
+  }
+
+  protected void removeIdentityLink(String identityLinkId) {
+    IdentityLinkDocument identityLink = identityLinks.remove(identityLinkId);
+    if (identityLink == null) {
+      return;
+    }
+
+    String taskId = identityLink.getTaskId();
+    removeFromIndex(identityLinkIdsByTaskId, taskId, identityLinkId);
+
+    if (IdentityLinkType.CANDIDATE.equals(identityLink.getType())) {
+      // another candidate link of the task may refer to the same user or group
+      boolean isUserStillCandidate = false;
+      boolean isGroupStillCandidate = false;
+      for (IdentityLinkDocument other : getIdentityLinks(taskId)) {
+        if (IdentityLinkType.CANDIDATE.equals(other.getType())) {
+          isUserStillCandidate |= identityLink.getUserId() != null && identityLink.getUserId().equals(other.getUserId());
+          isGroupStillCandidate |= identityLink.getGroupId() != null && identityLink.getGroupId().equals(other.getGroupId());
+        }
+      }
+      if (!isUserStillCandidate) {
+        removeFromIndex(taskIdsByCandidateUser, identityLink.getUserId(), taskId);
+      }
+      if (!isGroupStillCandidate) {
+        removeFromIndex(taskIdsByCandidateGroup, identityLink.getGroupId(), taskId);
+      }
+    }
+  }
+
+  protected void addVariable(VariableDocument variable) {
+    variables.put(variable.getId(), variable);
+    addToIndex(getVariableScopeIndex(variable), getVariableScopeId(variable), variable.getId());
+  }
+
+  protected void removeVariable(String variableId) {
+    VariableDocument variable = variables.remove(variableId);
+    if (variable != null) {
+      removeFromIndex(getVariableScopeIndex(variable), getVariableScopeId(variable), variableId);
+    }
+  }
+
+  protected Map<String, Set<String>> getVariableScopeIndex(VariableDocument variable) {
+    if (variable.getTaskId() != null) {
+      return variableIdsByTaskId;
+    }
+    else if (variable.getProcessInstanceId() != null) {
+      return variableIdsByProcessInstanceId;
+    }
+    else {
+      return variableIdsByCaseInstanceId;
+    }
+  }
+
+  protected String getVariableScopeId(VariableDocument variable) {
+    if (variable.getTaskId() != null) {
+      return variable.getTaskId();
+    }
+    else if (variable.getProcessInstanceId() != null) {
+      return variable.getProcessInstanceId();
+    }
+    else {
+      return variable.getCaseInstanceId();
+    }
+  }
+
+  protected static void addToIndex(Map<String, Set<String>> index, String key, String id) {
+    if (key == null) {
+      return;
+    }
+    Set<String> ids = index.get(key);
+    if (ids == null) {
+      ids = new LinkedHashSet<String>();
+      index.put(key, ids);
+    }
+    ids.add(id);
+  }
+
+  protected static void removeFromIndex(Map<String, Set<String>> index, String key, String id) {
+    if (key == null) {
+      return;
+    }
+    Set<String> ids = index.get(key);
+    if (ids != null) {
+      ids.remove(id);
+      if (ids.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  protected List<IdentityLinkDocument> getIdentityLinks(String taskId) {
+    return resolve(identityLinkIdsByTaskId.get(taskId), identityLinks);
+  }
+
+  protected static <T> List<T> resolve(Set<String> ids, Map<String, T> documents) {
+    if (ids == null) {
+      return Collections.emptyList();
+    }
+    List<T> result = new ArrayList<T>(ids.size());
+    for (String id : ids) {
+      T document = documents.get(id);
+      if (document != null) {
+        result.add(document);
+      }
+    }
+    return result;
+  }
+
+  protected static boolean isEmpty(Object[] array) {
+    return array == null || array.length == 0;
+  }
+
+  // query evaluation ////////////////////////////////////////////////////////
+
+  /**
+   * Evaluates the criteria of one task query. Must be used while holding the read lock.
+   */
+  protected class QueryEvaluation {
+
+    protected TaskQueryImpl query;
+    protected List<String> candidateGroups;
+    protected boolean isCandidateQuery;
+    protected Map<String, Pattern> likePatterns = new HashMap<String, Pattern>();
+
+    public QueryEvaluation(TaskQueryImpl query) {
+      this.query = query;
+      // resolves the groups of the candidate user, so it is done before taking the lock
+      this.candidateGroups = query.getCandidateGroups();
+      this.isCandidateQuery = query.getCandidateUser() != null || candidateGroups != null || query.isWithCandidateGroups();
+    }
+
+    public List<TaskDocument> findMatchingTasks() {
+      List<TaskDocument> result = new ArrayList<TaskDocument>();
+      for (String taskId : selectCandidateTaskIds()) {
+        TaskDocument task = tasks.get(taskId);
+        if (task != null && matches(task)) {
+          result.add(task);
+        }
+      }
+      return result;
+    }
+
+    protected Collection<String> selectCandidateTaskIds() {
+      if (query.getTaskId() != null) {
+        return Collections.singleton(query.getTaskId());
+      }
+      if (query.getProcessInstanceId() != null) {
+        return getIds(taskIdsByProcessInstanceId, query.getProcessInstanceId());
+      }
+      if (query.getAssignee() != null) {
+        return getIds(taskIdsByAssignee, query.getAssignee());
+      }
+      if (query.getCandidateUser() != null || candidateGroups != null) {
+        Set<String> taskIds = new HashSet<String>(getIds(taskIdsByCandidateUser, query.getCandidateUser()));
+        if (candidateGroups != null) {
+          for (String candidateGroup : candidateGroups) {
+            taskIds.addAll(getIds(taskIdsByCandidateGroup, candidateGroup));
+          }
+        }
+        return taskIds;
+      }
+      return tasks.keySet();
+    }
+
+    protected Collection<String> getIds(Map<String, Set<String>> index, String key) {
+      Set<String> ids = key != null ? index.get(key) : null;
+      if (ids == null) {
+        return Collections.emptySet();
+      }
+      return ids;
+    }
+
+    protected boolean matches(TaskDocument task) {
+      return matchesTaskProperties(task)
+          && matchesDates(task)
+          && matchesTenant(task)
+          && matchesCandidates(task)
+          && matchesVariables(task);
+    }
+
+    protected boolean matchesTaskProperties(TaskDocument task) {
+      String name = task.getName() != null ? task.getName().toUpperCase() : null;
+
+      return isEqual(query.getTaskId(), task.getId())
+          && (query.getName() == null || query.getName().toUpperCase().equals(name))
+          && (query.getNameLike() == null || isLike(name, query.getNameLike().toUpperCase()))
+          && isEqual(query.getDescription(), task.getDescription())
+          && isLikeIfSet(task.getDescription(), query.getDescriptionLike())
+          && (query.getPriority() == null || query.getPriority() == task.getPriority())
+          && (query.getMinPriority() == null || task.getPriority() >= query.getMinPriority())
+          && (query.getMaxPriority() == null || task.getPriority() <= query.getMaxPriority())
+          && isEqual(query.getAssignee(), task.getAssignee())
+          && isLikeIfSet(task.getAssignee(), query.getAssigneeLike())
+          && isEqual(query.getOwner(), task.getOwner())
+          && (!query.isUnassigned() || task.getAssignee() == null)
+          && (!query.isAssigned() || task.getAssignee() != null)
+          && (!query.isNoDelegationState() || task.getDelegationState() == null)
+          && isEqual(query.getDelegationStateString(), task.getDelegationState())
+          && isEqual(query.getProcessInstanceId(), task.getProcessInstanceId())
+          && isEqual(query.getExecutionId(), task.getExecutionId())
+          && isEqual(query.getCaseInstanceId(), task.getCaseInstanceId())
+          && isEqual(query.getCaseExecutionId(), task.getCaseExecutionId())
+          && isEqual(query.getKey(), task.getTaskDefinitionKey())
+          && isLikeIfSet(task.getTaskDefinitionKey(), query.getKeyLike())
+          && isContained(query.getKeys(), task.getTaskDefinitionKey())
+          && isEqual(query.getParentTaskId(), task.getParentTaskId())
+          && (!query.isExcludeSubtasks() || task.getParentTaskId() == null)
+          && isEqual(query.getProcessDefinitionId(), task.getProcessDefinitionId())
+          && isEqual(query.getProcessDefinitionKey(), task.getProcessDefinitionKey())
+          && isContained(query.getProcessDefinitionKeys(), task.getProcessDefinitionKey())
+          && isEqual(query.getCaseDefinitionId(), task.getCaseDefinitionId());
+    }
+
+    protected boolean matchesDates(TaskDocument task) {
+      Date dueDate = task.getDueDate();
+      Date followUpDate = task.getFollowUpDate();
+
+      boolean isDueDateQueried = query.getDueDate() != null || query.getDueBefore() != null || query.getDueAfter() != null;
+      boolean isFollowUpDateQueried = query.getFollowUpDate() != null || query.getFollowUpBefore() != null || query.getFollowUpAfter() != null;
+
+      if (isDueDateQueried && dueDate == null) {
+        return false;
+      }
+      if (isFollowUpDateQueried && followUpDate == null && !query.isFollowUpNullAccepted()) {
+        return false;
+      }
+
+      return isEqual(query.getCreateTime(), task.getCreateTime())
+          && isBefore(task.getCreateTime(), query.getCreateTimeBefore())
+          && isAfter(task.getCreateTime(), query.getCreateTimeAfter())
+          && isEqual(query.getDueDate(), dueDate)
+          && isBefore(dueDate, query.getDueBefore())
+          && isAfter(dueDate, query.getDueAfter())
+          && isEqual(query.getFollowUpDate(), followUpDate)
+          && (followUpDate == null || isBefore(followUpDate, query.getFollowUpBefore()))
+          && isAfter(followUpDate, query.getFollowUpAfter());
+    }
+
+    protected boolean matchesTenant(TaskDocument task) {
+      String tenantId = task.getTenantId();
+
+      if (query.isTenantIdSet()) {
+        String[] tenantIds = query.getTenantIds();
+        if (tenantIds == null) {
+          if (tenantId != null) {
+            return false;
+          }
+        }
+        else if (tenantIds.length > 0 && !Arrays.asList(tenantIds).contains(tenantId)) {
+          return false;
+        }
+      }
+
+      TenantCheck tenantCheck = query.getTenantCheck();
+      if (tenantCheck.isTenantCheckEnabled() && tenantId != null) {
+        List<String> authTenantIds = tenantCheck.getAuthTenantIds();
+        return authTenantIds != null && authTenantIds.contains(tenantId);
+      }
+
+      return true;
+    }
+
+    protected boolean matchesCandidates(TaskDocument task) {
+      boolean isWithoutCandidateGroups = query.isWithoutCandidateGroups();
+      if ((isCandidateQuery || isWithoutCandidateGroups) && !query.isIncludeAssignedTasks() && task.getAssignee() != null) {
+        return false;
+      }
+      if (!isCandidateQuery && !isWithoutCandidateGroups) {
+        return true;
+      }
+
+      boolean hasMatchingLink = false;
+      boolean hasCandidateGroup = false;
+      for (IdentityLinkDocument identityLink : getIdentityLinks(task.getId())) {
+        if (!IdentityLinkType.CANDIDATE.equals(identityLink.getType())) {
+          continue;
+        }
+        hasCandidateGroup |= identityLink.getGroupId() != null;
+        hasMatchingLink |= matchesCandidateLink(identityLink);
+      }
+
+      return (!isCandidateQuery || hasMatchingLink)
+          && (!isWithoutCandidateGroups || !hasCandidateGroup);
+    }
+
+    protected boolean matchesCandidateLink(IdentityLinkDocument identityLink) {
+      String candidateUser = query.getCandidateUser();
+      if (candidateUser != null || candidateGroups != null) {
+        boolean isCandidateUser = candidateUser != null && candidateUser.equals(identityLink.getUserId());
+        boolean isCandidateGroup = candidateGroups != null && candidateGroups.contains(identityLink.getGroupId());
+        if (!isCandidateUser && !isCandidateGroup) {
+          return false;
+        }
+      }
+      return !query.isWithCandidateGroups() || identityLink.getGroupId() != null;
+    }
+
+    protected boolean matchesVariables(TaskDocument task) {
+      for (TaskQueryVariableValue variableValue : query.getVariables()) {
+        List<VariableDocument> scopeVariables;
+        if (variableValue.isLocal()) {
+          scopeVariables = resolve(variableIdsByTaskId.get(task.getId()), variables);
+        }
+        else if (variableValue.isProcessInstanceVariable()) {
+          scopeVariables = resolve(variableIdsByProcessInstanceId.get(task.getProcessInstanceId()), variables);
+        }
+        else {
+          scopeVariables = resolve(variableIdsByCaseInstanceId.get(task.getCaseInstanceId()), variables);
+        }
+
+        boolean exists = false;
+        for (VariableDocument variable : scopeVariables) {
+          if (variable.getName().equals(variableValue.getName()) && matchesVariableValue(variable, variableValue)) {
+            exists = true;
+            break;
+          }
+        }
+        if (!exists) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    protected boolean matchesVariableValue(VariableDocument variable, QueryVariableValue variableValue) {
+      List<SingleQueryVariableValueCondition> conditions = variableValue.getValueConditions();
+      if (conditions == null) {
+        return true;
+      }
+
+      QueryOperator operator = variableValue.getOperator();
+      boolean matchesAny = false;
+      for (SingleQueryVariableValueCondition condition : conditions) {
+        if (matchesCondition(variable, condition, operator)) {
+          matchesAny = true;
+          break;
+        }
+      }
+
+      // NOT_EQUALS negates the conditions of EQUALS
+      return operator == QueryOperator.NOT_EQUALS ? !matchesAny : matchesAny;
+    }
+
+    protected boolean matchesCondition(VariableDocument variable, SingleQueryVariableValueCondition condition, QueryOperator operator) {
+      // when the value is null, the type does not matter
+      if (!"null".equals(condition.getType()) && !condition.getType().equals(variable.getType())) {
+        return false;
+      }
+
+      String textValue = condition.getTextValue();
+      String textValue2 = condition.getTextValue2();
+      Long longValue = condition.getLongValue();
+      Double doubleValue = condition.getDoubleValue();
+
+      if (textValue == null && textValue2 == null && longValue == null && doubleValue == null) {
+        return variable.getTextValue() == null
+            && variable.getTextValue2() == null
+            && variable.getLongValue() == null
+            && variable.getDoubleValue() == null
+            && !variable.hasByteArrayValue();
+      }
+
+      return (textValue == null || longValue != null || doubleValue != null || compareText(variable.getTextValue(), textValue, operator))
+          && (textValue2 == null || compareText(variable.getTextValue2(), textValue2, operator))
+          && (longValue == null || compare(variable.getLongValue(), longValue, operator))
+          && (doubleValue == null || compare(variable.getDoubleValue(), doubleValue, operator));
+    }
+
+    protected boolean compareText(String value, String queryValue, QueryOperator operator) {
+      if (operator == QueryOperator.LIKE) {
+        return value != null && isLike(value, queryValue);
+      }
+      return compare(value, queryValue, operator);
+    }
+
+    protected <T extends Comparable<T>> boolean compare(T value, T queryValue, QueryOperator operator) {
+      if (value == null) {
+        return false;
+      }
+
+      int comparison = value.compareTo(queryValue);
+      switch (operator) {
+      case GREATER_THAN:
+        return comparison > 0;
+      case GREATER_THAN_OR_EQUAL:
+        return comparison >= 0;
+      case LESS_THAN:
+        return comparison < 0;
+      case LESS_THAN_OR_EQUAL:
+        return comparison <= 0;
+      default:
+        // EQUALS and NOT_EQUALS, which is negated by the caller
+        return comparison == 0;
+      }
+    }
+
+    protected boolean isLikeIfSet(String value, String pattern) {
+      return pattern == null || (value != null && isLike(value, pattern));
+    }
+
+    protected boolean isLike(String value, String pattern) {
+      if (value == null) {
+        return false;
+      }
+      Pattern regex = likePatterns.get(pattern);
+      if (regex == null) {
+        regex = toRegex(pattern);
+        likePatterns.put(pattern, regex);
+      }
+      return regex.matcher(value).matches();
+    }
+
+  }
+
+  /**
+   * Translates the SQL LIKE wildcards <code>%</code> and <code>_</code> into a regular expression.
+   */
+  protected static Pattern toRegex(String likePattern) {
+    StringBuilder regex = new StringBuilder();
+    StringBuilder literal = new StringBuilder();
+    for (char c : likePattern.toCharArray()) {
+      if (c == '%' || c == '_') {
+        if (literal.length() > 0) {
+          regex.append(Pattern.quote(literal.toString()));
+          literal.setLength(0);
+        }
+        regex.append(c == '%' ? ".*" : ".");
+      }
+      else {
+        literal.append(c);
+      }
+    }
+    if (literal.length() > 0) {
+      regex.append(Pattern.quote(literal.toString()));
+    }
+    return Pattern.compile(regex.toString(), Pattern.DOTALL);
+  }
+
+  protected static boolean isEqual(Object queryValue, Object value) {
+    return queryValue == null || queryValue.equals(value);
+  }
+
+  protected static boolean isContained(String[] queryValues, String value) {
+    return isEmpty(queryValues) || Arrays.asList(queryValues).contains(value);
+  }
+
+  protected static boolean isBefore(Date value, Date queryValue) {
+    return queryValue == null || (value != null && value.before(queryValue));
+  }
+
+  protected static boolean isAfter(Date value, Date queryValue) {
+    return queryValue == null || (value != null && value.after(queryValue));
+  }
+
+  // ordering ////////////////////////////////////////////////////////////////
+
+  /**
+   * Orders tasks like the SQL statement, i.e. by the ordering properties of the query
+   * and by id if no ordering is requested. The id is the last criterion, so that the
+   * order is stable between pages. Text properties are not supported, their order
+   * depends on the collation of the database.
+   */
+  protected static class TaskDocumentComparator implements Comparator<TaskDocument> {
+
+    protected List<QueryOrderingProperty> orderingProperties;
+    protected boolean isNullOrderedLast;
+
+    public TaskDocumentComparator(List<QueryOrderingProperty> orderingProperties, boolean isNullOrderedLast) {
+      this.orderingProperties = orderingProperties;
+      this.isNullOrderedLast = isNullOrderedLast;
+    }
+
+    public int compare(TaskDocument task1, TaskDocument task2) {
+      for (QueryOrderingProperty orderingProperty : orderingProperties) {
+        int comparison = compareProperty(orderingProperty.getQueryProperty(), task1, task2);
+        if (comparison != 0) {
+          return Direction.DESCENDING.equals(orderingProperty.getDirection()) ? -comparison : comparison;
+        }
+      }
+      return task1.getId().compareTo(task2.getId());
+    }
+
+    protected int compareProperty(QueryProperty property, TaskDocument task1, TaskDocument task2) {
+      if (TaskQueryProperty.TASK_ID.equals(property)) {
+        return compareNullable(task1.getId(), task2.getId());
+      }
+      else if (TaskQueryProperty.PRIORITY.equals(property)) {
+        return compareNullable(task1.getPriority(), task2.getPriority());
+      }
+      else if (TaskQueryProperty.CREATE_TIME.equals(property)) {
+        return compareNullable(task1.getCreateTime(), task2.getCreateTime());
+      }
+      else if (TaskQueryProperty.PROCESS_INSTANCE_ID.equals(property)) {
+        return compareNullable(task1.getProcessInstanceId(), task2.getProcessInstanceId());
+      }
+      else if (TaskQueryProperty.CASE_INSTANCE_ID.equals(property)) {
+        return compareNullable(task1.getCaseInstanceId(), task2.getCaseInstanceId());
+      }
+      else if (TaskQueryProperty.EXECUTION_ID.equals(property)) {
+        return compareNullable(task1.getExecutionId(), task2.getExecutionId());
+      }
+      else if (TaskQueryProperty.CASE_EXECUTION_ID.equals(property)) {
+        return compareNullable(task1.getCaseExecutionId(), task2.getCaseExecutionId());
+      }
+      else if (TaskQueryProperty.DUE_DATE.equals(property)) {
+        return compareNullable(task1.getDueDate(), task2.getDueDate());
+      }
+      else if (TaskQueryProperty.FOLLOW_UP_DATE.equals(property)) {
+        return compareNullable(task1.getFollowUpDate(), task2.getFollowUpDate());
+      }
+      return 0;
+    }
+
+    /**
+     * Null values are ordered first, or last if the database orders them last.
+     */
+    protected <T extends Comparable<T>> int compareNullable(T value1, T value2) {
+      if (value1 == null) {
+        return value2 == null ? 0 : (isNullOrderedLast ? 1 : -1);
+      }
+      else if (value2 == null) {
+        return isNullOrderedLast ? -1 : 1;
+      }
+      return value1.compareTo(value2);
+    }
+  }
+
+}
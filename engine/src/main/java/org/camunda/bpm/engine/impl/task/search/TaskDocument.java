@@ -0,0 +1,166 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task.search;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+
+/**
+ * The state of a task which is relevant for task queries, copied from a {@link TaskEntity}.
+ */
+public class TaskDocument {
+
+  protected String id;
+  protected String name;
+  protected String description;
+  protected int priority;
+  protected String assignee;
+  protected String owner;
+  protected String delegationState;
+  protected String parentTaskId;
+  protected String executionId;
+  protected String processInstanceId;
+  protected String processDefinitionId;
+  protected String processDefinitionKey;
+  protected String caseExecutionId;
+  protected String caseInstanceId;
+  protected String caseDefinitionId;
+  protected String taskDefinitionKey;
+  protected Date createTime;
+  protected Date dueDate;
+  protected Date followUpDate;
+  protected String tenantId;
+  protected int revision;
+
+  public TaskDocument(TaskEntity task) {
+    this(task, task.getRevision());
+  }
+
+  /**
+   * @param revision the revision of the task in the database
+   */
+  public TaskDocument(TaskEntity task, int revision) {
+    this.revision = revision;
+    id = task.getId();
+    name = task.getName();
+    description = task.getDescription();
+    priority = task.getPriority();
+    assignee = task.getAssignee();
+    owner = task.getOwner();
+    delegationState = task.getDelegationStateString();
+    parentTaskId = task.getParentTaskId();
+    executionId = task.getExecutionId();
+    processInstanceId = task.getProcessInstanceId();
+    processDefinitionId = task.getProcessDefinitionId();
+    caseExecutionId = task.getCaseExecutionId();
+    caseInstanceId = task.getCaseInstanceId();
+    caseDefinitionId = task.getCaseDefinitionId();
+    taskDefinitionKey = task.getTaskDefinitionKey();
+    createTime = task.getCreateTime();
+    dueDate = task.getDueDate();
+    followUpDate = task.getFollowUpDate();
+    tenantId = task.getTenantId();
+
+    ProcessDefinitionEntity processDefinition = task.getProcessDefinition();
+    if (processDefinition != null) {
+      processDefinitionKey = processDefinition.getKey();
+    }
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public int getRevision() {
+    return revision;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public int getPriority() {
+    return priority;
+  }
+
+  public String getAssignee() {
+    return assignee;
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public String getDelegationState() {
+    return delegationState;
+  }
+
+  public String getParentTaskId() {
+    return parentTaskId;
+  }
+
+  public String getExecutionId() {
+    return executionId;
+  }
+
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public String getCaseExecutionId() {
+    return caseExecutionId;
+  }
+
+  public String getCaseInstanceId() {
+    return caseInstanceId;
+  }
+
+  public String getCaseDefinitionId() {
+    return caseDefinitionId;
+  }
+
+  public String getTaskDefinitionKey() {
+    return taskDefinitionKey;
+  }
+
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public Date getDueDate() {
+    return dueDate;
+  }
+
+  public Date getFollowUpDate() {
+    return followUpDate;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+}
@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task.search;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+
+/**
+ * A search index which answers task queries instead of the database.
+ *
+ * <p>The process engine keeps the index in sync by passing it the committed changes
+ * of tasks, their identity links and all runtime variables (see
+ * {@link #update(TaskSearchIndexUpdate)}). Since changes which are not made through
+ * the entities of this process engine (e.g. bulk statements) are not seen, the index is
+ * periodically rebuilt from the database. Changes of other process engines are not seen
+ * either, so the index is not used while another process engine uses an index on the
+ * same database (see {@link TaskSearchIndexRebuilder}).</p>
+ *
+ * <p>The task manager only consults the index for queries the index
+ * {@link #isQuerySupported(TaskQueryImpl) supports} and which are not restricted by
+ * authorization checks. All other queries are answered by the database.</p>
+ *
+ * <p>Implementations must be thread-safe.</p>
+ */
+public interface TaskSearchIndex {
+
+  /**
+   * @return true if the index was built and can answer queries
+   */
+  boolean isInitialized();
+
+  /**
+   * @return true if the index can evaluate all criteria and orderings of the query
+   */
+  boolean isQuerySupported(TaskQueryImpl query);
+
+  /**
+   * @return the ids of the tasks which match the query, ordered as requested by the query
+   */
+  List<String> findTaskIds(TaskQueryImpl query, int firstResult, int maxResults);
+
+  /**
+   * @return the number of tasks which match the query
+   */
+  long countTasks(TaskQueryImpl query);
+
+  /**
+   * Applies committed changes. Changes may be passed in a different order than they were
+   * committed, so documents which are older than the indexed ones must be ignored.
+   */
+  void update(TaskSearchIndexUpdate update);
+
+  /**
+   * Starts to rebuild the index. The changes passed to {@link #update(TaskSearchIndexUpdate)}
+   * until the rebuild is completed must be applied once more on top of the rebuilt content.
+   * Rebuilds do not overlap.
+   */
+  void startRebuild();
+
+  /**
+   * Replaces the content of the index and applies the changes which were passed since
+   * the rebuild started.
+   *
+   * @param content all tasks, identity links of tasks and runtime variables, selected
+   *   after the rebuild started
+   */
+  void completeRebuild(TaskSearchIndexUpdate content);
+
+  /**
+   * Stops a rebuild which could not be completed, the index keeps its content.
+   */
+  void abortRebuild();
+
+}
@@ -0,0 +1,137 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task.search;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.entitymanager.FlushListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * Collects the changed tasks, identity links of tasks and variables while the entity
+ * cache of a command is flushed and applies them to the {@link TaskSearchIndex} once
+ * the transaction is committed.
+ */
+public class TaskSearchIndexCollector implements FlushListener, TransactionListener {
+
+  protected TaskSearchIndex taskSearchIndex;
+  protected TaskSearchIndexUpdate update = new TaskSearchIndexUpdate();
+  protected boolean isRegistered = false;
+
+  public TaskSearchIndexCollector(TaskSearchIndex taskSearchIndex) {
+    this.taskSearchIndex = taskSearchIndex;
+  }
+
+  public void beforeFlush(List<CachedDbEntity> cachedEntities) {
+    for (CachedDbEntity cachedEntity : cachedEntities) {
+      collect(cachedEntity);
+    }
+
+    if (!update.isEmpty() && !isRegistered) {
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, this);
+      isRegistered = true;
+    }
+  }
+
+  /**
+   * Applies the collected changes after the transaction is committed.
+   */
+  public void execute(CommandContext commandContext) {
+    taskSearchIndex.update(update);
+    update = new TaskSearchIndexUpdate();
+    isRegistered = false;
+  }
+
+  protected void collect(CachedDbEntity cachedEntity) {
+    DbEntity entity = cachedEntity.getEntity();
+    if (!isIndexed(entity)) {
+      return;
+    }
+
+    switch (cachedEntity.getEntityState()) {
+    case TRANSIENT:
+      // inserted entities start with the first revision
+      put(entity, 1);
+      break;
+    case MERGED:
+      put(entity, getRevisionNext(entity));
+      break;
+    case PERSISTENT:
+      if (cachedEntity.isDirty()) {
+        put(entity, getRevisionNext(entity));
+      }
+      break;
+    case DELETED_PERSISTENT:
+    case DELETED_MERGED:
+      delete(entity);
+      break;
+    default:
+      // DELETED_TRANSIENT entities never reach the database
+      break;
+    }
+  }
+
+  protected boolean isIndexed(DbEntity entity) {
+    return entity instanceof TaskEntity
+        || entity instanceof VariableInstanceEntity
+        || (entity instanceof IdentityLinkEntity && ((IdentityLinkEntity) entity).getTaskId() != null);
+  }
+
+  /**
+   * @return the revision the entity has in the database once it is updated
+   */
+  protected int getRevisionNext(DbEntity entity) {
+    if (entity instanceof HasDbRevision) {
+      return ((HasDbRevision) entity).getRevisionNext();
+    }
+    else {
+      return 0;
+    }
+  }
+
+  protected void put(DbEntity entity, int revision) {
+    if (entity instanceof TaskEntity) {
+      update.putTask(new TaskDocument((TaskEntity) entity, revision));
+    }
+    else if (entity instanceof VariableInstanceEntity) {
+      update.putVariable(new VariableDocument((VariableInstanceEntity) entity, revision));
+    }
+    else {
+      update.putIdentityLink(new IdentityLinkDocument((IdentityLinkEntity) entity));
+    }
+  }
+
+  protected void delete(DbEntity entity) {
+    if (entity instanceof TaskEntity) {
+      update.deleteTask(entity.getId());
+    }
+    else if (entity instanceof VariableInstanceEntity) {
+      update.deleteVariable(entity.getId());
+    }
+    else {
+      update.deleteIdentityLink(entity.getId());
+    }
+  }
+
+}
@@ -0,0 +1,203 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task.search;
+
+import java.util.Timer;
+import java.util.UUID;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.DeletePropertyCmd;
+import org.camunda.bpm.engine.impl.cmd.LoadTaskSearchIndexPageCmd;
+import org.camunda.bpm.engine.impl.cmd.RegisterTaskSearchIndexNodeCmd;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Builds the {@link TaskSearchIndex} when the process engine starts and rebuilds it
+ * periodically, so that changes which were not seen by the index (e.g. changes made
+ * by bulk statements) are eventually reflected.
+ *
+ * <p>The index only sees the changes of its own process engine, so it must not be used
+ * while other process engines work on the same database. Each process engine using an
+ * index registers itself in a property every {@link #getNodeCheckIntervalInSeconds() node
+ * check interval}. While the property of another process engine was updated within the
+ * last three intervals, the index is not used and task queries are answered by the
+ * database. Process engines which do not use an index cannot be detected, so the index
+ * must only be enabled on process engines which do not share their database.</p>
+ */
+public class TaskSearchIndexRebuilder {
+
+  private final static EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  /** number of node checks an active process engine may miss before it is considered stopped */
+  protected static final int MISSED_NODE_CHECKS_UNTIL_EXPIRY = 3;
+
+  protected TaskSearchIndex taskSearchIndex;
+  protected CommandExecutor commandExecutor;
+
+  // rebuild every 15 minutes...
+  protected long rebuildIntervalInSeconds = 60 * 15;
+
+  /** number of tasks, identity links or variables loaded per command */
+  protected int rebuildPageSize = 1000;
+
+  // check for other process engines every minute...
+  protected long nodeCheckIntervalInSeconds = 60;
+
+  /** id of this process engine in the registration property, unique per start of the process engine */
+  protected String nodeId = UUID.randomUUID().toString();
+
+  /** id of another process engine using an index on the same database, null if there is none */
+  protected volatile String activeOtherNodeId;
+
+  protected TaskSearchIndexRebuildTask rebuildTask;
+  protected TaskSearchIndexNodeCheckTask nodeCheckTask;
+  private Timer timer;
+
+  public TaskSearchIndexRebuilder(TaskSearchIndex taskSearchIndex, CommandExecutor commandExecutor) {
+    this.taskSearchIndex = taskSearchIndex;
+    this.commandExecutor = commandExecutor;
+    initRebuildTask();
+  }
+
+  protected void initRebuildTask() {
+    rebuildTask = new TaskSearchIndexRebuildTask(this);
+    nodeCheckTask = new TaskSearchIndexNodeCheckTask(this);
+  }
+
+  /**
+   * Registers the process engine, builds the index and schedules the periodic node check and rebuild.
+   */
+  public void start() {
+    nodeCheckTask.run();
+    rebuildTask.run();
+
+    timer = new Timer("Camunda Task Search Index Rebuilder", true);
+    long rebuildIntervalInMillis = rebuildIntervalInSeconds * 1000;
+
+    timer.scheduleAtFixedRate(rebuildTask,
+        rebuildIntervalInMillis,
+        rebuildIntervalInMillis);
+
+    long nodeCheckIntervalInMillis = nodeCheckIntervalInSeconds * 1000;
+    timer.scheduleAtFixedRate(nodeCheckTask,
+        nodeCheckIntervalInMillis,
+        nodeCheckIntervalInMillis);
+  }
+
+  public void stop() {
+    if(timer != null) {
+      timer.cancel();
+      timer = null;
+
+      try {
+        // other process engines can use their index right away
+        commandExecutor.execute(new DeletePropertyCmd(RegisterTaskSearchIndexNodeCmd.getPropertyName(nodeId)));
+      }
+      catch (Exception e) {
+        LOG.couldNotCheckTaskSearchIndexNodes(e);
+      }
+    }
+  }
+
+  /**
+   * Registers the process engine and checks whether another process engine uses an index on
+   * the same database. The index is rebuilt before it is used again after the other process
+   * engine stopped, since it missed the changes of that process engine.
+   */
+  public void checkNodesNow() {
+    long expiryInMillis = nodeCheckIntervalInSeconds * 1000 * MISSED_NODE_CHECKS_UNTIL_EXPIRY;
+    String otherNodeId = commandExecutor.execute(new RegisterTaskSearchIndexNodeCmd(nodeId, expiryInMillis));
+
+    if (otherNodeId != null) {
+      if (activeOtherNodeId == null) {
+        LOG.taskSearchIndexUsedByOtherNode(otherNodeId);
+      }
+      activeOtherNodeId = otherNodeId;
+    }
+    else if (activeOtherNodeId != null) {
+      rebuildNow();
+      activeOtherNodeId = null;
+    }
+  }
+
+  /**
+   * @return true if the index may answer queries, i.e. no other process engine uses an index on the same database
+   */
+  public boolean isIndexUsable() {
+    return activeOtherNodeId == null;
+  }
+
+  /**
+   * Rebuilds the index with the content selected page by page. Changes committed meanwhile
+   * are applied once more by the index after the content is replaced.
+   */
+  public synchronized void rebuildNow() {
+    taskSearchIndex.startRebuild();
+
+    boolean isCompleted = false;
+    try {
+      TaskSearchIndexUpdate content = new TaskSearchIndexUpdate();
+
+      LoadTaskSearchIndexPageCmd loadPageCmd = new LoadTaskSearchIndexPageCmd(content, rebuildPageSize);
+      while (commandExecutor.execute(loadPageCmd)) {
+        // load the next page
+      }
+
+      taskSearchIndex.completeRebuild(content);
+      isCompleted = true;
+    }
+    finally {
+      if (!isCompleted) {
+        taskSearchIndex.abortRebuild();
+      }
+    }
+  }
+
+  public long getRebuildIntervalInSeconds() {
+    return rebuildIntervalInSeconds;
+  }
+
+  public void setRebuildIntervalInSeconds(long rebuildIntervalInSeconds) {
+    this.rebuildIntervalInSeconds = rebuildIntervalInSeconds;
+  }
+
+  public long getNodeCheckIntervalInSeconds() {
+    return nodeCheckIntervalInSeconds;
+  }
+
+  public void setNodeCheckIntervalInSeconds(long nodeCheckIntervalInSeconds) {
+    this.nodeCheckIntervalInSeconds = nodeCheckIntervalInSeconds;
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  public int getRebuildPageSize() {
+    return rebuildPageSize;
+  }
+
+  public void setRebuildPageSize(int rebuildPageSize) {
+    this.rebuildPageSize = rebuildPageSize;
+  }
+
+  public TaskSearchIndex getTaskSearchIndex() {
+    return taskSearchIndex;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+}
@@ -0,0 +1,97 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task.search;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes of tasks, their identity links and variables which are applied to a
+ * {@link TaskSearchIndex}. Documents replace the previous documents with the same
+ * id. Not thread-safe.
+ */
+public class TaskSearchIndexUpdate {
+
+  protected Map<String, TaskDocument> tasks = new LinkedHashMap<String, TaskDocument>();
+  protected Set<String> deletedTaskIds = new HashSet<String>();
+
+  protected Map<String, IdentityLinkDocument> identityLinks = new LinkedHashMap<String, IdentityLinkDocument>();
+  protected Set<String> deletedIdentityLinkIds = new HashSet<String>();
+
+  protected Map<String, VariableDocument> variables = new LinkedHashMap<String, VariableDocument>();
+  protected Set<String> deletedVariableIds = new HashSet<String>();
+
+  public void putTask(TaskDocument task) {
+    tasks.put(task.getId(), task);
+    deletedTaskIds.remove(task.getId());
+  }
+
+  public void deleteTask(String taskId) {
+    tasks.remove(taskId);
+    deletedTaskIds.add(taskId);
+  }
+
+  public void putIdentityLink(IdentityLinkDocument identityLink) {
+    identityLinks.put(identityLink.getId(), identityLink);
+    deletedIdentityLinkIds.remove(identityLink.getId());
+  }
+
+  public void deleteIdentityLink(String identityLinkId) {
+    identityLinks.remove(identityLinkId);
+    deletedIdentityLinkIds.add(identityLinkId);
+  }
+
+  public void putVariable(VariableDocument variable) {
+    variables.put(variable.getId(), variable);
+    deletedVariableIds.remove(variable.getId());
+  }
+
+  public void deleteVariable(String variableId) {
+    variables.remove(variableId);
+    deletedVariableIds.add(variableId);
+  }
+
+  public boolean isEmpty() {
+    return tasks.isEmpty() && deletedTaskIds.isEmpty()
+        && identityLinks.isEmpty() && deletedIdentityLinkIds.isEmpty()
+        && variables.isEmpty() && deletedVariableIds.isEmpty();
+  }
+
+  public Collection<TaskDocument> getTasks() {
+    return tasks.values();
+  }
+
+  public Set<String> getDeletedTaskIds() {
+    return deletedTaskIds;
+  }
+
+  public Collection<IdentityLinkDocument> getIdentityLinks() {
+    return identityLinks.values();
+  }
+
+  public Set<String> getDeletedIdentityLinkIds() {
+    return deletedIdentityLinkIds;
+  }
+
+  public Collection<VariableDocument> getVariables() {
+    return variables.values();
+  }
+
+  public Set<String> getDeletedVariableIds() {
+    return deletedVariableIds;
+  }
+
+}
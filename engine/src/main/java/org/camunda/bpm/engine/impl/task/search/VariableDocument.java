@@ -0,0 +1,107 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task.search;
+
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * The persisted value fields of a variable, copied from a {@link VariableInstanceEntity}.
+ * Variable conditions of task queries are evaluated against these fields in the same way
+ * the database evaluates them against the columns of the variable table.
+ */
+public class VariableDocument {
+
+  protected String id;
+  protected String name;
+  protected String taskId;
+  protected String processInstanceId;
+  protected String caseInstanceId;
+  protected String type;
+  protected String textValue;
+  protected String textValue2;
+  protected Long longValue;
+  protected Double doubleValue;
+  protected boolean hasByteArrayValue;
+  protected int revision;
+
+  public VariableDocument(VariableInstanceEntity variable) {
+    this(variable, variable.getRevision());
+  }
+
+  /**
+   * @param revision the revision of the variable in the database
+   */
+  public VariableDocument(VariableInstanceEntity variable, int revision) {
+    this.revision = revision;
+    id = variable.getId();
+    name = variable.getName();
+    taskId = variable.getTaskId();
+    processInstanceId = variable.getProcessInstanceId();
+    caseInstanceId = variable.getCaseInstanceId();
+    type = variable.getSerializerName();
+    textValue = variable.getTextValue();
+    textValue2 = variable.getTextValue2();
+    longValue = variable.getLongValue();
+    doubleValue = variable.getDoubleValue();
+    hasByteArrayValue = variable.getByteArrayValueId() != null;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public int getRevision() {
+    return revision;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getTaskId() {
+    return taskId;
+  }
+
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  public String getCaseInstanceId() {
+    return caseInstanceId;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public String getTextValue() {
+    return textValue;
+  }
+
+  public String getTextValue2() {
+    return textValue2;
+  }
+
+  public Long getLongValue() {
+    return longValue;
+  }
+
+  public Double getDoubleValue() {
+    return doubleValue;
+  }
+
+  public boolean hasByteArrayValue() {
+    return hasByteArrayValue;
+  }
+
+}
@@ -16,6 +16,7 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.List;
 
 import org.camunda.bpm.engine.ArtifactFactory;
@@ -83,6 +84,21 @@ public class ClassDelegateUtil {
     }
   }
 
+  /**
+   * @return true if neither the given class nor any of its super classes declares an instance field,
+   *   i.e. an instance of the class can be shared by concurrent invocations
+   */
+  public static boolean isStateless(Class<?> clazz) {
+    for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
   public static boolean fieldTypeCompatible(FieldDeclaration declaration, Field field) {
     if(declaration.getValue() != null) {
       return field.getType().isAssignableFrom(declaration.getValue().getClass());
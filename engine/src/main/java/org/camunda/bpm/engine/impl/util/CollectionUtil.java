@@ -87,4 +87,16 @@ public class CollectionUtil {
     }
     set.addAll(values);
   }
+
+  /**
+   * Splits the list into consecutive sublists of at most the given size.
+   * The sublists are copies and can be used as SQL parameters.
+   */
+  public static <T> List<List<T>> partition(List<T> list, int partitionSize) {
+    List<List<T>> partitions = new ArrayList<List<T>>();
+    for (int i = 0; i < list.size(); i += partitionSize) {
+      partitions.add(new ArrayList<T>(list.subList(i, Math.min(i + partitionSize, list.size()))));
+    }
+    return partitions;
+  }
 }
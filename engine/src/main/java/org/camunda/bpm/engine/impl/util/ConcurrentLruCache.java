@@ -0,0 +1,167 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensurePositive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe cache with a bounded capacity and approximate least recently used eviction.
+ *
+ * <p>Lookups do not lock: the entries are kept in a {@link ConcurrentHashMap} and remember the
+ * time of their last access. Once the cache exceeds its capacity, the thread adding an entry
+ * evicts the least recently used tenth of the entries in one pass. Concurrent insertions do not
+ * wait for a running eviction, hence the cache may exceed its capacity for a short time.</p>
+ *
+ * <p>Subclasses can override {@link #evicted(Object, Object)} to be notified of the entries
+ * which are evicted, e.g. to keep them in a secondary cache.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class ConcurrentLruCache<K, V> {
+
+  /** the fraction of the entries which is evicted once the cache is full */
+  protected static final int EVICTION_FRACTION = 10;
+
+  protected final int capacity;
+  protected final ConcurrentHashMap<K, CacheEntry<V>> entries;
+  protected final ReentrantLock evictionLock = new ReentrantLock();
+
+  public ConcurrentLruCache(int capacity) {
+    ensurePositive("capacity", (long) capacity);
+    this.capacity = capacity;
+    this.entries = new ConcurrentHashMap<K, CacheEntry<V>>();
+  }
+
+  /**
+   * @return the cached value or <code>null</code> if the key is not cached
+   */
+  public V get(K key) {
+    CacheEntry<V> entry = entries.get(key);
+    if (entry != null) {
+      entry.lastAccess = System.nanoTime();
+      return entry.value;
+    }
+    return null;
+  }
+
+  public void put(K key, V value) {
+    entries.put(key, new CacheEntry<V>(value, System.nanoTime()));
+    if (entries.size() > capacity) {
+      evict();
+    }
+  }
+
+  public void remove(K key) {
+    entries.remove(key);
+  }
+
+  /**
+   * @return a view of the cached keys which reflects later changes of the cache
+   */
+  public Set<K> keySet() {
+    return entries.keySet();
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  protected void evict() {
+    if (!evictionLock.tryLock()) {
+      // another thread evicts already
+      return;
+    }
+    try {
+      int excess = entries.size() - capacity;
+      if (excess <= 0) {
+        return;
+      }
+
+      // the access times are copied since other threads keep updating them while sorting
+      List<EvictionCandidate<K, V>> candidates = new ArrayList<EvictionCandidate<K, V>>(entries.size());
+      for (Map.Entry<K, CacheEntry<V>> entry : entries.entrySet()) {
+        candidates.add(new EvictionCandidate<K, V>(entry.getKey(), entry.getValue()));
+      }
+      Collections.sort(candidates);
+
+      int toEvict = Math.min(candidates.size(), Math.max(excess, capacity / EVICTION_FRACTION));
+      for (int i = 0; i < toEvict; i++) {
+        EvictionCandidate<K, V> candidate = candidates.get(i);
+        if (entries.remove(candidate.key, candidate.entry)) {
+          evicted(candidate.key, candidate.entry.value);
+        }
+      }
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * Called for every entry which is evicted because the cache exceeded its capacity,
+   * but not for entries which are removed explicitly.
+   */
+  protected void evicted(K key, V value) {
+    // nothing to do by default
+  }
+
+  protected static class EvictionCandidate<K, V> implements Comparable<EvictionCandidate<K, V>> {
+
+    protected final K key;
+    protected final CacheEntry<V> entry;
+    protected final long lastAccess;
+
+    public EvictionCandidate(K key, CacheEntry<V> entry) {
+      this.key = key;
+      this.entry = entry;
+      this.lastAccess = entry.lastAccess;
+    }
+
+    public int compareTo(EvictionCandidate<K, V> other) {
+      return lastAccess < other.lastAccess ? -1 : (lastAccess == other.lastAccess ? 0 : 1);
+    }
+  }
+
+  protected static class CacheEntry<V> {
+
+    protected final V value;
+    protected volatile long lastAccess;
+
+    public CacheEntry(V value, long lastAccess) {
+      this.value = value;
+      this.lastAccess = lastAccess;
+    }
+  }
+
+}
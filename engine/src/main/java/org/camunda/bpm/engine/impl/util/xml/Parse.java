@@ -18,7 +18,6 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
 
 import org.camunda.bpm.engine.BpmnParseException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -39,10 +38,6 @@ public class Parse extends DefaultHandler {
 
   private static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
 
-  private static final String JAXP_SCHEMA_SOURCE = "http://java.sun.com/xml/jaxp/properties/schemaSource";
-  private static final String JAXP_SCHEMA_LANGUAGE = "http://java.sun.com/xml/jaxp/properties/schemaLanguage";
-  private static final String W3C_XML_SCHEMA = "http://www.w3.org/2001/XMLSchema";
-
   private static final String NEW_LINE = System.getProperty("line.separator");
 
   protected Parser parser;
@@ -117,15 +112,12 @@ public class Parse extends DefaultHandler {
     try {
       InputStream inputStream = streamSource.getInputStream();
 
-      if (schemaResource == null) { // must be done before parser is created
-        parser.getSaxParserFactory().setNamespaceAware(false);
-        parser.getSaxParserFactory().setValidating(false);
-      }
-
-      SAXParser saxParser = parser.getSaxParser();
+      SAXParser saxParser;
       if (schemaResource != null) {
-        saxParser.setProperty(JAXP_SCHEMA_LANGUAGE, W3C_XML_SCHEMA);
-        saxParser.setProperty(JAXP_SCHEMA_SOURCE, schemaResource);
+        saxParser = parser.getSchemaValidatingSaxParser(schemaResource);
+      }
+      else {
+        saxParser = parser.getSaxParser();
       }
       saxParser.parse(inputStream, new ParseHandler(this));
 
@@ -191,16 +183,11 @@ public class Parse extends DefaultHandler {
     throw LOG.exceptionDuringParsing(strb.toString());
   }
 
+  /**
+   * Validates the parsed document against the given schema. The schema is compiled once by the
+   * {@link Parser} and shared by all parses; <code>null</code> disables the validation.
+   */
   public void setSchemaResource(String schemaResource) {
-    SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
-    saxParserFactory.setNamespaceAware(true);
-    saxParserFactory.setValidating(true);
-    try {
-      saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
-    }
-    catch (Exception e) {
-      LOG.unableToSetSchemaResource(e);
-    }
     this.schemaResource = schemaResource;
   }
 
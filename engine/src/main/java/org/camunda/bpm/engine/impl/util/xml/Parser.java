@@ -12,8 +12,15 @@
  */
 package org.camunda.bpm.engine.impl.util.xml;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.XMLConstants;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
 
 
 /**
@@ -22,6 +29,12 @@ import javax.xml.parsers.SAXParserFactory;
 public class Parser {
 
   protected static SAXParserFactory defaultSaxParserFactory = SAXParserFactory.newInstance();
+
+  /**
+   * Parser factories validating against a compiled schema, keyed by schema resource. Compiling
+   * the schema is far more expensive than parsing a typical document, so it is only done once.
+   */
+  protected static Map<String, SAXParserFactory> schemaValidatingSaxParserFactories = new ConcurrentHashMap<String, SAXParserFactory>();
   
   public static final Parser INSTANCE = new Parser();
 
@@ -36,4 +49,27 @@ public class Parser {
   protected SAXParserFactory getSaxParserFactory() {
     return defaultSaxParserFactory;
   }
+
+  protected SAXParser getSchemaValidatingSaxParser(String schemaResource) throws Exception {
+    return getSchemaValidatingSaxParserFactory(schemaResource).newSAXParser();
+  }
+
+  protected SAXParserFactory getSchemaValidatingSaxParserFactory(String schemaResource) throws Exception {
+    SAXParserFactory saxParserFactory = schemaValidatingSaxParserFactories.get(schemaResource);
+
+    if (saxParserFactory == null) {
+      Schema schema = SchemaFactory
+        .newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+        .newSchema(new StreamSource(schemaResource));
+
+      saxParserFactory = SAXParserFactory.newInstance();
+      saxParserFactory.setNamespaceAware(true);
+      saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+      saxParserFactory.setSchema(schema);
+
+      schemaValidatingSaxParserFactories.put(schemaResource, saxParserFactory);
+    }
+
+    return saxParserFactory;
+  }
 }
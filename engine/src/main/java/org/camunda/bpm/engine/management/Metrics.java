@@ -55,4 +55,14 @@ public class Metrics {
    */
   public final static String EXECUTED_DECISION_ELEMENTS = "executed-decision-elements";
 
+  /**
+   * Number of script resources which were served from the deployment scoped script resource cache.
+   */
+  public final static String SCRIPT_RESOURCE_CACHE_HIT = "script-resource-cache-hit";
+
+  /**
+   * Number of script resources which had to be loaded because they were not cached yet.
+   */
+  public final static String SCRIPT_RESOURCE_CACHE_MISS = "script-resource-cache-miss";
+
 }
@@ -0,0 +1,51 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+import java.util.Date;
+
+/**
+ * A single execution of a SQL statement which took longer than the configured
+ * slow statement threshold.
+ *
+ * @see org.camunda.bpm.engine.ManagementService#getSlowSqlStatements()
+ */
+public interface SlowSqlStatement {
+
+  /**
+   * @return the class name of the command which executed the statement
+   */
+  String getCommandName();
+
+  /**
+   * @return the id of the MyBatis statement
+   */
+  String getStatementId();
+
+  /**
+   * @return the string representation of the statement parameter, truncated
+   *   to {@value org.camunda.bpm.engine.impl.db.profiler.SqlStatementProfiler#MAX_PARAMETER_LENGTH} characters
+   */
+  String getParameter();
+
+  /**
+   * @return the duration of the execution in microseconds
+   */
+  long getDurationMicros();
+
+  /**
+   * @return the time the execution completed
+   */
+  Date getTimestamp();
+
+}
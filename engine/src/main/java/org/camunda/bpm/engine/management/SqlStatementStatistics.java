@@ -0,0 +1,47 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+/**
+ * Aggregated count and duration of a SQL statement executed by a command.
+ *
+ * @see org.camunda.bpm.engine.ManagementService#getSqlStatementStatistics()
+ */
+public interface SqlStatementStatistics {
+
+  /**
+   * @return the class name of the command which executed the statement
+   */
+  String getCommandName();
+
+  /**
+   * @return the id of the MyBatis statement
+   */
+  String getStatementId();
+
+  /**
+   * @return the number of executions
+   */
+  long getCount();
+
+  /**
+   * @return the summed up duration of all executions in microseconds
+   */
+  long getTotalDurationMicros();
+
+  /**
+   * @return the duration of the slowest execution in microseconds
+   */
+  long getMaxDurationMicros();
+
+}
@@ -0,0 +1,35 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.query;
+
+import java.util.List;
+
+/**
+ * A page of query results together with the total number of results
+ * matching the query.
+ *
+ * @see Query#listPageWithCount(int, int)
+ */
+public interface ListPageWithCount<U> {
+
+  /**
+   * @return the results in the boundaries of the page
+   */
+  List<U> getResults();
+
+  /**
+   * @return the number of all results matching the query, regardless of the page
+   */
+  long getCount();
+
+}
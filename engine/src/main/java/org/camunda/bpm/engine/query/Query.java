@@ -52,4 +52,14 @@ public interface Query<T extends Query< ? , ? >, U extends Object> {
 
   /** Executes the query and get a list of entities as the result. */
   List<U> listPage(int firstResult, int maxResults);
+
+  /**
+   * Executes the query and returns the entities in the given boundaries
+   * together with the number of all entities matching the query. Both are
+   * selected within one command, so that the query is validated, its
+   * expressions are evaluated and its authorization checks are configured only
+   * once. The count is derived from the page if the page is not filled up,
+   * otherwise it is selected separately.
+   */
+  ListPageWithCount<U> listPageWithCount(int firstResult, int maxResults);
 }
@@ -84,6 +84,7 @@ create table ACT_RU_JOB (
     JOB_DEF_ID_ nvarchar(64),
     SEQUENCE_COUNTER_ numeric(19,0),
     TENANT_ID_ nvarchar(64),
+    ACQUIRABLE_AT_ datetime2 NULL,
     primary key (ID_)
 );
 
@@ -115,6 +116,7 @@ create table ACT_RE_PROCDEF (
     SUSPENSION_STATE_ tinyint,
     TENANT_ID_ nvarchar(64),
     VERSION_TAG_ nvarchar(64),
+    HISTORY_TTL_ int,
     primary key (ID_)
 );
 
@@ -474,6 +476,7 @@ create index ACT_IDX_DEPLOYMENT_NAME on ACT_RE_DEPLOYMENT(NAME_);
 create index ACT_IDX_DEPLOYMENT_TENANT_ID on ACT_RE_DEPLOYMENT(TENANT_ID_);
 create index ACT_IDX_JOBDEF_PROC_DEF_ID ON ACT_RU_JOBDEF(PROC_DEF_ID_);
 create index ACT_IDX_JOB_HANDLER_TYPE ON ACT_RU_JOB(HANDLER_TYPE_);
+create index ACT_IDX_JOB_ACQUIRABLE_AT ON ACT_RU_JOB(ACQUIRABLE_AT_);
 create index ACT_IDX_EVENT_SUBSCR_EVT_NAME ON ACT_RU_EVENT_SUBSCR(EVENT_NAME_);
 create index ACT_IDX_PROCDEF_DEPLOYMENT_ID ON ACT_RE_PROCDEF(DEPLOYMENT_ID_);
 create index ACT_IDX_PROCDEF_TENANT_ID ON ACT_RE_PROCDEF(TENANT_ID_);
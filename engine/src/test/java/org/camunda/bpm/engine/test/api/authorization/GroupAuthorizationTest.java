@@ -244,7 +244,7 @@ public class GroupAuthorizationTest extends AuthorizationTest {
   protected <T extends Session> T spyOnSession(CommandContext commandContext, Class<T> sessionClass) {
     T manager = commandContext.getSession(sessionClass);
     T spy = spy(manager);
-    commandContext.getSessions().put(sessionClass, spy);
+    commandContext.setSession(sessionClass, spy);
 
     return spy;
   }
@@ -0,0 +1,100 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DeploymentCacheWarmupTest {
+
+  protected ProcessEngine deployingEngine;
+  protected ProcessEngine engine;
+
+  @Before
+  public void setUp() {
+    deployingEngine = createConfiguration("deploying")
+        .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP)
+        .buildProcessEngine();
+  }
+
+  @Test
+  public void testWarmupLoadsLatestProcessDefinitions() {
+    // given two deployed versions of a process
+    deployProcess();
+    deployProcess();
+
+    ProcessDefinition firstVersion = deployingEngine.getRepositoryService().createProcessDefinitionQuery().processDefinitionVersion(1).singleResult();
+    ProcessDefinition latestVersion = deployingEngine.getRepositoryService().createProcessDefinitionQuery().latestVersion().singleResult();
+
+    // when a second engine with enabled warmup is built
+    ProcessEngineConfigurationImpl configuration = createConfiguration("warmup")
+        .setDeploymentCacheWarmupEnabled(true)
+        .setDeploymentCacheWarmupThreads(2);
+    engine = configuration.buildProcessEngine();
+
+    // then the latest version is cached without being accessed
+    DeploymentCache deploymentCache = configuration.getDeploymentCache();
+    assertNotNull(deploymentCache.findProcessDefinitionFromCache(latestVersion.getId()));
+    assertNull(deploymentCache.findProcessDefinitionFromCache(firstVersion.getId()));
+  }
+
+  @Test
+  public void testWarmupDisabledByDefault() {
+    // given
+    deployProcess();
+    ProcessDefinition processDefinition = deployingEngine.getRepositoryService().createProcessDefinitionQuery().singleResult();
+
+    // when
+    ProcessEngineConfigurationImpl configuration = createConfiguration("noWarmup");
+    engine = configuration.buildProcessEngine();
+
+    // then
+    assertNull(configuration.getDeploymentCache().findProcessDefinitionFromCache(processDefinition.getId()));
+  }
+
+  @After
+  public void tearDown() {
+    if (engine != null) {
+      engine.close();
+      engine = null;
+    }
+    deployingEngine.close();
+  }
+
+  protected void deployProcess() {
+    deployingEngine.getRepositoryService()
+      .createDeployment()
+      .addModelInstance("process.bpmn", Bpmn.createExecutableProcess("process").startEvent().endEvent().done())
+      .deploy();
+  }
+
+  protected ProcessEngineConfigurationImpl createConfiguration(String engineName) {
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+        .setProcessEngineName(getClass().getSimpleName() + "-" + engineName)
+        .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_FALSE)
+        .setJdbcUrl("jdbc:h2:mem:" + getClass().getSimpleName() + ";DB_CLOSE_DELAY=1000");
+    configuration.setDbMetricsReporterActivate(false);
+    return configuration;
+  }
+
+}
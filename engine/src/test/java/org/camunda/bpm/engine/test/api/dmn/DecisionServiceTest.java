@@ -17,6 +17,10 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
 import org.camunda.bpm.engine.DecisionService;
@@ -285,6 +289,87 @@ public class DecisionServiceTest {
     assertThatDecisionHasResult(decisionResult, "Light salad");
   }
 
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  public void evaluateDecisionTableBatchByKey() {
+    List<VariableMap> variablesList = new ArrayList<VariableMap>();
+    variablesList.add(createVariables());
+    variablesList.add(Variables.createVariables().putValue("status", "silver").putValue("sum", 5000));
+    variablesList.add(Variables.createVariables().putValue("status", "gold").putValue("sum", 5000));
+
+    List<DmnDecisionTableResult> decisionResults = decisionService
+      .evaluateDecisionTableByKey(DECISION_DEFINITION_KEY)
+      .evaluateAll(variablesList);
+
+    assertThat(decisionResults.size(), is(3));
+    assertThatDecisionHasResult(decisionResults.get(0), "ok");
+    assertThatDecisionHasResult(decisionResults.get(1), "notok");
+    assertThatDecisionHasResult(decisionResults.get(2), "ok");
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  public void evaluateDecisionBatchById() {
+    DecisionDefinition decisionDefinition = repositoryService.createDecisionDefinitionQuery().singleResult();
+
+    List<VariableMap> variablesList = new ArrayList<VariableMap>();
+    variablesList.add(createVariables());
+    variablesList.add(Variables.createVariables().putValue("status", "silver").putValue("sum", 5000));
+
+    List<DmnDecisionResult> decisionResults = decisionService
+      .evaluateDecisionById(decisionDefinition.getId())
+      .evaluateAll(variablesList);
+
+    assertThat(decisionResults.size(), is(2));
+    assertThatDecisionHasResult(decisionResults.get(0), "ok");
+    assertThatDecisionHasResult(decisionResults.get(1), "notok");
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  public void evaluateDecisionBatchByKeyAndVersion() {
+    testRule.deploy(DMN_DECISION_TABLE_V2);
+
+    List<DmnDecisionResult> decisionResults = decisionService
+      .evaluateDecisionByKey(DECISION_DEFINITION_KEY)
+      .version(1)
+      .evaluateAll(Collections.singletonList(createVariables()));
+
+    assertThat(decisionResults.size(), is(1));
+    assertThatDecisionHasResult(decisionResults.get(0), RESULT_OF_FIRST_VERSION);
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  public void evaluateDecisionBatchWithEmptyList() {
+    List<DmnDecisionResult> decisionResults = decisionService
+      .evaluateDecisionByKey(DECISION_DEFINITION_KEY)
+      .evaluateAll(Collections.<VariableMap>emptyList());
+
+    assertThat(decisionResults.isEmpty(), is(true));
+  }
+
+  @Deployment(resources = DMN_DECISION_TABLE)
+  @Test
+  public void evaluateDecisionBatchWithNullList() {
+    thrown.expect(NotValidException.class);
+    thrown.expectMessage("variablesList is null");
+
+    decisionService
+      .evaluateDecisionByKey(DECISION_DEFINITION_KEY)
+      .evaluateAll(null);
+  }
+
+  @Test
+  public void evaluateDecisionBatchByNonExistingKey() {
+    thrown.expect(NotFoundException.class);
+    thrown.expectMessage("no decision definition deployed with key 'unknown'");
+
+    decisionService
+      .evaluateDecisionByKey("unknown")
+      .evaluateAll(Collections.singletonList(createVariables()));
+  }
+
   protected VariableMap createVariables() {
     return Variables.createVariables().putValue("status", "silver").putValue("sum", 723);
   }
@@ -0,0 +1,127 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.dmn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+import org.camunda.bpm.engine.DecisionService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class DecisionTableIndexTest {
+
+  protected static final String DMN_DECISION_TABLE = "org/camunda/bpm/engine/test/api/dmn/Example.dmn";
+  protected static final String DMN_INDEXED_DECISION_TABLE = "org/camunda/bpm/engine/test/api/dmn/DecisionTableIndex.dmn";
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected DecisionService decisionService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    decisionService = engineRule.getDecisionService();
+
+    processEngineConfiguration.setDecisionTableIndexThreshold(0);
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setDecisionTableIndexThreshold(-1);
+  }
+
+  @Test
+  public void decisionTableIsIndexedOnDeployment() {
+    testRule.deploy(DMN_DECISION_TABLE);
+
+    assertNotNull(getDeployedDecisionDefinition().getDecisionTableIndex());
+  }
+
+  @Test
+  public void decisionTableIsNotIndexedBelowThreshold() {
+    processEngineConfiguration.setDecisionTableIndexThreshold(5);
+    testRule.deploy(DMN_DECISION_TABLE);
+
+    assertNull(getDeployedDecisionDefinition().getDecisionTableIndex());
+  }
+
+  @Test
+  public void evaluateUniqueDecisionTable() {
+    testRule.deploy(DMN_DECISION_TABLE);
+
+    assertEquals("notok", evaluate("bronze", 500.0, "result"));
+    assertEquals("ok", evaluate("silver", 500.0, "result"));
+    assertEquals("notok", evaluate("silver", 1000.0, "result"));
+    assertEquals("ok", evaluate("gold", 5000.0, "result"));
+
+    // integer values are looked up as numbers
+    assertEquals("ok", evaluate("silver", 999, "result"));
+  }
+
+  @Test
+  public void evaluateUniqueDecisionTableWithoutMatchingRule() {
+    testRule.deploy(DMN_DECISION_TABLE);
+
+    DmnDecisionTableResult result = decisionService.evaluateDecisionTableByKey("decision",
+        Variables.createVariables().putValue("status", "platinum").putValue("sum", 100.0));
+
+    assertEquals(0, result.size());
+  }
+
+  @Test
+  public void evaluateFirstDecisionTableKeepsRuleOrder() {
+    testRule.deploy(DMN_INDEXED_DECISION_TABLE);
+
+    assertEquals("small-ab", evaluateIndexed(80.0, "a"));
+    assertEquals("small-ab", evaluateIndexed(100, "b"));
+    assertEquals("large", evaluateIndexed(200.0, "a"));
+    assertEquals("not-c", evaluateIndexed(10.0, "d"));
+    assertEquals("default", evaluateIndexed(10.0, "c"));
+  }
+
+  protected Object evaluate(String status, Object sum, String output) {
+    DmnDecisionTableResult result = decisionService.evaluateDecisionTableByKey("decision",
+        Variables.createVariables().putValue("status", status).putValue("sum", sum));
+    return result.getSingleResult().getEntry(output);
+  }
+
+  protected Object evaluateIndexed(Object amount, String category) {
+    DmnDecisionTableResult result = decisionService.evaluateDecisionTableByKey("decision",
+        Variables.createVariables().putValue("amount", amount).putValue("category", category));
+    return result.getFirstResult().getEntry("result");
+  }
+
+  protected DecisionDefinitionEntity getDeployedDecisionDefinition() {
+    DecisionDefinition decisionDefinition = engineRule.getRepositoryService().createDecisionDefinitionQuery().singleResult();
+    return processEngineConfiguration.getDeploymentCache().findDecisionDefinitionFromCache(decisionDefinition.getId());
+  }
+
+}
@@ -0,0 +1,203 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExternalTaskFairFetchingTest {
+
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final long LOCK_TIME = 10000L;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      Map<String, Integer> topicWeights = new HashMap<String, Integer>();
+      topicWeights.put("weighted", 3);
+
+      return configuration
+        .setExternalTaskFairFetchingEnabled(true)
+        .setExternalTaskTopicWeights(topicWeights);
+    }
+  };
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+
+    testRule.deploy(externalTaskProcess("hot"), externalTaskProcess("cold"), externalTaskProcess("weighted"));
+  }
+
+  @Test
+  public void testTopicWithManyTasksDoesNotStarveOtherTopics() {
+    startProcessInstances("hot", 10);
+    startProcessInstances("cold", 2);
+
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(4, WORKER_ID)
+      .topic("hot", LOCK_TIME)
+      .topic("cold", LOCK_TIME)
+      .execute();
+
+    assertEquals(4, tasks.size());
+    assertEquals(2, countTasksOfTopic(tasks, "hot"));
+    assertEquals(2, countTasksOfTopic(tasks, "cold"));
+  }
+
+  @Test
+  public void testUnusedShareIsDistributedAmongOtherTopics() {
+    startProcessInstances("hot", 10);
+    startProcessInstances("cold", 1);
+
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(6, WORKER_ID)
+      .topic("hot", LOCK_TIME)
+      .topic("cold", LOCK_TIME)
+      .execute();
+
+    assertEquals(6, tasks.size());
+    assertEquals(5, countTasksOfTopic(tasks, "hot"));
+    assertEquals(1, countTasksOfTopic(tasks, "cold"));
+  }
+
+  @Test
+  public void testFetchLessTasksThanTopics() {
+    startProcessInstances("hot", 2);
+    startProcessInstances("cold", 2);
+    startProcessInstances("weighted", 2);
+
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic("hot", LOCK_TIME)
+      .topic("cold", LOCK_TIME)
+      .execute();
+
+    assertEquals(1, tasks.size());
+  }
+
+  @Test
+  public void testTopicWeights() {
+    startProcessInstances("hot", 10);
+    startProcessInstances("weighted", 10);
+
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(8, WORKER_ID)
+      .topic("hot", LOCK_TIME)
+      .topic("weighted", LOCK_TIME)
+      .execute();
+
+    assertEquals(8, tasks.size());
+    assertEquals(2, countTasksOfTopic(tasks, "hot"));
+    assertEquals(6, countTasksOfTopic(tasks, "weighted"));
+  }
+
+  @Test
+  public void testFetchedTasksAreLocked() {
+    startProcessInstances("hot", 3);
+    startProcessInstances("cold", 3);
+
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(4, WORKER_ID)
+      .topic("hot", LOCK_TIME)
+      .topic("cold", LOCK_TIME)
+      .execute();
+    assertEquals(4, tasks.size());
+
+    tasks = externalTaskService.fetchAndLock(4, WORKER_ID)
+      .topic("hot", LOCK_TIME)
+      .topic("cold", LOCK_TIME)
+      .execute();
+    assertEquals(2, tasks.size());
+  }
+
+  @Test
+  public void testFetchVariablesOfManyProcessInstances() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("hot", Variables.createVariables().putValue("amount", i).putValue("other", i));
+      runtimeService.startProcessInstanceByKey("cold", Variables.createVariables().putValue("amount", i).putValue("other", i));
+    }
+
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(6, WORKER_ID)
+      .topic("hot", LOCK_TIME).variables("amount")
+      .topic("cold", LOCK_TIME)
+      .execute();
+
+    assertEquals(6, tasks.size());
+    for (LockedExternalTask task : tasks) {
+      Integer expectedAmount = (Integer) runtimeService.getVariable(task.getProcessInstanceId(), "amount");
+      assertEquals(expectedAmount, task.getVariables().get("amount"));
+
+      if ("hot".equals(task.getTopicName())) {
+        assertEquals(Collections.singleton("amount"), task.getVariables().keySet());
+      }
+      else {
+        assertEquals(2, task.getVariables().size());
+      }
+    }
+  }
+
+  protected BpmnModelInstance externalTaskProcess(String topic) {
+    return Bpmn.createExecutableProcess(topic)
+      .startEvent()
+      .serviceTask()
+        .camundaType("external")
+        .camundaTopic(topic)
+      .endEvent()
+      .done();
+  }
+
+  protected void startProcessInstances(String key, int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey(key);
+    }
+  }
+
+  protected int countTasksOfTopic(List<LockedExternalTask> tasks, String topic) {
+    int count = 0;
+    for (LockedExternalTask task : tasks) {
+      if (topic.equals(task.getTopicName())) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+}
@@ -36,6 +36,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.FilterEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.json.JSONObject;
+import org.camunda.bpm.engine.query.ListPageWithCount;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.DelegationState;
@@ -736,6 +737,29 @@ public class FilterTaskQueryTest extends PluggableProcessEngineTestCase {
     assertEquals(DelegationState.RESOLVED, tasks.get(0).getDelegationState());
   }
 
+  public void testExecuteTaskQueryListPageWithCount() {
+    TaskQuery query = taskService.createTaskQuery();
+
+    saveQuery(query);
+
+    ListPageWithCount<Task> page = filterService.listPageWithCount(filter.getId(), 0, 2);
+    assertEquals(2, page.getResults().size());
+    assertEquals(3, page.getCount());
+
+    page = filterService.listPageWithCount(filter.getId(), 2, 2);
+    assertEquals(1, page.getResults().size());
+    assertEquals(3, page.getCount());
+
+    TaskQuery extendingQuery = taskService.createTaskQuery();
+
+    extendingQuery.taskDelegationState(DelegationState.RESOLVED);
+
+    page = filterService.listPageWithCount(filter.getId(), extendingQuery, 0, 1);
+    assertEquals(1, page.getResults().size());
+    assertEquals(2, page.getCount());
+    assertEquals(DelegationState.RESOLVED, page.getResults().get(0).getDelegationState());
+  }
+
   public void testExecuteTaskQuerySingleResult() {
     TaskQuery query = taskService.createTaskQuery();
     query.taskDelegationState(DelegationState.PENDING);
@@ -0,0 +1,200 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang.time.DateUtils;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class HistoryCleanupTest {
+
+  protected static final String PROCESS_RESOURCE = "org/camunda/bpm/engine/test/api/history/HistoryCleanupTest.testHistoryCleanup.bpmn20.xml";
+
+  @Rule
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+  protected HistoryService historyService;
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  @Before
+  public void initServices() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    managementService = engineRule.getManagementService();
+    historyService = engineRule.getHistoryService();
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+  }
+
+  @After
+  public void cleanUp() {
+    for (Job job : managementService.createJobQuery().list()) {
+      managementService.deleteJob(job.getId());
+    }
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getHistoricJobLogManager().deleteHistoricJobLogsByHandlerType(HistoryCleanupJobHandler.TYPE);
+        return null;
+      }
+    });
+
+    ClockUtil.reset();
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setHistoryCleanupBatchSize(500);
+    processEngineConfiguration.setHistoryCleanupBatchWindowStartTime(null);
+    processEngineConfiguration.setHistoryCleanupBatchWindowEndTime(null);
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testHistoryTimeToLiveIsParsed() {
+    RepositoryService repositoryService = engineRule.getRepositoryService();
+    String processDefinitionId = repositoryService.createProcessDefinitionQuery().singleResult().getId();
+
+    ProcessDefinitionEntity processDefinition = (ProcessDefinitionEntity) repositoryService.getProcessDefinition(processDefinitionId);
+    assertEquals(Integer.valueOf(5), processDefinition.getHistoryTimeToLive());
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testHistoryCleanup() {
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+
+    startAndCompleteProcessInstances(3);
+
+    // the history time to live has not expired yet
+    executeCleanupJob();
+    assertEquals(3, historyService.createHistoricProcessInstanceQuery().count());
+
+    ClockUtil.setCurrentTime(DateUtils.addDays(now, 6));
+
+    executeCleanupJob();
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testHistoryCleanupInBatches() {
+    processEngineConfiguration.setHistoryCleanupBatchSize(2);
+
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+    startAndCompleteProcessInstances(3);
+    ClockUtil.setCurrentTime(DateUtils.addDays(now, 6));
+
+    executeCleanupJob();
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+
+    // a full batch was removed, so the successor is due right away
+    Job successor = managementService.createJobQuery().singleResult();
+    assertNotNull(successor);
+    managementService.executeJob(successor.getId());
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+
+    // nothing left and no batch window configured: the job does not reschedule itself
+    assertEquals(0, managementService.createJobQuery().count());
+  }
+
+  @Test
+  public void testCleanUpHistoryAsyncReturnsExistingJob() {
+    Job job = historyService.cleanUpHistoryAsync();
+    Job secondJob = historyService.cleanUpHistoryAsync();
+
+    assertEquals(job.getId(), secondJob.getId());
+    assertEquals(1, managementService.createJobQuery().count());
+  }
+
+  @Test
+  public void testBatchWindow() {
+    processEngineConfiguration.setHistoryCleanupBatchWindowStartTime("22:00");
+    processEngineConfiguration.setHistoryCleanupBatchWindowEndTime("02:00");
+
+    assertTrue(HistoryCleanupHelper.isWithinBatchWindow(time(23, 30), processEngineConfiguration));
+    assertTrue(HistoryCleanupHelper.isWithinBatchWindow(time(1, 0), processEngineConfiguration));
+    assertFalse(HistoryCleanupHelper.isWithinBatchWindow(time(12, 0), processEngineConfiguration));
+
+    Date nextRun = HistoryCleanupHelper.getNextRunWithinBatchWindow(time(12, 0), processEngineConfiguration);
+    assertEquals(time(22, 0), nextRun);
+  }
+
+  @Test
+  public void testBatchWindowOfWholeDay() {
+    processEngineConfiguration.setHistoryCleanupBatchWindowStartTime("20:00");
+    processEngineConfiguration.setHistoryCleanupBatchWindowEndTime("20:00");
+
+    assertTrue(HistoryCleanupHelper.isWithinBatchWindow(time(20, 0), processEngineConfiguration));
+    assertTrue(HistoryCleanupHelper.isWithinBatchWindow(time(3, 0), processEngineConfiguration));
+    assertTrue(HistoryCleanupHelper.isWithinBatchWindow(time(19, 59), processEngineConfiguration));
+  }
+
+  protected void startAndCompleteProcessInstances(int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+    List<Task> tasks = taskService.createTaskQuery().list();
+    for (Task task : tasks) {
+      taskService.complete(task.getId());
+    }
+  }
+
+  protected void executeCleanupJob() {
+    Job job = historyService.cleanUpHistoryAsync();
+    managementService.executeJob(job.getId());
+  }
+
+  protected Date time(int hours, int minutes) {
+    Date midnight = DateUtils.truncate(new Date(), Calendar.DAY_OF_MONTH);
+    return DateUtils.addMinutes(DateUtils.addHours(midnight, hours), minutes);
+  }
+
+}
@@ -26,9 +26,18 @@ import java.util.Map;
 
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.history.HistoricDetail;
+import org.camunda.bpm.engine.history.HistoricJobLog;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricJobLogEventEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -36,8 +45,10 @@ import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.api.runtime.FailingDelegate;
 import org.camunda.bpm.engine.test.api.runtime.ProcessInstanceQueryTest;
 import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
 import org.junit.Assert;
 import org.slf4j.Logger;
 
@@ -529,4 +540,131 @@ private static Logger LOG = ProcessEngineLogger.TEST_LOGGER.getLogger();
       assertTextPresent("processInstanceId is null", ae.getMessage());
     }
   }
+
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void testDeleteProcessInstancesBulk() {
+    // the failing async service task leaves a job log with an exception stack trace
+    deployment(Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .serviceTask()
+          .camundaAsyncBefore()
+          .camundaClass(FailingDelegate.class.getName())
+        .userTask()
+        .endEvent()
+        .done());
+
+    List<String> processInstanceIds = new ArrayList<String>();
+    List<String> taskIds = new ArrayList<String>();
+    for (int i = 0; i < 3; i++) {
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+          Variables.createVariables().putValue("bytes", new byte[] { 1, 2, 3 }).putValue("fail", true));
+      processInstanceIds.add(processInstance.getId());
+
+      String jobId = managementService.createJobQuery().processInstanceId(processInstance.getId()).singleResult().getId();
+      try {
+        managementService.executeJob(jobId);
+        fail("ProcessEngineException expected");
+      } catch (ProcessEngineException e) {
+        // expected
+      }
+      runtimeService.setVariable(processInstance.getId(), "fail", false);
+      managementService.executeJob(jobId);
+
+      Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+      taskIds.add(task.getId());
+      taskService.createComment(task.getId(), processInstance.getId(), "a comment");
+      taskService.setVariable(task.getId(), "bytes", new byte[] { 4, 5, 6 });
+      taskService.complete(task.getId());
+    }
+
+    ProcessInstance otherProcessInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.deleteProcessInstance(otherProcessInstance.getId(), null);
+    long otherActivityInstances = historyService.createHistoricActivityInstanceQuery().processInstanceId(otherProcessInstance.getId()).count();
+
+    List<String> byteArrayIds = findHistoricByteArrayIds(processInstanceIds);
+    // per instance: the byte variable, its two updates and the exception stack trace
+    assertTrue(byteArrayIds.size() >= 3 * 4);
+
+    historyService.deleteHistoricProcessInstancesBulk(processInstanceIds);
+
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().processInstanceIds(new HashSet<String>(processInstanceIds)).count());
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricVariableInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricDetailQuery().count());
+    assertEquals(0, historyService.createHistoricJobLogQuery().processInstanceId(processInstanceIds.get(0)).count());
+    assertEquals(otherActivityInstances, historyService.createHistoricActivityInstanceQuery().count());
+
+    for (String byteArrayId : byteArrayIds) {
+      assertNull(findByteArray(byteArrayId));
+    }
+    for (int i = 0; i < processInstanceIds.size(); i++) {
+      assertTrue(taskService.getProcessInstanceComments(processInstanceIds.get(i)).isEmpty());
+      assertTrue(taskService.getTaskComments(taskIds.get(i)).isEmpty());
+    }
+
+    historyService.deleteHistoricProcessInstance(otherProcessInstance.getId());
+  }
+
+  protected List<String> findHistoricByteArrayIds(List<String> processInstanceIds) {
+    List<String> byteArrayIds = new ArrayList<String>();
+    for (String processInstanceId : processInstanceIds) {
+      for (HistoricVariableInstance variable : historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).list()) {
+        addIfNotNull(byteArrayIds, ((HistoricVariableInstanceEntity) variable).getByteArrayId());
+      }
+      for (HistoricDetail detail : historyService.createHistoricDetailQuery().processInstanceId(processInstanceId).list()) {
+        if (detail instanceof HistoricDetailVariableInstanceUpdateEntity) {
+          addIfNotNull(byteArrayIds, ((HistoricDetailVariableInstanceUpdateEntity) detail).getByteArrayValueId());
+        }
+      }
+      for (HistoricJobLog jobLog : historyService.createHistoricJobLogQuery().processInstanceId(processInstanceId).failureLog().list()) {
+        addIfNotNull(byteArrayIds, ((HistoricJobLogEventEntity) jobLog).getExceptionByteArrayId());
+      }
+    }
+    return byteArrayIds;
+  }
+
+  protected void addIfNotNull(List<String> ids, String id) {
+    if (id != null) {
+      ids.add(id);
+    }
+  }
+
+  protected ByteArrayEntity findByteArray(final String byteArrayId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<ByteArrayEntity>() {
+      public ByteArrayEntity execute(CommandContext commandContext) {
+        return commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, byteArrayId);
+      }
+    });
+  }
+
+  @Deployment(resources={
+  "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml"})
+  public void testDeleteRunningProcessInstancesBulk() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    try {
+      historyService.deleteHistoricProcessInstancesBulk(Arrays.asList(processInstance.getId()));
+      fail("ProcessEngineException expected");
+    } catch (ProcessEngineException ae) {
+      assertTextPresent("Process instance is still running, cannot delete historic process instance", ae.getMessage());
+    }
+  }
+
+  public void testDeleteProcessInstancesBulkUnexistingId() {
+    try {
+      historyService.deleteHistoricProcessInstancesBulk(Arrays.asList("unexistingInstanceId"));
+      fail("ProcessEngineException expected");
+    } catch (ProcessEngineException ae) {
+      assertTextPresent("No historic process instances found with ids: [unexistingInstanceId]", ae.getMessage());
+    }
+  }
+
+  public void testDeleteProcessInstancesBulkEmptyIds() {
+    try {
+      historyService.deleteHistoricProcessInstancesBulk(new ArrayList<String>());
+      fail("ProcessEngineException expected");
+    } catch (ProcessEngineException ae) {
+      assertTextPresent("processInstanceIds is empty", ae.getMessage());
+    }
+  }
 }
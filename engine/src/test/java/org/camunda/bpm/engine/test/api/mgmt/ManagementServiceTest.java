@@ -590,6 +590,15 @@ public class ManagementServiceTest extends PluggableProcessEngineTestCase {
     assertEquals(processEngineConfiguration.getHistoryLevel().getId(), historyLevel);
   }
 
+  public void testGetSqlStatementStatisticsWithProfilingDisabled() {
+    try {
+      managementService.getSqlStatementStatistics();
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("SQL statement profiling is disabled", e.getMessage());
+    }
+  }
+
   @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/asyncTaskProcess.bpmn20.xml")
   public void testSetJobPriority() {
     // given
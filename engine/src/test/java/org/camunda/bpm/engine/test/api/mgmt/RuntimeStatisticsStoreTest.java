@@ -0,0 +1,300 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.statistics.RuntimeStatistics;
+import org.camunda.bpm.engine.impl.statistics.RuntimeStatisticsReconciler;
+import org.camunda.bpm.engine.impl.statistics.RuntimeStatisticsStore;
+import org.camunda.bpm.engine.management.ActivityStatistics;
+import org.camunda.bpm.engine.management.IncidentStatistics;
+import org.camunda.bpm.engine.management.ProcessDefinitionStatistics;
+import org.camunda.bpm.engine.runtime.Incident;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class RuntimeStatisticsStoreTest {
+
+  protected static final BpmnModelInstance ASYNC_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("serviceTask")
+        .camundaClass(FailingDelegate.class.getName())
+        .camundaAsyncBefore()
+      .userTask("userTask")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setRuntimeStatisticsStoreEnabled(true);
+    }
+  };
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ManagementService managementService;
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected RuntimeStatisticsReconciler reconciler;
+
+  protected String processDefinitionId;
+
+  @Before
+  public void setUp() {
+    managementService = engineRule.getManagementService();
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    reconciler = engineRule.getProcessEngineConfiguration().getRuntimeStatisticsReconciler();
+
+    testRule.deploy(ASYNC_TASK_PROCESS);
+    processDefinitionId = repositoryService.createProcessDefinitionQuery().singleResult().getId();
+  }
+
+  @Test
+  public void testStoreIsInitialized() {
+    assertTrue(engineRule.getProcessEngineConfiguration().getRuntimeStatisticsStore().isInitialized());
+  }
+
+  @Test
+  public void testInstancesAreCounted() {
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    assertEquals(2, getProcessDefinitionStatistics().getInstances());
+    assertEquals(2, getActivityStatistics("serviceTask").getInstances());
+
+    Job job = managementService.createJobQuery().listPage(0, 1).get(0);
+    managementService.executeJob(job.getId());
+
+    assertEquals(2, getProcessDefinitionStatistics().getInstances());
+    assertEquals(1, getActivityStatistics("serviceTask").getInstances());
+    assertEquals(1, getActivityStatistics("userTask").getInstances());
+
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+
+    assertEquals(1, getProcessDefinitionStatistics().getInstances());
+    assertEquals(1, getActivityStatistics().size());
+    assertEquals(1, getActivityStatistics("serviceTask").getInstances());
+  }
+
+  @Test
+  public void testFailedJobsAndIncidentsAreCounted() {
+    runtimeService.startProcessInstanceByKey("process");
+    Job job = managementService.createJobQuery().singleResult();
+
+    managementService.setJobRetries(job.getId(), 0);
+
+    ProcessDefinitionStatistics processDefinitionStatistics = getProcessDefinitionStatistics();
+    assertEquals(1, processDefinitionStatistics.getFailedJobs());
+    assertIncidents(processDefinitionStatistics.getIncidentStatistics(), Incident.FAILED_JOB_HANDLER_TYPE, 1);
+
+    ActivityStatistics activityStatistics = getActivityStatistics("serviceTask");
+    assertEquals(1, activityStatistics.getFailedJobs());
+    assertIncidents(activityStatistics.getIncidentStatistics(), Incident.FAILED_JOB_HANDLER_TYPE, 1);
+
+    managementService.setJobRetries(job.getId(), 1);
+
+    processDefinitionStatistics = getProcessDefinitionStatistics();
+    assertEquals(0, processDefinitionStatistics.getFailedJobs());
+    assertTrue(processDefinitionStatistics.getIncidentStatistics().isEmpty());
+
+    activityStatistics = getActivityStatistics("serviceTask");
+    assertEquals(0, activityStatistics.getFailedJobs());
+    assertTrue(activityStatistics.getIncidentStatistics().isEmpty());
+  }
+
+  @Test
+  public void testActivityStatisticsAreOrderedById() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    runtimeService.createProcessInstanceModification(processInstance.getId())
+      .startBeforeActivity("userTask")
+      .execute();
+
+    List<ActivityStatistics> statistics = managementService.createActivityStatisticsQuery(processDefinitionId).list();
+    assertEquals(2, statistics.size());
+    assertEquals("serviceTask", statistics.get(0).getId());
+    assertEquals("userTask", statistics.get(1).getId());
+
+    assertEquals(2, managementService.createActivityStatisticsQuery(processDefinitionId).count());
+    assertEquals(1, managementService.createActivityStatisticsQuery(processDefinitionId).listPage(1, 1).size());
+  }
+
+  @Test
+  public void testReconciliation() {
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // lose all counts
+    reconciler.getStore().reconcile(new RuntimeStatistics());
+    assertEquals(0, getProcessDefinitionStatistics().getInstances());
+
+    reconciler.reconcileNow();
+
+    assertEquals(2, getProcessDefinitionStatistics().getInstances());
+    assertEquals(2, getActivityStatistics("serviceTask").getInstances());
+  }
+
+  @Test
+  public void testCountsSelectedWhileCommittingAreDiscarded() {
+    runtimeService.startProcessInstanceByKey("process");
+
+    RuntimeStatisticsStore store = reconciler.getStore();
+    store.startReconciliation();
+    try {
+      // the second instance is committed after the reconciliation started but before the counts are selected
+      runtimeService.startProcessInstanceByKey("process");
+
+      RuntimeStatistics selectedStatistics = selectRuntimeStatistics();
+
+      assertFalse(store.reconcile(selectedStatistics));
+    }
+    finally {
+      store.endReconciliation();
+    }
+
+    assertEquals(2, getProcessDefinitionStatistics().getInstances());
+    assertEquals(2, getActivityStatistics("serviceTask").getInstances());
+
+    // the next reconciliation without concurrent commits replaces the counts
+    store.startReconciliation();
+    try {
+      assertTrue(store.reconcile(selectRuntimeStatistics()));
+    }
+    finally {
+      store.endReconciliation();
+    }
+
+    assertEquals(2, getProcessDefinitionStatistics().getInstances());
+    assertEquals(2, getActivityStatistics("serviceTask").getInstances());
+  }
+
+  @Test
+  public void testChangesCommittedAfterReconciliationAreCounted() {
+    runtimeService.startProcessInstanceByKey("process");
+
+    reconciler.reconcileNow();
+    runtimeService.startProcessInstanceByKey("process");
+
+    assertEquals(2, getProcessDefinitionStatistics().getInstances());
+    assertEquals(2, getActivityStatistics("serviceTask").getInstances());
+  }
+
+  @Test
+  public void testIncrementalCountsMatchReconciledCounts() {
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    List<Job> jobs = managementService.createJobQuery().list();
+    managementService.setJobRetries(jobs.get(0).getId(), 0);
+    managementService.executeJob(jobs.get(1).getId());
+
+    String incrementalStatistics = describe(getProcessDefinitionStatistics(), getActivityStatistics());
+
+    reconciler.reconcileNow();
+
+    assertEquals(describe(getProcessDefinitionStatistics(), getActivityStatistics()), incrementalStatistics);
+  }
+
+  protected RuntimeStatistics selectRuntimeStatistics() {
+    return engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<RuntimeStatistics>() {
+      public RuntimeStatistics execute(CommandContext commandContext) {
+        return commandContext.getStatisticsManager().selectRuntimeStatistics();
+      }
+    });
+  }
+
+  protected ProcessDefinitionStatistics getProcessDefinitionStatistics() {
+    List<ProcessDefinitionStatistics> statistics = managementService.createProcessDefinitionStatisticsQuery()
+        .includeFailedJobs()
+        .includeIncidents()
+        .list();
+
+    for (ProcessDefinitionStatistics processDefinitionStatistics : statistics) {
+      if (processDefinitionId.equals(processDefinitionStatistics.getId())) {
+        return processDefinitionStatistics;
+      }
+    }
+    throw new AssertionError("no statistics for process definition " + processDefinitionId);
+  }
+
+  protected List<ActivityStatistics> getActivityStatistics() {
+    return managementService.createActivityStatisticsQuery(processDefinitionId)
+        .includeFailedJobs()
+        .includeIncidents()
+        .list();
+  }
+
+  protected ActivityStatistics getActivityStatistics(String activityId) {
+    for (ActivityStatistics statistics : getActivityStatistics()) {
+      if (activityId.equals(statistics.getId())) {
+        return statistics;
+      }
+    }
+    throw new AssertionError("no statistics for activity " + activityId);
+  }
+
+  protected void assertIncidents(List<IncidentStatistics> incidentStatistics, String incidentType, int count) {
+    assertEquals(1, incidentStatistics.size());
+    assertEquals(incidentType, incidentStatistics.get(0).getIncidentType());
+    assertEquals(count, incidentStatistics.get(0).getIncidentCount());
+  }
+
+  protected String describe(ProcessDefinitionStatistics processDefinitionStatistics, List<ActivityStatistics> activityStatistics) {
+    StringBuilder description = new StringBuilder();
+    description.append(processDefinitionStatistics.getInstances())
+      .append("/").append(processDefinitionStatistics.getFailedJobs())
+      .append("/").append(processDefinitionStatistics.getIncidentStatistics().size());
+
+    for (ActivityStatistics statistics : activityStatistics) {
+      description.append(" ").append(statistics.getId())
+        .append(":").append(statistics.getInstances())
+        .append("/").append(statistics.getFailedJobs())
+        .append("/").append(statistics.getIncidentStatistics().size());
+    }
+    return description.toString();
+  }
+
+}
@@ -0,0 +1,131 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
+import org.camunda.bpm.engine.management.SlowSqlStatement;
+import org.camunda.bpm.engine.management.SqlStatementStatistics;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SqlStatementProfilingTest {
+
+  protected static final int SLOW_STATEMENT_LOG_SIZE = 5;
+
+  protected static final BpmnModelInstance ONE_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      // record every statement as slow statement
+      return configuration
+          .setSqlStatementProfilingEnabled(true)
+          .setSqlStatementSlowThreshold(0)
+          .setSqlStatementSlowLogSize(SLOW_STATEMENT_LOG_SIZE);
+    }
+  };
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ManagementService managementService;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void setUp() {
+    managementService = engineRule.getManagementService();
+    runtimeService = engineRule.getRuntimeService();
+
+    testRule.deploy(ONE_TASK_PROCESS);
+    managementService.resetSqlStatementStatistics();
+  }
+
+  @After
+  public void tearDown() {
+    managementService.resetSqlStatementStatistics();
+  }
+
+  @Test
+  public void testStatementsAreRecordedPerCommand() {
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    SqlStatementStatistics insertExecution = findStatistics(StartProcessInstanceCmd.class.getName(), "insertExecution");
+
+    assertNotNull(insertExecution);
+    assertEquals(2, insertExecution.getCount());
+    assertTrue(insertExecution.getTotalDurationMicros() >= insertExecution.getMaxDurationMicros());
+  }
+
+  @Test
+  public void testSlowStatementsAreSampled() {
+    runtimeService.startProcessInstanceByKey("process");
+
+    List<SlowSqlStatement> slowStatements = managementService.getSlowSqlStatements();
+
+    // only the most recent statements are kept
+    assertEquals(SLOW_STATEMENT_LOG_SIZE, slowStatements.size());
+    for (SlowSqlStatement slowStatement : slowStatements) {
+      assertEquals(StartProcessInstanceCmd.class.getName(), slowStatement.getCommandName());
+      assertNotNull(slowStatement.getStatementId());
+      assertNotNull(slowStatement.getTimestamp());
+    }
+  }
+
+  @Test
+  public void testResetStatistics() {
+    runtimeService.startProcessInstanceByKey("process");
+
+    managementService.resetSqlStatementStatistics();
+
+    assertTrue(managementService.getSqlStatementStatistics().isEmpty());
+    assertTrue(managementService.getSlowSqlStatements().isEmpty());
+  }
+
+  protected SqlStatementStatistics findStatistics(String commandName, String statementId) {
+    for (SqlStatementStatistics statistics : managementService.getSqlStatementStatistics()) {
+      if (commandName.equals(statistics.getCommandName()) && statementId.equals(statistics.getStatementId())) {
+        return statistics;
+      }
+    }
+    return null;
+  }
+
+}
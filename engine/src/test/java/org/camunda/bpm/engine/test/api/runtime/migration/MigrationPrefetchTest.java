@@ -0,0 +1,137 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime.migration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.migration.MigrateProcessInstanceCmd;
+import org.camunda.bpm.engine.management.SqlStatementStatistics;
+import org.camunda.bpm.engine.migration.MigrationPlan;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MigrationPrefetchTest {
+
+  protected static final int PROCESS_INSTANCE_COUNT = 5;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setSqlStatementProfilingEnabled(true);
+    }
+  };
+
+  protected ProcessEngineRule rule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected MigrationTestRule testHelper = new MigrationTestRule(rule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(rule).around(testHelper);
+
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+
+  @Before
+  public void setUp() {
+    runtimeService = rule.getRuntimeService();
+    managementService = rule.getManagementService();
+  }
+
+  @After
+  public void tearDown() {
+    managementService.resetSqlStatementStatistics();
+  }
+
+  @Test
+  public void testEntitiesAreFetchedOnceForAllProcessInstances() {
+    // given
+    ProcessDefinition sourceProcessDefinition = testHelper.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+    ProcessDefinition targetProcessDefinition = testHelper.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+
+    MigrationPlan migrationPlan = runtimeService
+      .createMigrationPlan(sourceProcessDefinition.getId(), targetProcessDefinition.getId())
+      .mapEqualActivities()
+      .build();
+
+    List<String> processInstanceIds = new ArrayList<String>();
+    for (int i = 0; i < PROCESS_INSTANCE_COUNT; i++) {
+      processInstanceIds.add(runtimeService
+          .startProcessInstanceById(sourceProcessDefinition.getId(), Variables.createVariables().putValue("var", i))
+          .getId());
+    }
+
+    managementService.resetSqlStatementStatistics();
+
+    // when
+    runtimeService.newMigration(migrationPlan)
+      .processInstanceIds(processInstanceIds)
+      .execute();
+
+    // then all instances are migrated
+    assertEquals(PROCESS_INSTANCE_COUNT, runtimeService.createProcessInstanceQuery()
+        .processDefinitionId(targetProcessDefinition.getId())
+        .count());
+    assertEquals(PROCESS_INSTANCE_COUNT, rule.getTaskService().createTaskQuery()
+        .processDefinitionId(targetProcessDefinition.getId())
+        .count());
+
+    // and their entities are selected with one statement per entity type
+    assertStatementExecutedOnce("selectExecutionsByProcessInstanceIds");
+    assertStatementExecutedOnce("selectEventSubscriptionsByProcessInstanceIds");
+    assertStatementExecutedOnce("selectExternalTasksByExecutionIds");
+    assertStatementExecutedOnce("selectIncidentsByProcessInstanceIds");
+    assertStatementExecutedOnce("selectJobsByProcessInstanceIds");
+    assertStatementExecutedOnce("selectTasksByProcessInstanceIds");
+    assertStatementExecutedOnce("selectAllVariablesByProcessInstanceIds");
+
+    assertNull(findStatistics("selectExecution"));
+    assertNull(findStatistics("selectExecutionsByProcessInstanceId"));
+    assertNull(findStatistics("selectTasksByProcessInstanceId"));
+    assertNull(findStatistics("selectVariablesByProcessInstanceId"));
+  }
+
+  protected void assertStatementExecutedOnce(String statementId) {
+    SqlStatementStatistics statistics = findStatistics(statementId);
+    assertNotNull(statistics);
+    assertEquals(1, statistics.getCount());
+  }
+
+  protected SqlStatementStatistics findStatistics(String statementId) {
+    for (SqlStatementStatistics statistics : managementService.getSqlStatementStatistics()) {
+      if (MigrateProcessInstanceCmd.class.getName().equals(statistics.getCommandName())
+          && statementId.equals(statistics.getStatementId())) {
+        return statistics;
+      }
+    }
+    return null;
+  }
+
+}
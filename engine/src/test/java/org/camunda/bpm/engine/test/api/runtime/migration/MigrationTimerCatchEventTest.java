@@ -13,12 +13,15 @@
 package org.camunda.bpm.engine.test.api.runtime.migration;
 
 import static org.camunda.bpm.engine.test.api.runtime.migration.ModifiableBpmnModelInstance.modify;
+import static org.junit.Assert.assertEquals;
 import static org.camunda.bpm.engine.test.util.ActivityInstanceAssert.describeActivityInstanceTree;
 import static org.camunda.bpm.engine.test.util.ExecutionAssert.describeExecutionTree;
 
 import java.util.Date;
+import java.util.List;
 
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.migration.MigrationPlan;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.runtime.Job;
@@ -83,6 +86,45 @@ public class MigrationTimerCatchEventTest {
     testHelper.assertProcessEnded(processInstance.getId());
   }
 
+  @Test
+  public void testMigrateJobsOfMultipleProcessInstances() {
+    // given
+    ProcessDefinition sourceProcessDefinition = testHelper.deployAndGetDefinition(TimerCatchModels.ONE_TIMER_CATCH_PROCESS);
+    ProcessDefinition targetProcessDefinition = testHelper.deployAndGetDefinition(TimerCatchModels.ONE_TIMER_CATCH_PROCESS);
+
+    MigrationPlan migrationPlan = rule.getRuntimeService()
+      .createMigrationPlan(sourceProcessDefinition.getId(), targetProcessDefinition.getId())
+      .mapActivities("timerCatch", "timerCatch")
+      .build();
+
+    ProcessInstance firstInstance = rule.getRuntimeService().startProcessInstanceById(sourceProcessDefinition.getId());
+    ProcessInstance secondInstance = rule.getRuntimeService().startProcessInstanceById(sourceProcessDefinition.getId());
+
+    // when both instances are migrated by one command
+    rule.getRuntimeService()
+      .newMigration(migrationPlan)
+      .processInstanceIds(firstInstance.getId(), secondInstance.getId())
+      .execute();
+
+    // then the jobs of both instances reference the target job definition
+    JobDefinition targetJobDefinition = rule.getManagementService()
+      .createJobDefinitionQuery()
+      .processDefinitionId(targetProcessDefinition.getId())
+      .singleResult();
+
+    List<Job> jobs = rule.getManagementService().createJobQuery().list();
+    assertEquals(2, jobs.size());
+    for (Job job : jobs) {
+      assertEquals(targetJobDefinition.getId(), job.getJobDefinitionId());
+      assertEquals(targetProcessDefinition.getId(), job.getProcessDefinitionId());
+
+      // and it is possible to trigger the event
+      rule.getManagementService().executeJob(job.getId());
+    }
+
+    assertEquals(2, rule.getTaskService().createTaskQuery().taskDefinitionKey("userTask").count());
+  }
+
   @Test
   public void testMigrateJobChangeActivityId() {
     // given
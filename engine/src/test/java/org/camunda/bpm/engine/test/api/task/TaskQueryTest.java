@@ -55,6 +55,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.query.ListPageWithCount;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.runtime.CaseExecution;
 import org.camunda.bpm.engine.runtime.CaseInstance;
@@ -127,6 +128,32 @@ public class TaskQueryTest extends PluggableProcessEngineTestCase {
     }
   }
 
+  public void testQueryListPageWithCount() {
+    // full page: the count is queried
+    ListPageWithCount<Task> page = taskService.createTaskQuery().orderByTaskName().asc().listPageWithCount(0, 5);
+    assertEquals(5, page.getResults().size());
+    assertEquals(12, page.getCount());
+
+    // last page: the count is derived from the page
+    page = taskService.createTaskQuery().orderByTaskName().asc().listPageWithCount(10, 5);
+    assertEquals(2, page.getResults().size());
+    assertEquals(12, page.getCount());
+
+    // beyond the last result
+    page = taskService.createTaskQuery().listPageWithCount(20, 5);
+    assertTrue(page.getResults().isEmpty());
+    assertEquals(12, page.getCount());
+
+    // restricted query
+    page = taskService.createTaskQuery().taskName("testTask").listPageWithCount(0, 10);
+    assertEquals(6, page.getResults().size());
+    assertEquals(6, page.getCount());
+
+    page = taskService.createTaskQuery().taskName("invalid").listPageWithCount(0, 10);
+    assertTrue(page.getResults().isEmpty());
+    assertEquals(0, page.getCount());
+  }
+
   public void testQueryByTaskId() {
     TaskQuery query = taskService.createTaskQuery().taskId(taskIds.get(0));
     assertNotNull(query.singleResult());
@@ -0,0 +1,393 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.RegisterTaskSearchIndexNodeCmd;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.task.search.TaskDocument;
+import org.camunda.bpm.engine.impl.task.search.TaskSearchIndex;
+import org.camunda.bpm.engine.impl.task.search.TaskSearchIndexRebuilder;
+import org.camunda.bpm.engine.impl.task.search.TaskSearchIndexUpdate;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class TaskSearchIndexTest {
+
+  protected static final BpmnModelInstance USER_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("userTask")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setTaskSearchIndexEnabled(true);
+    }
+  };
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+  protected TaskSearchIndex taskSearchIndex;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    managementService = engineRule.getManagementService();
+    taskSearchIndex = engineRule.getProcessEngineConfiguration().getTaskSearchIndex();
+
+    testRule.deploy(USER_TASK_PROCESS);
+  }
+
+  @Test
+  public void testIndexIsInitialized() {
+    assertTrue(taskSearchIndex.isInitialized());
+  }
+
+  @Test
+  public void testQueryByProcessVariable() {
+    startProcessInstance(10, "aaa");
+    startProcessInstance(20, "abc");
+    startProcessInstance(30, "bbb");
+
+    assertEquals(1, taskService.createTaskQuery().processVariableValueEquals("amount", 20).count());
+    assertEquals(2, taskService.createTaskQuery().processVariableValueNotEquals("amount", 20).count());
+    assertEquals(2, taskService.createTaskQuery().processVariableValueGreaterThan("amount", 15).count());
+    assertEquals(2, taskService.createTaskQuery().processVariableValueLessThanOrEqual("amount", 20).count());
+    assertEquals(2, taskService.createTaskQuery().processVariableValueLike("name", "a%").count());
+    assertEquals(1, taskService.createTaskQuery()
+        .processVariableValueLike("name", "a%")
+        .processVariableValueGreaterThan("amount", 15)
+        .count());
+    assertEquals(0, taskService.createTaskQuery().processVariableValueEquals("amount", "20").count());
+  }
+
+  @Test
+  public void testQueryByChangedProcessVariable() {
+    ProcessInstance processInstance = startProcessInstance(10, "aaa");
+
+    runtimeService.setVariable(processInstance.getId(), "amount", 50);
+
+    assertEquals(0, taskService.createTaskQuery().processVariableValueEquals("amount", 10).count());
+    assertEquals(1, taskService.createTaskQuery().processVariableValueEquals("amount", 50).count());
+
+    runtimeService.removeVariable(processInstance.getId(), "amount");
+
+    assertEquals(0, taskService.createTaskQuery().processVariableValueEquals("amount", 50).count());
+  }
+
+  @Test
+  public void testQueryByTaskVariable() {
+    startProcessInstance(10, "aaa");
+    startProcessInstance(20, "bbb");
+
+    Task task = taskService.createTaskQuery().processVariableValueEquals("amount", 10).singleResult();
+    taskService.setVariableLocal(task.getId(), "approved", true);
+
+    List<Task> tasks = taskService.createTaskQuery().taskVariableValueEquals("approved", true).list();
+    assertEquals(1, tasks.size());
+    assertEquals(task.getId(), tasks.get(0).getId());
+
+    // process variables are no task variables
+    assertEquals(0, taskService.createTaskQuery().taskVariableValueEquals("amount", 10).count());
+  }
+
+  @Test
+  public void testQueryByCandidateGroup() {
+    startProcessInstance(10, "aaa");
+    startProcessInstance(20, "bbb");
+
+    Task task = taskService.createTaskQuery().processVariableValueEquals("amount", 10).singleResult();
+    taskService.addCandidateGroup(task.getId(), "accounting");
+
+    assertEquals(1, taskService.createTaskQuery().taskCandidateGroup("accounting").count());
+    assertEquals(1, taskService.createTaskQuery().withCandidateGroups().count());
+    assertEquals(1, taskService.createTaskQuery().withoutCandidateGroups().count());
+
+    taskService.claim(task.getId(), "kermit");
+
+    assertEquals(0, taskService.createTaskQuery().taskCandidateGroup("accounting").count());
+    assertEquals(1, taskService.createTaskQuery().taskCandidateGroup("accounting").includeAssignedTasks().count());
+    assertEquals(1, taskService.createTaskQuery().taskAssignee("kermit").count());
+
+    taskService.deleteCandidateGroup(task.getId(), "accounting");
+
+    assertEquals(0, taskService.createTaskQuery().taskCandidateGroup("accounting").includeAssignedTasks().count());
+  }
+
+  @Test
+  public void testOrderingAndPaging() {
+    for (int i = 0; i < 5; i++) {
+      startProcessInstance(i, "name" + i);
+    }
+    List<Task> tasks = taskService.createTaskQuery().orderByProcessInstanceId().asc().list();
+    for (int i = 0; i < tasks.size(); i++) {
+      Task task = tasks.get(i);
+      task.setPriority(i * 10);
+      taskService.saveTask(task);
+    }
+
+    List<Task> page = taskService.createTaskQuery().orderByTaskPriority().desc().listPage(1, 2);
+
+    assertEquals(2, page.size());
+    assertEquals(30, page.get(0).getPriority());
+    assertEquals(20, page.get(1).getPriority());
+  }
+
+  @Test
+  public void testCompletedTasksAreRemoved() {
+    startProcessInstance(10, "aaa");
+    Task task = taskService.createTaskQuery().singleResult();
+
+    taskService.complete(task.getId());
+
+    assertEquals(0, taskService.createTaskQuery().count());
+    assertEquals(0, taskService.createTaskQuery().processVariableValueEquals("amount", 10).count());
+  }
+
+  @Test
+  public void testRebuildRestoresIndex() {
+    startProcessInstance(10, "aaa");
+    startProcessInstance(20, "bbb");
+
+    engineRule.getProcessEngineConfiguration().getTaskSearchIndexRebuilder().rebuildNow();
+
+    assertEquals(2, taskService.createTaskQuery().count());
+    assertEquals(1, taskService.createTaskQuery().processVariableValueEquals("amount", 20).count());
+  }
+
+  @Test
+  public void testRebuildLoadsContentInPages() {
+    TaskSearchIndexRebuilder rebuilder = engineRule.getProcessEngineConfiguration().getTaskSearchIndexRebuilder();
+    int pageSize = rebuilder.getRebuildPageSize();
+
+    startProcessInstance(10, "aaa");
+    startProcessInstance(20, "bbb");
+    startProcessInstance(30, "ccc");
+
+    rebuilder.setRebuildPageSize(2);
+    try {
+      rebuilder.rebuildNow();
+    }
+    finally {
+      rebuilder.setRebuildPageSize(pageSize);
+    }
+
+    assertEquals(3, taskService.createTaskQuery().count());
+    assertEquals(1, taskService.createTaskQuery().processVariableValueEquals("amount", 30).count());
+    assertEquals(1, taskService.createTaskQuery().processVariableValueEquals("name", "ccc").count());
+  }
+
+  @Test
+  public void testChangesDuringRebuildAreKept() {
+    startProcessInstance(10, "aaa");
+
+    taskSearchIndex.startRebuild();
+    startProcessInstance(20, "bbb");
+    // the content was selected before the second task was created
+    taskSearchIndex.completeRebuild(new TaskSearchIndexUpdate());
+
+    assertEquals(1, taskService.createTaskQuery().count());
+    assertEquals(1, taskService.createTaskQuery().processVariableValueEquals("amount", 20).count());
+
+    engineRule.getProcessEngineConfiguration().getTaskSearchIndexRebuilder().rebuildNow();
+    assertEquals(2, taskService.createTaskQuery().count());
+  }
+
+  @Test
+  public void testOutdatedUpdateIsIgnored() {
+    startProcessInstance(10, "aaa");
+    Task task = taskService.createTaskQuery().singleResult();
+    task.setName("new name");
+    taskService.saveTask(task);
+
+    // a change of the first revision arrives after the change of the second one
+    TaskEntity outdatedTask = new TaskEntity(task.getId());
+    outdatedTask.setNameWithoutCascade("old name");
+    TaskSearchIndexUpdate update = new TaskSearchIndexUpdate();
+    update.putTask(new TaskDocument(outdatedTask, 1));
+    taskSearchIndex.update(update);
+
+    assertEquals(1, taskService.createTaskQuery().taskName("new name").count());
+    assertEquals(0, taskService.createTaskQuery().taskName("old name").count());
+  }
+
+  @Test
+  public void testDeletedTaskIsNotRestoredByLateUpdate() {
+    startProcessInstance(10, "aaa");
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.complete(task.getId());
+
+    TaskSearchIndexUpdate update = new TaskSearchIndexUpdate();
+    update.putTask(new TaskDocument(new TaskEntity(task.getId()), 1));
+    taskSearchIndex.update(update);
+
+    assertEquals(0, taskService.createTaskQuery().count());
+  }
+
+  @Test
+  public void testTasksMissingInDatabaseAreRemoved() {
+    startProcessInstance(10, "aaa");
+
+    // a task which was deleted without being seen by the index
+    TaskSearchIndexUpdate update = new TaskSearchIndexUpdate();
+    update.putTask(new TaskDocument(new TaskEntity("deletedTask"), 1));
+    taskSearchIndex.update(update);
+    assertEquals(2, taskService.createTaskQuery().count());
+
+    assertEquals(1, taskService.createTaskQuery().list().size());
+    assertEquals(1, taskService.createTaskQuery().count());
+  }
+
+  @Test
+  public void testUnsupportedQueryIsAnsweredByDatabase() {
+    startProcessInstance(10, "aaa");
+
+    TaskQueryImpl query = (TaskQueryImpl) taskService.createTaskQuery().processInstanceBusinessKey("businessKey");
+
+    assertFalse(taskSearchIndex.isQuerySupported(query));
+    assertEquals(1, query.count());
+  }
+
+  @Test
+  public void testQueryOrderedByTextIsAnsweredByDatabase() {
+    startProcessInstance(10, "aaa");
+
+    TaskQueryImpl query = (TaskQueryImpl) taskService.createTaskQuery().orderByTaskName().asc();
+
+    assertFalse(taskSearchIndex.isQuerySupported(query));
+    assertEquals(1, query.list().size());
+  }
+
+  @Test
+  public void testNullValuesAreOrderedLikeDatabase() {
+    startProcessInstance(10, "aaa");
+    startProcessInstance(20, "bbb");
+
+    Task taskWithDueDate = taskService.createTaskQuery().processVariableValueEquals("amount", 10).singleResult();
+    taskWithDueDate.setDueDate(new Date());
+    taskService.saveTask(taskWithDueDate);
+
+    TaskQueryImpl query = (TaskQueryImpl) taskService.createTaskQuery().orderByDueDate().asc();
+    assertTrue(taskSearchIndex.isQuerySupported(query));
+
+    List<Task> tasks = query.list();
+
+    String databaseType = engineRule.getProcessEngineConfiguration().getDatabaseType();
+    if (DbSqlSessionFactory.POSTGRES.equals(databaseType)
+        || DbSqlSessionFactory.ORACLE.equals(databaseType)
+        || DbSqlSessionFactory.DB2.equals(databaseType)) {
+      assertNotNull(tasks.get(0).getDueDate());
+      assertNull(tasks.get(1).getDueDate());
+    }
+    else {
+      assertNull(tasks.get(0).getDueDate());
+      assertNotNull(tasks.get(1).getDueDate());
+    }
+  }
+
+  @Test
+  public void testIndexIsNotUsedWhileOtherNodeIsActive() {
+    TaskSearchIndexRebuilder rebuilder = engineRule.getProcessEngineConfiguration().getTaskSearchIndexRebuilder();
+    String otherNodePropertyName = RegisterTaskSearchIndexNodeCmd.getPropertyName("otherNode");
+
+    // the index contains a task which does not exist in the database
+    TaskSearchIndexUpdate update = new TaskSearchIndexUpdate();
+    update.putTask(new TaskDocument(new TaskEntity("unknownTask"), 1));
+    taskSearchIndex.update(update);
+    assertEquals(1, taskService.createTaskQuery().count());
+
+    try {
+      // when another node registers
+      managementService.setProperty(otherNodePropertyName, String.valueOf(ClockUtil.getCurrentTime().getTime()));
+      rebuilder.checkNodesNow();
+
+      // then queries are answered by the database
+      assertFalse(rebuilder.isIndexUsable());
+      assertEquals(0, taskService.createTaskQuery().count());
+    }
+    finally {
+      managementService.deleteProperty(otherNodePropertyName);
+    }
+
+    // when the other node stopped
+    rebuilder.checkNodesNow();
+
+    // then the index is rebuilt and used again
+    assertTrue(rebuilder.isIndexUsable());
+    assertEquals(0, taskSearchIndex.countTasks((TaskQueryImpl) taskService.createTaskQuery()));
+  }
+
+  @Test
+  public void testExpiredNodeIsIgnored() {
+    TaskSearchIndexRebuilder rebuilder = engineRule.getProcessEngineConfiguration().getTaskSearchIndexRebuilder();
+    String otherNodePropertyName = RegisterTaskSearchIndexNodeCmd.getPropertyName("otherNode");
+
+    long expiredRegistration = ClockUtil.getCurrentTime().getTime()
+        - 4 * rebuilder.getNodeCheckIntervalInSeconds() * 1000;
+    managementService.setProperty(otherNodePropertyName, String.valueOf(expiredRegistration));
+
+    try {
+      rebuilder.checkNodesNow();
+
+      assertTrue(rebuilder.isIndexUsable());
+    }
+    finally {
+      managementService.deleteProperty(otherNodePropertyName);
+    }
+  }
+
+  protected ProcessInstance startProcessInstance(int amount, String name) {
+    return runtimeService.startProcessInstanceByKey("process", "businessKey", Variables.createVariables()
+        .putValue("amount", amount)
+        .putValue("name", name));
+  }
+
+}
@@ -196,6 +196,24 @@ public class BpmnParseTest extends PluggableProcessEngineTestCase {
     }
   }
 
+  public void testInvalidProcessDefinitionRejectedByCachedSchema() {
+    // the first deployment compiles the schema, the following ones reuse it
+    String validResource = TestHelper.getBpmnProcessDefinitionResource(getClass(), "testParseMultipleStartEvent");
+    String deploymentId = repositoryService.createDeployment().addClasspathResource(validResource).deploy().getId();
+    repositoryService.deleteDeployment(deploymentId, true);
+
+    String resource = TestHelper.getBpmnProcessDefinitionResource(getClass(), "testInvalidProcessDefinition");
+    for (int i = 0; i < 2; i++) {
+      try {
+        repositoryService.createDeployment().name(resource).addClasspathResource(resource).deploy();
+        fail();
+      } catch (ProcessEngineException e) {
+        assertTextPresent("cvc-complex-type.3.2.2:", e.getMessage());
+        assertTextPresent("invalidAttribute", e.getMessage());
+      }
+    }
+  }
+
   public void testInvalidSequenceFlowInAndOutEventSubProcess() {
     try {
       String resource = TestHelper.getBpmnProcessDefinitionResource(getClass(), "testInvalidSequenceFlowInAndOutEventSubProcess");
@@ -19,7 +19,11 @@ import java.util.Map;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.ScriptCompilationException;
 import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache.ScriptResourceKey;
+import org.camunda.bpm.engine.impl.scripting.SourceExecutableScript;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ConcurrentLruCache;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.test.Deployment;
 
@@ -152,6 +156,36 @@ public class ExternalScriptTaskTest extends PluggableProcessEngineTestCase {
     assertEquals("Greetings camunda BPM speaking", greeting);
   }
 
+  public void testScriptResourceIsCachedPerDeployment() {
+    String deploymentId = repositoryService.createDeployment()
+      .addClasspathResource("org/camunda/bpm/engine/test/bpmn/scripttask/ExternalScriptTaskTest.testScriptInDeploymentAsVariable.bpmn20.xml")
+      .addClasspathResource("org/camunda/bpm/engine/test/bpmn/scripttask/greeting.py")
+      .deploy()
+      .getId();
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("scriptPath", "deployment://org/camunda/bpm/engine/test/bpmn/scripttask/greeting.py");
+
+    long misses = getMeterValue(Metrics.SCRIPT_RESOURCE_CACHE_MISS);
+    long hits = getMeterValue(Metrics.SCRIPT_RESOURCE_CACHE_HIT);
+
+    runtimeService.startProcessInstanceByKey("process", variables);
+    runtimeService.startProcessInstanceByKey("process", variables);
+
+    // the resource was loaded once and reused afterwards
+    ScriptResourceKey key = new ScriptResourceKey(deploymentId, "deployment://org/camunda/bpm/engine/test/bpmn/scripttask/greeting.py");
+    ConcurrentLruCache<ScriptResourceKey, SourceExecutableScript> cachedScripts = processEngineConfiguration.getDeploymentCache()
+      .getScriptResourceCache();
+    assertNotNull(cachedScripts.get(key));
+
+    assertEquals(misses + 1, getMeterValue(Metrics.SCRIPT_RESOURCE_CACHE_MISS));
+    assertEquals(hits + 1, getMeterValue(Metrics.SCRIPT_RESOURCE_CACHE_HIT));
+
+    // the cached resources are discarded together with the deployment
+    repositoryService.deleteDeployment(deploymentId, true);
+    assertNull(cachedScripts.get(key));
+  }
+
   @Deployment
   public void testScriptNotFoundInDeployment() {
     try {
@@ -174,4 +208,8 @@ public class ExternalScriptTaskTest extends PluggableProcessEngineTestCase {
     }
   }
 
+  protected long getMeterValue(String name) {
+    return processEngineConfiguration.getMetricsRegistry().getMeterByName(name).get();
+  }
+
 }
@@ -0,0 +1,124 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.servicetask;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ReuseStatelessDelegateInstancesTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setReuseStatelessDelegateInstances(true);
+    }
+  };
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    INSTANCES.clear();
+  }
+
+  @After
+  public void tearDown() {
+    INSTANCES.clear();
+  }
+
+  @Test
+  public void testStatelessDelegateInstanceIsReused() {
+    testRule.deploy(twoServiceTasksProcess(StatelessDelegate.class));
+
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // both service tasks reference the class but each one keeps its own instance
+    assertEquals(4, INSTANCES.size());
+    assertNotSame(INSTANCES.get(0), INSTANCES.get(1));
+    assertSame(INSTANCES.get(0), INSTANCES.get(2));
+    assertSame(INSTANCES.get(1), INSTANCES.get(3));
+  }
+
+  @Test
+  public void testStatefulDelegateIsInstantiatedForEveryInvocation() {
+    testRule.deploy(twoServiceTasksProcess(StatefulDelegate.class));
+
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    assertEquals(4, INSTANCES.size());
+    assertNotSame(INSTANCES.get(0), INSTANCES.get(2));
+    assertNotSame(INSTANCES.get(1), INSTANCES.get(3));
+  }
+
+  protected BpmnModelInstance twoServiceTasksProcess(Class<? extends JavaDelegate> delegateClass) {
+    return Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("task1")
+        .camundaClass(delegateClass.getName())
+      .serviceTask("task2")
+        .camundaClass(delegateClass.getName())
+      .endEvent()
+      .done();
+  }
+
+  protected static final List<Object> INSTANCES = new ArrayList<Object>();
+
+  public static class StatelessDelegate implements JavaDelegate {
+
+    public void execute(DelegateExecution execution) throws Exception {
+      INSTANCES.add(this);
+    }
+  }
+
+  public static class StatefulDelegate implements JavaDelegate {
+
+    protected int invocations = 0;
+
+    public void execute(DelegateExecution execution) throws Exception {
+      invocations++;
+      INSTANCES.add(this);
+    }
+  }
+
+}
@@ -0,0 +1,125 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.dmn.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+
+import org.camunda.bpm.engine.impl.dmn.index.InputEntryIndex;
+import org.camunda.bpm.engine.impl.dmn.index.InputEntryParser;
+import org.camunda.bpm.engine.impl.dmn.index.InputEntryParser.ParsedInputEntry;
+import org.junit.Test;
+
+public class InputEntryIndexTest {
+
+  @Test
+  public void parseWildcards() {
+    assertTrue(InputEntryParser.parse(null).isWildcard());
+    assertTrue(InputEntryParser.parse("").isWildcard());
+    assertTrue(InputEntryParser.parse(" - ").isWildcard());
+  }
+
+  @Test
+  public void parseLiterals() {
+    ParsedInputEntry entry = InputEntryParser.parse("\"a\", \"b,c\", 1.50, true");
+
+    assertNotNull(entry);
+    assertEquals(4, entry.getValues().size());
+    assertEquals("a", entry.getValues().get(0));
+    assertEquals("b,c", entry.getValues().get(1));
+    assertEquals(new BigDecimal("1.5"), entry.getValues().get(2));
+    assertEquals(Boolean.TRUE, entry.getValues().get(3));
+  }
+
+  @Test
+  public void parseComparisonsAndRanges() {
+    ParsedInputEntry entry = InputEntryParser.parse("< 10, >= 20, [1..5[, ]6..7]");
+
+    assertNotNull(entry);
+    assertEquals(4, entry.getIntervals().size());
+  }
+
+  @Test
+  public void doNotParseUnsupportedEntries() {
+    assertNull(InputEntryParser.parse("not(\"a\")"));
+    assertNull(InputEntryParser.parse("someVariable"));
+    assertNull(InputEntryParser.parse("< \"b\""));
+    assertNull(InputEntryParser.parse("date and time(\"2015-11-30T12:00:00\")"));
+    assertNull(InputEntryParser.parse("\"a\", not(\"b\")"));
+  }
+
+  @Test
+  public void findRulesByValue() {
+    InputEntryIndex index = createIndex("\"a\"", "\"b\",\"c\"", "", "not(\"a\")");
+
+    assertEquals(bits(0, 2, 3), findRules(index, "a"));
+    assertEquals(bits(1, 2, 3), findRules(index, "c"));
+    assertEquals(bits(2, 3), findRules(index, "x"));
+  }
+
+  @Test
+  public void findRulesByInterval() {
+    InputEntryIndex index = createIndex("< 10", "[10..20]", "]20..30[", "30", ">= 30");
+
+    assertEquals(bits(0), findRules(index, 9.5));
+    assertEquals(bits(1), findRules(index, 10));
+    assertEquals(bits(1), findRules(index, 20L));
+    assertEquals(bits(2), findRules(index, 25));
+    assertEquals(bits(3, 4), findRules(index, 30.0));
+    assertEquals(bits(4), findRules(index, new BigDecimal("1000")));
+  }
+
+  @Test
+  public void doNotLookUpValuesOfOtherType() {
+    InputEntryIndex index = createIndex("< 10", "20");
+
+    assertFalse(index.findMatchingRules("20", new BitSet()));
+    assertFalse(index.findMatchingRules(Double.NaN, new BitSet()));
+  }
+
+  @Test
+  public void doNotIndexMixedTypes() {
+    assertFalse(createIndex("\"a\"", "10").isIndexed());
+    assertFalse(createIndex("", "not(10)").isIndexed());
+  }
+
+  protected InputEntryIndex createIndex(String... entries) {
+    InputEntryIndex index = new InputEntryIndex();
+    for (int i = 0; i < entries.length; i++) {
+      index.addRule(i, InputEntryParser.parse(entries[i]));
+    }
+    index.build();
+    return index;
+  }
+
+  protected BitSet findRules(InputEntryIndex index, Object value) {
+    BitSet rules = new BitSet();
+    assertTrue(index.findMatchingRules(value, rules));
+    return rules;
+  }
+
+  protected BitSet bits(int... indexes) {
+    BitSet bits = new BitSet();
+    for (int index : indexes) {
+      bits.set(index);
+    }
+    return bits;
+  }
+
+}
@@ -0,0 +1,147 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
+import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+
+/**
+ * Verifies that the acquirable time stored with each job is kept consistent
+ * with the state the job acquisition checks.
+ */
+public class JobAcquisitionAcquirableAtTest extends PluggableProcessEngineTestCase {
+
+  protected static final String PROCESS_RESOURCE = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml";
+
+  protected CommandExecutor commandExecutor;
+
+  protected void setUp() throws Exception {
+    commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+  }
+
+  protected void tearDown() throws Exception {
+    ClockUtil.reset();
+  }
+
+  public void testAcquirableAtOfMessage() {
+    JobEntity job = new MessageEntity();
+    assertEquals(JobEntity.ACQUIRABLE_IMMEDIATELY, job.getAcquirableAt());
+
+    job.setRetries(0);
+    assertNull(job.getAcquirableAt());
+  }
+
+  public void testAcquirableAtOfTimer() {
+    Date duedate = new Date(1000000L);
+    JobEntity job = new TimerEntity();
+    job.setDuedate(duedate);
+    assertEquals(duedate, job.getAcquirableAt());
+
+    // a lock expiring later postpones the acquisition
+    job.setLockOwner("owner");
+    job.setLockExpirationTime(new Date(2000000L));
+    assertEquals(new Date(2000000L), job.getAcquirableAt());
+
+    // a lock without expiration prevents acquisition
+    job.setLockExpirationTime(null);
+    assertNull(job.getAcquirableAt());
+
+    job.unlock();
+    job.setSuspensionState(SuspensionState.SUSPENDED.getStateCode());
+    assertNull(job.getAcquirableAt());
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testAcquireMessage() {
+    runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+
+    assertEquals(1, findAcquirableJobs().size());
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testSuspendAndActivateJob() {
+    runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+    Job job = managementService.createJobQuery().singleResult();
+
+    managementService.suspendJobById(job.getId());
+    assertEquals(0, findAcquirableJobs().size());
+
+    managementService.activateJobById(job.getId());
+    assertEquals(1, findAcquirableJobs().size());
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testSuspendAndActivateJobDefinition() {
+    runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+
+    managementService.suspendJobDefinitionByProcessDefinitionKey("simpleAsyncProcess", true);
+    assertEquals(0, findAcquirableJobs().size());
+
+    managementService.activateJobDefinitionByProcessDefinitionKey("simpleAsyncProcess", true);
+    assertEquals(1, findAcquirableJobs().size());
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testSetRetries() {
+    runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+    Job job = managementService.createJobQuery().singleResult();
+
+    managementService.setJobRetries(job.getId(), 0);
+    assertEquals(0, findAcquirableJobs().size());
+
+    managementService.setJobRetriesByJobDefinitionId(job.getJobDefinitionId(), 1);
+    assertEquals(1, findAcquirableJobs().size());
+  }
+
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void testLockedJob() {
+    runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+    final String jobId = managementService.createJobQuery().singleResult().getId();
+    final Date lockExpirationTime = new Date(ClockUtil.getCurrentTime().getTime() + 60000);
+
+    commandExecutor.execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        JobEntity job = commandContext.getJobManager().findJobById(jobId);
+        job.setLockOwner("owner");
+        job.setLockExpirationTime(lockExpirationTime);
+        return null;
+      }
+    });
+    assertEquals(0, findAcquirableJobs().size());
+
+    ClockUtil.setCurrentTime(new Date(lockExpirationTime.getTime() + 1000));
+    assertEquals(1, findAcquirableJobs().size());
+  }
+
+  protected List<JobEntity> findAcquirableJobs() {
+    return commandExecutor.execute(new Command<List<JobEntity>>() {
+      public List<JobEntity> execute(CommandContext commandContext) {
+        return commandContext.getJobManager().findNextJobsToExecute(new Page(0, 10));
+      }
+    });
+  }
+
+}
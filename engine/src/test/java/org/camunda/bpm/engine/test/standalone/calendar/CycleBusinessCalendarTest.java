@@ -17,6 +17,8 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 
 import org.camunda.bpm.engine.impl.calendar.CycleBusinessCalendar;
+import org.camunda.bpm.engine.impl.calendar.DurationHelper;
+import org.camunda.bpm.engine.impl.calendar.ScheduleCache;
 import org.camunda.bpm.engine.impl.test.PvmTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
@@ -50,4 +52,51 @@ public class CycleBusinessCalendarTest extends PvmTestCase {
     assertEquals(expectedDuedate, duedate);
   }
 
+  public void testCachedCronIsEvaluatedAtCurrentTime() throws Exception {
+    CycleBusinessCalendar businessCalendar = new CycleBusinessCalendar();
+
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy MM dd - HH:mm");
+    ClockUtil.setCurrentTime(simpleDateFormat.parse("2011 03 11 - 17:23"));
+    Date duedate = businessCalendar.resolveDuedate("0 0 0 1 * ?");
+    assertEquals(simpleDateFormat.parse("2011 04 1 - 00:00"), duedate);
+
+    // modifying a returned due date does not affect later results
+    duedate.setTime(0);
+    assertEquals(simpleDateFormat.parse("2011 04 1 - 00:00"), businessCalendar.resolveDuedate("0 0 0 1 * ?"));
+
+    ClockUtil.setCurrentTime(simpleDateFormat.parse("2011 04 11 - 17:23"));
+    assertEquals(simpleDateFormat.parse("2011 05 1 - 00:00"), businessCalendar.resolveDuedate("0 0 0 1 * ?"));
+  }
+
+  public void testCachedDurationIsEvaluatedAtCurrentTime() throws Exception {
+    CycleBusinessCalendar businessCalendar = new CycleBusinessCalendar();
+
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy MM dd - HH:mm");
+    ClockUtil.setCurrentTime(simpleDateFormat.parse("2010 06 11 - 17:23"));
+    assertEquals(simpleDateFormat.parse("2010 06 13 - 23:33"), businessCalendar.resolveDuedate("R/P2DT5H70M"));
+
+    ClockUtil.setCurrentTime(simpleDateFormat.parse("2010 06 12 - 17:23"));
+    assertEquals(simpleDateFormat.parse("2010 06 14 - 23:33"), businessCalendar.resolveDuedate("R/P2DT5H70M"));
+  }
+
+  public void testPeriodIsCachedWithoutStartDate() throws Exception {
+    ScheduleCache scheduleCache = new ScheduleCache(10);
+
+    SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy MM dd - HH:mm");
+    Date now = simpleDateFormat.parse("2010 06 11 - 17:23");
+
+    // repeating timers carry their own start date
+    DurationHelper first = scheduleCache.getDurationHelper("R3/2010-06-11T17:00:00/PT10M");
+    DurationHelper second = scheduleCache.getDurationHelper("R3/2010-06-11T17:05:00/PT10M");
+
+    assertEquals(simpleDateFormat.parse("2010 06 11 - 17:30"), first.getDateAfter(now));
+    assertEquals(simpleDateFormat.parse("2010 06 11 - 17:25"), second.getDateAfter(now));
+    assertEquals(1, scheduleCache.size());
+  }
+
+  protected void tearDown() throws Exception {
+    ClockUtil.reset();
+    super.tearDown();
+  }
+
 }
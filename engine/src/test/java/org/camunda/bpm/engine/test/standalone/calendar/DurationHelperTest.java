@@ -67,6 +67,24 @@ public class DurationHelperTest {
     assertEquals(parse("19700101-00:00:40"), dh.getDateAfter());
   }
 
+  @Test
+  public void shouldStartRelativePeriodAtGivenDate() throws Exception {
+    ClockUtil.setCurrentTime(new Date(0));
+    DurationHelper dh = new DurationHelper("R2/PT10S");
+
+    // the helper can be reused independently of its creation time
+    assertEquals(25000, dh.getDateAfter(new Date(15000)).getTime());
+    assertEquals(110000, dh.getDateAfter(new Date(100000)).getTime());
+  }
+
+  @Test
+  public void shouldNotStartAbsolutePeriodAtGivenDate() throws Exception {
+    DurationHelper dh = new DurationHelper("R2/1970-01-01T00:00:00/1970-01-01T00:00:10");
+
+    assertEquals(parse("19700101-00:00:20"), dh.getDateAfter(parse("19700101-00:00:15")));
+    assertNull(dh.getDateAfter(parse("19700101-00:00:30")));
+  }
+
 
   @AfterClass
   public static void resetTime() {
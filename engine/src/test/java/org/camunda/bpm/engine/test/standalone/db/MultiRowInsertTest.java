@@ -0,0 +1,189 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.DecisionService;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
+import org.camunda.bpm.engine.impl.dmn.cmd.EvaluateDecisionBatchCmd;
+import org.camunda.bpm.engine.management.SqlStatementStatistics;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class MultiRowInsertTest {
+
+  protected static final int VARIABLE_COUNT = 30;
+  protected static final int EVALUATION_COUNT = 10;
+
+  protected static final String DMN_DECISION_TABLE = "org/camunda/bpm/engine/test/api/dmn/Example.dmn";
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${true}")
+      .serviceTask()
+        .camundaExpression("${true}")
+      .serviceTask()
+        .camundaExpression("${true}")
+      .userTask()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration
+          .setMultiRowInsertEnabled(true)
+          .setSqlStatementProfilingEnabled(true);
+    }
+  };
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+  protected ManagementService managementService;
+  protected DecisionService decisionService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+    managementService = engineRule.getManagementService();
+    decisionService = engineRule.getDecisionService();
+
+    testRule.deploy(PROCESS);
+    managementService.resetSqlStatementStatistics();
+  }
+
+  @After
+  public void tearDown() {
+    managementService.resetSqlStatementStatistics();
+  }
+
+  @Test
+  public void testInsertVariablesWithOneStatement() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    for (int i = 0; i < VARIABLE_COUNT; i++) {
+      variables.put("var" + i, i);
+    }
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    // all variables and their history are inserted
+    Map<String, Object> insertedVariables = runtimeService.getVariables(processInstance.getId());
+    assertEquals(VARIABLE_COUNT, insertedVariables.size());
+    for (int i = 0; i < VARIABLE_COUNT; i++) {
+      assertEquals(i, insertedVariables.get("var" + i));
+    }
+    assertEquals(VARIABLE_COUNT, historyService.createHistoricDetailQuery()
+        .processInstanceId(processInstance.getId())
+        .variableUpdates()
+        .count());
+
+    assertStatementExecutedOnce("insertVariableInstances");
+    assertStatementExecutedOnce("insertHistoricVariableUpdateEvents");
+    assertNull(findStatistics("insertVariableInstance"));
+  }
+
+  @Test
+  public void testInsertHistoricActivityInstancesWithOneStatement() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // start event, three service tasks and the user task
+    assertEquals(5, historyService.createHistoricActivityInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .count());
+
+    assertStatementExecutedOnce("insertHistoricActivityInstanceEvents");
+    assertNull(findStatistics("insertHistoricActivityInstanceEvent"));
+  }
+
+  @Test
+  public void testInsertHistoricDecisionInstancesOfBatchEvaluationWithOneStatement() {
+    testRule.deploy(DMN_DECISION_TABLE);
+
+    List<VariableMap> variablesList = new ArrayList<VariableMap>();
+    for (int i = 0; i < EVALUATION_COUNT; i++) {
+      variablesList.add(Variables.createVariables().putValue("status", "gold").putValue("sum", i));
+    }
+
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionByKey("decision").evaluateAll(variablesList);
+
+    assertEquals(EVALUATION_COUNT, results.size());
+    assertEquals(EVALUATION_COUNT, historyService.createHistoricDecisionInstanceQuery().count());
+
+    assertStatementExecutedOnce(EvaluateDecisionBatchCmd.class, "insertHistoricDecisionInstances");
+    assertStatementExecutedOnce(EvaluateDecisionBatchCmd.class, "insertHistoricDecisionInputInstances");
+    assertStatementExecutedOnce(EvaluateDecisionBatchCmd.class, "insertHistoricDecisionOutputInstances");
+    assertNull(findStatistics(EvaluateDecisionBatchCmd.class, "insertHistoricDecisionInstance"));
+  }
+
+  protected void assertStatementExecutedOnce(String statementId) {
+    assertStatementExecutedOnce(StartProcessInstanceCmd.class, statementId);
+  }
+
+  protected void assertStatementExecutedOnce(Class<?> commandClass, String statementId) {
+    SqlStatementStatistics statistics = findStatistics(commandClass, statementId);
+    assertNotNull(statistics);
+    assertEquals(1, statistics.getCount());
+  }
+
+  protected SqlStatementStatistics findStatistics(String statementId) {
+    return findStatistics(StartProcessInstanceCmd.class, statementId);
+  }
+
+  protected SqlStatementStatistics findStatistics(Class<?> commandClass, String statementId) {
+    for (SqlStatementStatistics statistics : managementService.getSqlStatementStatistics()) {
+      if (commandClass.getName().equals(statistics.getCommandName())
+          && statementId.equals(statistics.getStatementId())) {
+        return statistics;
+      }
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,229 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricTaskInstanceReportResult;
+import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.sql.DefaultReadDataSourceStalenessPolicy;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+public class ReadDataSourceTest {
+
+  protected static final BpmnModelInstance ONE_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+      .endEvent()
+      .done();
+
+  /** reads from the same database as the engine but counts its connections */
+  protected static CountingDataSource readDataSource;
+
+  protected static DefaultReadDataSourceStalenessPolicy stalenessPolicy;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      readDataSource = new CountingDataSource(configuration.getJdbcDriver(), configuration.getJdbcUrl(),
+          configuration.getJdbcUsername(), configuration.getJdbcPassword());
+      stalenessPolicy = new DefaultReadDataSourceStalenessPolicy(0);
+
+      return configuration
+          .setReadOnlyCommandsEnabled(true)
+          .setReadDataSource(readDataSource)
+          .setReadDataSourceStalenessPolicy(stalenessPolicy);
+    }
+  };
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected ManagementService managementService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    managementService = engineRule.getManagementService();
+
+    testRule.deploy(ONE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+
+    readDataSource.connections = 0;
+  }
+
+  @After
+  public void resetStalenessPolicy() {
+    stalenessPolicy.setReadYourWritesWindow(0);
+    stalenessPolicy.setMaxReplicaLag(0);
+    stalenessPolicy.setReplicaLagStatement(null);
+    stalenessPolicy.setReplicaLagCheckInterval(DefaultReadDataSourceStalenessPolicy.DEFAULT_REPLICA_LAG_CHECK_INTERVAL);
+  }
+
+  @Test
+  public void testHistoryQueryReadsFromReadDataSource() {
+    List<HistoricProcessInstance> processInstances = historyService.createHistoricProcessInstanceQuery().list();
+
+    assertEquals(1, processInstances.size());
+    assertTrue(readDataSource.connections > 0);
+  }
+
+  @Test
+  public void testReportReadsFromReadDataSource() {
+    // the report counts completed tasks only
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+    taskService.complete(taskId);
+    readDataSource.connections = 0;
+
+    List<HistoricTaskInstanceReportResult> results = historyService.createHistoricTaskInstanceReport().countByTaskName();
+
+    assertEquals(1, results.size());
+    assertTrue(readDataSource.connections > 0);
+  }
+
+  @Test
+  public void testStatisticsQueryReadsFromReadDataSource() {
+    assertEquals(1, managementService.createProcessDefinitionStatisticsQuery().count());
+    assertTrue(readDataSource.connections > 0);
+  }
+
+  @Test
+  public void testRuntimeQueryReadsFromPrimaryDataSource() {
+    assertEquals(1, runtimeService.createProcessInstanceQuery().count());
+    assertEquals(0, readDataSource.connections);
+  }
+
+  @Test
+  public void testExplicitlyAllowedQueryReadsFromReadDataSource() {
+    ProcessInstanceQueryImpl query = (ProcessInstanceQueryImpl) runtimeService.createProcessInstanceQuery();
+    List<ProcessInstance> processInstances = query.allowReadDataSource().list();
+
+    assertEquals(1, processInstances.size());
+    assertTrue(readDataSource.connections > 0);
+  }
+
+  @Test
+  public void testThreadReadsItsOwnWrites() {
+    stalenessPolicy.setReadYourWritesWindow(60 * 1000);
+    runtimeService.startProcessInstanceByKey("process");
+
+    // the history query runs within the window after the write
+    assertEquals(2, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, readDataSource.connections);
+  }
+
+  @Test
+  public void testReplicaLagAboveBoundReadsFromPrimaryDataSource() {
+    stalenessPolicy.setMaxReplicaLag(1000);
+    stalenessPolicy.setReplicaLagStatement(replicaLagStatement(5000));
+    stalenessPolicy.setReplicaLagCheckInterval(60 * 1000);
+
+    // selects the lag of the read data source
+    assertFalse(stalenessPolicy.isReadDataSourceAllowed(readDataSource));
+    readDataSource.connections = 0;
+
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, readDataSource.connections);
+  }
+
+  @Test
+  public void testReplicaLagWithinBoundReadsFromReadDataSource() {
+    stalenessPolicy.setMaxReplicaLag(1000);
+    stalenessPolicy.setReplicaLagStatement(replicaLagStatement(500));
+    stalenessPolicy.setReplicaLagCheckInterval(60 * 1000);
+
+    assertTrue(stalenessPolicy.isReadDataSourceAllowed(readDataSource));
+    readDataSource.connections = 0;
+
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    assertTrue(readDataSource.connections > 0);
+  }
+
+  @Test
+  public void testUnknownReplicaLagReadsFromPrimaryDataSource() {
+    stalenessPolicy.setMaxReplicaLag(1000);
+    stalenessPolicy.setReplicaLagStatement("select VALUE_ from ACT_GE_PROPERTY where NAME_ = 'unknown'");
+
+    assertFalse(stalenessPolicy.isReadDataSourceAllowed(readDataSource));
+  }
+
+  @Test
+  public void testReadOnlyCommandsRequired() {
+    processEngineConfiguration.setReadOnlyCommandsEnabled(false);
+    try {
+      assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+      assertEquals(0, readDataSource.connections);
+    }
+    finally {
+      processEngineConfiguration.setReadOnlyCommandsEnabled(true);
+    }
+  }
+
+  protected String replicaLagStatement(long lag) {
+    return "select " + lag + " from ACT_GE_PROPERTY where NAME_ = 'schema.version'";
+  }
+
+  public static class CountingDataSource extends PooledDataSource {
+
+    protected int connections = 0;
+
+    public CountingDataSource(String driver, String url, String username, String password) {
+      super(driver, url, username, password);
+    }
+
+    public Connection getConnection() throws SQLException {
+      connections++;
+      return super.getConnection();
+    }
+
+  }
+
+}
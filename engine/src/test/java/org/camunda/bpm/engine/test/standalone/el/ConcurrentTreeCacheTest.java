@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.el;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.ConcurrentCache;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.junit.Test;
+
+public class ConcurrentTreeCacheTest {
+
+  protected Builder builder = new Builder();
+
+  @Test
+  public void testGetCachedTree() {
+    ConcurrentCache cache = new ConcurrentCache(10);
+    Tree tree = builder.build("${a}");
+
+    cache.put("${a}", tree);
+
+    assertSame(tree, cache.get("${a}"));
+    assertNull(cache.get("${b}"));
+  }
+
+  @Test
+  public void testSizeIsBounded() {
+    ConcurrentCache cache = new ConcurrentCache(100, null);
+
+    for (int i = 0; i < 1000; i++) {
+      String expression = "${a" + i + "}";
+      cache.put(expression, builder.build(expression));
+    }
+
+    assertTrue(cache.size() <= 100);
+  }
+
+  @Test
+  public void testEvictedTreesAreMovedToSecondaryMap() {
+    Map<String, Tree> secondary = new HashMap<String, Tree>();
+    ConcurrentCache cache = new ConcurrentCache(10, secondary);
+
+    for (int i = 0; i < 20; i++) {
+      String expression = "${a" + i + "}";
+      cache.put(expression, builder.build(expression));
+    }
+
+    assertTrue(cache.size() <= 10);
+    assertTrue(secondary.size() >= 10);
+
+    // evicted trees are still found through the secondary map
+    for (int i = 0; i < 20; i++) {
+      assertNotNull(cache.get("${a" + i + "}"));
+    }
+  }
+
+  @Test
+  public void testConcurrentAccess() throws Exception {
+    final ConcurrentCache cache = new ConcurrentCache(50, null);
+    Thread[] threads = new Thread[8];
+    final Throwable[] failure = new Throwable[1];
+
+    for (int t = 0; t < threads.length; t++) {
+      final int offset = t;
+      threads[t] = new Thread() {
+        public void run() {
+          try {
+            for (int i = 0; i < 2000; i++) {
+              String expression = "${a" + ((i + offset) % 200) + "}";
+              Tree tree = cache.get(expression);
+              if (tree == null) {
+                cache.put(expression, builder.build(expression));
+              }
+            }
+          } catch (Throwable e) {
+            failure[0] = e;
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertNull(failure[0]);
+
+    // the next insertion restores the size bound
+    cache.put("${b}", builder.build("${b}"));
+    assertTrue(cache.size() <= 50);
+  }
+
+}
@@ -0,0 +1,170 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.el;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.camunda.bpm.engine.impl.juel.AstMethod;
+import org.camunda.bpm.engine.impl.juel.AstNode;
+import org.camunda.bpm.engine.impl.juel.AstProperty;
+import org.camunda.bpm.engine.impl.juel.Bindings;
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.InlineCache;
+import org.camunda.bpm.engine.impl.juel.SimpleContext;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExpressionInlineCachingTest {
+
+  protected ExpressionFactoryImpl expressionFactory;
+  protected SimpleContext context;
+
+  @Before
+  public void setUp() {
+    expressionFactory = new ExpressionFactoryImpl();
+    context = new SimpleContext();
+    context.setInlineCachingThreshold(2);
+  }
+
+  @Test
+  public void testPropertyIsCachedAfterThreshold() {
+    Tree tree = build("${bean.value}");
+    AstProperty property = (AstProperty) getExpressionNode(tree);
+
+    setBean(new Bean("a"));
+    assertEquals("a", eval(property, tree));
+    assertFalse(property.getInlineCache().isCached());
+
+    assertEquals("a", eval(property, tree));
+    assertTrue(property.getInlineCache().isCached());
+
+    // the cached accessor is invoked on the current base
+    setBean(new Bean("b"));
+    assertEquals("b", eval(property, tree));
+    assertTrue(property.getInlineCache().isCached());
+  }
+
+  @Test
+  public void testPropertyFallsBackToInterpreterOnTypeChange() {
+    Tree tree = build("${bean.value}");
+    AstProperty property = (AstProperty) getExpressionNode(tree);
+
+    setBean(new Bean("a"));
+    eval(property, tree);
+    eval(property, tree);
+    assertTrue(property.getInlineCache().isCached());
+
+    setBean(new OtherBean("c"));
+    assertEquals("other c", eval(property, tree));
+    assertFalse(property.getInlineCache().isCached());
+  }
+
+  @Test
+  public void testPolymorphicPropertyStaysInterpreted() {
+    Tree tree = build("${bean.value}");
+    AstProperty property = (AstProperty) getExpressionNode(tree);
+
+    for (int i = 0; i < InlineCache.MAX_INVALIDATIONS; i++) {
+      setBean(new Bean("a"));
+      eval(property, tree);
+      eval(property, tree);
+      setBean(new OtherBean("b"));
+      eval(property, tree);
+    }
+
+    assertTrue(property.getInlineCache().isPolymorphic());
+    assertEquals("other b", eval(property, tree));
+    assertFalse(property.getInlineCache().isCached());
+  }
+
+  @Test
+  public void testMethodIsCachedAfterThreshold() {
+    Tree tree = build("${bean.greet('world')}");
+    AstMethod method = (AstMethod) getExpressionNode(tree);
+
+    setBean(new Bean("a"));
+    assertEquals("a world", eval(method, tree));
+    assertEquals("a world", eval(method, tree));
+    assertTrue(method.getInlineCache().isCached());
+
+    setBean(new Bean("b"));
+    assertEquals("b world", eval(method, tree));
+  }
+
+  @Test
+  public void testInlineCachingDisabledByDefault() {
+    context.setInlineCachingThreshold(-1);
+    Tree tree = build("${bean.value}");
+    AstProperty property = (AstProperty) getExpressionNode(tree);
+
+    setBean(new Bean("a"));
+    for (int i = 0; i < 10; i++) {
+      eval(property, tree);
+    }
+    assertFalse(property.getInlineCache().isCached());
+  }
+
+  protected Tree build(String expression) {
+    return new Builder(Builder.Feature.METHOD_INVOCATIONS).build(expression);
+  }
+
+  protected AstNode getExpressionNode(Tree tree) {
+    // the root is the ${...} eval node
+    return (AstNode) tree.getRoot().getChild(0);
+  }
+
+  protected void setBean(Object bean) {
+    context.setVariable("bean", expressionFactory.createValueExpression(bean, Object.class));
+  }
+
+  protected Object eval(AstNode node, Tree tree) {
+    // variables are resolved when the tree is bound
+    Bindings bindings = tree.bind(context.getFunctionMapper(), context.getVariableMapper());
+    return node.eval(bindings, context);
+  }
+
+  public static class Bean {
+
+    protected String value;
+
+    public Bean(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+
+    public String greet(String name) {
+      return value + " " + name;
+    }
+  }
+
+  public static class OtherBean {
+
+    protected String value;
+
+    public OtherBean(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return "other " + value;
+    }
+  }
+
+}
@@ -13,9 +13,13 @@
 package org.camunda.bpm.engine.test.standalone.interceptor;
 
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+import org.camunda.bpm.engine.impl.persistence.GenericManagerFactory;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionManager;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 
 
@@ -86,6 +90,82 @@ public class CommandContextInterceptorTest extends PluggableProcessEngineTestCas
     });
   }
 
+  public void testSessionsOfCommandContext() {
+    Session[] firstSessions = processEngineConfiguration.getCommandExecutorTxRequired().execute(new GetSessionsCmd());
+    Session[] secondSessions = processEngineConfiguration.getCommandExecutorTxRequired().execute(new GetSessionsCmd());
+
+    // each command has its own entity manager
+    assertNotNull(firstSessions[0]);
+    assertNotSame(firstSessions[0], secondSessions[0]);
+
+    // the execution manager is stateless and therefore shared
+    assertNotNull(firstSessions[1]);
+    assertSame(firstSessions[1], secondSessions[1]);
+  }
+
+  public void testSessionOfFactoryAddedAfterInitialization() {
+    processEngineConfiguration.getSessionFactories().put(StatefulManager.class, new GenericManagerFactory(StatefulManager.class));
+
+    try {
+      Session[] firstSessions = processEngineConfiguration.getCommandExecutorTxRequired().execute(new GetStatefulManagerCmd());
+      Session[] secondSessions = processEngineConfiguration.getCommandExecutorTxRequired().execute(new GetStatefulManagerCmd());
+
+      // the same session is returned within a command
+      assertSame(firstSessions[0], firstSessions[1]);
+      assertNotSame(firstSessions[0], secondSessions[0]);
+
+    } finally {
+      processEngineConfiguration.getSessionFactories().remove(StatefulManager.class);
+    }
+  }
+
+  public void testSetSession() {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionManager executionManager = new ExecutionManager();
+        commandContext.setSession(ExecutionManager.class, executionManager);
+
+        assertSame(executionManager, commandContext.getSession(ExecutionManager.class));
+        assertSame(executionManager, commandContext.getSessions().get(ExecutionManager.class));
+
+        StatefulManager statefulManager = new StatefulManager();
+        commandContext.setSession(StatefulManager.class, statefulManager);
+
+        assertSame(statefulManager, commandContext.getSession(StatefulManager.class));
+        return null;
+      }
+    });
+  }
+
+  protected static class GetSessionsCmd implements Command<Session[]> {
+
+    public Session[] execute(CommandContext commandContext) {
+      DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+      assertSame(dbEntityManager, commandContext.getDbEntityManager());
+
+      return new Session[] { dbEntityManager, commandContext.getSession(ExecutionManager.class) };
+    }
+  }
+
+  protected static class GetStatefulManagerCmd implements Command<Session[]> {
+
+    public Session[] execute(CommandContext commandContext) {
+      return new Session[] { commandContext.getSession(StatefulManager.class), commandContext.getSession(StatefulManager.class) };
+    }
+  }
+
+  public static class StatefulManager implements Session {
+
+    protected boolean closed = false;
+
+    public void flush() {
+    }
+
+    public void close() {
+      closed = true;
+    }
+  }
+
   protected class ExceptionThrowingCmd implements Command<Void> {
 
     protected boolean executed;
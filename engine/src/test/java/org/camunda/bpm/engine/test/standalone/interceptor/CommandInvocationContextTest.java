@@ -18,6 +18,7 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.model.bpmn.Bpmn;
 
 public class CommandInvocationContextTest extends PluggableProcessEngineTestCase {
 
@@ -31,6 +32,34 @@ public class CommandInvocationContextTest extends PluggableProcessEngineTestCase
     processEngineConfiguration.getCommandExecutorTxRequired().execute(outerCommand);
   }
 
+  /**
+   * Test that the execution context belongs to the execution of each operation, also
+   * if consecutive operations are performed on different executions.
+   */
+  public void testExecutionContextOfOperations() {
+    String delegate = ExecutionContextAssertingDelegate.class.getName();
+    deployment(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask().camundaClass(delegate)
+      .parallelGateway("fork")
+        .serviceTask().camundaClass(delegate)
+        .serviceTask().camundaClass(delegate)
+        .parallelGateway("join")
+        .serviceTask().camundaClass(delegate)
+        .endEvent()
+      .moveToNode("fork")
+        .serviceTask().camundaClass(delegate)
+        .connectTo("join")
+      .done());
+
+    ExecutionContextAssertingDelegate.invocations = 0;
+
+    runtimeService.startProcessInstanceByKey("process");
+
+    assertEquals(5, ExecutionContextAssertingDelegate.invocations);
+    assertNull(Context.getCoreExecutionContext());
+  }
+
   protected class SelfAssertingCommand implements Command<Void> {
 
     protected Command<Void> innerCommand;
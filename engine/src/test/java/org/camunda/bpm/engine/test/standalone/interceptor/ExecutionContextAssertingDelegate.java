@@ -0,0 +1,37 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.interceptor;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.context.BpmnExecutionContext;
+import org.camunda.bpm.engine.impl.context.Context;
+
+/**
+ * Fails if the current execution context does not belong to the execution of the delegate.
+ */
+public class ExecutionContextAssertingDelegate implements JavaDelegate {
+
+  public static int invocations = 0;
+
+  public void execute(DelegateExecution execution) throws Exception {
+    BpmnExecutionContext executionContext = Context.getBpmnExecutionContext();
+
+    if (executionContext == null || executionContext.getExecution() != execution) {
+      throw new IllegalStateException("Execution context does not belong to " + execution);
+    }
+
+    invocations++;
+  }
+
+}
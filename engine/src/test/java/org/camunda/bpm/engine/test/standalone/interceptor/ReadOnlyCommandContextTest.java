@@ -0,0 +1,140 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.interceptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.ReadOnlyCommand;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ReadOnlyCommandContextTest {
+
+  protected static final BpmnModelInstance ONE_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setReadOnlyCommandsEnabled(true);
+    }
+  };
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  protected String taskId;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+
+    testRule.deploy(ONE_TASK_PROCESS);
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("aVariable", "aValue")).getId();
+    taskId = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId();
+  }
+
+  @Test
+  public void testReadOnlyCommands() {
+    Task task = taskService.createTaskQuery().taskId(taskId).singleResult();
+    assertEquals(taskId, task.getId());
+    assertEquals("aValue", runtimeService.getVariable(task.getExecutionId(), "aVariable"));
+    assertEquals("aValue", taskService.getVariables(taskId).get("aVariable"));
+  }
+
+  @Test
+  public void testChangesOfReadOnlyCommandAreNotFlushed() {
+    boolean readOnly = processEngineConfiguration.getCommandExecutorTxRequired().execute(new RenameTaskCmd(taskId));
+
+    assertTrue(readOnly);
+    assertNull(taskService.createTaskQuery().taskId(taskId).singleResult().getName());
+  }
+
+  @Test
+  public void testWriteCommandWithinReadOnlyCommandIsRejected() {
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new ReadOnlyCommandCallingWriteCommand(taskId));
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      assertTrue(e.getMessage().contains("read-only command context"));
+    }
+
+    assertNull(taskService.createTaskQuery().taskId(taskId).singleResult().getAssignee());
+  }
+
+  protected static class RenameTaskCmd implements Command<Boolean>, ReadOnlyCommand {
+
+    protected String taskId;
+
+    public RenameTaskCmd(String taskId) {
+      this.taskId = taskId;
+    }
+
+    public Boolean execute(CommandContext commandContext) {
+      TaskEntity task = commandContext.getTaskManager().findTaskById(taskId);
+      task.setName("aName");
+
+      return commandContext.isReadOnly();
+    }
+  }
+
+  protected static class ReadOnlyCommandCallingWriteCommand implements Command<Void>, ReadOnlyCommand {
+
+    protected String taskId;
+
+    public ReadOnlyCommandCallingWriteCommand(String taskId) {
+      this.taskId = taskId;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      commandContext.getProcessEngineConfiguration().getTaskService().setAssignee(taskId, "aUser");
+      return null;
+    }
+  }
+
+}
@@ -12,6 +12,11 @@
  */
 package org.camunda.bpm.engine.test.standalone.scripting;
 
+import java.util.Map;
+
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
@@ -27,6 +32,7 @@ public class ScriptCompilationTest extends PluggableProcessEngineTestCase {
 
   protected static final String SCRIPT_LANGUAGE = "groovy";
   protected static final String EXAMPLE_SCRIPT = "println 'hello world'";
+  protected static final String JAVASCRIPT_LANGUAGE = "javascript";
 
   protected ScriptFactory scriptFactory;
 
@@ -122,6 +128,82 @@ public class ScriptCompilationTest extends PluggableProcessEngineTestCase {
     assertNotNull(script.getCompiledScript());
   }
 
+  public void testJavaScriptIsNotCompiledByDefault() {
+    SourceExecutableScript script = createScript(JAVASCRIPT_LANGUAGE, "1 + 1");
+
+    executeScript(script);
+
+    assertFalse(script.isShouldBeCompiled());
+    assertNull(script.getCompiledScript());
+  }
+
+  public void testJavaScriptCompilationUsesEngineBoundCache() {
+    enableJavaScriptCompilation(true);
+    try {
+      SourceExecutableScript script = createScript(JAVASCRIPT_LANGUAGE, "1 + 1");
+      Number result = (Number) executeScript(script);
+      assertEquals(2, result.intValue());
+
+      // the compiled script is cached by the engine instead of the script
+      assertNull(script.getCompiledScript());
+
+      ScriptEngine scriptEngine = getJavaScriptEngine();
+      Map<?, ?> compiledScripts = (Map<?, ?>) scriptEngine.getContext()
+          .getAttribute(SourceExecutableScript.ENGINE_BOUND_SCRIPT_CACHE_ATTRIBUTE, ScriptContext.ENGINE_SCOPE);
+      assertNotNull(compiledScripts);
+      assertTrue(compiledScripts.containsKey("1 + 1"));
+
+      // and the same engine is handed out to this thread again
+      assertSame(scriptEngine, getJavaScriptEngine());
+    }
+    finally {
+      enableJavaScriptCompilation(false);
+    }
+  }
+
+  public void testThreadBoundJavaScriptEnginesAreDroppedOnClose() {
+    enableJavaScriptCompilation(true);
+    try {
+      ScriptEngine scriptEngine = getJavaScriptEngine();
+      assertSame(scriptEngine, getJavaScriptEngine());
+
+      processEngineConfiguration.getScriptingEngines().close();
+
+      assertNotSame(scriptEngine, getJavaScriptEngine());
+    }
+    finally {
+      enableJavaScriptCompilation(false);
+    }
+  }
+
+  public void testCompiledJavaScriptDoesNotShareState() {
+    enableJavaScriptCompilation(true);
+    try {
+      String source = "var counter = (typeof counter === 'undefined') ? 1 : counter + 1; counter";
+      SourceExecutableScript script = createScript(JAVASCRIPT_LANGUAGE, source);
+
+      assertEquals(1, ((Number) executeScript(script)).intValue());
+      assertEquals(1, ((Number) executeScript(script)).intValue());
+    }
+    finally {
+      enableJavaScriptCompilation(false);
+    }
+  }
+
+  protected void enableJavaScriptCompilation(boolean enable) {
+    processEngineConfiguration.setEnableJavaScriptCompilation(enable);
+    processEngineConfiguration.getScriptingEngines().setEnableJavaScriptCompilation(enable);
+  }
+
+  protected ScriptEngine getJavaScriptEngine() {
+    return processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<ScriptEngine>() {
+        public ScriptEngine execute(CommandContext commandContext) {
+          return processEngineConfiguration.getScriptingEngines().getScriptEngineForLanguage(JAVASCRIPT_LANGUAGE);
+        }
+      });
+  }
+
   protected Object executeScript(final ExecutableScript script) {
     final ScriptingEnvironment scriptingEnvironment = processEngineConfiguration.getScriptingEnvironment();
     return processEngineConfiguration.getCommandExecutorTxRequired()
@@ -33,6 +33,7 @@ public class ScriptEngineCachingTest extends PluggableProcessEngineTestCase {
 
   protected static final String PROCESS_PATH = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml";
   protected static final String SCRIPT_LANGUAGE = "groovy";
+  protected static final String JAVASCRIPT_LANGUAGE = "javascript";
 
   public void testGlobalCachingOfScriptEngine() {
     // when
@@ -83,6 +84,19 @@ public class ScriptEngineCachingTest extends PluggableProcessEngineTestCase {
     assertFalse(engine.equals(processApplication.getScriptEngineForName(SCRIPT_LANGUAGE, false)));
   }
 
+  public void testBindJavaScriptEngineToThreadInProcessApplication() {
+    // given
+    EmbeddedProcessApplication processApplication = new EmbeddedProcessApplication();
+
+    // when
+    ScriptEngine engine = processApplication.getScriptEngineForName(JAVASCRIPT_LANGUAGE, true, true);
+
+    // then the engine is reused by this thread, so that the scripts compiled by it are reused as well
+    assertNotNull(engine);
+    assertSame(engine, processApplication.getScriptEngineForName(JAVASCRIPT_LANGUAGE, true, true));
+    assertNotSame(engine, processApplication.getScriptEngineForName(JAVASCRIPT_LANGUAGE, true));
+  }
+
   public void testFetchScriptEngineFromPaEnableCaching() {
     // then
     EmbeddedProcessApplication processApplication = new EmbeddedProcessApplication();
@@ -0,0 +1,99 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.util.ConcurrentLruCache;
+import org.junit.Test;
+
+public class ConcurrentLruCacheTest {
+
+  @Test
+  public void testGetCachedValue() {
+    ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<String, String>(10);
+
+    cache.put("a", "value a");
+
+    assertEquals("value a", cache.get("a"));
+    assertNull(cache.get("b"));
+  }
+
+  @Test
+  public void testSizeIsBounded() {
+    ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<Integer, String>(100);
+
+    for (int i = 0; i < 1000; i++) {
+      cache.put(i, "value " + i);
+    }
+
+    assertTrue(cache.size() <= 100);
+  }
+
+  @Test
+  public void testRecentlyUsedValuesAreKept() {
+    ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<Integer, String>(10);
+    cache.put(0, "value 0");
+
+    for (int i = 1; i < 100; i++) {
+      cache.get(0);
+      cache.put(i, "value " + i);
+    }
+
+    assertNotNull(cache.get(0));
+  }
+
+  @Test
+  public void testEvictedValuesAreReported() {
+    final Map<Integer, String> evicted = new HashMap<Integer, String>();
+    ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<Integer, String>(10) {
+      protected void evicted(Integer key, String value) {
+        evicted.put(key, value);
+      }
+    };
+
+    for (int i = 0; i < 20; i++) {
+      cache.put(i, "value " + i);
+    }
+
+    assertEquals(20, cache.size() + evicted.size());
+    for (Map.Entry<Integer, String> entry : evicted.entrySet()) {
+      assertEquals("value " + entry.getKey(), entry.getValue());
+      assertNull(cache.get(entry.getKey()));
+    }
+  }
+
+  @Test
+  public void testRemoveValue() {
+    ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<String, String>(10);
+    cache.put("a", "value a");
+
+    cache.remove("a");
+
+    assertNull(cache.get("a"));
+    assertTrue(cache.isEmpty());
+  }
+
+  @Test(expected = ProcessEngineException.class)
+  public void testCapacityMustBePositive() {
+    new ConcurrentLruCache<String, String>(0);
+  }
+
+}
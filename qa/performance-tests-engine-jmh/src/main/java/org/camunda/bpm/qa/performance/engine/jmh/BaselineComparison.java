@@ -0,0 +1,214 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+
+/**
+ * Compares two result files which JMH wrote in JSON format, typically the result of a
+ * previous build (the baseline) and the current one.
+ *
+ * Benchmarks are matched by name, mode and parameters. The change of each score is reported
+ * in percent, where positive numbers are improvements for every mode: a higher throughput or a
+ * lower time per operation. A benchmark has regressed if its score got worse by more than the
+ * regression threshold and the difference exceeds the combined error of both scores.
+ */
+public class BaselineComparison {
+
+  public static final String MODE_THROUGHPUT = "thrpt";
+
+  protected double regressionThreshold;
+  protected ObjectMapper mapper = new ObjectMapper();
+
+  /**
+   * @param regressionThreshold the tolerated deterioration of a score in percent
+   */
+  public BaselineComparison(double regressionThreshold) {
+    this.regressionThreshold = regressionThreshold;
+  }
+
+  public List<ScoreChange> compare(File baselineFile, File resultFile) throws IOException {
+    Map<String, JsonNode> baseline = readResults(baselineFile);
+    Map<String, JsonNode> results = readResults(resultFile);
+
+    List<ScoreChange> changes = new ArrayList<ScoreChange>();
+    for (Map.Entry<String, JsonNode> result : results.entrySet()) {
+      JsonNode baselineResult = baseline.get(result.getKey());
+      if (baselineResult != null) {
+        changes.add(compare(result.getKey(), baselineResult, result.getValue()));
+      }
+    }
+    return changes;
+  }
+
+  protected ScoreChange compare(String benchmark, JsonNode baselineResult, JsonNode result) {
+    JsonNode baselineMetric = baselineResult.get("primaryMetric");
+    JsonNode metric = result.get("primaryMetric");
+
+    ScoreChange change = new ScoreChange();
+    change.benchmark = benchmark;
+    change.mode = result.get("mode").getTextValue();
+    change.unit = metric.get("scoreUnit").getTextValue();
+    change.baselineScore = baselineMetric.get("score").getDoubleValue();
+    change.score = metric.get("score").getDoubleValue();
+
+    double difference = change.score - change.baselineScore;
+    if (!MODE_THROUGHPUT.equals(change.mode)) {
+      // less time per operation is better
+      difference = -difference;
+    }
+    change.change = change.baselineScore == 0 ? 0 : difference / change.baselineScore * 100;
+
+    double error = getError(baselineMetric) + getError(metric);
+    change.regression = change.change < -regressionThreshold && Math.abs(difference) > error;
+
+    return change;
+  }
+
+  protected double getError(JsonNode metric) {
+    JsonNode error = metric.get("scoreError");
+    // the error is not a number if there was only one measurement
+    return error != null && error.isNumber() ? error.getDoubleValue() : 0;
+  }
+
+  /**
+   * @return the results of the given file by benchmark name, mode and parameters
+   */
+  protected Map<String, JsonNode> readResults(File file) throws IOException {
+    Map<String, JsonNode> results = new LinkedHashMap<String, JsonNode>();
+    for (JsonNode result : mapper.readTree(file)) {
+      results.put(getKey(result), result);
+    }
+    return results;
+  }
+
+  protected String getKey(JsonNode result) {
+    StringBuilder key = new StringBuilder(result.get("benchmark").getTextValue());
+    key.append(" [").append(result.get("mode").getTextValue()).append("]");
+
+    JsonNode params = result.get("params");
+    if (params != null) {
+      // order parameters by name
+      Map<String, String> sortedParams = new TreeMap<String, String>();
+      Iterator<Map.Entry<String, JsonNode>> fields = params.getFields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        sortedParams.put(field.getKey(), field.getValue().asText());
+      }
+      key.append(" ").append(sortedParams);
+    }
+    return key.toString();
+  }
+
+  public boolean hasRegressions(List<ScoreChange> changes) {
+    for (ScoreChange change : changes) {
+      if (change.isRegression()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public void print(List<ScoreChange> changes, PrintStream out) {
+    out.println("Comparison with baseline (positive changes are improvements, regression threshold " + regressionThreshold + "%):");
+    for (ScoreChange change : changes) {
+      out.println(String.format("%s%s: %.3f -> %.3f %s (%+.1f%%)",
+          change.isRegression() ? "REGRESSION " : "",
+          change.getBenchmark(),
+          change.getBaselineScore(),
+          change.getScore(),
+          change.getUnit(),
+          change.getChange()));
+    }
+  }
+
+  public void write(List<ScoreChange> changes, File file) throws IOException {
+    mapper.writerWithDefaultPrettyPrinter().writeValue(file, changes);
+  }
+
+  public static class ScoreChange {
+
+    protected String benchmark;
+    protected String mode;
+    protected String unit;
+    protected double baselineScore;
+    protected double score;
+    protected double change;
+    protected boolean regression;
+
+    public String getBenchmark() {
+      return benchmark;
+    }
+
+    public String getMode() {
+      return mode;
+    }
+
+    public String getUnit() {
+      return unit;
+    }
+
+    public double getBaselineScore() {
+      return baselineScore;
+    }
+
+    public double getScore() {
+      return score;
+    }
+
+    /**
+     * @return the change of the score in percent, positive if the benchmark improved
+     */
+    public double getChange() {
+      return change;
+    }
+
+    public boolean isRegression() {
+      return regression;
+    }
+  }
+
+  /**
+   * Compares two JMH result files.
+   *
+   * Arguments: baseline file, result file and optionally the regression threshold in percent.
+   * Exits with status 1 if a benchmark regressed.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [regression threshold in %]");
+      System.exit(2);
+    }
+
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : BenchmarkRunner.DEFAULT_REGRESSION_THRESHOLD;
+    BaselineComparison comparison = new BaselineComparison(threshold);
+    List<ScoreChange> changes = comparison.compare(new File(args[0]), new File(args[1]));
+    comparison.print(changes, System.out);
+
+    if (comparison.hasRegressions(changes)) {
+      System.exit(1);
+    }
+  }
+
+}
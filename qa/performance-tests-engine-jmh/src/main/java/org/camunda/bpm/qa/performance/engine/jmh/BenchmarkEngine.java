@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+
+/**
+ * Builds process engines on top of a private in-memory H2 database for the benchmarks.
+ *
+ * The engines do not run the job executor or the metrics reporter, so that no background
+ * threads compete with the measured code.
+ */
+public class BenchmarkEngine {
+
+  public static ProcessEngineConfigurationImpl createConfiguration(String name) {
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+      .createStandaloneInMemProcessEngineConfiguration()
+      .setProcessEngineName(name)
+      .setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=1000")
+      .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP)
+      .setJobExecutorActivate(false);
+
+    configuration.setDbMetricsReporterActivate(false);
+    configuration.setMetricsEnabled(false);
+
+    return configuration;
+  }
+
+  public static ProcessEngineImpl buildEngine(ProcessEngineConfigurationImpl configuration) {
+    return (ProcessEngineImpl) configuration.buildProcessEngine();
+  }
+
+  public static ProcessEngineImpl buildEngine(String name) {
+    return buildEngine(createConfiguration(name));
+  }
+
+}
@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.io.File;
+import java.util.List;
+
+import org.camunda.bpm.qa.performance.engine.jmh.BaselineComparison.ScoreChange;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks like the JMH main class and accepts the same arguments, but writes the
+ * results in JSON format to <code>target/jmh-result.json</code> unless specified otherwise.
+ *
+ * If the system property <code>baseline</code> points to the JSON result file of a previous
+ * run, the results are compared with it afterwards (see {@link BaselineComparison}). The
+ * comparison is written next to the result file and the runner exits with status 1 if a
+ * benchmark got worse by more than <code>regressionThreshold</code> percent (default 10).
+ */
+public class BenchmarkRunner {
+
+  public static final String DEFAULT_RESULT_FILE = "target" + File.separatorChar + "jmh-result.json";
+  public static final String COMPARISON_FILE = "jmh-comparison.json";
+  public static final double DEFAULT_REGRESSION_THRESHOLD = 10;
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()) {
+      Main.main(args);
+      return;
+    }
+
+    ResultFormatType resultFormat = commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON);
+    String baseline = System.getProperty("baseline");
+    boolean compareWithBaseline = baseline != null && !baseline.isEmpty();
+    if (compareWithBaseline && resultFormat != ResultFormatType.JSON) {
+      throw new IllegalArgumentException("The comparison with a baseline requires the JSON result format");
+    }
+
+    File resultFile = new File(commandLineOptions.getResult().orElse(DEFAULT_RESULT_FILE));
+    if (resultFile.getParentFile() != null) {
+      resultFile.getParentFile().mkdirs();
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder()
+      .parent(commandLineOptions)
+      .resultFormat(resultFormat)
+      .result(resultFile.getPath());
+
+    new Runner(options.build()).run();
+
+    if (compareWithBaseline) {
+      String threshold = System.getProperty("regressionThreshold");
+      BaselineComparison comparison = new BaselineComparison(threshold == null || threshold.isEmpty()
+          ? DEFAULT_REGRESSION_THRESHOLD : Double.parseDouble(threshold));
+
+      List<ScoreChange> changes = comparison.compare(new File(baseline), resultFile);
+      comparison.print(changes, System.out);
+      comparison.write(changes, new File(resultFile.getAbsoluteFile().getParentFile(), COMPARISON_FILE));
+
+      if (comparison.hasRegressions(changes)) {
+        System.exit(1);
+      }
+    }
+  }
+
+}
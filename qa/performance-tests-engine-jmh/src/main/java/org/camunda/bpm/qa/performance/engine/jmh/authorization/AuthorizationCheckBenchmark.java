@@ -0,0 +1,120 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.authorization;
+
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_GRANT;
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
+import static org.camunda.bpm.engine.authorization.Resources.PROCESS_DEFINITION;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.AuthorizationService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.qa.performance.engine.jmh.BenchmarkEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Checks the permission of a user with two groups on a process definition in a command, which
+ * queries the authorization table. The table contains <code>authorizations</code> grants for
+ * other users besides the grants of the checked user and its groups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationCheckBenchmark {
+
+  public static final String USER_ID = "demo";
+  public static final List<String> GROUP_IDS = Arrays.asList("management", "sales");
+
+  @Param({"10", "10000"})
+  public int authorizations;
+
+  @Param({ProcessEngineConfiguration.AUTHORIZATION_CHECK_REVOKE_AUTO, ProcessEngineConfiguration.AUTHORIZATION_CHECK_REVOKE_NEVER})
+  public String authorizationCheckRevokes;
+
+  protected ProcessEngineImpl processEngine;
+  protected CommandExecutor commandExecutor;
+
+  @Setup
+  public void buildEngine() {
+    ProcessEngineConfigurationImpl configuration = BenchmarkEngine.createConfiguration("authorization-benchmark");
+    configuration.setAuthorizationEnabled(true);
+    configuration.setAuthorizationCheckRevokes(authorizationCheckRevokes);
+
+    processEngine = BenchmarkEngine.buildEngine(configuration);
+    commandExecutor = configuration.getCommandExecutorTxRequired();
+
+    AuthorizationService authorizationService = processEngine.getAuthorizationService();
+    for (int i = 0; i < authorizations; i++) {
+      Authorization authorization = authorizationService.createNewAuthorization(AUTH_TYPE_GRANT);
+      authorization.setUserId("user" + i);
+      authorization.setResource(PROCESS_DEFINITION);
+      authorization.setResourceId("process" + i);
+      authorization.addPermission(READ);
+      authorizationService.saveAuthorization(authorization);
+    }
+
+    Authorization groupAuthorization = authorizationService.createNewAuthorization(AUTH_TYPE_GRANT);
+    groupAuthorization.setGroupId(GROUP_IDS.get(1));
+    groupAuthorization.setResource(PROCESS_DEFINITION);
+    groupAuthorization.setResourceId("invoice");
+    groupAuthorization.addPermission(READ);
+    authorizationService.saveAuthorization(groupAuthorization);
+  }
+
+  @TearDown
+  public void closeEngine() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public boolean grantedToGroup() {
+    return isAuthorized("invoice");
+  }
+
+  @Benchmark
+  public boolean notGranted() {
+    return isAuthorized("process0");
+  }
+
+  protected boolean isAuthorized(final String processDefinitionKey) {
+    return commandExecutor.execute(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        return commandContext.getAuthorizationManager().isAuthorized(USER_ID, GROUP_IDS, READ, PROCESS_DEFINITION, processDefinitionKey);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.bpmn;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.qa.performance.engine.jmh.BenchmarkEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses a generated process with <code>activities</code> service tasks using the engine's
+ * {@link BpmnParser}, including the registered parse listeners. Nothing is deployed, so the
+ * database is not involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BpmnParseBenchmark {
+
+  @Param({"10", "1000"})
+  public int activities;
+
+  @Param({"true", "false"})
+  public boolean validateSchema;
+
+  protected ProcessEngineImpl processEngine;
+  protected CommandExecutor commandExecutor;
+  protected BpmnParser bpmnParser;
+  protected String bpmnXml;
+
+  @Setup
+  public void buildEngine() {
+    processEngine = BenchmarkEngine.buildEngine("bpmn-parse-benchmark");
+    commandExecutor = processEngine.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+
+    for (Deployer deployer : processEngine.getProcessEngineConfiguration().getDeployers()) {
+      if (deployer instanceof BpmnDeployer) {
+        bpmnParser = ((BpmnDeployer) deployer).getBpmnParser();
+      }
+    }
+
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("benchmark").startEvent();
+    for (int i = 0; i < activities; i++) {
+      builder = builder.serviceTask("task" + i).camundaExpression("${true}");
+    }
+    bpmnXml = Bpmn.convertToString(builder.endEvent().done());
+  }
+
+  @TearDown
+  public void closeEngine() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public BpmnParse parse() {
+    return commandExecutor.execute(new Command<BpmnParse>() {
+      public BpmnParse execute(CommandContext commandContext) {
+        DeploymentEntity deployment = new DeploymentEntity();
+        deployment.setId("benchmark");
+
+        BpmnParse bpmnParse = bpmnParser
+            .createParse()
+            .sourceString(bpmnXml)
+            .deployment(deployment)
+            .name("benchmark.bpmn");
+
+        if (!validateSchema) {
+          bpmnParse.setSchemaResource(null);
+        }
+
+        return bpmnParse.execute();
+      }
+    });
+  }
+
+}
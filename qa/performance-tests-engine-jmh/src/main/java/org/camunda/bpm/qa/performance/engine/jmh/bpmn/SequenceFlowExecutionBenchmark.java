@@ -0,0 +1,87 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.bpmn;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.qa.performance.engine.jmh.BenchmarkEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Starts a process instance which runs straight through a sequence of <code>activities</code>
+ * service tasks, i.e. measures the dispatch of the atomic operations by the
+ * <code>CommandInvocationContext</code>. The history is disabled and the instance ends in the
+ * same command, so that the database is hardly involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceFlowExecutionBenchmark {
+
+  @Param({"200"})
+  public int activities;
+
+  protected ProcessEngineImpl processEngine;
+  protected RuntimeService runtimeService;
+
+  @Setup
+  public void buildEngine() {
+    ProcessEngineConfigurationImpl configuration = BenchmarkEngine.createConfiguration("sequence-flow-benchmark");
+    configuration.setHistory(ProcessEngineConfiguration.HISTORY_NONE);
+
+    processEngine = BenchmarkEngine.buildEngine(configuration);
+    runtimeService = processEngine.getRuntimeService();
+
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("benchmark").startEvent();
+    for (int i = 0; i < activities; i++) {
+      builder = builder.serviceTask("task" + i).camundaExpression("${true}");
+    }
+
+    processEngine.getRepositoryService()
+      .createDeployment()
+      .addModelInstance("benchmark.bpmn", builder.endEvent().done())
+      .deploy();
+  }
+
+  @TearDown
+  public void closeEngine() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public ProcessInstance sequence() {
+    return runtimeService.startProcessInstanceByKey("benchmark");
+  }
+
+}
@@ -0,0 +1,83 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.calendar;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.calendar.CronExpression;
+import org.camunda.bpm.engine.impl.calendar.CycleBusinessCalendar;
+import org.camunda.bpm.engine.impl.calendar.DurationBusinessCalendar;
+import org.camunda.bpm.engine.impl.calendar.DurationHelper;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolves the due dates of timer cycles and durations through the business calendars, which
+ * take parsed schedules from the schedule cache, and compares them with parsing the schedule
+ * for every due date.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerScheduleBenchmark {
+
+  public static final String CRON = "0 0/5 * * * ?";
+  public static final String CYCLE = "R3/PT10H";
+  public static final String DURATION = "P2DT5H";
+
+  protected CycleBusinessCalendar cycleBusinessCalendar = new CycleBusinessCalendar();
+  protected DurationBusinessCalendar durationBusinessCalendar = new DurationBusinessCalendar();
+
+  @Benchmark
+  public Date cronCached() {
+    return cycleBusinessCalendar.resolveDuedate(CRON);
+  }
+
+  @Benchmark
+  public Date cronParsed() throws Exception {
+    return new CronExpression(CRON).getTimeAfter(ClockUtil.getCurrentTime());
+  }
+
+  @Benchmark
+  public Date cycleCached() {
+    return cycleBusinessCalendar.resolveDuedate(CYCLE);
+  }
+
+  @Benchmark
+  public Date cycleParsed() throws Exception {
+    return new DurationHelper(CYCLE).getDateAfter(ClockUtil.getCurrentTime());
+  }
+
+  @Benchmark
+  public Date durationCached() {
+    return durationBusinessCalendar.resolveDuedate(DURATION);
+  }
+
+  @Benchmark
+  public Date durationParsed() throws Exception {
+    return new DurationHelper(DURATION).getDateAfter(ClockUtil.getCurrentTime());
+  }
+
+}
@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.db;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Puts entities into a new {@link DbEntityCache} the way a command loads them and looks them up
+ * again, as done for every entity a command accesses more than once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbEntityCacheBenchmark {
+
+  @Param({"10", "1000"})
+  public int entities;
+
+  protected ExecutionEntity[] executions;
+  protected VariableInstanceEntity[] variables;
+
+  @Setup
+  public void createEntities() {
+    executions = new ExecutionEntity[entities];
+    variables = new VariableInstanceEntity[entities];
+
+    for (int i = 0; i < entities; i++) {
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId("execution" + i);
+      executions[i] = execution;
+
+      VariableInstanceEntity variable = new VariableInstanceEntity();
+      variable.setId("variable" + i);
+      variables[i] = variable;
+    }
+  }
+
+  @Benchmark
+  public DbEntityCache putPersistent() {
+    DbEntityCache cache = new DbEntityCache();
+    for (int i = 0; i < entities; i++) {
+      cache.putPersistent(executions[i]);
+      cache.putPersistent(variables[i]);
+    }
+    return cache;
+  }
+
+  @Benchmark
+  public void putPersistentAndGet(Blackhole blackhole) {
+    DbEntityCache cache = putPersistent();
+    for (int i = 0; i < entities; i++) {
+      blackhole.consume(cache.get(ExecutionEntity.class, executions[i].getId()));
+      blackhole.consume(cache.get(VariableInstanceEntity.class, variables[i].getId()));
+    }
+  }
+
+  @Benchmark
+  public void putTransientAndGetByType(Blackhole blackhole) {
+    DbEntityCache cache = new DbEntityCache();
+    for (int i = 0; i < entities; i++) {
+      cache.putTransient(executions[i]);
+    }
+    blackhole.consume(cache.getEntitiesByType(ExecutionEntity.class));
+  }
+
+}
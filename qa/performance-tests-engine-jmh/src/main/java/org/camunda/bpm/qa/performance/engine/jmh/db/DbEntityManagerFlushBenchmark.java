@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.qa.performance.engine.jmh.BenchmarkEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Flushes <code>entities</code> new entities to the database in one command and deletes them
+ * again in a second one, so that the table does not grow during the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbEntityManagerFlushBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int entities;
+
+  protected ProcessEngineImpl processEngine;
+  protected CommandExecutor commandExecutor;
+
+  protected byte[] bytes = new byte[256];
+
+  @Setup
+  public void buildEngine() {
+    processEngine = BenchmarkEngine.buildEngine("flush-benchmark");
+    commandExecutor = processEngine.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+  }
+
+  @TearDown
+  public void closeEngine() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public int insertAndDelete() {
+    final List<ByteArrayEntity> inserted = commandExecutor.execute(new Command<List<ByteArrayEntity>>() {
+      public List<ByteArrayEntity> execute(CommandContext commandContext) {
+        DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+        List<ByteArrayEntity> byteArrays = new ArrayList<ByteArrayEntity>(entities);
+        for (int i = 0; i < entities; i++) {
+          ByteArrayEntity byteArray = new ByteArrayEntity("benchmark", bytes);
+          dbEntityManager.insert(byteArray);
+          byteArrays.add(byteArray);
+        }
+        return byteArrays;
+      }
+    });
+
+    commandExecutor.execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+        for (ByteArrayEntity byteArray : inserted) {
+          dbEntityManager.delete(byteArray);
+        }
+        return null;
+      }
+    });
+
+    return inserted.size();
+  }
+
+}
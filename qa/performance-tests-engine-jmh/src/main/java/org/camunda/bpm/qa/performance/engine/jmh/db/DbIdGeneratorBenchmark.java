@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.db;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.qa.performance.engine.jmh.BenchmarkEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generates ids with a shared {@link DbIdGenerator} from one and from many threads. Each thread
+ * which exhausts the current id block fetches the next block from the database while holding
+ * the generator's lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbIdGeneratorBenchmark {
+
+  @Param({"100", "1000"})
+  public int idBlockSize;
+
+  protected ProcessEngineImpl processEngine;
+  protected DbIdGenerator idGenerator;
+
+  @Setup
+  public void buildEngine() {
+    processEngine = BenchmarkEngine.buildEngine("id-generator-benchmark");
+
+    idGenerator = new DbIdGenerator();
+    idGenerator.setIdBlockSize(idBlockSize);
+    idGenerator.setCommandExecutor(processEngine.getProcessEngineConfiguration().getCommandExecutorTxRequiresNew());
+  }
+
+  @TearDown
+  public void closeEngine() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String singleThread() {
+    return idGenerator.getNextId();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public String contended() {
+    return idGenerator.getNextId();
+  }
+
+}
@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.el;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.SimpleContext;
+import org.camunda.bpm.engine.impl.juel.TreeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses and evaluates JUEL expressions with and without the tree cache, and evaluates
+ * already parsed property and method expressions with and without inline caching of the
+ * bean accessors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JuelEvaluationBenchmark {
+
+  public static final String CONDITION = "${x > 5 && bean.value == 'a'}";
+
+  /** -1 disables inline caching */
+  @Param({"-1", "2"})
+  public int inlineCachingThreshold;
+
+  protected ExpressionFactoryImpl cachingFactory;
+  protected ExpressionFactoryImpl parsingFactory;
+  protected SimpleContext context;
+
+  protected ValueExpression propertyExpression;
+  protected ValueExpression methodExpression;
+
+  @Setup
+  public void createExpressions() {
+    cachingFactory = new ExpressionFactoryImpl();
+    parsingFactory = new ExpressionFactoryImpl(new TreeStore(new Builder(Builder.Feature.METHOD_INVOCATIONS), null));
+
+    context = new SimpleContext();
+    context.setInlineCachingThreshold(inlineCachingThreshold);
+    context.setVariable("x", cachingFactory.createValueExpression(10, Integer.class));
+    context.setVariable("bean", cachingFactory.createValueExpression(new Bean("a"), Object.class));
+
+    propertyExpression = cachingFactory.createValueExpression(context, "${bean.value}", Object.class);
+    methodExpression = cachingFactory.createValueExpression(context, "${bean.greet('world')}", Object.class);
+  }
+
+  @Benchmark
+  public Object parseAndEvaluate() {
+    return parsingFactory.createValueExpression(context, CONDITION, Object.class).getValue(context);
+  }
+
+  @Benchmark
+  public Object cachedParseAndEvaluate() {
+    return cachingFactory.createValueExpression(context, CONDITION, Object.class).getValue(context);
+  }
+
+  @Benchmark
+  public Object evaluateProperty() {
+    return propertyExpression.getValue(context);
+  }
+
+  @Benchmark
+  public Object evaluateMethod() {
+    return methodExpression.getValue(context);
+  }
+
+  public static class Bean {
+
+    protected String value;
+
+    public Bean(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+
+    public String greet(String name) {
+      return value + " " + name;
+    }
+  }
+
+}
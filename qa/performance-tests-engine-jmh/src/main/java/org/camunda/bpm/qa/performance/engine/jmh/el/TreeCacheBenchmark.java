@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.el;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.Cache;
+import org.camunda.bpm.engine.impl.juel.ConcurrentCache;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.camunda.bpm.engine.impl.juel.TreeCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the synchronized LRU {@link Cache} with the {@link ConcurrentCache} for expression
+ * trees when 64 threads look up expressions concurrently. The working set either fits into the
+ * cache (only hits) or is twice as large (hits, misses and evictions). The caches have no
+ * secondary map, so that evicted trees are really missed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class TreeCacheBenchmark {
+
+  public static final int CACHE_SIZE = 1000;
+
+  @Param({"synchronized", "concurrent"})
+  public String cacheType;
+
+  /** number of distinct expressions relative to the cache size in percent */
+  @Param({"50", "200"})
+  public int workingSet;
+
+  protected TreeCache cache;
+  protected String[] expressions;
+  protected Tree[] trees;
+
+  @Setup
+  public void createCache() {
+    if ("synchronized".equals(cacheType)) {
+      cache = new Cache(CACHE_SIZE, null);
+    } else {
+      cache = new ConcurrentCache(CACHE_SIZE, null);
+    }
+
+    Builder builder = new Builder();
+    int count = CACHE_SIZE * workingSet / 100;
+    expressions = new String[count];
+    trees = new Tree[count];
+    for (int i = 0; i < count; i++) {
+      expressions[i] = "${variable" + i + " > " + i + "}";
+      trees[i] = builder.build(expressions[i]);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    protected int next;
+
+    @Setup
+    public void start() {
+      // threads should not walk the working set in lock step
+      next = (int) (Thread.currentThread().getId() * 31);
+    }
+
+    protected int next(int bound) {
+      // a cheap, thread confined pseudo random walk over the working set
+      next = (next + 7919) % bound;
+      return next;
+    }
+  }
+
+  @Benchmark
+  public Tree lookup(Cursor cursor) {
+    int index = cursor.next(expressions.length);
+    Tree tree = cache.get(expressions[index]);
+    if (tree == null) {
+      tree = trees[index];
+      cache.put(expressions[index], tree);
+    }
+    return tree;
+  }
+
+}
@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.pvm;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.pvm.ProcessDefinitionBuilder;
+import org.camunda.bpm.engine.impl.pvm.PvmProcessDefinition;
+import org.camunda.bpm.engine.impl.pvm.PvmProcessInstance;
+import org.camunda.bpm.engine.impl.pvm.PvmTransition;
+import org.camunda.bpm.engine.impl.pvm.delegate.ActivityBehavior;
+import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a sequence of automatic activities in the PVM without any persistence, i.e.
+ * measures the atomic operations performed by <code>PvmExecutionImpl.performOperation</code>
+ * for starting the instance, entering, executing and leaving each activity and ending it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PvmAtomicOperationBenchmark {
+
+  @Param({"10", "100"})
+  public int activities;
+
+  protected PvmProcessDefinition sequence;
+
+  protected PvmProcessDefinition scopeSequence;
+
+  @Setup
+  public void buildProcessDefinitions() {
+    sequence = buildSequence(false);
+    scopeSequence = buildSequence(true);
+  }
+
+  @Benchmark
+  public PvmProcessInstance sequence() {
+    PvmProcessInstance processInstance = sequence.createProcessInstance();
+    processInstance.start();
+    return processInstance;
+  }
+
+  @Benchmark
+  public PvmProcessInstance scopeSequence() {
+    PvmProcessInstance processInstance = scopeSequence.createProcessInstance();
+    processInstance.start();
+    return processInstance;
+  }
+
+  protected PvmProcessDefinition buildSequence(boolean scopes) {
+    ProcessDefinitionBuilder builder = new ProcessDefinitionBuilder();
+    Automatic automatic = new Automatic();
+
+    for (int i = 0; i < activities; i++) {
+      builder.createActivity("activity" + i);
+      if (i == 0) {
+        builder.initial();
+      }
+      if (scopes) {
+        builder.scope();
+      }
+      builder.behavior(automatic);
+      if (i < activities - 1) {
+        builder.transition("activity" + (i + 1));
+      }
+      builder.endActivity();
+    }
+
+    return builder.buildProcessDefinition();
+  }
+
+  public static class Automatic implements ActivityBehavior {
+
+    public void execute(ActivityExecution execution) throws Exception {
+      List<PvmTransition> outgoingTransitions = execution.getActivity().getOutgoingTransitions();
+      if (outgoingTransitions.isEmpty()) {
+        execution.end(true);
+      } else {
+        execution.leaveActivityViaTransition(outgoingTransitions.get(0));
+      }
+    }
+
+  }
+
+}
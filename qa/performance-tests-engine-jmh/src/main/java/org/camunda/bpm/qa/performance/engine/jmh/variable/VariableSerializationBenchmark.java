@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.variable;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.variable.serializer.JavaObjectSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.ValueFieldsImpl;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.Variables.SerializationDataFormats;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes object variables to the value fields of a variable and reads them back with the
+ * Java serialization based {@link JavaObjectSerializer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariableSerializationBenchmark {
+
+  /** number of entries of the serialized map */
+  @Param({"10", "1000"})
+  public int entries;
+
+  protected JavaObjectSerializer serializer;
+  protected HashMap<String, Object> object;
+  protected ValueFieldsImpl serializedFields;
+
+  @Setup
+  public void createObject() {
+    serializer = new JavaObjectSerializer();
+
+    object = new HashMap<String, Object>();
+    for (int i = 0; i < entries; i++) {
+      object.put("key" + i, i % 2 == 0 ? "value" + i : Integer.valueOf(i));
+    }
+
+    serializedFields = serialize();
+  }
+
+  @Benchmark
+  public ValueFieldsImpl serialize() {
+    ObjectValue value = Variables.objectValue(object)
+        .serializationDataFormat(SerializationDataFormats.JAVA)
+        .create();
+    ValueFieldsImpl valueFields = new ValueFieldsImpl();
+    serializer.writeValue(value, valueFields);
+    return valueFields;
+  }
+
+  @Benchmark
+  public Object deserialize() {
+    return serializer.readValue(serializedFields, true).getValue();
+  }
+
+}
@@ -0,0 +1,114 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+
+import org.camunda.bpm.qa.performance.engine.jmh.BaselineComparison.ScoreChange;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BaselineComparisonTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  protected BaselineComparison comparison = new BaselineComparison(10);
+
+  @Test
+  public void testAverageTimeImprovement() throws IOException {
+    File baseline = writeResults(result("a.B.avg", "avgt", null, 100, 1));
+    File current = writeResults(result("a.B.avg", "avgt", null, 80, 1));
+
+    List<ScoreChange> changes = comparison.compare(baseline, current);
+
+    assertEquals(1, changes.size());
+    assertEquals(20, changes.get(0).getChange(), 0.001);
+    assertFalse(comparison.hasRegressions(changes));
+  }
+
+  @Test
+  public void testThroughputRegression() throws IOException {
+    File baseline = writeResults(result("a.B.thrpt", "thrpt", null, 100, 1));
+    File current = writeResults(result("a.B.thrpt", "thrpt", null, 80, 1));
+
+    List<ScoreChange> changes = comparison.compare(baseline, current);
+
+    assertEquals(-20, changes.get(0).getChange(), 0.001);
+    assertTrue(changes.get(0).isRegression());
+    assertTrue(comparison.hasRegressions(changes));
+  }
+
+  @Test
+  public void testChangeWithinErrorIsNoRegression() throws IOException {
+    File baseline = writeResults(result("a.B.avg", "avgt", null, 100, 15));
+    File current = writeResults(result("a.B.avg", "avgt", null, 120, 15));
+
+    List<ScoreChange> changes = comparison.compare(baseline, current);
+
+    assertEquals(-20, changes.get(0).getChange(), 0.001);
+    assertFalse(changes.get(0).isRegression());
+  }
+
+  @Test
+  public void testMatchByParameters() throws IOException {
+    File baseline = writeResults(
+        result("a.B.avg", "avgt", "\"size\" : \"10\"", 100, 1),
+        result("a.B.avg", "avgt", "\"size\" : \"1000\"", 1000, 1));
+    File current = writeResults(
+        result("a.B.avg", "avgt", "\"size\" : \"1000\"", 500, 1),
+        result("a.B.other", "avgt", null, 1, 1));
+
+    List<ScoreChange> changes = comparison.compare(baseline, current);
+
+    // benchmarks without baseline are skipped
+    assertEquals(1, changes.size());
+    assertEquals("a.B.avg [avgt] {size=1000}", changes.get(0).getBenchmark());
+    assertEquals(50, changes.get(0).getChange(), 0.001);
+  }
+
+  protected String result(String benchmark, String mode, String params, double score, double error) {
+    return "{ \"benchmark\" : \"" + benchmark + "\", \"mode\" : \"" + mode + "\", "
+        + (params != null ? "\"params\" : { " + params + " }, " : "")
+        + "\"primaryMetric\" : { \"score\" : " + score + ", \"scoreError\" : " + error + ", \"scoreUnit\" : \"us/op\" } }";
+  }
+
+  protected File writeResults(String... results) throws IOException {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < results.length; i++) {
+      if (i > 0) {
+        json.append(",");
+      }
+      json.append(results[i]);
+    }
+    json.append("]");
+
+    File file = folder.newFile();
+    FileWriter writer = new FileWriter(file);
+    try {
+      writer.write(json.toString());
+    } finally {
+      writer.close();
+    }
+    return file;
+  }
+
+}